@@ -0,0 +1,646 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.ext.engine;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static io.jenetics.internal.util.SerialIO.readInt;
+import static io.jenetics.internal.util.SerialIO.readString;
+import static io.jenetics.internal.util.SerialIO.writeInt;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputFilter;
+import java.io.StreamCorruptedException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import io.jenetics.Gene;
+import io.jenetics.Phenotype;
+import io.jenetics.engine.Evaluator;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.MSeq;
+import io.jenetics.util.Seq;
+
+/**
+ * This evaluator distributes the fitness evaluation to worker processes. The
+ * unevaluated genotypes of a population are split into batches, which are
+ * sent to the {@link EvaluationWorker}s via the given {@link Transport}. The
+ * genotypes are written in a compact binary format; numeric and bit
+ * chromosomes are written as primitive values.
+ *
+ * <pre>{@code
+ * final Transport transport = Transport.processes(MyFitness.class);
+ * try (var evaluator = DistributedEvaluator.<DoubleGene, Double>of(transport, 4)) {
+ *     final Engine<DoubleGene, Double> engine = new Engine.Builder<>(
+ *         evaluator,
+ *         Genotype.of(DoubleChromosome.of(0, 1, 10)))
+ *         .build();
+ *     ...
+ * }
+ * }</pre>
+ *
+ * <ul>
+ *     <li><b>Back-pressure:</b> every worker has at most
+ *     {@link #maxInFlight()} batches in flight. The remaining batches are
+ *     handed out, when a worker has sent back its results. Fast workers
+ *     therefore get more batches than slow ones.</li>
+ *     <li><b>Worker failures:</b> if the connection to a worker fails, its
+ *     in-flight batches are re-dispatched to the remaining workers and the
+ *     connection is reopened. If all workers fail, the evaluation is
+ *     cancelled.</li>
+ *     <li><b>Ordering:</b> the evaluated population has the same order as
+ *     the given population, as required by the {@link Evaluator} contract.</li>
+ * </ul>
+ *
+ * The worker connections are opened on the first evaluation and kept open,
+ * until the evaluator is closed.
+ * <p>
+ * <b>Security:</b> {@code Double}, {@code Integer} and {@code Long} fitness
+ * values are sent back as primitive values. Other fitness values are Java
+ * serialized by the worker and checked by an {@link ObjectInputFilter},
+ * before they are deserialized. By default, only plain fitness types,
+ * like {@code Float}, {@code BigDecimal} or {@code String}, are accepted.
+ * Other fitness types must be allowed explicitly with the filter given to
+ * {@link #of(Transport, int, int, int, ObjectInputFilter)}. A rejected
+ * fitness value cancels the evaluation.
+ *
+ * @see EvaluationWorker
+ * @see Transport
+ *
+ * @param <G> the gene type
+ * @param <C> the fitness result type
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 6.1
+ * @since 6.1
+ */
+public final class DistributedEvaluator<
+	G extends Gene<?, G>,
+	C extends Comparable<? super C>
+>
+	implements Evaluator<G, C>, Closeable
+{
+
+	// Number of consecutive connection failures, before a worker is given up.
+	private static final int MAX_FAILURES = 3;
+
+	// Accepts the serial form of the plain fitness types only.
+	private static final ObjectInputFilter PLAIN_FITNESS =
+		ObjectInputFilter.Config.createFilter(
+			"java.lang.Number;java.lang.Boolean;java.lang.Byte;" +
+			"java.lang.Short;java.lang.Integer;java.lang.Long;" +
+			"java.lang.Float;java.lang.Double;java.lang.Character;" +
+			"java.lang.String;java.math.BigInteger;java.math.BigDecimal;!*"
+		);
+
+	private final Transport _transport;
+	private final int _batchSize;
+	private final int _maxInFlight;
+	private final ObjectInputFilter _filter;
+
+	private final List<Worker> _workers;
+	private final ExecutorService _threads;
+	private boolean _closed = false;
+
+	private DistributedEvaluator(
+		final Transport transport,
+		final int workers,
+		final int batchSize,
+		final int maxInFlight,
+		final ObjectInputFilter filter
+	) {
+		_transport = requireNonNull(transport);
+		_filter = requireNonNull(filter);
+		if (workers < 1) {
+			throw new IllegalArgumentException(format(
+				"Number of workers must be greater than zero: %d", workers
+			));
+		}
+		if (batchSize < 0) {
+			throw new IllegalArgumentException(format(
+				"Batch size must not be negative: %d", batchSize
+			));
+		}
+		if (maxInFlight < 1) {
+			throw new IllegalArgumentException(format(
+				"Max in-flight batches must be greater than zero: %d",
+				maxInFlight
+			));
+		}
+		_batchSize = batchSize;
+		_maxInFlight = maxInFlight;
+
+		_workers = new ArrayList<>(workers);
+		for (int i = 0; i < workers; ++i) {
+			_workers.add(new Worker(i));
+		}
+		_threads = Executors.newCachedThreadPool(runnable -> {
+			final Thread thread = new Thread(runnable, "DistributedEvaluator");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Return the number of workers.
+	 *
+	 * @return the number of workers
+	 */
+	public int workers() {
+		return _workers.size();
+	}
+
+	/**
+	 * Return the number of genotypes sent to a worker in one batch.
+	 *
+	 * @return the batch size, or zero if the batch size is chosen
+	 *         automatically
+	 */
+	public int batchSize() {
+		return _batchSize;
+	}
+
+	/**
+	 * Return the maximal number of batches, which are sent to one worker
+	 * without having received the results.
+	 *
+	 * @return the maximal number of in-flight batches of one worker
+	 */
+	public int maxInFlight() {
+		return _maxInFlight;
+	}
+
+	@Override
+	public synchronized ISeq<Phenotype<G, C>>
+	eval(final Seq<Phenotype<G, C>> population) {
+		if (_closed) {
+			throw new IllegalStateException("Evaluator has been closed.");
+		}
+
+		final int[] indexes = IntStream.range(0, population.size())
+			.filter(i -> !population.get(i).isEvaluated())
+			.toArray();
+		if (indexes.length == 0) {
+			return population.asISeq();
+		}
+
+		final Evaluation evaluation = new Evaluation(
+			batches(population, indexes),
+			population.size()
+		);
+
+		final List<Future<?>> drivers = new ArrayList<>(_workers.size());
+		for (Worker worker : _workers) {
+			drivers.add(_threads.submit(() -> drive(worker, evaluation)));
+		}
+		evaluation.await();
+		for (Future<?> driver : drivers) {
+			join(driver);
+		}
+
+		final Throwable failure = evaluation.failure();
+		if (failure != null) {
+			throw (CancellationException)new CancellationException(
+				failure.getMessage()
+			).initCause(failure);
+		}
+
+		return result(population, evaluation.results());
+	}
+
+	private List<Batch> batches(
+		final Seq<Phenotype<G, C>> population,
+		final int[] indexes
+	) {
+		final int size = _batchSize > 0
+			? _batchSize
+			: max((indexes.length + 4*_workers.size() - 1)/(4*_workers.size()), 1);
+
+		final List<Batch> batches = new ArrayList<>();
+		for (int start = 0; start < indexes.length; start += size) {
+			final int end = min(start + size, indexes.length);
+			final int[] idx = Arrays.copyOfRange(indexes, start, end);
+			batches.add(new Batch(idx, population));
+		}
+		return batches;
+	}
+
+	@SuppressWarnings("unchecked")
+	private ISeq<Phenotype<G, C>> result(
+		final Seq<Phenotype<G, C>> population,
+		final Object[] results
+	) {
+		final MSeq<Phenotype<G, C>> result = MSeq.of(population);
+		for (int i = 0; i < results.length; ++i) {
+			if (results[i] != null) {
+				result.set(i, population.get(i).withFitness((C)results[i]));
+			}
+		}
+		return result.toISeq();
+	}
+
+	private static void join(final Future<?> future) {
+		try {
+			future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			throw (CancellationException)new CancellationException(
+				e.getCause().getMessage()
+			).initCause(e.getCause());
+		}
+	}
+
+	// Sends the batches of the evaluation to the given worker, until all
+	// batches are evaluated.
+	private void drive(final Worker worker, final Evaluation evaluation) {
+		final Deque<Batch> sent = new ArrayDeque<>();
+
+		while (!evaluation.isDone()) {
+			try {
+				worker.open();
+
+				Batch batch;
+				while (sent.size() < _maxInFlight &&
+					(batch = evaluation.poll(sent.isEmpty())) != null)
+				{
+					sent.addLast(batch);
+					worker.send(batch);
+				}
+				worker.flush();
+
+				if (!sent.isEmpty()) {
+					final Batch received = sent.getFirst();
+					final String failure = worker.receive(received, evaluation);
+					sent.removeFirst();
+					if (failure != null) {
+						evaluation.fail(new IllegalStateException(format(
+							"Fitness evaluation failed on worker %d: %s",
+							worker.index, failure
+						)));
+					} else {
+						evaluation.complete(received);
+					}
+				}
+			} catch (InvalidClassException e) {
+				// Reconnecting doesn't help, if the fitness type is rejected.
+				worker.close();
+				evaluation.fail(new IllegalStateException(format(
+					"Fitness value of worker %d rejected: %s",
+					worker.index, e.getMessage()
+				), e));
+				return;
+			} catch (IOException e) {
+				worker.close();
+				evaluation.retry(sent);
+				sent.clear();
+
+				if (worker.failed() >= MAX_FAILURES) {
+					evaluation.lost(e);
+					return;
+				}
+			}
+		}
+
+		// The state of the connection is unknown, if not all results has been
+		// received.
+		if (!sent.isEmpty()) {
+			worker.close();
+		}
+	}
+
+	/**
+	 * Closes the connections to the workers.
+	 */
+	@Override
+	public synchronized void close() {
+		if (!_closed) {
+			_closed = true;
+			for (Worker worker : _workers) {
+				worker.close();
+			}
+			_threads.shutdown();
+		}
+	}
+
+	/* *************************************************************************
+	 * Helper classes.
+	 **************************************************************************/
+
+	/**
+	 * A batch of genotypes, sent to one worker.
+	 */
+	private static final class Batch {
+		final int[] indexes;
+		final Seq<? extends Phenotype<?, ?>> population;
+
+		Batch(final int[] indexes, final Seq<? extends Phenotype<?, ?>> population) {
+			this.indexes = indexes;
+			this.population = population;
+		}
+	}
+
+	/**
+	 * The state of one population evaluation.
+	 */
+	private final class Evaluation {
+		private final BlockingDeque<Batch> _pending;
+		private final CountDownLatch _remaining;
+		private final AtomicInteger _alive;
+		private final AtomicReference<Throwable> _failure = new AtomicReference<>();
+		private final Object[] _results;
+
+		Evaluation(final List<Batch> batches, final int size) {
+			_pending = new LinkedBlockingDeque<>(batches);
+			_remaining = new CountDownLatch(batches.size());
+			_alive = new AtomicInteger(_workers.size());
+			_results = new Object[size];
+		}
+
+		boolean isDone() {
+			return _remaining.getCount() == 0;
+		}
+
+		Throwable failure() {
+			return _failure.get();
+		}
+
+		Object[] results() {
+			return _results;
+		}
+
+		// Return the next pending batch. Idle workers are waiting for
+		// re-dispatched batches.
+		Batch poll(final boolean wait) {
+			try {
+				return wait
+					? _pending.poll(10, TimeUnit.MILLISECONDS)
+					: _pending.poll();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				fail(e);
+				return null;
+			}
+		}
+
+		void result(final int index, final Object fitness) {
+			_results[index] = requireNonNull(fitness);
+		}
+
+		void complete(final Batch batch) {
+			_remaining.countDown();
+		}
+
+		void retry(final Deque<Batch> batches) {
+			final Iterator<Batch> it = batches.descendingIterator();
+			while (it.hasNext()) {
+				_pending.addFirst(it.next());
+			}
+		}
+
+		void lost(final IOException cause) {
+			if (_alive.decrementAndGet() == 0) {
+				fail(new IOException("All workers failed.", cause));
+			}
+		}
+
+		void fail(final Throwable failure) {
+			_failure.compareAndSet(null, failure);
+			while (_remaining.getCount() > 0) {
+				_remaining.countDown();
+			}
+		}
+
+		void await() {
+			try {
+				_remaining.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				fail(e);
+			}
+		}
+	}
+
+	/**
+	 * The connection state of one worker.
+	 */
+	private final class Worker {
+		final int index;
+
+		private Transport.Connection _connection;
+		private DataInputStream _in;
+		private DataOutputStream _out;
+		private int _failures = 0;
+
+		Worker(final int index) {
+			this.index = index;
+		}
+
+		void open() throws IOException {
+			if (_connection == null) {
+				final Transport.Connection connection = _transport.open(index);
+				try {
+					_in = new DataInputStream(
+						new BufferedInputStream(connection.input()));
+					_out = new DataOutputStream(
+						new BufferedOutputStream(connection.output()));
+					WireFormat.readHeader(_in);
+				} catch (IOException e) {
+					connection.close();
+					throw e;
+				}
+				_connection = connection;
+			}
+		}
+
+		void send(final Batch batch) throws IOException {
+			_out.writeByte(WireFormat.EVALUATE);
+			writeInt(batch.indexes.length, _out);
+			for (int index : batch.indexes) {
+				WireFormat.writeGenotype(batch.population.get(index).genotype(), _out);
+			}
+		}
+
+		void flush() throws IOException {
+			_out.flush();
+		}
+
+		// Return the failure message, or null if the batch has been evaluated.
+		String receive(final Batch batch, final Evaluation evaluation)
+			throws IOException
+		{
+			final byte type = _in.readByte();
+			switch (type) {
+				case WireFormat.RESULT:
+					final int count = readInt(_in);
+					if (count != batch.indexes.length) {
+						throw new StreamCorruptedException(format(
+							"Expected %d results, but got %d.",
+							batch.indexes.length, count
+						));
+					}
+					for (int index : batch.indexes) {
+						evaluation.result(index, WireFormat.readFitness(_in, _filter));
+					}
+					_failures = 0;
+					return null;
+				case WireFormat.FAILURE:
+					return readString(_in);
+				default:
+					throw new StreamCorruptedException(
+						"Unknown message type: " + type
+					);
+			}
+		}
+
+		int failed() {
+			return ++_failures;
+		}
+
+		void close() {
+			if (_connection != null) {
+				try {
+					_connection.close();
+				} catch (IOException ignore) {
+				} finally {
+					_connection = null;
+					_in = null;
+					_out = null;
+				}
+			}
+		}
+	}
+
+
+	/* *************************************************************************
+	 * Static factory methods.
+	 **************************************************************************/
+
+	/**
+	 * Create a new distributed evaluator.
+	 *
+	 * @param transport the transport, which opens the worker connections
+	 * @param workers the number of workers
+	 * @param batchSize the number of genotypes sent to a worker in one batch;
+	 *        if zero, the batch size is chosen, so that every worker gets
+	 *        about four batches per evaluation
+	 * @param maxInFlight the maximal number of batches, which are sent to one
+	 *        worker without having received the results
+	 * @param filter the filter for the Java serialized fitness values, sent
+	 *        back by the workers
+	 * @param <G> the gene type
+	 * @param <C> the fitness result type
+	 * @return a new distributed evaluator
+	 * @throws NullPointerException if the {@code transport} or the
+	 *         {@code filter} is {@code null}
+	 * @throws IllegalArgumentException if the number of {@code workers} or
+	 *         {@code maxInFlight} is smaller than one, or the
+	 *         {@code batchSize} is negative
+	 */
+	public static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	DistributedEvaluator<G, C> of(
+		final Transport transport,
+		final int workers,
+		final int batchSize,
+		final int maxInFlight,
+		final ObjectInputFilter filter
+	) {
+		return new DistributedEvaluator<>(
+			transport,
+			workers,
+			batchSize,
+			maxInFlight,
+			filter
+		);
+	}
+
+	/**
+	 * Create a new distributed evaluator, which only accepts plain Java
+	 * serialized fitness types, like {@code Float}, {@code BigDecimal} or
+	 * {@code String}.
+	 *
+	 * @param transport the transport, which opens the worker connections
+	 * @param workers the number of workers
+	 * @param batchSize the number of genotypes sent to a worker in one batch;
+	 *        if zero, the batch size is chosen, so that every worker gets
+	 *        about four batches per evaluation
+	 * @param maxInFlight the maximal number of batches, which are sent to one
+	 *        worker without having received the results
+	 * @param <G> the gene type
+	 * @param <C> the fitness result type
+	 * @return a new distributed evaluator
+	 * @throws NullPointerException if the {@code transport} is {@code null}
+	 * @throws IllegalArgumentException if the number of {@code workers} or
+	 *         {@code maxInFlight} is smaller than one, or the
+	 *         {@code batchSize} is negative
+	 */
+	public static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	DistributedEvaluator<G, C> of(
+		final Transport transport,
+		final int workers,
+		final int batchSize,
+		final int maxInFlight
+	) {
+		return of(transport, workers, batchSize, maxInFlight, PLAIN_FITNESS);
+	}
+
+	/**
+	 * Create a new distributed evaluator, with an automatically chosen batch
+	 * size and at most two in-flight batches per worker.
+	 *
+	 * @param transport the transport, which opens the worker connections
+	 * @param workers the number of workers
+	 * @param <G> the gene type
+	 * @param <C> the fitness result type
+	 * @return a new distributed evaluator
+	 * @throws NullPointerException if the {@code transport} is {@code null}
+	 * @throws IllegalArgumentException if the number of {@code workers} is
+	 *         smaller than one
+	 */
+	public static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	DistributedEvaluator<G, C> of(final Transport transport, final int workers) {
+		return of(transport, workers, 0, 2);
+	}
+
+}
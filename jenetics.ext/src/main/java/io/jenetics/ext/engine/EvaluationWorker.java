@@ -0,0 +1,304 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.ext.engine;
+
+import static java.util.Objects.requireNonNull;
+import static io.jenetics.internal.util.SerialIO.readInt;
+import static io.jenetics.internal.util.SerialIO.writeInt;
+import static io.jenetics.internal.util.SerialIO.writeString;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputFilter;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.function.Function;
+
+import io.jenetics.Gene;
+import io.jenetics.Genotype;
+
+/**
+ * Worker process of a {@link DistributedEvaluator}. The worker reads batches
+ * of genotypes from its connection, evaluates them with the given fitness
+ * function and sends back the fitness values, in the order of the received
+ * genotypes. The worker is started with
+ *
+ * <pre>{@code
+ * java -cp <class-path> io.jenetics.ext.engine.EvaluationWorker \
+ *     [--port <port> [--bind <address>] [--serial-filter <pattern>]] \
+ *     <fitness-function-class>
+ * }</pre>
+ *
+ * The fitness function class must implement
+ * {@code Function<Genotype<G>, C>} and must have a public no-arg constructor.
+ * Without the {@code --port} option, the worker communicates via its standard
+ * input and output streams and terminates, if the standard input is closed.
+ * With the {@code --port} option, the worker accepts socket connections on
+ * the given port and serves every connection in its own thread.
+ * <p>
+ * The socket connections are <em>not</em> authenticated. The worker
+ * therefore listens on the loopback address, unless another address is
+ * given with the {@code --bind} option, which should only be reachable from
+ * trusted hosts. Chromosomes without a compact binary representation are
+ * sent with <em>Java</em> serialization. On socket connections, they are
+ * rejected, unless they are accepted by the {@code --serial-filter}
+ * pattern, e.g. {@code io.jenetics.*;java.lang.*;!*}. The pattern has the
+ * syntax of {@link ObjectInputFilter.Config#createFilter(String)}.
+ *
+ * @see DistributedEvaluator
+ * @see Transport
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 6.1
+ * @since 6.1
+ */
+public final class EvaluationWorker {
+	private EvaluationWorker() {}
+
+	private static final System.Logger LOGGER =
+		System.getLogger(EvaluationWorker.class.getName());
+
+	// Rejects all Java serialized objects of a socket connection.
+	private static final ObjectInputFilter REJECT_ALL =
+		info -> ObjectInputFilter.Status.REJECTED;
+
+	/**
+	 * Serves the evaluation requests of one connection, until the
+	 * {@code input} stream is closed. Java serialized chromosomes are
+	 * accepted without restriction. This method must therefore only be used
+	 * for connections to a trusted evaluator.
+	 *
+	 * @see #serve(InputStream, OutputStream, Function, ObjectInputFilter)
+	 *
+	 * @param input the input stream of the connection
+	 * @param output the output stream of the connection
+	 * @param fitness the fitness function
+	 * @param <G> the gene type
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static <G extends Gene<?, G>> void serve(
+		final InputStream input,
+		final OutputStream output,
+		final Function<? super Genotype<G>, ?> fitness
+	)
+		throws IOException
+	{
+		serve(input, output, fitness, null);
+	}
+
+	/**
+	 * Serves the evaluation requests of one connection, until the
+	 * {@code input} stream is closed. Java serialized chromosomes are checked
+	 * by the given {@code filter}. If a chromosome is rejected, a failure is
+	 * sent to the evaluator and the connection is terminated with an
+	 * {@link InvalidClassException}.
+	 *
+	 * @param input the input stream of the connection
+	 * @param output the output stream of the connection
+	 * @param fitness the fitness function
+	 * @param filter the filter for the Java serialized chromosomes, or
+	 *        {@code null} if they are not filtered
+	 * @param <G> the gene type
+	 * @throws NullPointerException if one of the stream arguments or the
+	 *         {@code fitness} function is {@code null}
+	 * @throws IOException if an I/O error occurs
+	 */
+	@SuppressWarnings("unchecked")
+	public static <G extends Gene<?, G>> void serve(
+		final InputStream input,
+		final OutputStream output,
+		final Function<? super Genotype<G>, ?> fitness,
+		final ObjectInputFilter filter
+	)
+		throws IOException
+	{
+		requireNonNull(fitness);
+		final var in = new DataInputStream(new BufferedInputStream(input));
+		final var out = new DataOutputStream(new BufferedOutputStream(output));
+
+		WireFormat.writeHeader(out);
+		out.flush();
+
+		while (true) {
+			final int type = in.read();
+			if (type == -1) {
+				break;
+			}
+			if (type != WireFormat.EVALUATE) {
+				throw new StreamCorruptedException(
+					"Unknown message type: " + type
+				);
+			}
+
+			final int count = readInt(in);
+			final Object[] results = new Object[count];
+			Throwable failure = null;
+			for (int i = 0; i < count; ++i) {
+				final Genotype<G> gt;
+				try {
+					gt = (Genotype<G>)WireFormat.readGenotype(in, filter);
+				} catch (InvalidClassException e) {
+					// The rest of the request can't be read anymore.
+					out.writeByte(WireFormat.FAILURE);
+					writeString("Rejected serialized chromosome: " + e, out);
+					out.flush();
+					throw e;
+				}
+
+				if (failure == null) {
+					try {
+						results[i] = requireNonNull(fitness.apply(gt));
+					} catch (Throwable e) {
+						failure = e;
+					}
+				}
+			}
+
+			if (failure == null) {
+				out.writeByte(WireFormat.RESULT);
+				writeInt(count, out);
+				for (Object result : results) {
+					WireFormat.writeFitness(result, out);
+				}
+			} else {
+				out.writeByte(WireFormat.FAILURE);
+				writeString(failure.toString(), out);
+			}
+			out.flush();
+		}
+	}
+
+	/**
+	 * Starts the evaluation worker.
+	 *
+	 * @param args the worker arguments:
+	 *        {@code [--port <port> [--bind <address>] [--serial-filter <pattern>]]
+	 *        <fitness-class>}
+	 * @throws Exception if the worker can't be started
+	 */
+	public static void main(final String[] args) throws Exception {
+		int port = -1;
+		String bind = null;
+		String pattern = null;
+
+		int index = 0;
+		while (index < args.length - 2 && args[index].startsWith("--")) {
+			final String value = args[index + 1];
+			switch (args[index]) {
+				case "--port": port = Integer.parseInt(value); break;
+				case "--bind": bind = value; break;
+				case "--serial-filter": pattern = value; break;
+				default: usage();
+			}
+			index += 2;
+		}
+		if (index != args.length - 1 ||
+			(port < 0 && (bind != null || pattern != null)))
+		{
+			usage();
+		}
+
+		final Function<Genotype<?>, ?> fitness = fitness(args[index]);
+		if (port >= 0) {
+			final InetAddress address = bind != null
+				? InetAddress.getByName(bind)
+				: InetAddress.getLoopbackAddress();
+			final ObjectInputFilter filter = pattern != null
+				? ObjectInputFilter.Config.createFilter(pattern)
+				: REJECT_ALL;
+
+			try (ServerSocket server = new ServerSocket(port, 0, address)) {
+				while (!Thread.currentThread().isInterrupted()) {
+					final Socket socket = server.accept();
+					final Thread thread = new Thread(() ->
+						serve(socket, fitness, filter)
+					);
+					thread.setDaemon(true);
+					thread.start();
+				}
+			}
+		} else {
+			// The standard output is used for the communication with the
+			// evaluator. Output of the fitness function is redirected.
+			final OutputStream out = new FileOutputStream(FileDescriptor.out);
+			System.setOut(System.err);
+			serve(System.in, out, fitness);
+		}
+	}
+
+	private static void usage() {
+		System.err.println(
+			"Usage: EvaluationWorker " +
+			"[--port <port> [--bind <address>] [--serial-filter <pattern>]] " +
+			"<fitness-function-class>"
+		);
+		System.exit(1);
+	}
+
+	private static void serve(
+		final Socket socket,
+		final Function<Genotype<?>, ?> fitness,
+		final ObjectInputFilter filter
+	) {
+		try (socket) {
+			socket.setTcpNoDelay(true);
+			serve(
+				socket.getInputStream(),
+				socket.getOutputStream(),
+				fitness,
+				filter
+			);
+		} catch (EOFException ignore) {
+		} catch (IOException e) {
+			LOGGER.log(
+				System.Logger.Level.WARNING,
+				"Connection to evaluator " + socket.getRemoteSocketAddress() +
+					" failed.",
+				e
+			);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Function<Genotype<?>, ?> fitness(final String name)
+		throws ReflectiveOperationException
+	{
+		final Class<?> type = Class.forName(name);
+		if (!Function.class.isAssignableFrom(type)) {
+			throw new IllegalArgumentException(
+				name + " doesn't implement " + Function.class.getName()
+			);
+		}
+		return (Function<Genotype<?>, ?>)type.getConstructor().newInstance();
+	}
+
+}
@@ -0,0 +1,663 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.ext.engine;
+
+import static java.lang.Math.floorMod;
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static java.util.concurrent.ForkJoinPool.commonPool;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import io.jenetics.Gene;
+import io.jenetics.Optimize;
+import io.jenetics.Phenotype;
+import io.jenetics.Selector;
+import io.jenetics.TruncationSelector;
+import io.jenetics.engine.Engine;
+import io.jenetics.engine.Evolution;
+import io.jenetics.engine.EvolutionDurations;
+import io.jenetics.engine.EvolutionInit;
+import io.jenetics.engine.EvolutionResult;
+import io.jenetics.engine.EvolutionStart;
+import io.jenetics.engine.EvolutionStream;
+import io.jenetics.engine.EvolutionStreamable;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.MSeq;
+import io.jenetics.util.RandomRegistry;
+
+/**
+ * The {@code IslandEngine} evolves several sub-populations, the
+ * <em>islands</em>, concurrently. Every island is evolved by its own
+ * {@link Engine}, which allows different configurations for the islands. After
+ * a given number of generations, the best individuals of every island
+ * <em>migrate</em> to the neighbouring islands, where they replace the worst
+ * individuals. Since the islands are only synchronized at the migration
+ * points, and not for every generation, the island model scales well with
+ * the number of available cores.
+ *
+ * <pre>{@code
+ *                   migration
+ *        +---------------------------------+
+ *        v                                 |
+ *  +------------+    +------------+    +------------+
+ *  |  Engine 1  |--->|  Engine 2  |--->|  Engine 3  |
+ *  +------------+    +------------+    +------------+
+ *                      migration
+ * }</pre>
+ *
+ * One evolution step of the island engine evolves every island up to the
+ * next migration generation. The emitted {@link EvolutionResult} contains the
+ * merged population of all islands after the migration. This population is
+ * split again into the island populations for the next evolution step, which
+ * makes the island engine usable with the existing evolution stream limits
+ * and collectors. Note that the generation of consecutive results advances
+ * by the {@link #migrationInterval()}, and the generation based limits count
+ * the emitted results, not the evolved island generations.
+ *
+ * <pre>{@code
+ *  final Problem<double[], DoubleGene, Double> problem = ...;
+ *
+ *  final Engine<DoubleGene, Double> engine = Engine.builder(problem)
+ *      .populationSize(50)
+ *      .alterers(new Mutator<>(0.2), new MeanAlterer<>())
+ *      .build();
+ *
+ *  final Genotype<DoubleGene> result = IslandEngine.builder(engine, 8)
+ *      .migrationInterval(10)
+ *      .migrants(2)
+ *      .topology(IslandEngine.Topology.ring())
+ *      .build()
+ *      .stream()
+ *      .limit(Limits.bySteadyFitness(100))
+ *      .collect(EvolutionResult.toBestGenotype());
+ * }</pre>
+ *
+ * @see CyclicEngine
+ * @see ConcatEngine
+ *
+ * @param <G> the gene type
+ * @param <C> the fitness type
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 6.1
+ * @since 6.1
+ */
+public final class IslandEngine<
+	G extends Gene<?, G>,
+	C extends Comparable<? super C>
+>
+	implements Evolution<G, C>, EvolutionStreamable<G, C>
+{
+
+	/**
+	 * Defines the migration paths between the islands.
+	 *
+	 * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+	 * @version 6.1
+	 * @since 6.1
+	 */
+	@FunctionalInterface
+	public interface Topology {
+
+		/**
+		 * Return the indexes of the islands, which receive the migrants of
+		 * the given {@code island}.
+		 *
+		 * @param island the index of the island which sends the migrants
+		 * @param islands the number of islands
+		 * @return the indexes of the target islands
+		 */
+		int[] targets(final int island, final int islands);
+
+		/**
+		 * Return a ring topology, where the island {@code i} sends its
+		 * migrants to the island {@code (i + 1) mod n}.
+		 *
+		 * @return a ring topology
+		 */
+		static Topology ring() {
+			return (island, islands) -> islands > 1
+				? new int[]{(island + 1)%islands}
+				: new int[0];
+		}
+
+		/**
+		 * Return a fully connected topology, where every island sends its
+		 * migrants to all other islands.
+		 *
+		 * @return a fully connected topology
+		 */
+		static Topology fullyConnected() {
+			return (island, islands) -> IntStream.range(0, islands)
+				.filter(i -> i != island)
+				.toArray();
+		}
+
+		/**
+		 * Return a random topology, where every island sends its migrants to
+		 * one, randomly chosen, other island. The random engine of the
+		 * {@link RandomRegistry} is used for choosing the target island.
+		 *
+		 * @return a random topology
+		 */
+		static Topology random() {
+			return (island, islands) -> {
+				if (islands > 1) {
+					final Random random = RandomRegistry.random();
+					final int target = random.nextInt(islands - 1);
+					return new int[]{target < island ? target : target + 1};
+				} else {
+					return new int[0];
+				}
+			};
+		}
+
+	}
+
+	private final List<Engine<G, C>> _engines;
+	private final int _migrationInterval;
+	private final int _migrants;
+	private final Topology _topology;
+	private final Selector<G, C> _migrantSelector;
+	private final Executor _executor;
+	private final Optimize _optimize;
+
+	private IslandEngine(
+		final List<Engine<G, C>> engines,
+		final int migrationInterval,
+		final int migrants,
+		final Topology topology,
+		final Selector<G, C> migrantSelector,
+		final Executor executor
+	) {
+		_engines = List.copyOf(engines);
+		_migrationInterval = migrationInterval;
+		_migrants = migrants;
+		_topology = requireNonNull(topology);
+		_migrantSelector = requireNonNull(migrantSelector);
+		_executor = requireNonNull(executor);
+		_optimize = _engines.get(0).optimize();
+	}
+
+	/**
+	 * Return the engines of the islands.
+	 *
+	 * @return the engines of the islands
+	 */
+	public List<Engine<G, C>> engines() {
+		return _engines;
+	}
+
+	/**
+	 * Return the number of generations between two migrations.
+	 *
+	 * @return the number of generations between two migrations
+	 */
+	public int migrationInterval() {
+		return _migrationInterval;
+	}
+
+	/**
+	 * Return the number of individuals, which are sent by every island on
+	 * migration.
+	 *
+	 * @return the number of migrants of every island
+	 */
+	public int migrants() {
+		return _migrants;
+	}
+
+	/**
+	 * Return the migration topology.
+	 *
+	 * @return the migration topology
+	 */
+	public Topology topology() {
+		return _topology;
+	}
+
+	/**
+	 * Return the selector used for choosing the migrants of an island.
+	 *
+	 * @return the selector used for choosing the migrants
+	 */
+	public Selector<G, C> migrantSelector() {
+		return _migrantSelector;
+	}
+
+	/**
+	 * Return the executor, which evolves the islands.
+	 *
+	 * @return the executor which evolves the islands
+	 */
+	public Executor executor() {
+		return _executor;
+	}
+
+	/**
+	 * Evolves the islands independently up to the next migration point. Every
+	 * island evolves its population with its own engine, and the islands are
+	 * only synchronized for the migration. The returned result contains the
+	 * merged population of the migration generation and the accumulated
+	 * statistics of all evolved island generations.
+	 *
+	 * @param start the evolution start state
+	 * @return the merged evolution result of the next migration generation
+	 * @throws NullPointerException if the given evolution {@code start} is
+	 *         {@code null}
+	 */
+	@Override
+	public EvolutionResult<G, C> evolve(final EvolutionStart<G, C> start) {
+		final Clock clock = _engines.get(0).clock();
+		final Instant begin = clock.instant();
+
+		final int generations =
+			floorMod(-start.generation(), _migrationInterval) + 1;
+
+		final List<EvolutionStart<G, C>> starts = split(start);
+		final List<CompletableFuture<List<EvolutionResult<G, C>>>> futures =
+			new ArrayList<>(_engines.size());
+		for (int i = 0; i < _engines.size(); ++i) {
+			final Engine<G, C> engine = _engines.get(i);
+			final EvolutionStart<G, C> es = starts.get(i);
+			futures.add(supplyAsync(() -> evolve(engine, es, generations), _executor));
+		}
+
+		final List<List<EvolutionResult<G, C>>> islands =
+			new ArrayList<>(futures.size());
+		final List<EvolutionResult<G, C>> results = new ArrayList<>(futures.size());
+		for (CompletableFuture<List<EvolutionResult<G, C>>> future : futures) {
+			final List<EvolutionResult<G, C>> island = future.join();
+			islands.add(island);
+			results.add(island.get(island.size() - 1));
+		}
+
+		final long generation = results.get(0).generation();
+		final List<ISeq<Phenotype<G, C>>> populations = migrate(results);
+
+		final MSeq<Phenotype<G, C>> population = MSeq.ofLength(
+			populations.stream().mapToInt(ISeq::size).sum()
+		);
+		int offset = 0;
+		for (ISeq<Phenotype<G, C>> pop : populations) {
+			for (int i = 0; i < pop.size(); ++i) {
+				population.set(offset++, pop.get(i));
+			}
+		}
+
+		EvolutionDurations durations = EvolutionDurations.ZERO;
+		int killCount = 0;
+		int invalidCount = 0;
+		int alterCount = 0;
+		for (List<EvolutionResult<G, C>> island : islands) {
+			for (EvolutionResult<G, C> result : island) {
+				durations = durations.plus(result.durations());
+				killCount += result.killCount();
+				invalidCount += result.invalidCount();
+				alterCount += result.alterCount();
+			}
+		}
+
+		return EvolutionResult.of(
+			_optimize,
+			population.toISeq(),
+			generation,
+			EvolutionDurations.of(
+				durations.offspringSelectionDuration(),
+				durations.survivorsSelectionDuration(),
+				durations.offspringAlterDuration(),
+				durations.offspringFilterDuration(),
+				durations.survivorFilterDuration(),
+				durations.evaluationDuration(),
+				Duration.between(begin, clock.instant()),
+				durations.evaluationBatchSize()
+			),
+			killCount,
+			invalidCount,
+			alterCount
+		);
+	}
+
+	// Evolves one island for the given number of generations.
+	private static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	List<EvolutionResult<G, C>> evolve(
+		final Engine<G, C> engine,
+		final EvolutionStart<G, C> start,
+		final int generations
+	) {
+		final List<EvolutionResult<G, C>> results = new ArrayList<>(generations);
+
+		EvolutionStart<G, C> es = start;
+		for (int i = 0; i < generations; ++i) {
+			final EvolutionResult<G, C> result = engine.evolve(es);
+			results.add(result);
+			es = result.next();
+		}
+
+		return results;
+	}
+
+	// Splits the merged population into the island populations.
+	private List<EvolutionStart<G, C>> split(final EvolutionStart<G, C> start) {
+		final ISeq<Phenotype<G, C>> population = start.population();
+		final List<EvolutionStart<G, C>> starts = new ArrayList<>(_engines.size());
+
+		int offset = 0;
+		for (Engine<G, C> engine : _engines) {
+			final int end = min(offset + engine.populationSize(), population.size());
+			starts.add(EvolutionStart.of(
+				population.subSeq(offset, end),
+				start.generation()
+			));
+			offset = end;
+		}
+
+		return starts;
+	}
+
+	// The migrants of an island replace the worst individuals of the target
+	// islands. Every island population keeps its size.
+	private List<ISeq<Phenotype<G, C>>>
+	migrate(final List<EvolutionResult<G, C>> results) {
+		final int islands = results.size();
+
+		final List<List<Phenotype<G, C>>> incoming = new ArrayList<>(islands);
+		for (int i = 0; i < islands; ++i) {
+			incoming.add(new ArrayList<>());
+		}
+
+		for (int i = 0; i < islands; ++i) {
+			final ISeq<Phenotype<G, C>> population = results.get(i).population();
+			if (!population.isEmpty()) {
+				final ISeq<Phenotype<G, C>> migrants = _migrantSelector
+					.select(population, _migrants, _optimize);
+
+				for (int target : _topology.targets(i, islands)) {
+					incoming.get(target).addAll(migrants.asList());
+				}
+			}
+		}
+
+		final List<ISeq<Phenotype<G, C>>> populations = new ArrayList<>(islands);
+		for (int i = 0; i < islands; ++i) {
+			final List<Phenotype<G, C>> migrants = incoming.get(i);
+			final MSeq<Phenotype<G, C>> population = results.get(i)
+				.population()
+				.copy();
+
+			if (!migrants.isEmpty()) {
+				population.sort((a, b) ->
+					_optimize.compare(a.fitness(), b.fitness()));
+
+				for (int j = 0, n = min(migrants.size(), population.size()); j < n; ++j) {
+					population.set(j, migrants.get(j));
+				}
+			}
+
+			populations.add(population.toISeq());
+		}
+
+		return populations;
+	}
+
+
+	/* *************************************************************************
+	 * Evolution Stream creation.
+	 **************************************************************************/
+
+	@Override
+	public EvolutionStream<G, C>
+	stream(final Supplier<EvolutionStart<G, C>> start) {
+		return EvolutionStream.ofEvolution(start, this);
+	}
+
+	@Override
+	public EvolutionStream<G, C> stream(final EvolutionInit<G> init) {
+		final long generation = init.generation();
+		return stream(() -> EvolutionStart.of(
+			init.population().map(gt -> Phenotype.of(gt, generation)),
+			generation
+		));
+	}
+
+
+	/* *************************************************************************
+	 * Static factory methods.
+	 **************************************************************************/
+
+	/**
+	 * Create a new island engine builder for the given island engines.
+	 *
+	 * @param engines the engines of the islands
+	 * @param <G> the gene type
+	 * @param <C> the fitness type
+	 * @return a new island engine builder
+	 * @throws NullPointerException if the {@code engines} or one of it's
+	 *         elements is {@code null}
+	 * @throws IllegalArgumentException if the given {@code engines} are empty
+	 *         or the engines have different optimization strategies
+	 */
+	public static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	Builder<G, C> builder(final List<? extends Engine<G, C>> engines) {
+		return new Builder<>(engines);
+	}
+
+	/**
+	 * Create a new island engine builder for the given island engines.
+	 *
+	 * @param engines the engines of the islands
+	 * @param <G> the gene type
+	 * @param <C> the fitness type
+	 * @return a new island engine builder
+	 * @throws NullPointerException if the {@code engines} or one of it's
+	 *         elements is {@code null}
+	 * @throws IllegalArgumentException if the given {@code engines} are empty
+	 *         or the engines have different optimization strategies
+	 */
+	@SafeVarargs
+	public static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	Builder<G, C> builder(final Engine<G, C>... engines) {
+		return builder(List.of(engines));
+	}
+
+	/**
+	 * Create a new island engine builder with {@code islands} islands, which
+	 * are all evolved with the given {@code engine}.
+	 *
+	 * @param engine the engine of the islands
+	 * @param islands the number of islands
+	 * @param <G> the gene type
+	 * @param <C> the fitness type
+	 * @return a new island engine builder
+	 * @throws NullPointerException if the {@code engine} is {@code null}
+	 * @throws IllegalArgumentException if the number of {@code islands} is
+	 *         smaller than one
+	 */
+	public static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	Builder<G, C> builder(final Engine<G, C> engine, final int islands) {
+		requireNonNull(engine);
+		if (islands < 1) {
+			throw new IllegalArgumentException(format(
+				"Number of islands must be greater than zero: %d", islands
+			));
+		}
+
+		final List<Engine<G, C>> engines = new ArrayList<>(islands);
+		for (int i = 0; i < islands; ++i) {
+			engines.add(engine);
+		}
+		return builder(engines);
+	}
+
+
+	/* *************************************************************************
+	 * Island engine builder.
+	 **************************************************************************/
+
+	/**
+	 * Builder class for building {@code IslandEngine} instances.
+	 *
+	 * @param <G> the gene type
+	 * @param <C> the fitness type
+	 *
+	 * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+	 * @version 6.1
+	 * @since 6.1
+	 */
+	public static final class Builder<
+		G extends Gene<?, G>,
+		C extends Comparable<? super C>
+	> {
+		private final List<Engine<G, C>> _engines;
+
+		private int _migrationInterval = 10;
+		private int _migrants = 1;
+		private Topology _topology = Topology.ring();
+		private Selector<G, C> _migrantSelector = new TruncationSelector<>();
+		private Executor _executor = commonPool();
+
+		private Builder(final List<? extends Engine<G, C>> engines) {
+			engines.forEach(Objects::requireNonNull);
+			if (engines.isEmpty()) {
+				throw new IllegalArgumentException(
+					"At least one island engine must be given."
+				);
+			}
+
+			final Optimize optimize = engines.get(0).optimize();
+			if (engines.stream().anyMatch(e -> e.optimize() != optimize)) {
+				throw new IllegalArgumentException(
+					"All island engines must have the same optimization strategy."
+				);
+			}
+
+			_engines = new ArrayList<>(engines);
+		}
+
+		/**
+		 * Set the number of generations between two migrations. The
+		 * default value is set to 10.
+		 *
+		 * @param interval the number of generations between two migrations
+		 * @return {@code this} builder, for command chaining
+		 * @throws IllegalArgumentException if the {@code interval} is smaller
+		 *         than one
+		 */
+		public Builder<G, C> migrationInterval(final int interval) {
+			if (interval < 1) {
+				throw new IllegalArgumentException(format(
+					"Migration interval must be greater than zero: %d", interval
+				));
+			}
+			_migrationInterval = interval;
+			return this;
+		}
+
+		/**
+		 * Set the number of individuals, every island sends to its target
+		 * islands on migration. The default value is set to 1.
+		 *
+		 * @param migrants the number of migrants of every island
+		 * @return {@code this} builder, for command chaining
+		 * @throws IllegalArgumentException if the number of {@code migrants}
+		 *         is negative
+		 */
+		public Builder<G, C> migrants(final int migrants) {
+			if (migrants < 0) {
+				throw new IllegalArgumentException(format(
+					"Number of migrants must not be negative: %d", migrants
+				));
+			}
+			_migrants = migrants;
+			return this;
+		}
+
+		/**
+		 * Set the migration topology. The default value is set to
+		 * {@link Topology#ring()}.
+		 *
+		 * @param topology the migration topology
+		 * @return {@code this} builder, for command chaining
+		 * @throws NullPointerException if the {@code topology} is {@code null}
+		 */
+		public Builder<G, C> topology(final Topology topology) {
+			_topology = requireNonNull(topology);
+			return this;
+		}
+
+		/**
+		 * Set the selector used for choosing the migrants of an island. The
+		 * default value is set to {@link TruncationSelector}, which chooses
+		 * the best individuals.
+		 *
+		 * @param selector the selector used for choosing the migrants
+		 * @return {@code this} builder, for command chaining
+		 * @throws NullPointerException if the {@code selector} is {@code null}
+		 */
+		public Builder<G, C> migrantSelector(final Selector<G, C> selector) {
+			_migrantSelector = requireNonNull(selector);
+			return this;
+		}
+
+		/**
+		 * Set the executor, which evolves the islands concurrently. The
+		 * default value is set to {@link java.util.concurrent.ForkJoinPool#commonPool()}.
+		 *
+		 * @param executor the executor which evolves the islands
+		 * @return {@code this} builder, for command chaining
+		 * @throws NullPointerException if the {@code executor} is {@code null}
+		 */
+		public Builder<G, C> executor(final Executor executor) {
+			_executor = requireNonNull(executor);
+			return this;
+		}
+
+		/**
+		 * Build a new island engine with the current builder configuration.
+		 *
+		 * @return a new island engine
+		 */
+		public IslandEngine<G, C> build() {
+			return new IslandEngine<>(
+				_engines,
+				_migrationInterval,
+				_migrants,
+				_topology,
+				_migrantSelector,
+				_executor
+			);
+		}
+
+	}
+
+}
@@ -0,0 +1,273 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.ext.engine;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+
+/**
+ * Opens the connections to the worker processes of a
+ * {@link DistributedEvaluator}. The worker at the other end of a connection
+ * is an {@link EvaluationWorker}, which evaluates the genotypes it receives.
+ *
+ * <pre>{@code
+ * // Forks two local worker JVMs, which communicate via pipes.
+ * final Transport pipes = Transport.processes(MyFitness.class);
+ *
+ * // Connects to two already running workers, started with 'java
+ * // io.jenetics.ext.engine.EvaluationWorker --port 9000 --bind <host>
+ * // MyFitness'.
+ * final Transport sockets = Transport.sockets(List.of(
+ *     new InetSocketAddress("host1", 9000),
+ *     new InetSocketAddress("host2", 9000)
+ * ));
+ * }</pre>
+ *
+ * @see DistributedEvaluator
+ * @see EvaluationWorker
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 6.1
+ * @since 6.1
+ */
+@FunctionalInterface
+public interface Transport {
+
+	/**
+	 * A bidirectional byte stream connection to one worker.
+	 *
+	 * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+	 * @version 6.1
+	 * @since 6.1
+	 */
+	interface Connection extends Closeable {
+
+		/**
+		 * Return the stream, which receives the messages of the worker.
+		 *
+		 * @return the input stream of the connection
+		 */
+		InputStream input();
+
+		/**
+		 * Return the stream, which sends messages to the worker.
+		 *
+		 * @return the output stream of the connection
+		 */
+		OutputStream output();
+
+	}
+
+	/**
+	 * Opens a new connection to the worker with the given index. This method
+	 * is called again for a worker, after its connection failed.
+	 *
+	 * @param worker the index of the worker
+	 * @return a new connection to the worker
+	 * @throws IOException if the connection can't be opened
+	 */
+	Connection open(final int worker) throws IOException;
+
+
+	/* *************************************************************************
+	 * Static factory methods.
+	 **************************************************************************/
+
+	/**
+	 * Return a transport, which starts a new worker process for every
+	 * connection, with the given {@code command}. The worker process
+	 * communicates via its standard input and output streams.
+	 *
+	 * @param command the command, which starts an {@link EvaluationWorker}
+	 *        process
+	 * @return a new process transport
+	 * @throws NullPointerException if the {@code command} is {@code null}
+	 * @throws IllegalArgumentException if the {@code command} is empty
+	 */
+	static Transport processes(final List<String> command) {
+		if (command.isEmpty()) {
+			throw new IllegalArgumentException("Worker command is empty.");
+		}
+		final List<String> cmd = List.copyOf(command);
+		return worker -> new ProcessConnection(
+			new ProcessBuilder(cmd)
+				.redirectError(ProcessBuilder.Redirect.INHERIT)
+				.start()
+		);
+	}
+
+	/**
+	 * Return a transport, which forks a new local JVM for every connection.
+	 * The forked JVM uses the class path of the current JVM and evaluates the
+	 * given fitness function, which must have a public no-arg constructor.
+	 *
+	 * @param fitness the fitness function class, evaluated by the workers
+	 * @param jvmOptions additional options of the forked JVMs, e.g.
+	 *        {@code -Xmx1g}
+	 * @return a new process transport
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 */
+	@SuppressWarnings("rawtypes")
+	static Transport processes(
+		final Class<? extends Function> fitness,
+		final String... jvmOptions
+	) {
+		final List<String> command = new ArrayList<>();
+		command.add(
+			Path.of(System.getProperty("java.home"), "bin", "java").toString()
+		);
+		command.addAll(List.of(jvmOptions));
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(EvaluationWorker.class.getName());
+		command.add(fitness.getName());
+
+		return processes(command);
+	}
+
+	/**
+	 * Return a transport, which connects to already running workers, started
+	 * with the {@code --port} option. The worker with index {@code i} is
+	 * connected to the address {@code addresses.get(i % addresses.size())}.
+	 *
+	 * @param addresses the worker addresses
+	 * @return a new socket transport
+	 * @throws NullPointerException if the {@code addresses} or one of its
+	 *         elements is {@code null}
+	 * @throws IllegalArgumentException if the {@code addresses} are empty
+	 */
+	static Transport sockets(final List<? extends SocketAddress> addresses) {
+		if (addresses.isEmpty()) {
+			throw new IllegalArgumentException("Worker addresses are empty.");
+		}
+		final List<SocketAddress> adr = List.copyOf(addresses);
+		return worker -> {
+			final Socket socket = new Socket();
+			try {
+				socket.setTcpNoDelay(true);
+				socket.connect(adr.get(worker%adr.size()));
+			} catch (IOException e) {
+				socket.close();
+				throw e;
+			}
+			return new SocketConnection(socket);
+		};
+	}
+
+	/**
+	 * Return a transport, which connects to the workers, running on the
+	 * given {@code host} and {@code ports}.
+	 *
+	 * @param host the worker host
+	 * @param ports the ports of the workers
+	 * @return a new socket transport
+	 * @throws NullPointerException if the {@code host} is {@code null}
+	 * @throws IllegalArgumentException if no port is given
+	 */
+	static Transport sockets(final String host, final int... ports) {
+		requireNonNull(host);
+		final List<InetSocketAddress> addresses = new ArrayList<>();
+		for (int port : ports) {
+			addresses.add(new InetSocketAddress(host, port));
+		}
+		return sockets(addresses);
+	}
+
+}
+
+/**
+ * Connection to a worker process via its standard input and output.
+ */
+final class ProcessConnection implements Transport.Connection {
+	private final Process _process;
+
+	ProcessConnection(final Process process) {
+		_process = requireNonNull(process);
+	}
+
+	@Override
+	public InputStream input() {
+		return _process.getInputStream();
+	}
+
+	@Override
+	public OutputStream output() {
+		return _process.getOutputStream();
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			// Closing the standard input terminates the worker.
+			_process.getOutputStream().close();
+			if (!_process.waitFor(1, TimeUnit.SECONDS)) {
+				_process.destroyForcibly();
+			}
+		} catch (InterruptedException e) {
+			_process.destroyForcibly();
+			Thread.currentThread().interrupt();
+		} finally {
+			_process.getInputStream().close();
+		}
+	}
+}
+
+/**
+ * Connection to a worker via a socket.
+ */
+final class SocketConnection implements Transport.Connection {
+	private final Socket _socket;
+	private final InputStream _input;
+	private final OutputStream _output;
+
+	SocketConnection(final Socket socket) throws IOException {
+		_socket = requireNonNull(socket);
+		_input = socket.getInputStream();
+		_output = socket.getOutputStream();
+	}
+
+	@Override
+	public InputStream input() {
+		return _input;
+	}
+
+	@Override
+	public OutputStream output() {
+		return _output;
+	}
+
+	@Override
+	public void close() throws IOException {
+		_socket.close();
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.ext.engine;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.StreamCorruptedException;
+
+import io.jenetics.Genotype;
+import io.jenetics.internal.engine.BinaryCodec;
+
+/**
+ * Binary wire format of the genotypes and fitness values, exchanged between
+ * the {@link DistributedEvaluator} and the {@link EvaluationWorker}. The
+ * genotypes and fitness values are encoded like in the
+ * {@link io.jenetics.engine.BinaryIO} format.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 6.1
+ * @since 6.1
+ */
+final class WireFormat {
+	private WireFormat() {}
+
+	/**
+	 * Magic number, written by the worker at the beginning of a connection.
+	 */
+	static final int MAGIC = 0x4A454E45;
+	static final int VERSION = 3;
+
+	// Message types.
+	static final byte EVALUATE = 1;
+	static final byte RESULT = 2;
+	static final byte FAILURE = 3;
+
+
+	/* *************************************************************************
+	 * Genotype and fitness encoding.
+	 **************************************************************************/
+
+	static void writeGenotype(final Genotype<?> gt, final DataOutput out)
+		throws IOException
+	{
+		BinaryCodec.writeGenotype(gt, out);
+	}
+
+	static Genotype<?> readGenotype(final DataInput in) throws IOException {
+		return BinaryCodec.readGenotype(in);
+	}
+
+	// Java serialized chromosomes are checked by the given filter.
+	static Genotype<?> readGenotype(
+		final DataInput in,
+		final ObjectInputFilter filter
+	)
+		throws IOException
+	{
+		return BinaryCodec.readGenotype(in, filter);
+	}
+
+	static void writeFitness(final Object fitness, final DataOutput out)
+		throws IOException
+	{
+		BinaryCodec.writeFitness(requireNonNull(fitness), out);
+	}
+
+	static Object readFitness(final DataInput in) throws IOException {
+		final Object fitness = BinaryCodec.readFitness(in);
+		if (fitness == null) {
+			throw new StreamCorruptedException("Missing fitness value.");
+		}
+		return fitness;
+	}
+
+	// Java serialized fitness values are checked by the given filter.
+	static Object readFitness(
+		final DataInput in,
+		final ObjectInputFilter filter
+	)
+		throws IOException
+	{
+		final Object fitness = BinaryCodec.readFitness(in, filter);
+		if (fitness == null) {
+			throw new StreamCorruptedException("Missing fitness value.");
+		}
+		return fitness;
+	}
+
+
+	/* *************************************************************************
+	 * Connection handshake.
+	 **************************************************************************/
+
+	static void writeHeader(final DataOutput out) throws IOException {
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+	}
+
+	static void readHeader(final DataInput in) throws IOException {
+		final int magic = in.readInt();
+		final int version = in.readInt();
+		if (magic != MAGIC) {
+			throw new StreamCorruptedException(String.format(
+				"Invalid worker header: %08x", magic
+			));
+		}
+		if (version != VERSION) {
+			throw new StreamCorruptedException(String.format(
+				"Unsupported wire format version: %d", version
+			));
+		}
+	}
+
+}
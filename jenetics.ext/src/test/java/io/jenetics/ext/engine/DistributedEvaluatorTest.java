@@ -0,0 +1,380 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.ext.engine;
+
+import static io.jenetics.internal.util.SerialIO.readString;
+import static io.jenetics.internal.util.SerialIO.writeInt;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputFilter;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.Serializable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import io.jenetics.DoubleChromosome;
+import io.jenetics.DoubleGene;
+import io.jenetics.Genotype;
+import io.jenetics.PermutationChromosome;
+import io.jenetics.Phenotype;
+import io.jenetics.engine.Engine;
+import io.jenetics.engine.EvolutionResult;
+import io.jenetics.util.ISeq;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class DistributedEvaluatorTest {
+
+	/**
+	 * Fitness function, evaluated by the forked worker JVMs.
+	 */
+	public static final class Sum implements Function<Genotype<DoubleGene>, Double> {
+		@Override
+		public Double apply(final Genotype<DoubleGene> gt) {
+			return gt.chromosome().as(DoubleChromosome.class)
+				.doubleStream()
+				.sum();
+		}
+	}
+
+	private static final Function<Genotype<DoubleGene>, Double> FITNESS = new Sum();
+
+	/**
+	 * Fitness type, which is not accepted by the default fitness filter.
+	 */
+	static final class Score implements Comparable<Score>, Serializable {
+		private static final long serialVersionUID = 1L;
+		final double value;
+		Score(final double value) {
+			this.value = value;
+		}
+		@Override
+		public int compareTo(final Score other) {
+			return Double.compare(value, other.value);
+		}
+	}
+
+	private static ISeq<Phenotype<DoubleGene, Double>> population(final int size) {
+		return Genotype.of(DoubleChromosome.of(0, 1, 10)).instances()
+			.limit(size)
+			.map(gt -> Phenotype.<DoubleGene, Double>of(gt, 1))
+			.collect(ISeq.toISeq());
+	}
+
+	// Runs the workers in threads of this JVM, connected via pipes.
+	private static Transport local(
+		final Function<Genotype<DoubleGene>, ?> fitness,
+		final Function<InputStream, InputStream> wrapper
+	) {
+		return worker -> {
+			final var requests = new PipedInputStream(1 << 16);
+			final var requestsOut = new PipedOutputStream(requests);
+			final var responses = new PipedInputStream(1 << 16);
+			final var responsesOut = new PipedOutputStream(responses);
+
+			final Thread thread = new Thread(() -> {
+				try (requests; responsesOut) {
+					EvaluationWorker.serve(
+						wrapper.apply(requests),
+						responsesOut,
+						fitness
+					);
+				} catch (IOException ignore) {
+				}
+			});
+			thread.setDaemon(true);
+			thread.start();
+
+			return new Transport.Connection() {
+				@Override
+				public InputStream input() {
+					return responses;
+				}
+				@Override
+				public OutputStream output() {
+					return requestsOut;
+				}
+				@Override
+				public void close() throws IOException {
+					requestsOut.close();
+					responses.close();
+				}
+			};
+		};
+	}
+
+	private static Transport local(final Function<Genotype<DoubleGene>, ?> fitness) {
+		return local(fitness, Function.identity());
+	}
+
+	private static void assertEvaluated(
+		final ISeq<Phenotype<DoubleGene, Double>> population,
+		final ISeq<Phenotype<DoubleGene, Double>> evaluated
+	) {
+		Assert.assertEquals(evaluated.length(), population.length());
+		for (int i = 0; i < evaluated.length(); ++i) {
+			final var pt = evaluated.get(i);
+			Assert.assertEquals(pt.genotype(), population.get(i).genotype());
+			Assert.assertEquals(pt.fitness(), FITNESS.apply(pt.genotype()));
+		}
+	}
+
+	@Test
+	public void evaluate() {
+		try (var evaluator = DistributedEvaluator
+				.<DoubleGene, Double>of(local(FITNESS), 3, 7, 2))
+		{
+			final var population = population(100);
+			assertEvaluated(population, evaluator.eval(population));
+
+			// The connections are reused.
+			final var population2 = population(33);
+			assertEvaluated(population2, evaluator.eval(population2));
+		}
+	}
+
+	@Test
+	public void evaluatePartially() {
+		try (var evaluator = DistributedEvaluator
+				.<DoubleGene, Double>of(local(FITNESS), 2))
+		{
+			final var population = population(10)
+				.map(pt -> pt.withFitness(-1.0))
+				.append(population(10));
+
+			final var evaluated = evaluator.eval(population);
+			Assert.assertEquals(evaluated.length(), 20);
+			Assert.assertTrue(evaluated.forAll(Phenotype::isEvaluated));
+			Assert.assertEquals(
+				evaluated.stream().filter(pt -> pt.fitness() == -1.0).count(),
+				10
+			);
+			Assert.assertSame(evaluator.eval(evaluated), evaluated);
+		}
+	}
+
+	@Test
+	public void workerFailure() {
+		// The first connection breaks after the first request bytes.
+		final var connections = new AtomicInteger();
+		final Function<InputStream, InputStream> breaking = in -> {
+			if (connections.getAndIncrement() > 0) {
+				return in;
+			}
+			return new FilterInputStream(in) {
+				int read = 0;
+				@Override
+				public int read() throws IOException {
+					if (++read > 100) throw new IOException("Broken worker.");
+					return super.read();
+				}
+				@Override
+				public int read(final byte[] b, final int off, final int len)
+					throws IOException
+				{
+					if (read > 100) throw new IOException("Broken worker.");
+					final int n = super.read(b, off, Math.min(len, 10));
+					read += Math.max(n, 0);
+					return n;
+				}
+			};
+		};
+
+		try (var evaluator = DistributedEvaluator
+				.<DoubleGene, Double>of(local(FITNESS, breaking), 2, 5, 3))
+		{
+			final var population = population(100);
+			assertEvaluated(population, evaluator.eval(population));
+		}
+		Assert.assertTrue(connections.get() > 2, "Connections: " + connections);
+	}
+
+	@Test
+	public void allWorkersFail() {
+		final Transport transport = worker -> {
+			throw new IOException("No worker.");
+		};
+
+		try (var evaluator = DistributedEvaluator
+				.<DoubleGene, Double>of(transport, 2))
+		{
+			evaluator.eval(population(10));
+			Assert.fail("CancellationException expected.");
+		} catch (CancellationException e) {
+			Assert.assertTrue(e.getCause() instanceof IOException);
+		}
+	}
+
+	@Test
+	public void fitnessFailure() {
+		final Function<Genotype<DoubleGene>, Double> fitness = gt -> {
+			throw new ArithmeticException("Fitness failure.");
+		};
+
+		try (var evaluator = DistributedEvaluator
+				.<DoubleGene, Double>of(local(fitness), 2))
+		{
+			evaluator.eval(population(10));
+			Assert.fail("CancellationException expected.");
+		} catch (CancellationException e) {
+			Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+			Assert.assertTrue(
+				e.getCause().getMessage().contains("Fitness failure."),
+				e.getCause().getMessage()
+			);
+		}
+	}
+
+	@Test
+	public void rejectSerializedChromosomes() throws IOException {
+		final var request = new ByteArrayOutputStream();
+		try (var out = new DataOutputStream(request)) {
+			out.writeByte(WireFormat.EVALUATE);
+			writeInt(1, out);
+			WireFormat.writeGenotype(
+				Genotype.of(PermutationChromosome.ofInteger(10)),
+				out
+			);
+		}
+
+		final var response = new ByteArrayOutputStream();
+		try {
+			EvaluationWorker.serve(
+				new ByteArrayInputStream(request.toByteArray()),
+				response,
+				gt -> 1.0,
+				info -> ObjectInputFilter.Status.REJECTED
+			);
+			Assert.fail("InvalidClassException expected.");
+		} catch (InvalidClassException expected) {
+		}
+
+		final var in = new DataInputStream(
+			new ByteArrayInputStream(response.toByteArray())
+		);
+		WireFormat.readHeader(in);
+		Assert.assertEquals(in.readByte(), WireFormat.FAILURE);
+		Assert.assertTrue(readString(in).startsWith("Rejected"));
+	}
+
+	@Test
+	public void acceptPlainSerializedFitness() {
+		try (var evaluator = DistributedEvaluator
+				.<DoubleGene, Float>of(local(gt -> FITNESS.apply(gt).floatValue()), 2))
+		{
+			final var population = population(10)
+				.map(pt -> Phenotype.<DoubleGene, Float>of(pt.genotype(), 1));
+
+			final var evaluated = evaluator.eval(population);
+			for (int i = 0; i < evaluated.length(); ++i) {
+				Assert.assertEquals(
+					evaluated.get(i).fitness().floatValue(),
+					FITNESS.apply(population.get(i).genotype()).floatValue()
+				);
+			}
+		}
+	}
+
+	@Test
+	public void rejectSerializedFitness() {
+		final var population = population(10)
+			.map(pt -> Phenotype.<DoubleGene, Score>of(pt.genotype(), 1));
+		final Function<Genotype<DoubleGene>, Score> fitness =
+			gt -> new Score(FITNESS.apply(gt));
+
+		try (var evaluator = DistributedEvaluator
+				.<DoubleGene, Score>of(local(fitness), 2))
+		{
+			evaluator.eval(population);
+			Assert.fail("CancellationException expected.");
+		} catch (CancellationException e) {
+			Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+			Assert.assertTrue(
+				e.getCause().getCause() instanceof InvalidClassException,
+				String.valueOf(e.getCause().getCause())
+			);
+		}
+
+		final ObjectInputFilter filter = ObjectInputFilter.Config
+			.createFilter(Score.class.getName() + ";!*");
+		try (var evaluator = DistributedEvaluator
+				.<DoubleGene, Score>of(local(fitness), 2, 0, 2, filter))
+		{
+			final var evaluated = evaluator.eval(population);
+			for (int i = 0; i < evaluated.length(); ++i) {
+				Assert.assertEquals(
+					evaluated.get(i).fitness().value,
+					FITNESS.apply(population.get(i).genotype()).doubleValue()
+				);
+			}
+		}
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void closed() {
+		final var evaluator = DistributedEvaluator
+			.<DoubleGene, Double>of(local(FITNESS), 2);
+		evaluator.close();
+		evaluator.eval(population(10));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void illegalWorkers() {
+		DistributedEvaluator.of(local(FITNESS), 0);
+	}
+
+	@Test(timeOut = 60_000L)
+	public void forkedWorkers() {
+		try (var evaluator = DistributedEvaluator
+				.<DoubleGene, Double>of(Transport.processes(Sum.class), 2))
+		{
+			final Engine<DoubleGene, Double> engine = new Engine.Builder<>(
+				evaluator,
+				Genotype.of(DoubleChromosome.of(0, 1, 10)))
+				.populationSize(50)
+				.build();
+
+			final EvolutionResult<DoubleGene, Double> result = engine.stream()
+				.limit(10)
+				.collect(EvolutionResult.toBestEvolutionResult());
+
+			Assert.assertTrue(result.population().forAll(Phenotype::isEvaluated));
+			Assert.assertEquals(
+				result.bestFitness(),
+				FITNESS.apply(result.bestPhenotype().genotype())
+			);
+		}
+	}
+
+}
@@ -0,0 +1,199 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.ext.engine;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import io.jenetics.DoubleChromosome;
+import io.jenetics.DoubleGene;
+import io.jenetics.Genotype;
+import io.jenetics.Mutator;
+import io.jenetics.Optimize;
+import io.jenetics.Phenotype;
+import io.jenetics.engine.Engine;
+import io.jenetics.engine.EvolutionResult;
+import io.jenetics.engine.EvolutionStart;
+import io.jenetics.util.ISeq;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class IslandEngineTest {
+
+	private static double fitness(final Genotype<DoubleGene> gt) {
+		return gt.chromosome().as(DoubleChromosome.class)
+			.doubleStream()
+			.sum();
+	}
+
+	private static Engine<DoubleGene, Double> engine(final int populationSize) {
+		return Engine
+			.builder(
+				IslandEngineTest::fitness,
+				Genotype.of(DoubleChromosome.of(0, 1, 5)))
+			.populationSize(populationSize)
+			.alterers(new Mutator<>(0.3))
+			.build();
+	}
+
+	@Test(dataProvider = "topologies")
+	public void stream(final IslandEngine.Topology topology) {
+		final var executor = Executors.newFixedThreadPool(4);
+		try {
+			final IslandEngine<DoubleGene, Double> engine = IslandEngine
+				.builder(engine(20), engine(30), engine(10), engine(40))
+				.migrationInterval(3)
+				.migrants(2)
+				.topology(topology)
+				.executor(executor)
+				.build();
+
+			final List<EvolutionResult<DoubleGene, Double>> results = engine.stream()
+				.limit(20)
+				.collect(Collectors.toList());
+
+			Assert.assertEquals(results.size(), 20);
+			for (int i = 0; i < results.size(); ++i) {
+				final EvolutionResult<DoubleGene, Double> result = results.get(i);
+				Assert.assertEquals(result.generation(), 3*(i + 1));
+				Assert.assertEquals(result.population().size(), 100);
+				Assert.assertTrue(result.population().forAll(Phenotype::isEvaluated));
+			}
+			Assert.assertTrue(
+				results.get(results.size() - 1).bestFitness() >
+					results.get(0).bestFitness()
+			);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@DataProvider(name = "topologies")
+	public Object[][] topologies() {
+		return new Object[][] {
+			{IslandEngine.Topology.ring()},
+			{IslandEngine.Topology.fullyConnected()},
+			{IslandEngine.Topology.random()}
+		};
+	}
+
+	@Test
+	public void migration() {
+		final Engine<DoubleGene, Double> engine = engine(10).toBuilder()
+			.alterers(new Mutator<>(0.0))
+			.build();
+
+		final IslandEngine<DoubleGene, Double> islands = IslandEngine
+			.builder(engine, 2)
+			.migrationInterval(1)
+			.migrants(1)
+			.build();
+
+		final ISeq<Phenotype<DoubleGene, Double>> population = engine.stream()
+			.limit(1)
+			.collect(EvolutionResult.toBestEvolutionResult())
+			.population()
+			.append(
+				engine.stream()
+					.limit(1)
+					.collect(EvolutionResult.toBestEvolutionResult())
+					.population()
+			);
+
+		final EvolutionResult<DoubleGene, Double> result =
+			islands.evolve(EvolutionStart.of(population, 1));
+
+		// The best individual migrates to the other island.
+		final double best = result.bestFitness();
+		final ISeq<Phenotype<DoubleGene, Double>> pop = result.population();
+		Assert.assertEquals(pop.size(), 20);
+		Assert.assertTrue(pop.subSeq(0, 10).stream()
+			.anyMatch(pt -> pt.fitness() == best));
+		Assert.assertTrue(pop.subSeq(10, 20).stream()
+			.anyMatch(pt -> pt.fitness() == best));
+	}
+
+	@Test
+	public void evolveToMigrationPoint() {
+		final IslandEngine<DoubleGene, Double> islands = IslandEngine
+			.builder(engine(10), 3)
+			.migrationInterval(4)
+			.build();
+
+		final EvolutionResult<DoubleGene, Double> first =
+			islands.evolve(EvolutionStart.of(ISeq.empty(), 1));
+		Assert.assertEquals(first.generation(), 4);
+		Assert.assertEquals(first.population().size(), 30);
+
+		// The statistics of all evolved island generations are accumulated.
+		Assert.assertTrue(first.alterCount() > 0);
+
+		final EvolutionResult<DoubleGene, Double> resumed =
+			islands.evolve(EvolutionStart.of(first.population(), 7));
+		Assert.assertEquals(resumed.generation(), 8);
+		Assert.assertEquals(resumed.population().size(), 30);
+		Assert.assertTrue(resumed.population().forAll(Phenotype::isEvaluated));
+	}
+
+	@Test
+	public void topologyTargets() {
+		Assert.assertEquals(IslandEngine.Topology.ring().targets(0, 3), new int[]{1});
+		Assert.assertEquals(IslandEngine.Topology.ring().targets(2, 3), new int[]{0});
+		Assert.assertEquals(IslandEngine.Topology.ring().targets(0, 1), new int[0]);
+		Assert.assertEquals(
+			IslandEngine.Topology.fullyConnected().targets(1, 4),
+			new int[]{0, 2, 3}
+		);
+
+		for (int i = 0; i < 100; ++i) {
+			final int[] targets = IslandEngine.Topology.random().targets(2, 5);
+			Assert.assertEquals(targets.length, 1);
+			Assert.assertNotEquals(targets[0], 2);
+			Assert.assertTrue(targets[0] >= 0 && targets[0] < 5,
+				Arrays.toString(targets));
+		}
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void differentOptimize() {
+		IslandEngine.builder(
+			engine(10),
+			engine(10).toBuilder().optimize(Optimize.MINIMUM).build()
+		);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void emptyEngines() {
+		IslandEngine.<DoubleGene, Double>builder(List.of());
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void illegalMigrationInterval() {
+		IslandEngine.builder(engine(10), 2).migrationInterval(0);
+	}
+
+}
@@ -0,0 +1,183 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.ext.engine;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputFilter;
+import java.math.BigInteger;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import io.jenetics.BitChromosome;
+import io.jenetics.CharacterChromosome;
+import io.jenetics.DoubleChromosome;
+import io.jenetics.Genotype;
+import io.jenetics.IntegerChromosome;
+import io.jenetics.LongChromosome;
+import io.jenetics.PermutationChromosome;
+import io.jenetics.util.DoubleRange;
+import io.jenetics.util.IntRange;
+import io.jenetics.util.LongRange;
+
+import io.jenetics.ext.BigIntegerChromosome;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class WireFormatTest {
+
+	@Test(dataProvider = "genotypes")
+	public void genotypeRoundTrip(final Genotype<?> genotype) throws IOException {
+		final var bytes = new ByteArrayOutputStream();
+		try (var out = new DataOutputStream(bytes)) {
+			WireFormat.writeGenotype(genotype, out);
+		}
+
+		final var in = new DataInputStream(
+			new ByteArrayInputStream(bytes.toByteArray())
+		);
+		Assert.assertEquals(WireFormat.readGenotype(in), genotype);
+		Assert.assertEquals(in.read(), -1);
+	}
+
+	@DataProvider(name = "genotypes")
+	public Object[][] genotypes() {
+		return new Object[][] {
+			{Genotype.of(BitChromosome.of(123, 0.3), 3)},
+			{Genotype.of(DoubleChromosome.of(-5, 5, 20), 4)},
+			{Genotype.of(IntegerChromosome.of(-100, 100, 20), 2)},
+			{Genotype.of(LongChromosome.of(0, Long.MAX_VALUE, 20), 3)},
+			{Genotype.of(CharacterChromosome.of(30), 2)},
+			{Genotype.of(PermutationChromosome.ofInteger(20))},
+			{Genotype.of(BigIntegerChromosome.of(
+				BigInteger.ZERO, BigInteger.TEN.pow(20), 5))}
+		};
+	}
+
+	@Test
+	public void lengthRange() throws IOException {
+		final var dc = (DoubleChromosome)roundTrip(Genotype.of(
+			DoubleChromosome.of(DoubleRange.of(0, 10), IntRange.of(5, 15))
+		)).chromosome();
+		Assert.assertEquals(dc.lengthRange(), IntRange.of(5, 15));
+
+		final var ic = (IntegerChromosome)roundTrip(Genotype.of(
+			IntegerChromosome.of(IntRange.of(0, 10), IntRange.of(2, 8))
+		)).chromosome();
+		Assert.assertEquals(ic.lengthRange(), IntRange.of(2, 8));
+
+		final var lc = (LongChromosome)roundTrip(Genotype.of(
+			LongChromosome.of(LongRange.of(0, 10), IntRange.of(3, 9))
+		)).chromosome();
+		Assert.assertEquals(lc.lengthRange(), IntRange.of(3, 9));
+	}
+
+	private static Genotype<?> roundTrip(final Genotype<?> genotype)
+		throws IOException
+	{
+		final var bytes = new ByteArrayOutputStream();
+		try (var out = new DataOutputStream(bytes)) {
+			WireFormat.writeGenotype(genotype, out);
+		}
+
+		final var in = new DataInputStream(
+			new ByteArrayInputStream(bytes.toByteArray())
+		);
+		final Genotype<?> read = WireFormat.readGenotype(in);
+		Assert.assertEquals(read, genotype);
+		return read;
+	}
+
+	@Test
+	public void serialFilter() throws IOException {
+		final var genotype = Genotype.of(PermutationChromosome.ofInteger(20));
+
+		final var bytes = new ByteArrayOutputStream();
+		try (var out = new DataOutputStream(bytes)) {
+			WireFormat.writeGenotype(genotype, out);
+		}
+
+		final ObjectInputFilter accept = ObjectInputFilter.Config
+			.createFilter("io.jenetics.**;java.lang.*;java.util.*;!*");
+		Assert.assertEquals(
+			WireFormat.readGenotype(
+				new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())),
+				accept
+			),
+			genotype
+		);
+
+		final ObjectInputFilter reject = ObjectInputFilter.Config
+			.createFilter("!io.jenetics.**");
+		try {
+			WireFormat.readGenotype(
+				new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())),
+				reject
+			);
+			Assert.fail("InvalidClassException expected.");
+		} catch (InvalidClassException expected) {
+		}
+	}
+
+	@Test(dataProvider = "fitnessValues")
+	public void fitnessRoundTrip(final Object fitness) throws IOException {
+		final var bytes = new ByteArrayOutputStream();
+		try (var out = new DataOutputStream(bytes)) {
+			WireFormat.writeFitness(fitness, out);
+		}
+
+		final var in = new DataInputStream(
+			new ByteArrayInputStream(bytes.toByteArray())
+		);
+		Assert.assertEquals(WireFormat.readFitness(in), fitness);
+	}
+
+	@DataProvider(name = "fitnessValues")
+	public Object[][] fitnessValues() {
+		return new Object[][] {
+			{1.5},
+			{42},
+			{Long.MIN_VALUE},
+			{"fitness"},
+			{BigInteger.TEN.pow(30)}
+		};
+	}
+
+	@Test
+	public void compactDoubleChromosome() throws IOException {
+		final var genotype = Genotype.of(DoubleChromosome.of(0, 1, 1000));
+
+		final var bytes = new ByteArrayOutputStream();
+		try (var out = new DataOutputStream(bytes)) {
+			WireFormat.writeGenotype(genotype, out);
+		}
+
+		// 8 bytes per allele, plus a small, constant header.
+		Assert.assertTrue(bytes.size() < 1000*8 + 32, "Size: " + bytes.size());
+	}
+
+}
@@ -34,6 +34,7 @@ import static java.lang.Math.tan;
 
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
@@ -46,6 +47,8 @@ import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 
+import io.jenetics.ext.util.TreeNode;
+
 /**
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
  */
@@ -62,19 +65,43 @@ public class MathExprPerf {
 			"hypot(y, 1.0))), signum(tan(ceil(ceil(y)))))))))))))))"
 	);
 
+	private static final MathExpr POLY_EXPR = MathExpr.parse(
+		"x*x*y + 3.5*x - y/2.0 + x*y*y - (x - y)*(x + y)*1.5"
+	);
+
+	private static final ToDoubleFunction<double[]> POLY_COMPILED =
+		MathExpr.compile(POLY_EXPR.toTree());
+
+	private static final MathExprStack POLY_STACK =
+		MathExprStack.of(POLY_EXPR.toTree());
+
+	private static final TreeNode<Op<Double>> TREE = MATH_EXPR.toTree();
+
+	private static final ToDoubleFunction<double[]> COMPILED =
+		MathExpr.compile(TREE);
+
 	private static double expr(final double x, final double y) {
 		return cos(signum(tan(sqrt(asin(rint(sinh(log(floor(log(hypot(cosh(sinh(log(y)%
 				hypot(y, 1.0))), signum(tan(ceil(ceil(y)))))))))))))));
 	}
 
+	private static final int SAMPLES = 10_000;
+
 	double x;
 	double y;
 
+	double[][] columns;
+
 	@Setup
 	public void setup() {
 		final Random random = new Random();
 		x = random.nextDouble()*10;
 		y = random.nextDouble();
+
+		columns = new double[][] {
+			random.doubles(SAMPLES).map(v -> v*10).toArray(),
+			random.doubles(SAMPLES).toArray()
+		};
 	}
 
 	@Benchmark
@@ -82,6 +109,62 @@ public class MathExprPerf {
 		return MATH_EXPR.eval(x, y);
 	}
 
+	@Benchmark
+	public double programEval() {
+		return Program.eval(TREE, x, y);
+	}
+
+	@Benchmark
+	public double compiledExpr() {
+		return COMPILED.applyAsDouble(new double[]{x, y});
+	}
+
+	@Benchmark
+	public double[] compiledExprSamples() {
+		final double[] result = new double[SAMPLES];
+		final double[] args = new double[2];
+		for (int i = 0; i < SAMPLES; ++i) {
+			args[0] = columns[0][i];
+			args[1] = columns[1][i];
+			result[i] = COMPILED.applyAsDouble(args);
+		}
+		return result;
+	}
+
+	@Benchmark
+	public double[] columnExprSamples() {
+		return MATH_EXPR.evalColumns(columns);
+	}
+
+	@Benchmark
+	public double[] compiledPolySamples() {
+		final double[] result = new double[SAMPLES];
+		final double[] args = new double[2];
+		for (int i = 0; i < SAMPLES; ++i) {
+			args[0] = columns[0][i];
+			args[1] = columns[1][i];
+			result[i] = POLY_COMPILED.applyAsDouble(args);
+		}
+		return result;
+	}
+
+	@Benchmark
+	public double[] stackPolySamples() {
+		final double[] result = new double[SAMPLES];
+		final double[] args = new double[2];
+		for (int i = 0; i < SAMPLES; ++i) {
+			args[0] = columns[0][i];
+			args[1] = columns[1][i];
+			result[i] = POLY_STACK.eval(args);
+		}
+		return result;
+	}
+
+	@Benchmark
+	public double[] columnPolySamples() {
+		return POLY_EXPR.evalColumns(columns);
+	}
+
 	@Benchmark
 	public double exprSin() {
 		return MathOp.SIN.eval(x);
@@ -112,3 +195,26 @@ MathExprPerf.javaExpr  avgt   15   246.253 ±  3.908  ns/op
 MathExprPerf.mathExpr  avgt   15  1237.706 ± 55.264  ns/op
 MathExprPerf.sin       avgt   15    14.984 ±  0.146  ns/op
 */
+
+/*
+Benchmark                  Mode  Cnt     Score      Error  Units
+MathExprPerf.compiledExpr  avgt    3   733.376 ±  215.127  ns/op
+MathExprPerf.javaExpr      avgt    3   267.691 ±   88.236  ns/op
+MathExprPerf.mathExpr      avgt    3   597.772 ±  220.587  ns/op
+MathExprPerf.programEval   avgt    3  1362.192 ± 5519.138  ns/op
+*/
+
+/*
+Benchmark                         Mode  Cnt     Score      Error  Units
+MathExprPerf.columnExprSamples    avgt    4  4471.290 ± 1043.668  us/op
+MathExprPerf.columnPolySamples    avgt    4    71.007 ±   25.745  us/op
+MathExprPerf.compiledExprSamples  avgt    4  4228.732 ± 2518.862  us/op
+MathExprPerf.compiledPolySamples  avgt    4   107.166 ±   41.139  us/op
+*/
+
+/*
+Benchmark                         Mode  Cnt     Score      Error  Units
+MathExprPerf.columnPolySamples    avgt    4    64.227 ±   18.319  us/op
+MathExprPerf.compiledPolySamples  avgt    4    69.441 ±  182.902  us/op
+MathExprPerf.stackPolySamples     avgt    4  1060.129 ±   34.558  us/op
+*/
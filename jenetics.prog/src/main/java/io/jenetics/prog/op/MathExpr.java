@@ -25,7 +25,6 @@ import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toCollection;
 import static io.jenetics.internal.util.SerialIO.readInt;
 import static io.jenetics.internal.util.SerialIO.writeInt;
-import static io.jenetics.prog.op.Numbers.box;
 
 import java.io.DataInput;
 import java.io.DataOutput;
@@ -36,12 +35,14 @@ import java.io.Serializable;
 import java.util.Objects;
 import java.util.TreeSet;
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 
 import io.jenetics.internal.util.Lazy;
 import io.jenetics.util.ISeq;
 
 import io.jenetics.ext.rewriting.TreeRewriteRule;
 import io.jenetics.ext.rewriting.TreeRewriter;
+import io.jenetics.ext.util.FlatTree;
 import io.jenetics.ext.util.FlatTreeNode;
 import io.jenetics.ext.util.Tree;
 import io.jenetics.ext.util.TreeNode;
@@ -61,10 +62,18 @@ import io.jenetics.ext.util.TreeNode;
  * assert 28.0 == MathExpr.eval("3*4*x + y", 2, 4);
  * }</pre>
  *
+ * @implNote
+ * The expression tree is compiled, on the first call of the
+ * {@link #eval(double...)} method, into an evaluator which works directly on
+ * primitive {@code double} values. The compiled evaluator is cached and
+ * reused for all further evaluations. Expressions, which are evaluated for
+ * many sample points, should use the column wise batch evaluation of the
+ * {@link #evalColumns(double[][])} method.
+ *
  * @see MathOp
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 5.0
+ * @version 6.1
  * @since 4.1
  */
 public final class MathExpr
@@ -151,6 +160,8 @@ public final class MathExpr
 	private final Tree<? extends Op<Double>, ?> _tree;
 
 	private final Lazy<ISeq<Var<Double>>> _vars;
+	private final Lazy<ToDoubleFunction<double[]>> _compiled;
+	private final Lazy<MathExprColumns> _columns;
 
 	// Primary constructor.
 	private MathExpr(final Tree<? extends Op<Double>, ?> tree, boolean primary) {
@@ -161,6 +172,8 @@ public final class MathExpr
 				.map(node -> (Var<Double>)node.value())
 				.collect(toCollection(() -> new TreeSet<>(comparing(Var::name))))
 		));
+		_compiled = Lazy.of(() -> compile(_tree));
+		_columns = Lazy.of(() -> MathExprColumns.of(_tree));
 	}
 
 	/**
@@ -223,10 +236,52 @@ public final class MathExpr
 	 *         is smaller than the program arity
 	 */
 	public double eval(final double... args) {
-		final double val = apply(box(args));
+		final double val = _compiled.get().applyAsDouble(args);
 		return val == -0.0 ? 0.0 : val;
 	}
 
+	/**
+	 * Evaluates {@code this} expression for a whole batch of sample points at
+	 * once. The sample points are given <em>column wise</em>: the value
+	 * {@code columns[i][j]} is the value of the variable with index {@code i},
+	 * for the sample point {@code j}. Every operation of the expression is
+	 * applied to a block of sample values in a tight loop, which is much
+	 * faster than evaluating the expression for every sample point
+	 * separately.
+	 *
+	 * <pre>{@code
+	 * final MathExpr expr = MathExpr.parse("x*x + y");
+	 * final double[] x = {1, 2, 3};
+	 * final double[] y = {4, 5, 6};
+	 * final double[] result = expr.evalColumns(new double[][]{x, y});
+	 * assert Arrays.equals(result, new double[]{5, 9, 15});
+	 * }</pre>
+	 *
+	 * @see #eval(double...)
+	 *
+	 * @since 6.1
+	 *
+	 * @param columns the argument columns, one column per variable
+	 * @return the evaluated values, one for every sample point
+	 * @throws NullPointerException if the given {@code columns} array is
+	 *         {@code null}
+	 * @throws IllegalArgumentException if no column is given, if the columns
+	 *         have different lengths, or if the number of columns is smaller
+	 *         than the expression arity
+	 */
+	public double[] evalColumns(final double[][] columns) {
+		return normalize(_columns.get().eval(columns));
+	}
+
+	private static double[] normalize(final double[] values) {
+		for (int i = 0; i < values.length; ++i) {
+			if (values[i] == -0.0) {
+				values[i] = 0.0;
+			}
+		}
+		return values;
+	}
+
 	@Override
 	public int hashCode() {
 		return Tree.hashCode(_tree);
@@ -453,6 +508,114 @@ public final class MathExpr
 		return new MathExpr(expression, true).eval(args);
 	}
 
+	/**
+	 * Evaluates the given {@code expression} tree for a whole batch of sample
+	 * points at once. The value {@code columns[i][j]} is the value of the
+	 * variable with index {@code i}, for the sample point {@code j}.
+	 *
+	 * @see #evalColumns(double[][])
+	 *
+	 * @since 6.1
+	 *
+	 * @param expression the expression tree to evaluate
+	 * @param columns the argument columns, one column per variable
+	 * @return the evaluated values, one for every sample point
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if no column is given, if the columns
+	 *         have different lengths, or if the number of columns is smaller
+	 *         than the expression arity
+	 */
+	public static double[] evalColumns(
+		final Tree<? extends Op<Double>, ?> expression,
+		final double[][] columns
+	) {
+		return new MathExpr(expression, true).evalColumns(columns);
+	}
+
+	/**
+	 * Evaluates the given {@code expression} tree for a whole batch of sample
+	 * points at once, like {@link #evalColumns(Tree, double[][])}. The
+	 * evaluated columns of the subtrees of the expression are stored in the
+	 * given {@code cache}. If other expressions, which contain the same
+	 * subtrees, are evaluated with the same sample set {@code version}, the
+	 * cached columns are reused. This pays off, if a whole population of
+	 * recombined programs is evaluated with the same sample points.
+	 *
+	 * <pre>{@code
+	 * final SubtreeCache cache = SubtreeCache.of(64*1024*1024);
+	 * for (Tree<Op<Double>, ?> program : programs) {
+	 *     final double[] values =
+	 *         MathExpr.evalColumns(program, columns, cache, version);
+	 *     ...
+	 * }
+	 * }</pre>
+	 *
+	 * @see SubtreeCache
+	 *
+	 * @since 6.1
+	 *
+	 * @param expression the expression tree to evaluate
+	 * @param columns the argument columns, one column per variable
+	 * @param cache the cache of the evaluated subtree columns
+	 * @param version the version of the given argument {@code columns}. The
+	 *        same version must not be used for different argument columns.
+	 * @return the evaluated values, one for every sample point
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if no column is given, if the columns
+	 *         have different lengths, or if the number of columns is smaller
+	 *         than the expression arity
+	 */
+	public static double[] evalColumns(
+		final Tree<? extends Op<Double>, ?> expression,
+		final double[][] columns,
+		final SubtreeCache cache,
+		final long version
+	) {
+		requireNonNull(cache);
+		final MathExprColumns expr = MathExprColumns.of(expression);
+		return normalize(expr.eval(columns, cache, version));
+	}
+
+	/**
+	 * Compiles the given math {@code expression} tree into a function, which
+	 * evaluates the expression directly on primitive {@code double} values.
+	 * The {@link MathOp}s, {@link Var}s and {@link Val}s of the expression
+	 * are evaluated without boxing the arguments. All other operations are
+	 * evaluated via their {@link Op#apply(Object[])} method. The returned
+	 * function is thread-safe and should be reused for evaluating the
+	 * expression for many arguments. If the given expression is the root of a
+	 * {@link FlatTree}, like a {@code ProgramGene}, the expression is
+	 * translated, directly from its flattened layout, into a linear postfix
+	 * program, which is interpreted by a stack machine with a primitive
+	 * operand stack.
+	 *
+	 * <pre>{@code
+	 * final ToDoubleFunction<double[]> f = MathExpr.compile(tree);
+	 * for (double[] args : samples) {
+	 *     final double result = f.applyAsDouble(args);
+	 *     ...
+	 * }
+	 * }</pre>
+	 *
+	 * @since 6.1
+	 *
+	 * @param expression the math expression tree to compile
+	 * @return the compiled math expression, which returns the same values as
+	 *         {@link Program#eval(Tree, Object[])}
+	 * @throws NullPointerException if the given {@code expression} is
+	 *         {@code null}
+	 * @throws IllegalArgumentException if the given operation tree is invalid,
+	 *         which means there is at least one node where the operation arity
+	 *         and the node child count differ
+	 */
+	public static ToDoubleFunction<double[]>
+	compile(final Tree<? extends Op<Double>, ?> expression) {
+		Program.check(expression);
+		return expression instanceof FlatTree && expression.isRoot()
+			? MathExprStack.of(expression)::eval
+			: MathExprCompiler.compile(expression);
+	}
+
 	/**
 	 * Applies the {@link #REWRITER} to the given (mutable) {@code tree}. The
 	 * tree rewrite is done in place.
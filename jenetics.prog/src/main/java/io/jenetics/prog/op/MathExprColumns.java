@@ -0,0 +1,426 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.prog.op;
+
+import static java.lang.Math.abs;
+import static java.lang.Math.acos;
+import static java.lang.Math.asin;
+import static java.lang.Math.atan;
+import static java.lang.Math.cbrt;
+import static java.lang.Math.ceil;
+import static java.lang.Math.cos;
+import static java.lang.Math.cosh;
+import static java.lang.Math.exp;
+import static java.lang.Math.floor;
+import static java.lang.Math.hypot;
+import static java.lang.Math.log;
+import static java.lang.Math.log10;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.pow;
+import static java.lang.Math.rint;
+import static java.lang.Math.signum;
+import static java.lang.Math.sin;
+import static java.lang.Math.sinh;
+import static java.lang.Math.sqrt;
+import static java.lang.Math.tan;
+import static java.lang.Math.tanh;
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import io.jenetics.ext.util.Tree;
+
+/**
+ * Evaluates a math expression for a whole batch of sample points at once.
+ * The sample points are given <em>column wise</em>, one {@code double[]}
+ * column per variable. The expression tree is translated into a postfix
+ * sequence of operations, which are applied to blocks of the argument
+ * columns. Every {@link MathOp} is executed as tight loop over the values of
+ * one block, which can be optimized (unrolled and vectorized) by the JIT
+ * compiler. The {@link Var}s and {@link Val}s of the expression only load
+ * the values of the current block. Other operations are evaluated sample by
+ * sample with their {@link Op#apply(Object[])} method. {@link Program}s,
+ * contained in the expression, are inlined. The evaluated columns of the
+ * subtrees can be stored in, and reused from, a {@link SubtreeCache}.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 6.1
+ * @since 6.1
+ */
+final class MathExprColumns {
+
+	// The number of samples, which are evaluated in one block.
+	private static final int BLOCK_SIZE = 512;
+
+	// The minimal number of operations of a cached subtree.
+	private static final int MIN_CACHED_SUBTREE_SIZE = 3;
+
+	// The operations of the expression in postfix order.
+	private final Op<Double>[] _ops;
+
+	// The maximal number of intermediate columns.
+	private final int _depth;
+
+	// The number of needed argument columns.
+	private final int _arity;
+
+	// The index of the first operation of the subtree, which ends at the
+	// given operation index.
+	private final int[] _starts;
+
+	// Marks the subtrees, whose columns are stored in a subtree cache.
+	private final boolean[] _cacheable;
+
+	private MathExprColumns(
+		final Op<Double>[] ops,
+		final int depth,
+		final int arity
+	) {
+		_ops = ops;
+		_depth = depth;
+		_arity = arity;
+
+		_starts = new int[ops.length];
+		_cacheable = new boolean[ops.length];
+
+		final int[] starts = new int[ops.length];
+		final boolean[] pure = new boolean[ops.length];
+		int top = -1;
+		for (int i = 0; i < ops.length; ++i) {
+			final Op<Double> op = ops[i];
+			final int children = op.arity();
+
+			boolean isPure =
+				op instanceof MathOp ||
+				op instanceof Var ||
+				op instanceof Val;
+
+			int start = i;
+			if (children > 0) {
+				top -= children - 1;
+				start = starts[top];
+				for (int j = top; j < top + children; ++j) {
+					isPure &= pure[j];
+				}
+			} else {
+				++top;
+			}
+			starts[top] = start;
+			pure[top] = isPure;
+
+			_starts[i] = start;
+			_cacheable[i] = isPure && i - start + 1 >= MIN_CACHED_SUBTREE_SIZE;
+		}
+	}
+
+	/**
+	 * Evaluates the expression for all sample points of the given argument
+	 * {@code columns}. The value {@code columns[i][j]} is the value of the
+	 * variable with index {@code i}, for the sample point {@code j}.
+	 *
+	 * @param columns the argument columns
+	 * @return the expression values, one for every sample point
+	 * @throws IllegalArgumentException if the given {@code columns} contains
+	 *         no column for a variable of the expression, if the columns have
+	 *         different lengths, or if no column is given
+	 */
+	double[] eval(final double[][] columns) {
+		return eval(columns, check(columns));
+	}
+
+	private int check(final double[][] columns) {
+		if (columns.length == 0) {
+			throw new IllegalArgumentException("No argument column given.");
+		}
+		if (columns.length < _arity) {
+			throw new IllegalArgumentException(format(
+				"No values for variable with index %d given.", _arity - 1
+			));
+		}
+		final int size = columns[0].length;
+		for (double[] column : columns) {
+			if (column.length != size) {
+				throw new IllegalArgumentException(format(
+					"Expected column length of %d, but got %d.",
+					size, column.length
+				));
+			}
+		}
+
+		return size;
+	}
+
+	private double[] eval(final double[][] columns, final int size) {
+		final double[] result = new double[size];
+		final double[][] stack = new double[_depth][BLOCK_SIZE];
+		for (int offset = 0; offset < size; offset += BLOCK_SIZE) {
+			final int length = min(BLOCK_SIZE, size - offset);
+			eval(columns, offset, length, stack);
+			System.arraycopy(stack[0], 0, result, offset, length);
+		}
+
+		return result;
+	}
+
+	// Evaluates one block. The result is written to the first stack column.
+	private void eval(
+		final double[][] columns,
+		final int offset,
+		final int length,
+		final double[][] stack
+	) {
+		int top = -1;
+		for (Op<Double> op : _ops) {
+			if (op instanceof Var) {
+				final double[] column = columns[((Var<?>)op).index()];
+				System.arraycopy(column, offset, stack[++top], 0, length);
+			} else if (op instanceof Val) {
+				final double value = ((Val<Double>)op).value();
+				Arrays.fill(stack[++top], 0, length, value);
+			} else if (op instanceof Column) {
+				final double[] column = ((Column)op)._values;
+				System.arraycopy(column, offset, stack[++top], 0, length);
+			} else {
+				top -= op.arity() - 1;
+				if (!(op instanceof MathOp && apply((MathOp)op, stack, top, length))) {
+					apply(op, columns, offset, stack, top, length);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Evaluates the expression for all sample points of the given argument
+	 * {@code columns}, like {@link #eval(double[][])}. The evaluated columns
+	 * of the subtrees are stored in the given {@code cache} and reused, if
+	 * the same subtree is evaluated again for the same sample set
+	 * {@code version}.
+	 *
+	 * @param columns the argument columns
+	 * @param cache the subtree cache
+	 * @param version the version of the given argument columns
+	 * @return the expression values, one for every sample point
+	 * @throws IllegalArgumentException if the given {@code columns} contains
+	 *         no column for a variable of the expression, if the columns have
+	 *         different lengths, or if no column is given
+	 */
+	double[] eval(
+		final double[][] columns,
+		final SubtreeCache cache,
+		final long version
+	) {
+		final int size = check(columns);
+		final int root = _ops.length - 1;
+
+		if (_cacheable[root]) {
+			return column(root, columns, size, cache, version).clone();
+		} else {
+			final List<Op<Double>> ops = new ArrayList<>();
+			expand(root, columns, size, cache, version, ops);
+			return of(ops).eval(columns, size);
+		}
+	}
+
+	// Adds the operations of the subtree, which ends at the given index, to
+	// the given list. Cacheable child subtrees are replaced by their column.
+	private void expand(
+		final int end,
+		final double[][] columns,
+		final int size,
+		final SubtreeCache cache,
+		final long version,
+		final List<Op<Double>> ops
+	) {
+		final int arity = _ops[end].arity();
+		final int[] children = new int[arity];
+		for (int i = arity, child = end - 1; --i >= 0;) {
+			children[i] = child;
+			child = _starts[child] - 1;
+		}
+
+		for (int child : children) {
+			if (_cacheable[child]) {
+				final double[] column = column(child, columns, size, cache, version);
+				ops.add(new Column(column));
+			} else {
+				expand(child, columns, size, cache, version, ops);
+			}
+		}
+		ops.add(_ops[end]);
+	}
+
+	// Return the (cached) column of the subtree, which ends at the given index.
+	private double[] column(
+		final int end,
+		final double[][] columns,
+		final int size,
+		final SubtreeCache cache,
+		final long version
+	) {
+		final SubtreeCache.Key key =
+			SubtreeCache.Key.of(version, _ops, _starts[end], end + 1);
+
+		double[] column = cache.get(key);
+		if (column == null) {
+			final List<Op<Double>> ops = new ArrayList<>();
+			expand(end, columns, size, cache, version, ops);
+
+			column = of(ops).eval(columns, size);
+			cache.put(key, column);
+		}
+
+		return column;
+	}
+
+	// Applies a generic operation, sample by sample.
+	private static void apply(
+		final Op<Double> op,
+		final double[][] columns,
+		final int offset,
+		final double[][] stack,
+		final int index,
+		final int length
+	) {
+		final int arity = op.arity();
+		final Double[] args = new Double[arity == 0 ? columns.length : arity];
+		for (int i = 0; i < length; ++i) {
+			if (arity == 0) {
+				for (int j = 0; j < args.length; ++j) {
+					args[j] = columns[j][offset + i];
+				}
+			} else {
+				for (int j = 0; j < arity; ++j) {
+					args[j] = stack[index + j][i];
+				}
+			}
+			stack[index][i] = op.apply(args);
+		}
+	}
+
+	// Applies the math operation in place, to the stack column with the given
+	// index. Returns false, if the operation has no column implementation.
+	private static boolean apply(
+		final MathOp op,
+		final double[][] stack,
+		final int index,
+		final int length
+	) {
+		final double[] a = stack[index];
+		final double[] b = op.arity() > 1 ? stack[index + 1] : a;
+
+		switch (op) {
+			case ABS: for (int i = 0; i < length; ++i) a[i] = abs(a[i]); break;
+			case NEG: for (int i = 0; i < length; ++i) a[i] = -a[i]; break;
+			case MIN: for (int i = 0; i < length; ++i) a[i] = min(a[i], b[i]); break;
+			case MAX: for (int i = 0; i < length; ++i) a[i] = max(a[i], b[i]); break;
+			case CEIL: for (int i = 0; i < length; ++i) a[i] = ceil(a[i]); break;
+			case FLOOR: for (int i = 0; i < length; ++i) a[i] = floor(a[i]); break;
+			case SIGNUM: for (int i = 0; i < length; ++i) a[i] = signum(a[i]); break;
+			case RINT: for (int i = 0; i < length; ++i) a[i] = rint(a[i]); break;
+			case ADD: for (int i = 0; i < length; ++i) a[i] = a[i] + b[i]; break;
+			case SUB: for (int i = 0; i < length; ++i) a[i] = a[i] - b[i]; break;
+			case MUL: for (int i = 0; i < length; ++i) a[i] = a[i]*b[i]; break;
+			case DIV: for (int i = 0; i < length; ++i) a[i] = a[i]/b[i]; break;
+			case MOD: for (int i = 0; i < length; ++i) a[i] = a[i]%b[i]; break;
+			case POW: for (int i = 0; i < length; ++i) a[i] = pow(a[i], b[i]); break;
+			case SQR: for (int i = 0; i < length; ++i) a[i] = a[i]*a[i]; break;
+			case SQRT: for (int i = 0; i < length; ++i) a[i] = sqrt(a[i]); break;
+			case CBRT: for (int i = 0; i < length; ++i) a[i] = cbrt(a[i]); break;
+			case HYPOT: for (int i = 0; i < length; ++i) a[i] = hypot(a[i], b[i]); break;
+			case EXP: for (int i = 0; i < length; ++i) a[i] = exp(a[i]); break;
+			case LOG: for (int i = 0; i < length; ++i) a[i] = log(a[i]); break;
+			case LOG10: for (int i = 0; i < length; ++i) a[i] = log10(a[i]); break;
+			case SIN: for (int i = 0; i < length; ++i) a[i] = sin(a[i]); break;
+			case COS: for (int i = 0; i < length; ++i) a[i] = cos(a[i]); break;
+			case TAN: for (int i = 0; i < length; ++i) a[i] = tan(a[i]); break;
+			case ACOS: for (int i = 0; i < length; ++i) a[i] = acos(a[i]); break;
+			case ASIN: for (int i = 0; i < length; ++i) a[i] = asin(a[i]); break;
+			case ATAN: for (int i = 0; i < length; ++i) a[i] = atan(a[i]); break;
+			case COSH: for (int i = 0; i < length; ++i) a[i] = cosh(a[i]); break;
+			case SINH: for (int i = 0; i < length; ++i) a[i] = sinh(a[i]); break;
+			case TANH: for (int i = 0; i < length; ++i) a[i] = tanh(a[i]); break;
+			case GT: for (int i = 0; i < length; ++i) a[i] = a[i] > b[i] ? 1.0 : -1.0; break;
+			default: return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Translates the given math expression {@code tree} into its postfix
+	 * representation.
+	 *
+	 * @param tree the math expression tree
+	 * @return the batch evaluator of the given expression
+	 * @throws NullPointerException if the given {@code tree} is {@code null}
+	 */
+	static MathExprColumns of(final Tree<? extends Op<Double>, ?> tree) {
+		final MathExprStack stack = MathExprStack.of(tree);
+		return new MathExprColumns(stack.ops(), stack.depth(), stack.arity());
+	}
+
+	// Creates the evaluator of the given postfix operations.
+	private static MathExprColumns of(final List<Op<Double>> ops) {
+		int depth = 0;
+		int size = 0;
+		int arity = 0;
+		for (Op<Double> op : ops) {
+			size -= op.arity() - 1;
+			depth = Math.max(depth, size);
+			if (op instanceof Var) {
+				arity = Math.max(arity, ((Var<?>)op).index() + 1);
+			}
+		}
+
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		final Op<Double>[] array = ops.toArray(new Op[0]);
+		return new MathExprColumns(array, depth, arity);
+	}
+
+	/**
+	 * Operation which loads an already evaluated subtree column.
+	 */
+	private static final class Column implements Op<Double> {
+		private final double[] _values;
+
+		private Column(final double[] values) {
+			_values = values;
+		}
+
+		@Override
+		public String name() {
+			return "column";
+		}
+
+		@Override
+		public int arity() {
+			return 0;
+		}
+
+		@Override
+		public Double apply(final Double[] args) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+}
@@ -0,0 +1,187 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.prog.op;
+
+import static java.lang.Math.abs;
+import static java.lang.Math.acos;
+import static java.lang.Math.asin;
+import static java.lang.Math.atan;
+import static java.lang.Math.cbrt;
+import static java.lang.Math.ceil;
+import static java.lang.Math.cos;
+import static java.lang.Math.cosh;
+import static java.lang.Math.exp;
+import static java.lang.Math.floor;
+import static java.lang.Math.hypot;
+import static java.lang.Math.log;
+import static java.lang.Math.log10;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.pow;
+import static java.lang.Math.rint;
+import static java.lang.Math.signum;
+import static java.lang.Math.sin;
+import static java.lang.Math.sinh;
+import static java.lang.Math.sqrt;
+import static java.lang.Math.tan;
+import static java.lang.Math.tanh;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static io.jenetics.prog.op.Numbers.box;
+
+import java.util.function.ToDoubleFunction;
+
+import io.jenetics.ext.util.Tree;
+
+/**
+ * Compiles a math operation tree into a tree of closures, which evaluates the
+ * expression on primitive {@code double} values. The {@link MathOp}s,
+ * {@link Var}s and {@link Val}s of the tree are evaluated without boxing and
+ * without allocating argument arrays. All other operations are evaluated
+ * with their {@link Op#apply(Object[])} method.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 6.1
+ * @since 6.1
+ */
+final class MathExprCompiler {
+	private MathExprCompiler() {}
+
+	/**
+	 * Compiled (sub) expression.
+	 */
+	@FunctionalInterface
+	private interface Fn {
+		double eval(final double[] args);
+	}
+
+	/**
+	 * Compiles the given math expression {@code tree}. The returned function
+	 * returns the same values as
+	 * {@link Program#eval(Tree, Object[])}, for the same (unboxed) arguments.
+	 *
+	 * @param tree the math expression tree to compile
+	 * @return the compiled math expression
+	 * @throws NullPointerException if the given {@code tree} is {@code null}
+	 */
+	static ToDoubleFunction<double[]>
+	compile(final Tree<? extends Op<Double>, ?> tree) {
+		requireNonNull(tree);
+
+		final Fn fn = fn(tree);
+		final Var<?> last = tree.stream()
+			.map(Tree::value)
+			.filter(op -> op instanceof Var)
+			.map(op -> (Var<?>)op)
+			.reduce((a, b) -> a.index() >= b.index() ? a : b)
+			.orElse(null);
+
+		if (last == null) {
+			return fn::eval;
+		} else {
+			final int arity = last.index() + 1;
+			return args -> {
+				if (args.length < arity) {
+					throw new IllegalArgumentException(format(
+						"No value for variable '%s' given.", last
+					));
+				}
+				return fn.eval(args);
+			};
+		}
+	}
+
+	private static Fn fn(final Tree<? extends Op<Double>, ?> node) {
+		final Op<Double> op = node.value();
+
+		if (op instanceof Var) {
+			final int index = ((Var<?>)op).index();
+			return v -> v[index];
+		} else if (op instanceof Val) {
+			final double value = ((Val<Double>)op).value();
+			return v -> value;
+		}
+
+		final Fn[] children = new Fn[node.childCount()];
+		for (int i = 0; i < children.length; ++i) {
+			children[i] = fn(node.childAt(i));
+		}
+
+		return op instanceof MathOp
+			? fn((MathOp)op, children)
+			: fn(op, children);
+	}
+
+	// Fallback for non-primitive operations.
+	private static Fn fn(final Op<Double> op, final Fn[] children) {
+		if (children.length == 0) {
+			return v -> op.apply(box(v));
+		}
+
+		return v -> {
+			final Double[] values = new Double[children.length];
+			for (int i = 0; i < children.length; ++i) {
+				values[i] = children[i].eval(v);
+			}
+			return op.apply(values);
+		};
+	}
+
+	private static Fn fn(final MathOp op, final Fn[] children) {
+		final Fn a = children[0];
+		final Fn b = children.length > 1 ? children[1] : null;
+
+		switch (op) {
+			case ABS: return v -> abs(a.eval(v));
+			case NEG: return v -> -a.eval(v);
+			case MIN: return v -> min(a.eval(v), b.eval(v));
+			case MAX: return v -> max(a.eval(v), b.eval(v));
+			case CEIL: return v -> ceil(a.eval(v));
+			case FLOOR: return v -> floor(a.eval(v));
+			case SIGNUM: return v -> signum(a.eval(v));
+			case RINT: return v -> rint(a.eval(v));
+			case ADD: return v -> a.eval(v) + b.eval(v);
+			case SUB: return v -> a.eval(v) - b.eval(v);
+			case MUL: return v -> a.eval(v)*b.eval(v);
+			case DIV: return v -> a.eval(v)/b.eval(v);
+			case MOD: return v -> a.eval(v)%b.eval(v);
+			case POW: return v -> pow(a.eval(v), b.eval(v));
+			case SQR: return v -> { final double x = a.eval(v); return x*x; };
+			case SQRT: return v -> sqrt(a.eval(v));
+			case CBRT: return v -> cbrt(a.eval(v));
+			case HYPOT: return v -> hypot(a.eval(v), b.eval(v));
+			case EXP: return v -> exp(a.eval(v));
+			case LOG: return v -> log(a.eval(v));
+			case LOG10: return v -> log10(a.eval(v));
+			case SIN: return v -> sin(a.eval(v));
+			case COS: return v -> cos(a.eval(v));
+			case TAN: return v -> tan(a.eval(v));
+			case ACOS: return v -> acos(a.eval(v));
+			case ASIN: return v -> asin(a.eval(v));
+			case ATAN: return v -> atan(a.eval(v));
+			case COSH: return v -> cosh(a.eval(v));
+			case SINH: return v -> sinh(a.eval(v));
+			case TANH: return v -> tanh(a.eval(v));
+			case GT: return v -> a.eval(v) > b.eval(v) ? 1.0 : -1.0;
+			default: return fn((Op<Double>)op, children);
+		}
+	}
+
+}
@@ -0,0 +1,389 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.prog.op;
+
+import static java.lang.Math.abs;
+import static java.lang.Math.acos;
+import static java.lang.Math.asin;
+import static java.lang.Math.atan;
+import static java.lang.Math.cbrt;
+import static java.lang.Math.ceil;
+import static java.lang.Math.cos;
+import static java.lang.Math.cosh;
+import static java.lang.Math.exp;
+import static java.lang.Math.floor;
+import static java.lang.Math.hypot;
+import static java.lang.Math.log;
+import static java.lang.Math.log10;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.pow;
+import static java.lang.Math.rint;
+import static java.lang.Math.signum;
+import static java.lang.Math.sin;
+import static java.lang.Math.sinh;
+import static java.lang.Math.sqrt;
+import static java.lang.Math.tan;
+import static java.lang.Math.tanh;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static io.jenetics.prog.op.Numbers.box;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.jenetics.util.ISeq;
+
+import io.jenetics.ext.util.FlatTree;
+import io.jenetics.ext.util.Tree;
+
+/**
+ * Stack machine, which evaluates the <em>linear</em> postfix encoding of a
+ * math expression tree. The postfix encoding is created directly from the
+ * flattened layout of {@link FlatTree}s, like the {@code ProgramGene}, without
+ * navigating the tree nodes. The operands are kept on a primitive
+ * {@code double} stack, which is allocated once per thread. Evaluating
+ * {@link MathOp}s, {@link Var}s and {@link Val}s doesn't allocate any
+ * objects. Other operations are evaluated with their
+ * {@link Op#apply(Object[])} method. {@link Program}s, contained in the
+ * expression, are inlined.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 6.1
+ * @since 6.1
+ */
+final class MathExprStack {
+
+	private static final ThreadLocal<double[]> STACK =
+		ThreadLocal.withInitial(() -> new double[64]);
+
+	// The op-codes of the stack machine.
+	private static final byte VAR = 0;
+	private static final byte VAL = 1;
+	private static final byte MATH = 2;
+	private static final byte GENERIC = 3;
+	private static final byte ADD = 4;
+	private static final byte SUB = 5;
+	private static final byte MUL = 6;
+	private static final byte DIV = 7;
+
+	// The operations of the expression in postfix order.
+	private final Op<Double>[] _ops;
+
+	// The op-codes of the operations.
+	private final byte[] _codes;
+
+	// The MathOp operations.
+	private final MathOp[] _mathOps;
+
+	// The variable index of Var operations.
+	private final int[] _indexes;
+
+	// The values of Val operations.
+	private final double[] _values;
+
+	// The maximal size of the operand stack.
+	private final int _depth;
+
+	// The number of needed arguments.
+	private final int _arity;
+
+	// Indicates whether all operations can be evaluated on the primitive stack.
+	private final boolean _primitive;
+
+	private MathExprStack(final Op<Double>[] ops) {
+		_ops = ops;
+		_codes = new byte[ops.length];
+		_mathOps = new MathOp[ops.length];
+		_indexes = new int[ops.length];
+		_values = new double[ops.length];
+
+		int depth = 0;
+		int size = 0;
+		int arity = 0;
+		boolean primitive = true;
+		for (int i = 0; i < ops.length; ++i) {
+			final Op<Double> op = ops[i];
+			size -= op.arity() - 1;
+			depth = Math.max(depth, size);
+
+			if (op instanceof Var) {
+				_codes[i] = VAR;
+				_indexes[i] = ((Var<?>)op).index();
+				arity = Math.max(arity, _indexes[i] + 1);
+			} else if (op instanceof Val) {
+				_codes[i] = VAL;
+				_values[i] = ((Val<Double>)op).value();
+			} else if (op instanceof MathOp) {
+				_codes[i] = code((MathOp)op);
+				_mathOps[i] = (MathOp)op;
+			} else {
+				_codes[i] = GENERIC;
+				primitive = false;
+			}
+		}
+
+		_depth = depth;
+		_arity = arity;
+		_primitive = primitive;
+	}
+
+	private static byte code(final MathOp op) {
+		switch (op) {
+			case ADD: return ADD;
+			case SUB: return SUB;
+			case MUL: return MUL;
+			case DIV: return DIV;
+			default: return MATH;
+		}
+	}
+
+	/**
+	 * Return the maximal operand stack size, needed for evaluating the
+	 * expression.
+	 *
+	 * @return the maximal operand stack size
+	 */
+	int depth() {
+		return _depth;
+	}
+
+	/**
+	 * Return the number of arguments, needed for evaluating the expression.
+	 *
+	 * @return the number of needed arguments
+	 */
+	int arity() {
+		return _arity;
+	}
+
+	/**
+	 * Return the operations of the expression in postfix order.
+	 *
+	 * @return the postfix encoding of the expression
+	 */
+	Op<Double>[] ops() {
+		return _ops;
+	}
+
+	/**
+	 * Evaluates the expression with the given arguments.
+	 *
+	 * @param args the expression arguments
+	 * @return the evaluated value
+	 * @throws IllegalArgumentException if the length of the arguments array
+	 *         is smaller than the expression arity
+	 */
+	double eval(final double[] args) {
+		if (args.length < _arity) {
+			throw new IllegalArgumentException(format(
+				"No value for variable with index %d given.", _arity - 1
+			));
+		}
+
+		// Generic operations may evaluate other expressions on the same
+		// thread, while the thread local stack is in use.
+		double[] stack = _primitive ? STACK.get() : new double[_depth];
+		if (stack.length < _depth) {
+			stack = new double[_depth];
+			STACK.set(stack);
+		}
+
+		int top = -1;
+		for (int i = 0; i < _codes.length; ++i) {
+			switch (_codes[i]) {
+				case VAR: stack[++top] = args[_indexes[i]]; break;
+				case VAL: stack[++top] = _values[i]; break;
+				case ADD: stack[top - 1] += stack[top--]; break;
+				case SUB: stack[top - 1] -= stack[top--]; break;
+				case MUL: stack[top - 1] *= stack[top--]; break;
+				case DIV: stack[top - 1] /= stack[top--]; break;
+				case MATH: top = apply(_mathOps[i], stack, top); break;
+				default: top = apply(_ops[i], stack, top, args);
+			}
+		}
+
+		return stack[0];
+	}
+
+	private static int apply(
+		final Op<Double> op,
+		final double[] stack,
+		final int top,
+		final double[] args
+	) {
+		final int arity = op.arity();
+		final int index = top - arity + 1;
+
+		final Double[] values;
+		if (arity == 0) {
+			values = box(args);
+		} else {
+			values = new Double[arity];
+			for (int i = 0; i < arity; ++i) {
+				values[i] = stack[index + i];
+			}
+		}
+
+		stack[index] = op.apply(values);
+		return index;
+	}
+
+	private static int apply(final MathOp op, final double[] s, final int top) {
+		final int i = top - op.arity() + 1;
+
+		switch (op) {
+			case ABS: s[i] = abs(s[i]); break;
+			case NEG: s[i] = -s[i]; break;
+			case MIN: s[i] = min(s[i], s[i + 1]); break;
+			case MAX: s[i] = max(s[i], s[i + 1]); break;
+			case CEIL: s[i] = ceil(s[i]); break;
+			case FLOOR: s[i] = floor(s[i]); break;
+			case SIGNUM: s[i] = signum(s[i]); break;
+			case RINT: s[i] = rint(s[i]); break;
+			case ADD: s[i] = s[i] + s[i + 1]; break;
+			case SUB: s[i] = s[i] - s[i + 1]; break;
+			case MUL: s[i] = s[i]*s[i + 1]; break;
+			case DIV: s[i] = s[i]/s[i + 1]; break;
+			case MOD: s[i] = s[i]%s[i + 1]; break;
+			case POW: s[i] = pow(s[i], s[i + 1]); break;
+			case SQR: s[i] = s[i]*s[i]; break;
+			case SQRT: s[i] = sqrt(s[i]); break;
+			case CBRT: s[i] = cbrt(s[i]); break;
+			case HYPOT: s[i] = hypot(s[i], s[i + 1]); break;
+			case EXP: s[i] = exp(s[i]); break;
+			case LOG: s[i] = log(s[i]); break;
+			case LOG10: s[i] = log10(s[i]); break;
+			case SIN: s[i] = sin(s[i]); break;
+			case COS: s[i] = cos(s[i]); break;
+			case TAN: s[i] = tan(s[i]); break;
+			case ACOS: s[i] = acos(s[i]); break;
+			case ASIN: s[i] = asin(s[i]); break;
+			case ATAN: s[i] = atan(s[i]); break;
+			case COSH: s[i] = cosh(s[i]); break;
+			case SINH: s[i] = sinh(s[i]); break;
+			case TANH: s[i] = tanh(s[i]); break;
+			case GT: s[i] = s[i] > s[i + 1] ? 1.0 : -1.0; break;
+			default: s[i] = op.apply(boxed(s, i, op.arity()));
+		}
+
+		return i;
+	}
+
+	private static Double[] boxed(
+		final double[] values,
+		final int from,
+		final int length
+	) {
+		final Double[] result = new Double[length];
+		for (int i = 0; i < length; ++i) {
+			result[i] = values[from + i];
+		}
+		return result;
+	}
+
+	/**
+	 * Creates the stack machine for the given math expression {@code tree}.
+	 *
+	 * @param tree the math expression tree
+	 * @return the stack machine of the given expression
+	 * @throws NullPointerException if the given {@code tree} is {@code null}
+	 */
+	static MathExprStack of(final Tree<? extends Op<Double>, ?> tree) {
+		final List<Op<Double>> ops = postfix(tree);
+
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		final Op<Double>[] array = ops.toArray(new Op[0]);
+		return new MathExprStack(array);
+	}
+
+	/**
+	 * Return the operations of the given {@code tree} in postfix order. The
+	 * operations of {@link Program}s are inlined.
+	 *
+	 * @param tree the math expression tree
+	 * @return the postfix encoding of the given expression tree
+	 * @throws NullPointerException if the given {@code tree} is {@code null}
+	 */
+	static List<Op<Double>> postfix(final Tree<? extends Op<Double>, ?> tree) {
+		requireNonNull(tree);
+
+		final List<Op<Double>> ops = new ArrayList<>();
+		if (tree instanceof FlatTree && tree.isRoot()) {
+			postfix((FlatTree<? extends Op<Double>, ?>)tree, ops);
+		} else {
+			postfix(tree, ops);
+		}
+		return ops;
+	}
+
+	// Creates the postfix encoding from the flattened (breadth-first) layout.
+	private static void postfix(
+		final FlatTree<? extends Op<Double>, ?> tree,
+		final List<Op<Double>> ops
+	) {
+		final ISeq<? extends FlatTree<? extends Op<Double>, ?>> nodes =
+			tree.flattenedNodes();
+
+		final int size = nodes.size();
+		final int[] offsets = new int[size];
+		final int[] counts = new int[size];
+		for (int i = 0; i < size; ++i) {
+			offsets[i] = nodes.get(i).childOffset();
+			counts[i] = nodes.get(i).childCount();
+		}
+
+		// Iterative post-order traversal of the node indexes.
+		final int[] stack = new int[size];
+		final int[] next = new int[size];
+		int top = 0;
+		stack[0] = 0;
+		while (top >= 0) {
+			final int node = stack[top];
+			if (next[top] < counts[node]) {
+				final int child = offsets[node] + next[top]++;
+				stack[++top] = child;
+				next[top] = 0;
+			} else {
+				add(nodes.get(node).value(), ops);
+				--top;
+			}
+		}
+	}
+
+	private static void postfix(
+		final Tree<? extends Op<Double>, ?> node,
+		final List<Op<Double>> ops
+	) {
+		for (int i = 0; i < node.childCount(); ++i) {
+			postfix(node.childAt(i), ops);
+		}
+		add(node.value(), ops);
+	}
+
+	private static void add(final Op<Double> op, final List<Op<Double>> ops) {
+		if (op instanceof Program) {
+			ops.addAll(postfix(((Program<Double>)op).tree()));
+		} else {
+			ops.add(op);
+		}
+	}
+
+}
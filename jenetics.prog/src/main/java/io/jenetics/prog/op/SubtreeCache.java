@@ -0,0 +1,362 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.prog.op;
+
+import static java.lang.Double.doubleToLongBits;
+import static java.lang.Float.floatToIntBits;
+import static java.lang.String.format;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.jenetics.ext.util.Tree;
+
+/**
+ * Memory bounded cache for the evaluated output columns of (sub-)expressions.
+ * When programs are recombined, e.g. by the {@code SingleNodeCrossover}, most
+ * of the subtrees of the offspring already exists in the population. If the
+ * population is evaluated with the same sample points, the same subtrees are
+ * evaluated again and again. This cache stores the evaluated output columns
+ * of these subtrees, so they have to be evaluated only once per sample set.
+ *
+ * <pre>{@code
+ * final SubtreeCache cache = SubtreeCache.of(64*1024*1024);
+ * final double[] values = MathExpr.evalColumns(tree, columns, cache, 1);
+ * System.out.println(cache.hitRate());
+ * }</pre>
+ *
+ * The subtrees are identified structurally, by their operations and the
+ * version of the evaluated sample set. Only subtrees, which consists of
+ * {@link MathOp}s, {@link Var}s and {@link Val}s, are cached. The least
+ * recently used columns are evicted, if the stored columns exceed the
+ * memory limit of the cache.
+ *
+ * @see MathExpr#evalColumns(Tree, double[][], SubtreeCache, long)
+ *
+ * @implNote
+ * This class is thread-safe.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 6.1
+ * @since 6.1
+ */
+public final class SubtreeCache {
+
+	// Estimated memory overhead of one cache entry, in bytes.
+	private static final long ENTRY_OVERHEAD = 128;
+
+	private final long _maxBytes;
+
+	private final Map<Key, double[]> _columns =
+		new LinkedHashMap<>(16, 0.75F, true);
+
+	private long _bytes = 0;
+	private long _hits = 0;
+	private long _misses = 0;
+	private long _evictions = 0;
+
+	private SubtreeCache(final long maxBytes) {
+		if (maxBytes <= 0) {
+			throw new IllegalArgumentException(format(
+				"Cache size must be greater than zero: %d", maxBytes
+			));
+		}
+		_maxBytes = maxBytes;
+	}
+
+	/**
+	 * Return the maximal number of bytes, the cached columns may occupy.
+	 *
+	 * @return the memory limit of the cache, in bytes
+	 */
+	public long maxBytes() {
+		return _maxBytes;
+	}
+
+	/**
+	 * Return the (estimated) number of bytes, the cached columns occupy.
+	 *
+	 * @return the currently used memory, in bytes
+	 */
+	public synchronized long bytes() {
+		return _bytes;
+	}
+
+	/**
+	 * Return the number of cached subtree columns.
+	 *
+	 * @return the number of cached subtree columns
+	 */
+	public synchronized int size() {
+		return _columns.size();
+	}
+
+	/**
+	 * Return the number of successful cache lookups.
+	 *
+	 * @return the number of cache hits
+	 */
+	public synchronized long hits() {
+		return _hits;
+	}
+
+	/**
+	 * Return the number of cache lookups, where the subtree column has to be
+	 * evaluated.
+	 *
+	 * @return the number of cache misses
+	 */
+	public synchronized long misses() {
+		return _misses;
+	}
+
+	/**
+	 * Return the number of columns, which has been evicted from the cache.
+	 *
+	 * @return the number of evicted columns
+	 */
+	public synchronized long evictions() {
+		return _evictions;
+	}
+
+	/**
+	 * Return the ratio of cache hits to the number of cache lookups. If no
+	 * lookup has been performed yet, zero is returned.
+	 *
+	 * @return the cache hit rate, within the range {@code [0, 1]}
+	 */
+	public synchronized double hitRate() {
+		final long lookups = _hits + _misses;
+		return lookups > 0 ? (double)_hits/lookups : 0.0;
+	}
+
+	/**
+	 * Removes all cached columns. The cache statistics are not changed.
+	 */
+	public synchronized void clear() {
+		_columns.clear();
+		_bytes = 0;
+	}
+
+	/**
+	 * Return the cached column of the given {@code key}, or {@code null} if
+	 * no column is available. The returned column must not be changed.
+	 *
+	 * @param key the subtree key
+	 * @return the cached subtree column, or {@code null}
+	 */
+	synchronized double[] get(final Key key) {
+		final double[] column = _columns.get(key);
+		if (column != null) {
+			++_hits;
+		} else {
+			++_misses;
+		}
+		return column;
+	}
+
+	/**
+	 * Stores the evaluated {@code column} for the given subtree {@code key}.
+	 * The given column must not be changed after it has been stored.
+	 *
+	 * @param key the subtree key
+	 * @param column the evaluated subtree column
+	 */
+	synchronized void put(final Key key, final double[] column) {
+		final long bytes = bytes(key, column);
+		if (bytes <= _maxBytes) {
+			final Key compact = key.compact();
+			final double[] previous = _columns.put(compact, column);
+			_bytes += bytes;
+			if (previous != null) {
+				_bytes -= bytes(compact, previous);
+			}
+
+			final Iterator<Map.Entry<Key, double[]>> it =
+				_columns.entrySet().iterator();
+			while (_bytes > _maxBytes && it.hasNext()) {
+				final Map.Entry<Key, double[]> entry = it.next();
+				_bytes -= bytes(entry.getKey(), entry.getValue());
+				it.remove();
+				++_evictions;
+			}
+		}
+	}
+
+	private static long bytes(final Key key, final double[] column) {
+		return ENTRY_OVERHEAD + 8L*column.length + 8L*key.size();
+	}
+
+	@Override
+	public synchronized String toString() {
+		return format(
+			"SubtreeCache[size=%d, bytes=%d, hits=%d, misses=%d, hitRate=%.4f]",
+			_columns.size(), _bytes, _hits, _misses, hitRate()
+		);
+	}
+
+	/**
+	 * Create a new subtree cache, which stores at most {@code maxBytes}
+	 * bytes of evaluated columns.
+	 *
+	 * @param maxBytes the memory limit of the cache, in bytes
+	 * @return a new subtree cache
+	 * @throws IllegalArgumentException if the given {@code maxBytes} is not
+	 *         greater than zero
+	 */
+	public static SubtreeCache of(final long maxBytes) {
+		return new SubtreeCache(maxBytes);
+	}
+
+
+	/**
+	 * The structural key of a subtree: the operations of the subtree, in
+	 * postfix order, and the version of the evaluated sample set. The key
+	 * refers to a range of the postfix operations of the whole expression,
+	 * which avoids copying the operations for cache lookups.
+	 */
+	static final class Key {
+		private final long _version;
+		private final Op<?>[] _ops;
+		private final int _from;
+		private final int _to;
+		private final int _hash;
+
+		private Key(
+			final long version,
+			final Op<?>[] ops,
+			final int from,
+			final int to,
+			final int hash
+		) {
+			_version = version;
+			_ops = ops;
+			_from = from;
+			_to = to;
+			_hash = hash;
+		}
+
+		int size() {
+			return _to - _from;
+		}
+
+		Key compact() {
+			return _from == 0 && _to == _ops.length
+				? this
+				: new Key(
+					_version,
+					Arrays.copyOfRange(_ops, _from, _to),
+					0,
+					_to - _from,
+					_hash
+				);
+		}
+
+		@Override
+		public int hashCode() {
+			return _hash;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (obj == this) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+
+			final Key other = (Key)obj;
+			if (_hash != other._hash ||
+				_version != other._version ||
+				size() != other.size())
+			{
+				return false;
+			}
+
+			for (int i = 0, n = size(); i < n; ++i) {
+				if (!equals(_ops[_from + i], other._ops[other._from + i])) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		// Variables are equal by name. The index must be compared as well.
+		// Floating point constants are compared by their bits, which
+		// distinguishes 0.0 from -0.0.
+		private static boolean equals(final Op<?> a, final Op<?> b) {
+			if (a instanceof Val && b instanceof Val) {
+				final Object va = ((Val<?>)a).value();
+				final Object vb = ((Val<?>)b).value();
+
+				if (va instanceof Double && vb instanceof Double) {
+					return doubleToLongBits((Double)va) == doubleToLongBits((Double)vb);
+				} else if (va instanceof Float && vb instanceof Float) {
+					return floatToIntBits((Float)va) == floatToIntBits((Float)vb);
+				}
+			}
+
+			return a.equals(b) &&
+				(!(a instanceof Var) || ((Var<?>)a).index() == ((Var<?>)b).index());
+		}
+
+		private static int hash(final Op<?> op) {
+			if (op instanceof Val) {
+				final Object value = ((Val<?>)op).value();
+				if (value instanceof Double) {
+					return Long.hashCode(doubleToLongBits((Double)value));
+				} else if (value instanceof Float) {
+					return floatToIntBits((Float)value);
+				}
+			} else if (op instanceof Var) {
+				return 31*op.hashCode() + ((Var<?>)op).index();
+			}
+
+			return op.hashCode();
+		}
+
+		/**
+		 * Create the key of the subtree, given by the postfix operations
+		 * within the range {@code [from, to)}.
+		 *
+		 * @param version the version of the evaluated sample set
+		 * @param ops the postfix operations of the whole expression
+		 * @param from the first operation of the subtree, inclusively
+		 * @param to the last operation of the subtree, exclusively
+		 * @return a new subtree key
+		 */
+		static Key of(
+			final long version,
+			final Op<?>[] ops,
+			final int from,
+			final int to
+		) {
+			int hash = Long.hashCode(version);
+			for (int i = from; i < to; ++i) {
+				hash = 31*hash + hash(ops[i]);
+			}
+			return new Key(version, ops, from, to, hash);
+		}
+	}
+
+}
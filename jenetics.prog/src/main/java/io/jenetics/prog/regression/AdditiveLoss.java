@@ -0,0 +1,147 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.prog.regression;
+
+import static java.lang.Math.abs;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Loss function, which is calculated from the <em>mean</em> of independent
+ * per-sample losses. The sum of the sample losses can be updated
+ * incrementally, when sample points are added or removed, which is used by
+ * the {@link IncrementalError} function.
+ *
+ * <pre>{@code
+ * final Error<Double> error = IncrementalError.of(AdditiveLoss.mse());
+ * }</pre>
+ *
+ * @see LossFunction#mse(Double[], Double[])
+ * @see LossFunction#rmse(Double[], Double[])
+ * @see LossFunction#mae(Double[], Double[])
+ * @see IncrementalError
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 6.1
+ * @since 6.1
+ */
+public final class AdditiveLoss implements LossFunction<Double> {
+
+	private final DoubleBinaryOperator _sampleLoss;
+	private final DoubleUnaryOperator _meanLoss;
+
+	private AdditiveLoss(
+		final DoubleBinaryOperator sampleLoss,
+		final DoubleUnaryOperator meanLoss
+	) {
+		_sampleLoss = requireNonNull(sampleLoss);
+		_meanLoss = requireNonNull(meanLoss);
+	}
+
+	/**
+	 * Return the loss of one sample point.
+	 *
+	 * @param calculated the calculated function value
+	 * @param expected the expected function value
+	 * @return the loss of the sample point
+	 */
+	public double sampleLoss(final double calculated, final double expected) {
+		return _sampleLoss.applyAsDouble(calculated, expected);
+	}
+
+	/**
+	 * Return the overall loss from the given sum of sample losses.
+	 *
+	 * @param sum the sum of the sample losses
+	 * @param count the number of sample points
+	 * @return the overall loss value
+	 */
+	public double loss(final double sum, final int count) {
+		return _meanLoss.applyAsDouble(count > 0 ? sum/count : 0);
+	}
+
+	@Override
+	public double apply(final Double[] calculated, final Double[] expected) {
+		if (expected.length != calculated.length) {
+			throw new IllegalArgumentException(format(
+				"Expected result and calculated results have different " +
+					"length: %d != %d",
+				expected.length, calculated.length
+			));
+		}
+
+		double sum = 0;
+		for (int i = 0; i < expected.length; ++i) {
+			sum += sampleLoss(calculated[i], expected[i]);
+		}
+		return loss(sum, expected.length);
+	}
+
+	/**
+	 * Create a new additive loss function, which returns the mean of the
+	 * given sample losses.
+	 *
+	 * @param sampleLoss the loss function of one sample point, with the
+	 *        calculated and the expected value as arguments
+	 * @return a new additive loss function
+	 * @throws NullPointerException if the given {@code sampleLoss} is
+	 *         {@code null}
+	 */
+	public static AdditiveLoss of(final DoubleBinaryOperator sampleLoss) {
+		return new AdditiveLoss(sampleLoss, DoubleUnaryOperator.identity());
+	}
+
+	/**
+	 * Return the <em>mean square error</em> loss function.
+	 *
+	 * @see LossFunction#mse(Double[], Double[])
+	 *
+	 * @return the mean square error loss function
+	 */
+	public static AdditiveLoss mse() {
+		return of((c, e) -> (e - c)*(e - c));
+	}
+
+	/**
+	 * Return the <em>root mean square error</em> loss function.
+	 *
+	 * @see LossFunction#rmse(Double[], Double[])
+	 *
+	 * @return the root mean square error loss function
+	 */
+	public static AdditiveLoss rmse() {
+		return new AdditiveLoss((c, e) -> (e - c)*(e - c), Math::sqrt);
+	}
+
+	/**
+	 * Return the <em>mean absolute error</em> loss function.
+	 *
+	 * @see LossFunction#mae(Double[], Double[])
+	 *
+	 * @return the mean absolute error loss function
+	 */
+	public static AdditiveLoss mae() {
+		return of((c, e) -> abs(e - c));
+	}
+
+}
@@ -0,0 +1,366 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.prog.regression;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.jenetics.ext.util.FlatTreeNode;
+import io.jenetics.ext.util.Tree;
+
+import io.jenetics.prog.op.Op;
+
+/**
+ * Error function, which updates the loss of a program <em>incrementally</em>,
+ * when the sample points of a {@link SampleBuffer} changes. For every
+ * evaluated program, the sample losses of the published sample points are
+ * kept. If the program is evaluated again, after new sample points has been
+ * published, only the added sample points are evaluated and the losses of the
+ * removed sample points are subtracted. The costs of re-scoring a program are
+ * therefore proportional to the number of changed sample points, and not to
+ * the number of sample points in the buffer.
+ *
+ * <pre>{@code
+ * final SampleBuffer<Double> sampling = new SampleBuffer<>(10_000);
+ * final Regression<Double> regression = Regression.of(
+ *     Regression.codecOf(OPERATIONS, TERMINALS, 5),
+ *     IncrementalError.of(AdditiveLoss.mse()),
+ *     sampling
+ * );
+ * }</pre>
+ *
+ * The loss values are calculated in the same way as for the {@link Error}
+ * function, created with {@link Error#of(LossFunction, Complexity)}. Since
+ * the sample losses are summed up in a different order, the values may
+ * differ slightly from the non-incremental calculated ones.
+ *
+ * @see AdditiveLoss
+ * @see SampleBuffer
+ * @see Regression
+ *
+ * @implNote
+ * This class is thread-safe. The states of the least recently evaluated
+ * programs are removed, if the number of programs exceeds the capacity of
+ * the error function.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 6.1
+ * @since 6.1
+ */
+public final class IncrementalError implements Error<Double> {
+
+	/**
+	 * The default number of programs, whose sample losses are kept.
+	 */
+	public static final int DEFAULT_CAPACITY = 1_000;
+
+	private final AdditiveLoss _loss;
+	private final Complexity<Double> _complexity;
+	private final int _capacity;
+
+	private final Map<Tree<?, ?>, State> _states;
+
+	private IncrementalError(
+		final AdditiveLoss loss,
+		final Complexity<Double> complexity,
+		final int capacity
+	) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException(format(
+				"Capacity must be greater than zero: %d", capacity
+			));
+		}
+
+		_loss = requireNonNull(loss);
+		_complexity = complexity;
+		_capacity = capacity;
+		_states = new LinkedHashMap<>(16, 0.75F, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean
+			removeEldestEntry(final Map.Entry<Tree<?, ?>, State> eldest) {
+				return size() > _capacity;
+			}
+		};
+	}
+
+	/**
+	 * Return the maximal number of programs, whose sample losses are kept.
+	 *
+	 * @return the capacity of the error function
+	 */
+	public int capacity() {
+		return _capacity;
+	}
+
+	@Override
+	public double apply(
+		final Tree<? extends Op<Double>, ?> program,
+		final Double[] calculated,
+		final Double[] expected
+	) {
+		return error(program, _loss.apply(calculated, expected));
+	}
+
+	/**
+	 * Calculates the error of the given {@code program} for the given
+	 * {@code samples}. Only the sample points, which has been added since the
+	 * last evaluation of the program, are evaluated.
+	 *
+	 * @param program the program to evaluate
+	 * @param samples the current sample points
+	 * @return the overall program error
+	 */
+	double apply(
+		final Tree<? extends Op<Double>, ?> program,
+		final SampleList<Double> samples
+	) {
+		final State state = state(program);
+
+		final double loss;
+		synchronized (state) {
+			loss = state.update(program, samples, _loss);
+		}
+
+		return error(program, loss);
+	}
+
+	private double error(
+		final Tree<? extends Op<Double>, ?> program,
+		final double loss
+	) {
+		return _complexity != null
+			? loss + loss*_complexity.apply(program)
+			: loss;
+	}
+
+	private synchronized State state(final Tree<? extends Op<Double>, ?> program) {
+		return _states.computeIfAbsent(
+			FlatTreeNode.ofTree(program),
+			key -> new State()
+		);
+	}
+
+	/**
+	 * The sample losses of one program, for the sample points within the
+	 * sequence range {@code [first, last)}.
+	 */
+	private static final class State {
+		private long _source = -1;
+		private long _first = 0;
+		private long _last = 0;
+
+		// The sample losses, indexed by the sample sequence number.
+		private double[] _losses = null;
+
+		// Sum of the finite sample losses. The non-finite losses are only
+		// counted, since removing them from the sum would give NaN.
+		private double _sum = 0;
+		private int _nans = 0;
+		private int _positiveInfinities = 0;
+		private int _negativeInfinities = 0;
+
+		// Number of updated losses since the last summation of all losses.
+		private long _updates = 0;
+
+		double update(
+			final Tree<? extends Op<Double>, ?> program,
+			final SampleList<Double> samples,
+			final AdditiveLoss loss
+		) {
+			final int size = samples.size();
+			final long first = samples.sequence();
+			final long last = first + size;
+
+			final boolean incremental =
+				_losses != null &&
+				_source == samples.source() &&
+				_first <= first &&
+				first <= _last &&
+				_last <= last &&
+				size <= _losses.length;
+
+			if (incremental) {
+				for (long i = _first; i < first; ++i) {
+					remove(_losses[index(i)]);
+				}
+
+				final int from = (int)(_last - first);
+				add(program, samples, from, loss);
+				_updates += (first - _first) + (size - from);
+
+				if (_updates >= size) {
+					sum(first, last);
+					_updates = 0;
+				}
+			} else {
+				_source = samples.source();
+				_losses = new double[capacity(size)];
+				clear();
+				_updates = 0;
+				add(program, samples, 0, loss);
+			}
+
+			_first = first;
+			_last = last;
+			return loss.loss(total(), size);
+		}
+
+		private void add(
+			final Tree<? extends Op<Double>, ?> program,
+			final SampleList<Double> samples,
+			final int from,
+			final AdditiveLoss loss
+		) {
+			if (from < samples.size()) {
+				final long sequence = samples.sequence();
+				final double[] values =
+					samples.eval(program, from, samples.size());
+				for (int i = 0; i < values.length; ++i) {
+					final double value = loss
+						.sampleLoss(values[i], samples.expected(from + i));
+					_losses[index(sequence + from + i)] = value;
+					add(value);
+				}
+			}
+		}
+
+		private void add(final double value) {
+			if (Double.isFinite(value)) {
+				_sum += value;
+			} else if (Double.isNaN(value)) {
+				++_nans;
+			} else if (value > 0) {
+				++_positiveInfinities;
+			} else {
+				++_negativeInfinities;
+			}
+		}
+
+		private void remove(final double value) {
+			if (Double.isFinite(value)) {
+				_sum -= value;
+			} else if (Double.isNaN(value)) {
+				--_nans;
+			} else if (value > 0) {
+				--_positiveInfinities;
+			} else {
+				--_negativeInfinities;
+			}
+		}
+
+		private void clear() {
+			_sum = 0;
+			_nans = 0;
+			_positiveInfinities = 0;
+			_negativeInfinities = 0;
+		}
+
+		// Re-sums the losses, which removes the accumulated rounding errors.
+		private void sum(final long first, final long last) {
+			clear();
+			for (long i = first; i < last; ++i) {
+				add(_losses[index(i)]);
+			}
+		}
+
+		// The sum of all sample losses, including the non-finite ones.
+		private double total() {
+			if (_nans > 0 || (_positiveInfinities > 0 && _negativeInfinities > 0)) {
+				return Double.NaN;
+			} else if (_positiveInfinities > 0) {
+				return Double.POSITIVE_INFINITY;
+			} else if (_negativeInfinities > 0) {
+				return Double.NEGATIVE_INFINITY;
+			} else {
+				return _sum;
+			}
+		}
+
+		private int index(final long sequence) {
+			return (int)(sequence & (_losses.length - 1));
+		}
+
+		// The smallest power of two, which is not smaller than the given size.
+		private static int capacity(final int size) {
+			return size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+		}
+	}
+
+	/**
+	 * Create a new incremental error function with the given parameters.
+	 * The {@code loss} and {@code complexity} values are combined in the
+	 * following way: {@code error = loss + loss*complexity}.
+	 *
+	 * @see Error#of(LossFunction, Complexity)
+	 *
+	 * @param loss the additive loss function
+	 * @param complexity the program complexity measure
+	 * @param capacity the maximal number of programs, whose sample losses are
+	 *        kept
+	 * @return a new incremental error function
+	 * @throws NullPointerException if one of the functions is {@code null}
+	 * @throws IllegalArgumentException if the given {@code capacity} is
+	 *         smaller than one
+	 */
+	public static IncrementalError of(
+		final AdditiveLoss loss,
+		final Complexity<Double> complexity,
+		final int capacity
+	) {
+		return new IncrementalError(loss, requireNonNull(complexity), capacity);
+	}
+
+	/**
+	 * Create a new incremental error function with the given parameters and
+	 * the {@link #DEFAULT_CAPACITY}.
+	 *
+	 * @see Error#of(LossFunction, Complexity)
+	 *
+	 * @param loss the additive loss function
+	 * @param complexity the program complexity measure
+	 * @return a new incremental error function
+	 * @throws NullPointerException if one of the functions is {@code null}
+	 */
+	public static IncrementalError
+	of(final AdditiveLoss loss, final Complexity<Double> complexity) {
+		return of(loss, complexity, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Create a new incremental error function, which only uses the given
+	 * {@code loss} function for calculating the program error.
+	 *
+	 * @see Error#of(LossFunction)
+	 *
+	 * @param loss the additive loss function
+	 * @return a new incremental error function
+	 * @throws NullPointerException if the given {@code loss} function is
+	 *         {@code null}
+	 */
+	public static IncrementalError of(final AdditiveLoss loss) {
+		return new IncrementalError(loss, null, DEFAULT_CAPACITY);
+	}
+
+}
@@ -39,6 +39,7 @@ import io.jenetics.ext.util.Tree;
 import io.jenetics.prog.ProgramChromosome;
 import io.jenetics.prog.ProgramGene;
 import io.jenetics.prog.op.Op;
+import io.jenetics.prog.op.SubtreeCache;
 import io.jenetics.prog.regression.Sampling.Result;
 
 /**
@@ -96,7 +97,7 @@ import io.jenetics.prog.regression.Sampling.Result;
  * @param <T> the operation type
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 6.0
+ * @version 6.1
  * @since 5.0
  */
 public final class Regression<T>
@@ -136,18 +137,39 @@ public final class Regression<T>
 	}
 
 	/**
-	 * Calculates the actual error for the given {@code program}.
+	 * Calculates the actual error for the given {@code program}. If the
+	 * error function is an {@link IncrementalError} and the sample points
+	 * are given by a {@link SampleBuffer}, only the sample points, which
+	 * has been changed since the last evaluation of the program, are
+	 * evaluated.
 	 *
 	 * @param program the program to calculate the error value for
 	 * @return the overall error value of the program
 	 */
 	public double error(final Tree<? extends Op<T>, ?> program) {
+		if (_error instanceof IncrementalError &&
+			(_sampling instanceof SampleBuffer || _sampling instanceof SampleList))
+		{
+			return incrementalError(program);
+		}
+
 		final Result<T> result = _sampling.eval(program);
 		return result != null
 			? _error.apply(program, result.calculated(), result.expected())
 			: Double.MAX_VALUE;
 	}
 
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private double incrementalError(final Tree<? extends Op<T>, ?> program) {
+		final SampleList samples = _sampling instanceof SampleBuffer
+			? ((SampleBuffer<T>)_sampling).snapshot()
+			: (SampleList<T>)_sampling;
+
+		return samples != null && !samples.isEmpty()
+			? ((IncrementalError)_error).apply((Tree)program, samples)
+			: Double.MAX_VALUE;
+	}
+
 	/* *************************************************************************
 	 * Factory methods.
 	 * ************************************************************************/
@@ -192,14 +214,50 @@ public final class Regression<T>
 		final Error<T> error,
 		final Iterable<? extends Sample<T>> samples
 	) {
+		return new Regression<>(codec, error, new SampleList<>(list(samples)));
+	}
+
+	/**
+	 * Create a new regression problem instance with the given parameters.
+	 * The evaluated output columns of the program subtrees are stored in the
+	 * given {@code cache} and reused for other programs, which contain the
+	 * same subtrees. The cache is only used for {@code Double} samples.
+	 *
+	 * @see #codecOf(ISeq, ISeq, int)
+	 * @see #codecOf(ISeq, ISeq, int, Predicate)
+	 * @see SubtreeCache
+	 *
+	 * @since 6.1
+	 *
+	 * @param <T> the operation type
+	 * @param codec the problem codec to use
+	 * @param error the error function
+	 * @param samples the sample points used for regression analysis
+	 * @param cache the cache of the evaluated subtree columns
+	 * @return a new regression problem instance
+	 * @throws IllegalArgumentException if the given {@code samples} is empty
+	 * @throws NullPointerException if on of the arguments is {@code null}
+	 */
+	public static <T> Regression<T> of(
+		final Codec<Tree<Op<T>, ?>, ProgramGene<T>> codec,
+		final Error<T> error,
+		final Iterable<? extends Sample<T>> samples,
+		final SubtreeCache cache
+	) {
+		requireNonNull(cache);
+		final SampleList<T> sampling = new SampleList<>(list(samples), cache);
+		return new Regression<>(codec, error, sampling);
+	}
+
+	private static <T> List<Sample<T>>
+	list(final Iterable<? extends Sample<T>> samples) {
 		if (!samples.iterator().hasNext()) {
 			throw new IllegalArgumentException("Sample list must not be empty.");
 		}
 
-		final List<Sample<T>> s = new ArrayList<>();
-		samples.forEach(s::add);
-
-		return new Regression<>(codec, error, new SampleList<>(s));
+		final List<Sample<T>> list = new ArrayList<>();
+		samples.forEach(list::add);
+		return list;
 	}
 
 	/**
@@ -23,7 +23,7 @@ import java.util.Collection;
 
 /**
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 6.0
+ * @version 6.1
  * @since 6.0
  */
 final class RingBuffer {
@@ -33,6 +33,9 @@ final class RingBuffer {
 	private int _cursor = -1;
 	private int _size = 0;
 
+	// The number of elements, which has been added to the buffer.
+	private long _count = 0;
+
 	private Object[] _snapshot = null;
 
 	RingBuffer(final int size) {
@@ -52,6 +55,7 @@ final class RingBuffer {
 
 	private int next() {
 		if (_size < _buffer.length) ++_size;
+		++_count;
 		return _cursor = (_cursor + 1 < _buffer.length) ? _cursor + 1 : 0;
 	}
 
@@ -84,6 +88,16 @@ final class RingBuffer {
 		return _snapshot = result;
 	}
 
+	/**
+	 * Return the number of elements, which has been added to the buffer so
+	 * far. This is the sequence number of the next added element.
+	 *
+	 * @return the number of added elements
+	 */
+	synchronized long count() {
+		return _count;
+	}
+
 	int size () {
 		return _buffer.length;
 	}
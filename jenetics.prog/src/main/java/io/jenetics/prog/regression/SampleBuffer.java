@@ -29,6 +29,7 @@ import java.util.Objects;
 import io.jenetics.ext.util.Tree;
 
 import io.jenetics.prog.op.Op;
+import io.jenetics.prog.op.SubtreeCache;
 
 /**
  * This class holds the actual sample values which are used for the symbolic
@@ -36,23 +37,49 @@ import io.jenetics.prog.op.Op;
  * <em>producer-consumer</em> setup. You can add single sample values
  * ({@link #add(Sample)}) or a list ({@link #addAll(Collection)}) of new values.
  * These values will be made available for evaluation after an explicit call of
- * the {@link #publish()} method.
+ * the {@link #publish()} method. Programs, which are re-scored after every
+ * publish, should use an {@link IncrementalError} function, which only
+ * evaluates the changed sample points.
+ *
+ * @see IncrementalError
  *
  * @implNote
  * This class is thread-safe.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 6.0
+ * @version 6.1
  * @since 6.0
  */
 public final class SampleBuffer<T> implements Sampling<T> {
 
 	private final RingBuffer _buffer;
+	private final SubtreeCache _cache;
+	private final long _source = SampleList.newSource();
 
 	private volatile SampleList<T> _snapshot = null;
 
 	public SampleBuffer(final int size) {
 		_buffer = new RingBuffer(size);
+		_cache = null;
+	}
+
+	/**
+	 * Create a new sample buffer, which evaluates the programs with the
+	 * given subtree {@code cache}. Every {@link #publish()} call creates a
+	 * new <em>version</em> of the sample points, so the cached columns of
+	 * previously published sample points are not used any longer.
+	 *
+	 * @see SubtreeCache
+	 *
+	 * @since 6.1
+	 *
+	 * @param size the maximal number of sample points
+	 * @param cache the cache of the evaluated subtree columns
+	 * @throws NullPointerException if the given {@code cache} is {@code null}
+	 */
+	public SampleBuffer(final int size, final SubtreeCache cache) {
+		_buffer = new RingBuffer(size);
+		_cache = requireNonNull(cache);
 	}
 
 	/**
@@ -89,12 +116,17 @@ public final class SampleBuffer<T> implements Sampling<T> {
 	 */
 	@SuppressWarnings({"unchecked", "rawtypes"})
 	public int publish() {
-		final Object[] values = _buffer.snapshot();
+		final Object[] values;
+		final long sequence;
+		synchronized (_buffer) {
+			values = _buffer.snapshot();
+			sequence = _buffer.count() - values.length;
+		}
 
 		SampleList<T> snapshot = null;
-		if (values != null && values.length > 0) {
+		if (values.length > 0) {
 			final List samples = Arrays.asList(values);
-			snapshot = new SampleList(samples);
+			snapshot = new SampleList(samples, _cache, _source, sequence);
 		}
 
 		try {
@@ -116,6 +148,16 @@ public final class SampleBuffer<T> implements Sampling<T> {
 		return snapshot != null ? snapshot : List.of();
 	}
 
+	/**
+	 * Return the currently <em>published</em> sample list, or {@code null}
+	 * if no sample points has been published yet.
+	 *
+	 * @return the currently <em>published</em> sample list
+	 */
+	SampleList<T> snapshot() {
+		return _snapshot;
+	}
+
 	@Override
 	public Result<T> eval(final Tree<? extends Op<T>, ?> program) {
 		requireNonNull(program);
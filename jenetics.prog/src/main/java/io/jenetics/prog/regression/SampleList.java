@@ -24,17 +24,21 @@ import static java.lang.String.format;
 import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
 import io.jenetics.ext.util.Tree;
 
+import io.jenetics.prog.op.MathExpr;
 import io.jenetics.prog.op.Op;
 import io.jenetics.prog.op.Program;
+import io.jenetics.prog.op.SubtreeCache;
 
 /**
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 5.0
+ * @version 6.1
  * @since 5.0
  */
 final class SampleList<T>
@@ -45,14 +49,43 @@ final class SampleList<T>
 {
 	private static final long serialVersionUID = 1L;
 
+	// Every sample list has its own version, for the subtree cache. The
+	// sample sources are numbered from the same counter.
+	private static final AtomicLong VERSIONS = new AtomicLong();
+
 	private final List<Sample<T>> _samples;
 
 	private final Class<T> _type;
 	private final T[][] _arguments;
 	private final T[] _results;
 
-	@SuppressWarnings("unchecked")
+	// The unboxed argument columns, if the sample type is Double.
+	private final double[][] _columns;
+
+	// The (optional) cache of the evaluated subtree columns.
+	private final transient SubtreeCache _cache;
+	private final long _version = VERSIONS.incrementAndGet();
+
+	// The source of the sample points, e.g. the sample buffer, and the
+	// sequence number of the first sample point within this source.
+	private final long _source;
+	private final long _sequence;
+
 	SampleList(final List<Sample<T>> samples) {
+		this(samples, null);
+	}
+
+	SampleList(final List<Sample<T>> samples, final SubtreeCache cache) {
+		this(samples, cache, newSource(), 0);
+	}
+
+	@SuppressWarnings("unchecked")
+	SampleList(
+		final List<Sample<T>> samples,
+		final SubtreeCache cache,
+		final long source,
+		final long sequence
+	) {
 		if (samples.isEmpty()) {
 			throw new IllegalArgumentException("Sample list must not be empty.");
 		}
@@ -85,6 +118,21 @@ final class SampleList<T>
 		_results = _samples.stream()
 			.map(Sample::result)
 			.toArray(size -> (T[])Array.newInstance(_type, size));
+
+		_columns = _type == Double.class ? columns(_arguments, arity) : null;
+		_cache = cache;
+		_source = source;
+		_sequence = sequence;
+	}
+
+	private static double[][] columns(final Object[][] arguments, final int arity) {
+		final double[][] columns = new double[arity][arguments.length];
+		for (int i = 0; i < arguments.length; ++i) {
+			for (int j = 0; j < arity; ++j) {
+				columns[j][i] = (Double)arguments[i][j];
+			}
+		}
+		return columns;
 	}
 
 	private static <T> T[] args(final Class<T> type, final Sample<T> sample) {
@@ -100,6 +148,31 @@ final class SampleList<T>
 
 	@Override
 	public Result<T> eval(final Tree<? extends Op<T>, ?> program) {
+		return _columns != null
+			? evalColumns(program)
+			: evalRows(program);
+	}
+
+	// Evaluates the program column wise, with the unboxed sample arguments.
+	@SuppressWarnings("unchecked")
+	private Result<T> evalColumns(final Tree<? extends Op<T>, ?> program) {
+		final Tree<? extends Op<Double>, ?> expr =
+			(Tree<? extends Op<Double>, ?>)program;
+
+		final SubtreeCache cache = _cache;
+		final double[] values = cache != null
+			? MathExpr.evalColumns(expr, _columns, cache, _version)
+			: MathExpr.evalColumns(expr, _columns);
+
+		final Double[] calculated = new Double[values.length];
+		for (int i = 0; i < values.length; ++i) {
+			calculated[i] = values[i];
+		}
+
+		return Result.of((T[])calculated, _results);
+	}
+
+	private Result<T> evalRows(final Tree<? extends Op<T>, ?> program) {
 		@SuppressWarnings("unchecked")
 		final T[] calculated = Stream.of(_arguments)
 			.map(args -> Program.eval(program, args))
@@ -108,6 +181,74 @@ final class SampleList<T>
 		return Result.of(calculated, _results);
 	}
 
+	/**
+	 * Return a new, unique identifier of a sample point source.
+	 *
+	 * @return a new sample source identifier
+	 */
+	static long newSource() {
+		return VERSIONS.incrementAndGet();
+	}
+
+	/**
+	 * Return the identifier of the source of the sample points. Sample lists
+	 * with the same source share the sequence numbers of their sample points.
+	 *
+	 * @return the sample source identifier
+	 */
+	long source() {
+		return _source;
+	}
+
+	/**
+	 * Return the sequence number of the first sample point. The sample point
+	 * with index {@code i} has the sequence number {@code sequence() + i}.
+	 *
+	 * @return the sequence number of the first sample point
+	 */
+	long sequence() {
+		return _sequence;
+	}
+
+	/**
+	 * Evaluates the given {@code program} for the sample points within the
+	 * given index range.
+	 *
+	 * @param program the program to evaluate
+	 * @param from the index of the first sample point, inclusively
+	 * @param to the index of the last sample point, exclusively
+	 * @return the calculated values of the sample points within the range
+	 * @throws IllegalStateException if the samples are not of type
+	 *         {@code Double}
+	 */
+	double[] eval(
+		final Tree<? extends Op<Double>, ?> program,
+		final int from,
+		final int to
+	) {
+		if (_columns == null) {
+			throw new IllegalStateException(format(
+				"Expected samples of type Double, but got %s.", _type.getName()
+			));
+		}
+
+		final double[][] columns = new double[_columns.length][];
+		for (int i = 0; i < columns.length; ++i) {
+			columns[i] = Arrays.copyOfRange(_columns[i], from, to);
+		}
+		return MathExpr.evalColumns(program, columns);
+	}
+
+	/**
+	 * Return the expected result of the sample point with the given index.
+	 *
+	 * @param index the sample index
+	 * @return the expected result of the sample point
+	 */
+	double expected(final int index) {
+		return ((Number)_results[index]).doubleValue();
+	}
+
 	@Override
 	public Sample<T> get(int index) {
 		return _samples.get(index);
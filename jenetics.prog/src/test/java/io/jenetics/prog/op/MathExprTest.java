@@ -25,6 +25,8 @@ import static java.lang.Math.sin;
 
 import java.io.IOException;
 import java.util.Random;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.DoubleStream;
 import java.util.stream.Stream;
 
 import org.testng.Assert;
@@ -35,7 +37,11 @@ import io.jenetics.util.IO;
 import io.jenetics.util.ISeq;
 import io.jenetics.util.Seq;
 
+import io.jenetics.ext.util.FlatTreeNode;
 import io.jenetics.ext.util.Tree;
+import io.jenetics.ext.util.TreeNode;
+
+import io.jenetics.prog.ProgramChromosome;
 
 /**
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
@@ -235,4 +241,153 @@ public class MathExprTest {
 		Assert.assertEquals(IO.object.fromByteArray(data), object);
 	}
 
+	@Test(dataProvider = "ast")
+	public void compile(final Tree<? extends Op<Double>, ?> tree) {
+		final ToDoubleFunction<double[]> function = MathExpr.compile(tree);
+
+		final Random random = new Random(456);
+		for (int i = 0; i < 100; ++i) {
+			final double[] args = random.doubles(TERMINALS.size() - 1)
+				.map(v -> v*20 - 10)
+				.toArray();
+			final Double[] boxed = DoubleStream.of(args).boxed()
+				.toArray(Double[]::new);
+
+			Assert.assertEquals(
+				Double.valueOf(function.applyAsDouble(args)),
+				Program.eval(tree, boxed)
+			);
+		}
+	}
+
+	@Test
+	public void compileWithNonMathOp() {
+		final TreeNode<Op<Double>> tree = MathExpr.parseTree("x*y + sin(z)");
+		final Op<Double> sum = Op.of("sum", 2, v -> v[0] + v[1]);
+		final TreeNode<Op<Double>> root = TreeNode.<Op<Double>>of(sum)
+			.attach(tree)
+			.attach(TreeNode.of(EphemeralConst.of(() -> 3.0)));
+
+		final ToDoubleFunction<double[]> function = MathExpr.compile(root);
+		Assert.assertEquals(
+			function.applyAsDouble(new double[]{2, 3, 0.5}),
+			2*3 + Math.sin(0.5) + 3.0
+		);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void compileMissingVariable() {
+		MathExpr.compile(MathExpr.parseTree("x*y"))
+			.applyAsDouble(new double[]{1});
+	}
+
+	@Test(dataProvider = "ast")
+	public void postfixOfFlatTree(final Tree<? extends Op<Double>, ?> tree) {
+		Assert.assertEquals(
+			MathExprStack.postfix(FlatTreeNode.ofTree(tree)),
+			MathExprStack.postfix(tree)
+		);
+	}
+
+	@Test(dataProvider = "ast")
+	public void compileProgramChromosome(final Tree<? extends Op<Double>, ?> tree) {
+		final ProgramChromosome<Double> chromosome =
+			ProgramChromosome.of(tree, OPERATIONS, TERMINALS);
+		final ToDoubleFunction<double[]> function =
+			MathExpr.compile(chromosome.root());
+
+		final Random random = new Random(456);
+		for (int i = 0; i < 100; ++i) {
+			final double[] args = random.doubles(TERMINALS.size() - 1)
+				.map(v -> v*20 - 10)
+				.toArray();
+			final Double[] boxed = DoubleStream.of(args).boxed()
+				.toArray(Double[]::new);
+
+			Assert.assertEquals(
+				Double.valueOf(function.applyAsDouble(args)),
+				chromosome.eval(boxed)
+			);
+		}
+	}
+
+	@Test
+	public void compileFlatTreeWithNestedExpression() {
+		final ToDoubleFunction<double[]> inner =
+			MathExpr.compile(FlatTreeNode.ofTree(MathExpr.parseTree("x*x + 1")));
+		final Op<Double> nested = Op.of("nested", 1, v ->
+			inner.applyAsDouble(new double[]{v[0]}));
+
+		final TreeNode<Op<Double>> tree = TreeNode.<Op<Double>>of(MathOp.ADD)
+			.attach(MathExpr.parseTree("x*y"))
+			.attach(TreeNode.<Op<Double>>of(nested)
+				.attach(MathExpr.parseTree("x + 1")));
+
+		final ToDoubleFunction<double[]> function =
+			MathExpr.compile(FlatTreeNode.ofTree(tree));
+		Assert.assertEquals(function.applyAsDouble(new double[]{2, 3}), 16.0);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void compileFlatTreeMissingVariable() {
+		MathExpr.compile(FlatTreeNode.ofTree(MathExpr.parseTree("x*y")))
+			.applyAsDouble(new double[]{1});
+	}
+
+	@Test(dataProvider = "ast")
+	public void evalColumns(final Tree<? extends Op<Double>, ?> tree) {
+		final MathExpr expr = new MathExpr(tree);
+
+		final Random random = new Random(789);
+		final int size = 1_234;
+		final double[][] columns = new double[TERMINALS.size() - 1][size];
+		for (double[] column : columns) {
+			for (int i = 0; i < size; ++i) {
+				column[i] = random.nextDouble()*20 - 10;
+			}
+		}
+
+		final double[] values = expr.evalColumns(columns);
+		Assert.assertEquals(values.length, size);
+		for (int i = 0; i < size; ++i) {
+			final double[] args = new double[columns.length];
+			for (int j = 0; j < args.length; ++j) {
+				args[j] = columns[j][i];
+			}
+
+			Assert.assertEquals(
+				Double.valueOf(values[i]),
+				Double.valueOf(expr.eval(args))
+			);
+		}
+	}
+
+	@Test
+	public void evalColumnsWithProgram() {
+		final Program<Double> program = new Program<>(
+			"program",
+			MathExpr.parseTree("x*y")
+		);
+		final Op<Double> sum = Op.of("sum", 2, v -> v[0] + v[1]);
+		final TreeNode<Op<Double>> tree = TreeNode.<Op<Double>>of(sum)
+			.attach(TreeNode.of(program))
+			.attach(MathExpr.parseTree("x - 1"));
+
+		final double[] values = MathExpr.evalColumns(
+			tree,
+			new double[][]{{1, 2, 3}, {4, 5, 6}}
+		);
+		Assert.assertEquals(values, new double[]{4, 11, 20});
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void evalColumnsMissingVariable() {
+		MathExpr.parse("x*y").evalColumns(new double[][]{{1, 2}});
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void evalColumnsDifferentLength() {
+		MathExpr.parse("x*y").evalColumns(new double[][]{{1, 2}, {1}});
+	}
+
 }
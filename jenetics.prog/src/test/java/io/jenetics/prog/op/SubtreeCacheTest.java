@@ -0,0 +1,182 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.prog.op;
+
+import static io.jenetics.prog.op.MathExprTest.OPERATIONS;
+import static io.jenetics.prog.op.MathExprTest.TERMINALS;
+
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import io.jenetics.ext.util.Tree;
+import io.jenetics.ext.util.TreeNode;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class SubtreeCacheTest {
+
+	private static double[][] columns(final int arity, final int size) {
+		final Random random = new Random(123);
+		final double[][] columns = new double[arity][size];
+		for (double[] column : columns) {
+			for (int i = 0; i < size; ++i) {
+				column[i] = random.nextDouble()*20 - 10;
+			}
+		}
+		return columns;
+	}
+
+	@DataProvider
+	public Object[][] programs() {
+		final Random random = new Random(1233);
+		final Object[][] programs = new Object[13][];
+		for (int i = 0; i < programs.length; ++i) {
+			programs[i] = new Object[]{
+				Program.of(8, OPERATIONS, TERMINALS, random)
+			};
+		}
+		return programs;
+	}
+
+	@Test(dataProvider = "programs")
+	public void evalColumns(final Tree<? extends Op<Double>, ?> tree) {
+		final double[][] columns = columns(TERMINALS.size() - 1, 1_111);
+		final double[] expected = MathExpr.evalColumns(tree, columns);
+
+		final SubtreeCache cache = SubtreeCache.of(1_000_000_000);
+		Assert.assertEquals(
+			MathExpr.evalColumns(tree, columns, cache, 1),
+			expected
+		);
+
+		final long hits = cache.hits();
+		Assert.assertEquals(
+			MathExpr.evalColumns(tree, columns, cache, 1),
+			expected
+		);
+		Assert.assertEquals(cache.hits(), hits + (cache.size() > 0 ? 1 : 0));
+	}
+
+	@Test
+	public void sharedSubtrees() {
+		final double[][] columns = columns(3, 1_000);
+		final SubtreeCache cache = SubtreeCache.of(1_000_000_000);
+
+		MathExpr.evalColumns(MathExpr.parseTree("sin(x*y) + z"), columns, cache, 1);
+		Assert.assertEquals(cache.hits(), 0);
+		Assert.assertEquals(cache.misses(), 3);
+		Assert.assertEquals(cache.size(), 3);
+
+		final double[] values = MathExpr.evalColumns(
+			MathExpr.parseTree("sin(x*y) - z"), columns, cache, 1
+		);
+		Assert.assertEquals(cache.hits(), 1);
+		Assert.assertEquals(cache.misses(), 4);
+		Assert.assertEquals(cache.hitRate(), 0.2);
+		Assert.assertEquals(
+			values,
+			MathExpr.evalColumns(MathExpr.parseTree("sin(x*y) - z"), columns)
+		);
+	}
+
+	@Test
+	public void differentVersions() {
+		final TreeNode<Op<Double>> tree = MathExpr.parseTree("x*y + 1");
+		final SubtreeCache cache = SubtreeCache.of(1_000_000_000);
+
+		final double[] v1 = MathExpr.evalColumns(
+			tree, new double[][]{{1, 2}, {3, 4}}, cache, 1
+		);
+		final double[] v2 = MathExpr.evalColumns(
+			tree, new double[][]{{5, 6}, {7, 8}}, cache, 2
+		);
+		Assert.assertEquals(v1, new double[]{4, 9});
+		Assert.assertEquals(v2, new double[]{36, 49});
+		Assert.assertEquals(cache.hits(), 0);
+	}
+
+	@Test
+	public void nonMathOperation() {
+		final Op<Double> sum = Op.of("sum", 2, v -> v[0] + v[1]);
+		final TreeNode<Op<Double>> tree = TreeNode.<Op<Double>>of(sum)
+			.attach(MathExpr.parseTree("x*y"))
+			.attach(MathExpr.parseTree("sin(x) + 1"));
+
+		final double[][] columns = columns(2, 100);
+		final SubtreeCache cache = SubtreeCache.of(1_000_000_000);
+		final double[] values = MathExpr.evalColumns(tree, columns, cache, 1);
+
+		Assert.assertEquals(values, MathExpr.evalColumns(tree, columns));
+		Assert.assertEquals(cache.size(), 2);
+	}
+
+	@Test
+	public void signedZeroConstants() {
+		final double[][] columns = columns(1, 100);
+		final SubtreeCache cache = SubtreeCache.of(1_000_000_000);
+
+		for (double zero : new double[]{0.0, -0.0}) {
+			final TreeNode<Op<Double>> tree = TreeNode.<Op<Double>>of(MathOp.DIV)
+				.attach(Var.of("x", 0))
+				.attach(TreeNode.<Op<Double>>of(MathOp.ADD)
+					.attach(Const.of(zero))
+					.attach(Const.of(zero)));
+
+			Assert.assertEquals(
+				MathExpr.evalColumns(tree, columns, cache, 1),
+				MathExpr.evalColumns(tree, columns)
+			);
+		}
+		Assert.assertEquals(cache.hits(), 0);
+	}
+
+	@Test
+	public void eviction() {
+		final double[][] columns = columns(TERMINALS.size() - 1, 1_000);
+		final SubtreeCache cache = SubtreeCache.of(20_000);
+
+		final Random random = new Random(456);
+		for (int i = 0; i < 50; ++i) {
+			final Tree<Op<Double>, ?> tree =
+				Program.of(5, OPERATIONS, TERMINALS.subSeq(3), random);
+
+			Assert.assertEquals(
+				MathExpr.evalColumns(tree, columns, cache, 1),
+				MathExpr.evalColumns(tree, columns)
+			);
+			Assert.assertTrue(cache.bytes() <= cache.maxBytes());
+		}
+		Assert.assertTrue(cache.evictions() > 0);
+
+		cache.clear();
+		Assert.assertEquals(cache.size(), 0);
+		Assert.assertEquals(cache.bytes(), 0);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void illegalSize() {
+		SubtreeCache.of(0);
+	}
+
+}
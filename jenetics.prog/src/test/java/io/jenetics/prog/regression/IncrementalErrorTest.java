@@ -0,0 +1,209 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.prog.regression;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import io.jenetics.engine.Codec;
+import io.jenetics.util.ISeq;
+
+import io.jenetics.ext.util.Tree;
+import io.jenetics.ext.util.TreeNode;
+
+import io.jenetics.prog.ProgramGene;
+import io.jenetics.prog.op.Const;
+import io.jenetics.prog.op.MathExpr;
+import io.jenetics.prog.op.MathOp;
+import io.jenetics.prog.op.Op;
+import io.jenetics.prog.op.Var;
+import io.jenetics.prog.regression.Sampling.Result;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class IncrementalErrorTest {
+
+	private static final ISeq<Op<Double>> OPS =
+		ISeq.of(MathOp.ADD, MathOp.SUB, MathOp.MUL, MathOp.SIN);
+
+	private static final ISeq<Op<Double>> TMS = ISeq.of(
+		Var.of("x", 0),
+		Const.of(1.0),
+		Const.of(2.0)
+	);
+
+	private static void add(
+		final SampleBuffer<Double> buffer,
+		final int count,
+		final Random random
+	) {
+		for (int i = 0; i < count; ++i) {
+			final double x = random.nextDouble()*4 - 2;
+			buffer.add(Sample.ofDouble(x, x*x*x - 2*x + 1));
+		}
+	}
+
+	@Test
+	public void streamingError() {
+		final Codec<Tree<Op<Double>, ?>, ProgramGene<Double>> codec =
+			Regression.codecOf(OPS, TMS, 5);
+
+		final SampleBuffer<Double> buffer = new SampleBuffer<>(50);
+		final Regression<Double> incremental = Regression.of(
+			codec,
+			IncrementalError.of(AdditiveLoss.mse(), Complexity.ofNodeCount(50)),
+			buffer
+		);
+		final Regression<Double> regression = Regression.of(
+			codec,
+			Error.of(LossFunction::mse, Complexity.ofNodeCount(50)),
+			buffer
+		);
+
+		final Random random = new Random(123);
+		final ISeq<Tree<Op<Double>, ?>> programs = ISeq.of(
+			() -> codec.encoding().newInstance().gene(),
+			20
+		);
+
+		for (int round = 0; round < 30; ++round) {
+			add(buffer, random.nextInt(20), random);
+			buffer.publish();
+
+			for (Tree<Op<Double>, ?> program : programs) {
+				final double expected = regression.error(program);
+				final double actual = incremental.error(program);
+
+				if (expected == Double.MAX_VALUE) {
+					Assert.assertEquals(actual, expected);
+				} else {
+					Assert.assertEquals(
+						actual, expected,
+						1e-9*Math.max(1, Math.abs(expected))
+					);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void evaluateChangedSamples() {
+		final AtomicInteger evaluations = new AtomicInteger();
+		final Op<Double> id = Op.of("id", 1, v -> {
+			evaluations.incrementAndGet();
+			return v[0];
+		});
+		final Tree<Op<Double>, ?> program = TreeNode.<Op<Double>>of(id)
+			.attach(MathExpr.parseTree("x*x + 1"));
+
+		final SampleBuffer<Double> buffer = new SampleBuffer<>(100);
+		final IncrementalError error = IncrementalError.of(AdditiveLoss.mae());
+		final Random random = new Random(456);
+
+		add(buffer, 100, random);
+		buffer.publish();
+		final double error1 = error.apply(program, buffer.snapshot());
+		Assert.assertEquals(evaluations.get(), 100);
+
+		Assert.assertEquals(error.apply(program, buffer.snapshot()), error1);
+		Assert.assertEquals(evaluations.get(), 100);
+
+		add(buffer, 7, random);
+		buffer.publish();
+		final double error2 = error.apply(program, buffer.snapshot());
+		Assert.assertEquals(evaluations.get(), 107);
+
+		final Result<Double> result = buffer.eval(program);
+		Assert.assertEquals(
+			error2,
+			AdditiveLoss.mae().apply(result.calculated(), result.expected()),
+			1e-12
+		);
+	}
+
+	@Test
+	public void otherSampleBuffer() {
+		final Tree<Op<Double>, ?> program = MathExpr.parseTree("x*x - 1");
+		final IncrementalError error = IncrementalError.of(AdditiveLoss.mse());
+		final Random random = new Random(789);
+
+		final SampleBuffer<Double> buffer1 = new SampleBuffer<>(10);
+		add(buffer1, 10, random);
+		buffer1.publish();
+
+		final SampleBuffer<Double> buffer2 = new SampleBuffer<>(10);
+		add(buffer2, 10, random);
+		buffer2.publish();
+
+		final Result<Double> result = buffer2.eval(program);
+		error.apply(program, buffer1.snapshot());
+		Assert.assertEquals(
+			error.apply(program, buffer2.snapshot()),
+			AdditiveLoss.mse().apply(result.calculated(), result.expected())
+		);
+	}
+
+	@Test(dataProvider = "nonFiniteLosses")
+	public void evictNonFiniteLoss(final String expression, final double x0) {
+		final Tree<Op<Double>, ?> program = MathExpr.parseTree(expression);
+		final IncrementalError error = IncrementalError.of(AdditiveLoss.mse());
+		final SampleBuffer<Double> buffer = new SampleBuffer<>(10);
+
+		buffer.add(Sample.ofDouble(x0, 1.0));
+		for (int i = 1; i < 10; ++i) {
+			buffer.add(Sample.ofDouble(i, 1.0));
+		}
+		buffer.publish();
+		Assert.assertFalse(Double.isFinite(error.apply(program, buffer.snapshot())));
+
+		// The non-finite sample loss is evicted with the first new sample.
+		for (int round = 1; round <= 20; ++round) {
+			buffer.add(Sample.ofDouble(10 + round, 1.0));
+			buffer.publish();
+
+			final Result<Double> result = buffer.eval(program);
+			Assert.assertEquals(
+				error.apply(program, buffer.snapshot()),
+				AdditiveLoss.mse().apply(result.calculated(), result.expected()),
+				1e-12,
+				"Round " + round
+			);
+		}
+	}
+
+	@DataProvider(name = "nonFiniteLosses")
+	public Object[][] nonFiniteLosses() {
+		return new Object[][] {
+			{"1/x", 0.0},
+			{"log(x)", -1.0}
+		};
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void illegalCapacity() {
+		IncrementalError.of(AdditiveLoss.mse(), Complexity.ofNodeCount(10), 0);
+	}
+
+}
@@ -19,7 +19,10 @@
  */
 package io.jenetics.prog.regression;
 
+import java.util.Random;
+
 import org.testng.Assert;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 /**
@@ -71,4 +74,32 @@ public class LossFunctionTest {
 		Assert.assertEquals(LossFunction.mae(calculated, expected), 3.0);
 	}
 
+	@Test(dataProvider = "additiveLosses")
+	public void additiveLoss(
+		final AdditiveLoss additive,
+		final LossFunction<Double> loss
+	) {
+		final Random random = new Random(123);
+		final Double[] expected = new Double[100];
+		final Double[] calculated = new Double[100];
+		for (int i = 0; i < expected.length; ++i) {
+			expected[i] = random.nextDouble()*10;
+			calculated[i] = random.nextDouble()*10;
+		}
+
+		Assert.assertEquals(
+			additive.apply(calculated, expected),
+			loss.apply(calculated, expected)
+		);
+	}
+
+	@DataProvider
+	public Object[][] additiveLosses() {
+		return new Object[][] {
+			{AdditiveLoss.mse(), (LossFunction<Double>)LossFunction::mse},
+			{AdditiveLoss.rmse(), (LossFunction<Double>)LossFunction::rmse},
+			{AdditiveLoss.mae(), (LossFunction<Double>)LossFunction::mae}
+		};
+	}
+
 }
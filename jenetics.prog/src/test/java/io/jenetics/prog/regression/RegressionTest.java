@@ -22,6 +22,7 @@ package io.jenetics.prog.regression;
 import io.jenetics.engine.Engine;
 import io.jenetics.engine.FitnessNullifier;
 import io.jenetics.util.Streams;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import io.jenetics.engine.Codec;
@@ -34,9 +35,12 @@ import io.jenetics.prog.ProgramGene;
 import io.jenetics.prog.op.EphemeralConst;
 import io.jenetics.prog.op.MathOp;
 import io.jenetics.prog.op.Op;
+import io.jenetics.prog.op.SubtreeCache;
 import io.jenetics.prog.op.Var;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.Executors;
@@ -90,6 +94,36 @@ public class RegressionTest {
 		regression.error(tree);
 	}
 
+	@Test
+	public void cachedError() {
+		final Codec<Tree<Op<Double>, ?>, ProgramGene<Double>> codec =
+			Regression.codecOf(OPS, TMS, 5, t -> t.gene().size() < 30);
+
+		final Random random = new Random(123);
+		final List<Sample<Double>> samples = new ArrayList<>();
+		for (int i = 0; i < 500; ++i) {
+			final double x = random.nextDouble()*2 - 1;
+			samples.add(Sample.ofDouble(x, 4*x*x*x - 3*x*x + x));
+		}
+
+		final SubtreeCache cache = SubtreeCache.of(10_000_000);
+		final Regression<Double> cached = Regression.of(
+			codec, Error.of(LossFunction::mse), samples, cache
+		);
+		final Regression<Double> regression = Regression.of(
+			codec, Error.of(LossFunction::mse), samples
+		);
+
+		for (int i = 0; i < 100; ++i) {
+			final Tree<Op<Double>, ?> tree =
+				codec.encoding().newInstance().gene();
+
+			Assert.assertEquals(cached.error(tree), regression.error(tree));
+			Assert.assertEquals(cached.error(tree), regression.error(tree));
+		}
+		Assert.assertTrue(cache.hits() > 0);
+	}
+
 	//@Test
 	public void dynamicSamples() {
 		final var scheduler = Executors.newScheduledThreadPool(1);
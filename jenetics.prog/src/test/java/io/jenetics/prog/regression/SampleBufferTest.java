@@ -56,4 +56,22 @@ public class SampleBufferTest {
 		);
 	}
 
+	@Test
+	public void sequence() {
+		final SampleBuffer<Double> buffer = new SampleBuffer<>(5);
+		for (int i = 0; i < 3; ++i) {
+			buffer.add(Sample.ofDouble(i, 2*i));
+		}
+		buffer.publish();
+		Assert.assertEquals(buffer.snapshot().sequence(), 0);
+
+		for (int i = 3; i < 9; ++i) {
+			buffer.add(Sample.ofDouble(i, 2*i));
+		}
+		buffer.publish();
+		Assert.assertEquals(buffer.snapshot().sequence(), 4);
+		Assert.assertEquals(buffer.snapshot().get(0).argAt(0).doubleValue(), 4.0);
+		Assert.assertEquals(buffer.snapshot().size(), 5);
+	}
+
 }
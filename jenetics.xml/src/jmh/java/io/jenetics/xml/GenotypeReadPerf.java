@@ -41,6 +41,7 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
 import io.jenetics.DoubleChromosome;
 import io.jenetics.DoubleGene;
 import io.jenetics.Genotype;
+import io.jenetics.engine.BinaryIO;
 import io.jenetics.util.IO;
 import io.jenetics.xml.stream.AutoCloseableXMLStreamReader;
 import io.jenetics.xml.stream.AutoCloseableXMLStreamWriter;
@@ -73,7 +74,7 @@ public class GenotypeReadPerf {
 		public Genotype<DoubleGene> genotype;
 
 		public byte[] objectData;
-		public byte[] jaxbData;
+		public byte[] binaryData;
 		public byte[] streamData;
 
 		@Setup
@@ -84,13 +85,14 @@ public class GenotypeReadPerf {
 			);
 
 			objectData = object(genotype);
+			binaryData = BinaryIO.binary.toByteArray(genotype);
 			streamData = stream(genotype);
 
 			System.out.println(format(
-				"Size[chromosomes=%s, object=%s, jaxb=%s, stream=%s]",
+				"Size[chromosomes=%s, object=%s, binary=%s, stream=%s]",
 				chromosomeCount,
 				mib(objectData.length),
-				mib(jaxbData.length),
+				mib(binaryData.length),
 				mib(streamData.length)
 			));
 		}
@@ -123,6 +125,12 @@ public class GenotypeReadPerf {
 		return IO.object.read(in);
 	}
 
+	@Benchmark
+	public Object binary(final IOState state) throws Exception {
+		final ByteArrayInputStream in = new ByteArrayInputStream(state.binaryData);
+		return BinaryIO.binary.read(in);
+	}
+
 	@Benchmark
 	public Object stream(final IOState state) throws Exception {
 		final ByteArrayInputStream in = new ByteArrayInputStream(state.streamData);
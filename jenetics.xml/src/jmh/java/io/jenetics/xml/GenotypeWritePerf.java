@@ -38,6 +38,7 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
 import io.jenetics.DoubleChromosome;
 import io.jenetics.DoubleGene;
 import io.jenetics.Genotype;
+import io.jenetics.engine.BinaryIO;
 import io.jenetics.util.IO;
 import io.jenetics.xml.stream.AutoCloseableXMLStreamWriter;
 import io.jenetics.xml.stream.Writer;
@@ -81,6 +82,13 @@ public class GenotypeWritePerf {
 		return out.toByteArray();
 	}
 
+	@Benchmark
+	public Object binary(final IOState state) throws Exception {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		BinaryIO.binary.write(state.genotype, out);
+		return out.toByteArray();
+	}
+
 	@Benchmark
 	public Object stream(final IOState state) throws Exception {
 		final ByteArrayOutputStream out = new ByteArrayOutputStream();
@@ -0,0 +1,108 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jenetics.util.ISeq;
+
+/**
+ * Compares the bulk mutation of bit and packed chromosomes with the generic,
+ * gene-wise mutation. Subclasses of the {@code Mutator} always use the
+ * generic mutation path.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class MutatorPerf {
+
+	@Param({"10", "100", "1000"})
+	public int length;
+
+	@Param({"0.001", "0.01", "0.1"})
+	public double probability;
+
+	private static final int POPULATION_SIZE = 100;
+
+	private ISeq<Phenotype<BitGene, Integer>> bitPopulation;
+	private ISeq<Phenotype<DoubleGene, Double>> doublePopulation;
+
+	private Mutator<BitGene, Integer> bitMutator;
+	private Mutator<BitGene, Integer> genericBitMutator;
+	private Mutator<DoubleGene, Double> doubleMutator;
+	private Mutator<DoubleGene, Double> genericDoubleMutator;
+
+	@Setup
+	public void setup() {
+		bitPopulation = Genotype.of(BitChromosome.of(length)).instances()
+			.limit(POPULATION_SIZE)
+			.map(gt -> Phenotype.<BitGene, Integer>of(gt, 1))
+			.collect(ISeq.toISeq());
+
+		doublePopulation = Genotype.of(DoubleChromosome.of(0, 1, length))
+			.instances()
+			.limit(POPULATION_SIZE)
+			.map(gt -> Phenotype.<DoubleGene, Double>of(gt, 1))
+			.collect(ISeq.toISeq());
+
+		bitMutator = new Mutator<>(probability);
+		genericBitMutator = new Mutator<>(probability) {};
+		doubleMutator = new Mutator<>(probability);
+		genericDoubleMutator = new Mutator<>(probability) {};
+	}
+
+	@Benchmark
+	public Object bitChromosome() {
+		return bitMutator.alter(bitPopulation, 2);
+	}
+
+	@Benchmark
+	public Object bitChromosomeGeneric() {
+		return genericBitMutator.alter(bitPopulation, 2);
+	}
+
+	@Benchmark
+	public Object doubleChromosome() {
+		return doubleMutator.alter(doublePopulation, 2);
+	}
+
+	@Benchmark
+	public Object doubleChromosomeGeneric() {
+		return genericDoubleMutator.alter(doublePopulation, 2);
+	}
+
+}
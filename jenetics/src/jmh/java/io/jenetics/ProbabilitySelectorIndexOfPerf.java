@@ -56,14 +56,29 @@ public class ProbabilitySelectorIndexOfPerf {
 		double[] array320 = random(new double[320]);
 		double[] array1000 = random(new double[1000]);
 		double[] array10000 = random(new double[10000]);
+
+		AliasTable alias10 = alias(10);
+		AliasTable alias20 = alias(20);
+		AliasTable alias80 = alias(80);
+		AliasTable alias250 = alias(250);
+		AliasTable alias1000 = alias(1000);
+		AliasTable alias10000 = alias(10000);
 	}
 
 	private static double[] random(final double[] array) {
+		return incremental(probabilities(array));
+	}
+
+	private static AliasTable alias(final int size) {
+		return new AliasTable().update(probabilities(new double[size]));
+	}
+
+	private static double[] probabilities(final double[] array) {
 		final Random random = new Random();
 		for (int i = 0; i < array.length; ++i) {
 			array[i] = random.nextGaussian() + 1.1;
 		}
-		return incremental(normalize(array));
+		return normalize(array);
 	}
 
 	// indexOf
@@ -103,6 +118,48 @@ public class ProbabilitySelectorIndexOfPerf {
 		return ProbabilitySelector.indexOf(array.array250, 0.5);
 	}
 
+	@Benchmark
+	public int binaryIndexOf1000(final Array array) {
+		return ProbabilitySelector.indexOf(array.array1000, 0.5);
+	}
+
+	@Benchmark
+	public int binaryIndexOf10000(final Array array) {
+		return ProbabilitySelector.indexOf(array.array10000, 0.5);
+	}
+
+	// aliasIndexOf
+
+	@Benchmark
+	public int aliasIndexOf10(final Array array) {
+		return array.alias10.indexOf(0.5);
+	}
+
+	@Benchmark
+	public int aliasIndexOf20(final Array array) {
+		return array.alias20.indexOf(0.5);
+	}
+
+	@Benchmark
+	public int aliasIndexOf80(final Array array) {
+		return array.alias80.indexOf(0.5);
+	}
+
+	@Benchmark
+	public int aliasIndexOf250(final Array array) {
+		return array.alias250.indexOf(0.5);
+	}
+
+	@Benchmark
+	public int aliasIndexOf1000(final Array array) {
+		return array.alias1000.indexOf(0.5);
+	}
+
+	@Benchmark
+	public int aliasIndexOf10000(final Array array) {
+		return array.alias10000.indexOf(0.5);
+	}
+
 	// serialIndexOf
 
 	@Benchmark
@@ -0,0 +1,83 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jenetics.util.ISeq;
+
+/**
+ * Compares the tournament selection on primitive fitness arrays with the
+ * comparator based selection. Selections of more than
+ * {@code TournamentSelector.PARALLEL_THRESHOLD} individuals are performed in
+ * parallel.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TournamentSelectorPerf {
+
+	@Param({"1000", "100000", "1000000"})
+	public int size;
+
+	private ISeq<Phenotype<DoubleGene, Double>> population;
+
+	private TournamentSelector<DoubleGene, Double> selector;
+	private TournamentSelector<DoubleGene, Double> comparatorSelector;
+
+	@Setup
+	public void setup() {
+		population = Genotype.of(DoubleChromosome.of(0, 1)).instances()
+			.limit(size)
+			.map(gt -> Phenotype.of(gt, 1, gt.gene().doubleValue()))
+			.collect(ISeq.toISeq());
+
+		selector = new TournamentSelector<>(3);
+		comparatorSelector = new TournamentSelector<>(Phenotype::compareTo, 3);
+	}
+
+	@Benchmark
+	public Object fitnessArray() {
+		return selector.select(population, size, Optimize.MAXIMUM);
+	}
+
+	@Benchmark
+	public Object comparator() {
+		return comparatorSelector.select(population, size, Optimize.MAXIMUM);
+	}
+
+}
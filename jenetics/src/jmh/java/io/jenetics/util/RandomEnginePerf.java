@@ -34,6 +34,7 @@ import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
+import io.jenetics.internal.math.SplitRandom;
 import io.jenetics.prngine.LCG64ShiftRandom;
 
 /**
@@ -49,6 +50,8 @@ public class RandomEnginePerf {
 		Random java = new Random();
 		Random tlrandom = ThreadLocalRandom.current();
 		Random lcg64shift = new LCG64ShiftRandom();
+		Random split = new SplitRandom(123);
+		long stream = 0;
 	}
 
 
@@ -112,6 +115,32 @@ public class RandomEnginePerf {
 		return random.lcg64shift.nextDouble();
 	}
 
+	@Benchmark
+	public int splitNextInt(final Rand random) {
+		return random.split.nextInt();
+	}
+
+	@Benchmark
+	public long splitNextLong(final Rand random) {
+		return random.split.nextLong();
+	}
+
+	@Benchmark
+	public float splitNextFloat(final Rand random) {
+		return random.split.nextFloat();
+	}
+
+	@Benchmark
+	public double splitNextDouble(final Rand random) {
+		return random.split.nextDouble();
+	}
+
+	// Creation of the random stream of one evaluated individual.
+	@Benchmark
+	public double splitStreamNextDouble(final Rand random) {
+		return SplitRandom.of(123, random.stream++).nextDouble();
+	}
+
 	public static void main(String[] args) throws RunnerException {
 		final Options opt = new OptionsBuilder()
 			.include(".*" + RandomEnginePerf.class.getSimpleName() + ".*")
@@ -27,6 +27,7 @@ import java.util.Objects;
 import java.util.RandomAccess;
 
 import io.jenetics.util.ISeq;
+import io.jenetics.util.MSeq;
 import io.jenetics.util.Verifiable;
 
 /**
@@ -118,4 +119,19 @@ public abstract class AbstractChromosome<G extends Gene<?, G>>
 		return Objects.toString(_genes);
 	}
 
+	/**
+	 * Return a mutable copy of the genes of the given {@code chromosome}. If
+	 * the given chromosome is an {@code AbstractChromosome}, the underlying
+	 * gene store is copied, which keeps primitive gene stores packed.
+	 *
+	 * @param chromosome the chromosome to copy the genes from
+	 * @param <G> the gene type
+	 * @return a mutable copy of the chromosome genes
+	 */
+	static <G extends Gene<?, G>> MSeq<G> copyOf(final Chromosome<G> chromosome) {
+		return chromosome instanceof AbstractChromosome
+			? ((AbstractChromosome<G>)chromosome)._genes.copy()
+			: MSeq.of(chromosome);
+	}
+
 }
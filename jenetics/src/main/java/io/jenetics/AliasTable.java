@@ -0,0 +1,140 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics;
+
+import java.util.Random;
+
+/**
+ * Alias table for sampling indexes from a discrete probability distribution
+ * in constant time, using Vose's variant of Walker's alias method. Building
+ * the table takes <i>O(n)</i> time. The table arrays are reused, if the
+ * table is updated with a probability array of the same or smaller length.
+ * <p>
+ * <em>This class is not thread-safe.</em>
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Alias_method">Alias method</a>
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @since 6.1
+ * @version 6.1
+ */
+final class AliasTable {
+
+	private double[] _probabilities = new double[0];
+	private int[] _aliases = new int[0];
+
+	// Work array, which holds the stack of the small (growing upwards) and
+	// the stack of the large (growing downwards) probability indexes.
+	private int[] _work = new int[0];
+
+	private int _length = 0;
+
+	/**
+	 * Updates the alias table with the given {@code probabilities}, which
+	 * must sum to one.
+	 *
+	 * @param probabilities the probabilities of the indexes
+	 * @return {@code this} alias table
+	 */
+	AliasTable update(final double[] probabilities) {
+		final int n = probabilities.length;
+		if (_probabilities.length < n) {
+			_probabilities = new double[n];
+			_aliases = new int[n];
+			_work = new int[n];
+		}
+
+		final double[] prob = _probabilities;
+		final int[] alias = _aliases;
+		final int[] work = _work;
+
+		int small = 0;
+		int large = n;
+		for (int i = 0; i < n; ++i) {
+			prob[i] = probabilities[i]*n;
+			alias[i] = i;
+			if (prob[i] < 1.0) {
+				work[small++] = i;
+			} else {
+				work[--large] = i;
+			}
+		}
+
+		while (small > 0 && large < n) {
+			final int s = work[--small];
+			final int l = work[large++];
+
+			alias[s] = l;
+			prob[l] = (prob[l] + prob[s]) - 1.0;
+			if (prob[l] < 1.0) {
+				work[small++] = l;
+			} else {
+				work[--large] = l;
+			}
+		}
+
+		// The remaining probabilities are one, except for rounding errors.
+		while (large < n) {
+			prob[work[large++]] = 1.0;
+		}
+		while (small > 0) {
+			prob[work[--small]] = 1.0;
+		}
+
+		_length = n;
+		return this;
+	}
+
+	/**
+	 * Return the number of indexes of the table.
+	 *
+	 * @return the number of indexes of the table
+	 */
+	int length() {
+		return _length;
+	}
+
+	/**
+	 * Return the index for the given uniformly distributed value
+	 * {@code v} &isin; [0, 1). The integer part of {@code v*length()} selects
+	 * the column of the table, and the fractional part decides between the
+	 * column index and its alias.
+	 *
+	 * @param v the uniformly distributed value
+	 * @return the selected index
+	 */
+	int indexOf(final double v) {
+		final double u = v*_length;
+		final int i = Math.min((int)u, _length - 1);
+		return u - i < _probabilities[i] ? i : _aliases[i];
+	}
+
+	/**
+	 * Return the next random index. Only one random number is drawn per
+	 * index.
+	 *
+	 * @param random the random engine
+	 * @return the next random index
+	 */
+	int next(final Random random) {
+		return indexOf(random.nextDouble());
+	}
+
+}
@@ -56,7 +56,7 @@ import io.jenetics.util.Seq;
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
  * @since 1.0
- * @version 5.0
+ * @version 6.1
  */
 public final class BoltzmannSelector<
 	G extends Gene<?, G>,
@@ -75,6 +75,21 @@ public final class BoltzmannSelector<
 	 * @param b the <i>b</i> value of this BoltzmannSelector
 	 */
 	public BoltzmannSelector(final double b) {
+		this(b, Sampling.CUMULATIVE);
+	}
+
+	/**
+	 * Create a new BoltzmannSelector with the given <i>b</i> value and
+	 * sampling strategy.
+	 *
+	 * @since 6.1
+	 *
+	 * @param b the <i>b</i> value of this BoltzmannSelector
+	 * @param sampling the sampling strategy of the selector
+	 * @throws NullPointerException if the {@code sampling} is {@code null}
+	 */
+	public BoltzmannSelector(final double b, final Sampling sampling) {
+		super(false, sampling);
 		_b = b;
 	}
 
@@ -27,6 +27,7 @@ import java.util.Random;
 import java.util.function.BinaryOperator;
 
 import io.jenetics.util.BaseSeq;
+import io.jenetics.util.ISeq;
 import io.jenetics.util.MSeq;
 import io.jenetics.util.RandomRegistry;
 
@@ -40,7 +41,7 @@ import io.jenetics.util.RandomRegistry;
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
  * @since 6.0
- * @version 6.0
+ * @version 6.1
  */
 public class CombineAlterer<
 	G extends Gene<?, G>,
@@ -108,14 +109,28 @@ public class CombineAlterer<
 		final MSeq<Chromosome<G>> c1 = MSeq.of(gt1);
 
 		// Calculate the mean value of the gene array.
-		final MSeq<G> mean = combine(c1.get(ci), gt2.get(ci), _combiner);
+		final ISeq<G> mean = combine(c1.get(ci), gt2.get(ci));
 
-		c1.set(ci, c1.get(ci).newInstance(mean.toISeq()));
+		c1.set(ci, c1.get(ci).newInstance(mean));
 		population.set(individuals[0], Phenotype.of(Genotype.of(c1), generation));
 
 		return 1;
 	}
 
+	/**
+	 * Combines the genes of the two given chromosomes with the combiner
+	 * function of {@code this} alterer. Subclasses in this package can
+	 * override this method for combining genes, which are stored in primitive
+	 * arrays, without creating the gene objects.
+	 *
+	 * @param a the first chromosome
+	 * @param b the second chromosome
+	 * @return the combined genes
+	 */
+	ISeq<G> combine(final Chromosome<G> a, final Chromosome<G> b) {
+		return combine(a, b, _combiner).toISeq();
+	}
+
 	private static <G extends Gene<?, G>>
 	MSeq<G> combine(
 		final BaseSeq<G> a,
@@ -81,8 +81,8 @@ public abstract class Crossover<
 
 		final var c1 = MSeq.of(gt1);
 		final var c2 = MSeq.of(gt2);
-		final var genes1 = MSeq.of(c1.get(chIndex));
-		final var genes2 = MSeq.of(c2.get(chIndex));
+		final var genes1 = AbstractChromosome.copyOf(c1.get(chIndex));
+		final var genes2 = AbstractChromosome.copyOf(c2.get(chIndex));
 
 		crossover(genes1, genes2);
 
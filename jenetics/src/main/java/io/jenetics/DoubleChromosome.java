@@ -29,6 +29,7 @@ import java.io.IOException;
 import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.nio.DoubleBuffer;
 import java.util.function.Function;
 import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
@@ -37,7 +38,6 @@ import java.util.stream.Stream;
 import io.jenetics.util.DoubleRange;
 import io.jenetics.util.ISeq;
 import io.jenetics.util.IntRange;
-import io.jenetics.util.MSeq;
 
 /**
  * Numeric chromosome implementation which holds 64 bit floating point numbers.
@@ -45,7 +45,12 @@ import io.jenetics.util.MSeq;
  * @see DoubleGene
  *
  * @implNote
- * This class is immutable and thread-safe.
+ * This class is immutable and thread-safe. If all genes share the same range,
+ * which is always the case for chromosomes created by the factory methods,
+ * the alleles are stored in a {@code double[]} array and the
+ * {@link DoubleGene} objects are created on demand. Bulk access via
+ * {@link #doubleValue(int)} and {@link #toArray(double[])} doesn't create
+ * any gene objects in this case.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
  * @since 1.6
@@ -77,7 +82,7 @@ public class DoubleChromosome
 		final ISeq<DoubleGene> genes,
 		final IntRange lengthRange
 	) {
-		super(genes, lengthRange);
+		super(DoubleGeneISeq.pack(genes), lengthRange);
 	}
 
 	@Override
@@ -90,6 +95,23 @@ public class DoubleChromosome
 		return of(_min, _max, lengthRange());
 	}
 
+	// Return true if the alleles are stored in a double[] array.
+	boolean isPacked() {
+		return _genes instanceof DoubleGeneISeq;
+	}
+
+	// Return true if the alleles are stored in a double[] array or buffer.
+	boolean isPrimitive() {
+		return isPacked() || DoubleGeneISeq.isBuffered(_genes);
+	}
+
+	@Override
+	public double doubleValue(final int index) {
+		return isPacked()
+			? ((DoubleGeneISeq)_genes).doubleValue(index)
+			: get(index).doubleValue();
+	}
+
 	/**
 	 * Maps the gene alleles of this chromosome, given as {@code double[]} array,
 	 * by applying the given mapper function {@code f}. The mapped gene values
@@ -120,12 +142,13 @@ public class DoubleChromosome
 	public DoubleChromosome map(final Function<? super double[], double[]> f) {
 		requireNonNull(f);
 
-		final var range = DoubleRange.of(_min, _max);
-		final var genes = DoubleStream.of(f.apply(toArray()))
-			.mapToObj(v -> DoubleGene.of(v, range))
-			.collect(ISeq.toISeq());
+		final double[] array = toArray();
+		final double[] values = f.apply(array);
 
-		return newInstance(genes);
+		return newInstance(DoubleGeneISeq.of(
+			values == array ? values : values.clone(),
+			0, values.length, _min, _max
+		));
 	}
 
 	/**
@@ -155,6 +178,10 @@ public class DoubleChromosome
 	 * @throws NullPointerException if the given {@code array} is {@code null}
 	 */
 	public double[] toArray(final double[] array) {
+		if (isPacked()) {
+			return ((DoubleGeneISeq)_genes).toArray(array);
+		}
+
 		final double[] a = array.length >= length()
 			? array
 			: new double[length()];
@@ -236,7 +263,7 @@ public class DoubleChromosome
 		final double max,
 		final IntRange lengthRange
 	) {
-		final ISeq<DoubleGene> genes = DoubleGene.seq(min, max, lengthRange);
+		final ISeq<DoubleGene> genes = DoubleGeneISeq.of(min, max, lengthRange);
 		return new DoubleChromosome(genes, lengthRange);
 	}
 
@@ -321,6 +348,63 @@ public class DoubleChromosome
 	}
 
 
+	/**
+	 * Create a new {@code DoubleChromosome} with the given {@code alleles}.
+	 * The alleles are stored in a packed {@code double[]} array, without
+	 * creating the gene objects.
+	 *
+	 * @since 6.1
+	 *
+	 * @param range the allele range of the genes
+	 * @param lengthRange the allowed length range of the chromosome
+	 * @param alleles the alleles of the chromosome; the array is copied
+	 * @return a new {@code DoubleChromosome} with the given alleles
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the length of the {@code alleles}
+	 *         is zero or doesn't match with the allowed length range
+	 */
+	public static DoubleChromosome of(
+		final DoubleRange range,
+		final IntRange lengthRange,
+		final double[] alleles
+	) {
+		return new DoubleChromosome(
+			DoubleGeneISeq.of(
+				alleles.clone(), 0, alleles.length, range.min(), range.max()
+			),
+			lengthRange
+		);
+	}
+
+	/**
+	 * Create a new {@code DoubleChromosome}, which reads its alleles directly
+	 * from the <em>remaining</em> elements of the given {@code alleles}
+	 * buffer. The alleles are not copied, which allows to keep them outside
+	 * the heap, e.g. in a memory-mapped file. The buffer content must not be
+	 * changed as long as the chromosome is in use.
+	 *
+	 * @since 6.1
+	 *
+	 * @param range the allele range of the genes
+	 * @param lengthRange the allowed length range of the chromosome
+	 * @param alleles the allele buffer of the chromosome
+	 * @return a new {@code DoubleChromosome}, backed by the given buffer
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the number of remaining
+	 *         {@code alleles} is zero or doesn't match with the allowed
+	 *         length range
+	 */
+	public static DoubleChromosome of(
+		final DoubleRange range,
+		final IntRange lengthRange,
+		final DoubleBuffer alleles
+	) {
+		return new DoubleChromosome(
+			DoubleGeneISeq.of(alleles, range.min(), range.max()),
+			lengthRange
+		);
+	}
+
 	/* *************************************************************************
 	 *  Java object serialization
 	 * ************************************************************************/
@@ -353,12 +437,15 @@ public class DoubleChromosome
 		final var min = in.readDouble();
 		final var max = in.readDouble();
 
-		final MSeq<DoubleGene> values = MSeq.ofLength(length);
+		final double[] values = new double[length];
 		for (int i = 0; i < length; ++i) {
-			values.set(i, DoubleGene.of(in.readDouble(), min, max));
+			values[i] = in.readDouble();
 		}
 
-		return new DoubleChromosome(values.toISeq(), lengthRange);
+		return new DoubleChromosome(
+			DoubleGeneISeq.of(values, 0, length, min, max),
+			lengthRange
+		);
 	}
 
 }
@@ -29,13 +29,8 @@ import java.io.IOException;
 import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
-import java.util.Random;
 
-import io.jenetics.internal.math.Randoms;
 import io.jenetics.util.DoubleRange;
-import io.jenetics.util.ISeq;
-import io.jenetics.util.IntRange;
-import io.jenetics.util.MSeq;
 import io.jenetics.util.Mean;
 
 /**
@@ -274,17 +269,6 @@ public final class DoubleGene
 		return of(nextDouble(range.min(), range.max(), random()), range);
 	}
 
-	static ISeq<DoubleGene> seq(
-		final double min,
-		final double max,
-		final IntRange lengthRange
-	) {
-		final Random r = random();
-		return MSeq.<DoubleGene>ofLength(Randoms.nextInt(lengthRange, r))
-			.fill(() -> new DoubleGene(nextDouble(min, max, r), min, max))
-			.toISeq();
-	}
-
 
 	/* *************************************************************************
 	 *  Java object serialization
@@ -0,0 +1,610 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics;
+
+import static java.util.Objects.requireNonNull;
+import static io.jenetics.internal.math.Randoms.nextDouble;
+import static io.jenetics.internal.util.SerialIO.readInt;
+import static io.jenetics.internal.util.SerialIO.writeInt;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import io.jenetics.internal.collection.Array;
+import io.jenetics.internal.collection.ArrayISeq;
+import io.jenetics.internal.collection.ArrayMSeq;
+import io.jenetics.internal.math.Randoms;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.IntRange;
+import io.jenetics.util.MSeq;
+import io.jenetics.util.RandomRegistry;
+
+/**
+ * Mutable {@link DoubleGene} sequence, which stores the gene alleles in a
+ * {@code double[]} array. The genes are created on demand, when accessed via
+ * the {@link #get(int)} method. If a gene with a different range is set, the
+ * sequence is unpacked into an object array, which keeps the gene ranges.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @since 6.1
+ * @version 6.1
+ */
+final class DoubleGeneMSeq extends ArrayMSeq<DoubleGene> {
+
+	private static final long serialVersionUID = 1L;
+
+	// Primary constructor.
+	private DoubleGeneMSeq(final Array<DoubleGene> array) {
+		super(array);
+		assert array.store() instanceof DoubleGeneStore;
+	}
+
+	/**
+	 * Return the allele at the given {@code index}, without creating a
+	 * {@link DoubleGene} object.
+	 *
+	 * @param index the gene index
+	 * @return the allele at the given {@code index}
+	 */
+	double doubleValue(final int index) {
+		array.checkIndex(index);
+		return isPacked()
+			? ((DoubleGeneStore)array.store()).doubleValue(index)
+			: array.get(index).doubleValue();
+	}
+
+	/**
+	 * Set the allele at the given {@code index}, without creating a
+	 * {@link DoubleGene} object.
+	 *
+	 * @param index the gene index
+	 * @param allele the new allele value
+	 */
+	void set(final int index, final double allele) {
+		array.checkIndex(index);
+		if (isPacked()) {
+			array.copyIfSealed();
+			((DoubleGeneStore)array.store()).set(index, allele);
+		} else {
+			array.set(index, array.get(index).newInstance(allele));
+		}
+	}
+
+	/**
+	 * Return {@code true} if the alleles are still stored in the primitive
+	 * array. This is no longer the case, after a gene with a different range
+	 * has been set.
+	 *
+	 * @return {@code true} if the alleles are stored in a primitive array
+	 */
+	boolean isPacked() {
+		return array.store() instanceof DoubleGeneStore;
+	}
+
+	DoubleGeneStore store() {
+		return (DoubleGeneStore)array.store();
+	}
+
+	@Override
+	public void swap(final int i, final int j) {
+		if (!isPacked()) {
+			super.swap(i, j);
+			return;
+		}
+
+		array.checkIndex(i);
+		array.checkIndex(j);
+		array.copyIfSealed();
+
+		final DoubleGeneStore store = (DoubleGeneStore)array.store();
+		final double temp = store.doubleValue(i);
+		store.set(i, store.doubleValue(j));
+		store.set(j, temp);
+	}
+
+	@Override
+	public void swap(
+		final int start, final int end,
+		final MSeq<DoubleGene> other, final int otherStart
+	) {
+		if (isPacked(this) &&
+			isPacked(other) &&
+			store().hasRange(((DoubleGeneMSeq)other).store()))
+		{
+			checkIndex(start, end, otherStart, other.length());
+			final var otherMSeq = (DoubleGeneMSeq)other;
+
+			array.copyIfSealed();
+			otherMSeq.array.copyIfSealed();
+
+			final var thisStore = (DoubleGeneStore)array.store();
+			final var otherStore = (DoubleGeneStore)otherMSeq.array.store();
+			thisStore.swap(start, end, otherStore, otherStart);
+		} else {
+			super.swap(start, end, other, otherStart);
+		}
+	}
+
+	@Override
+	public MSeq<DoubleGene> copy() {
+		return isPacked()
+			? new DoubleGeneMSeq(array.copy())
+			: new ArrayMSeq<>(array.copy());
+	}
+
+	@Override
+	public ISeq<DoubleGene> toISeq() {
+		return isPacked()
+			? new DoubleGeneISeq(array.seal())
+			: new ArrayISeq<>(array.seal());
+	}
+
+	/**
+	 * Return {@code true} if the given {@code genes} are a packed
+	 * {@link DoubleGene} sequence.
+	 *
+	 * @param genes the gene sequence to test
+	 * @return {@code true} if the given {@code genes} are packed
+	 */
+	static boolean isPacked(final MSeq<?> genes) {
+		return genes instanceof DoubleGeneMSeq && ((DoubleGeneMSeq)genes).isPacked();
+	}
+
+	static DoubleGeneMSeq of(final Array<DoubleGene> array) {
+		return new DoubleGeneMSeq(array);
+	}
+
+	static DoubleGeneMSeq ofLength(
+		final int length,
+		final double min,
+		final double max
+	) {
+		return new DoubleGeneMSeq(
+			Array.of(DoubleGeneStore.of(new double[length], min, max))
+		);
+	}
+
+}
+
+/**
+ * Immutable {@link DoubleGene} sequence, which stores the gene alleles in a
+ * {@code double[]} array.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @since 6.1
+ * @version 6.1
+ */
+final class DoubleGeneISeq extends ArrayISeq<DoubleGene> {
+	private static final long serialVersionUID = 1L;
+
+	// Primary constructor.
+	DoubleGeneISeq(final Array<DoubleGene> array) {
+		super(array);
+		assert array.store() instanceof DoubleGeneStore;
+	}
+
+	double doubleValue(final int index) {
+		array.checkIndex(index);
+		return ((DoubleGeneStore)array.store()).doubleValue(index);
+	}
+
+	double[] toArray(final double[] array) {
+		return ((DoubleGeneStore)this.array.store()).toArray(array);
+	}
+
+	DoubleGeneStore store() {
+		return (DoubleGeneStore)array.store();
+	}
+
+	/**
+	 * Return a new gene sequence with the mean values of {@code this} and the
+	 * {@code other} gene sequence. The result has the same semantic as the
+	 * {@link DoubleGene#mean(DoubleGene)} method.
+	 *
+	 * @param other the other gene sequence
+	 * @return a new gene sequence with the mean values
+	 */
+	DoubleGeneISeq mean(final DoubleGeneISeq other) {
+		final DoubleGeneStore a = store();
+		final DoubleGeneStore b = other.store();
+
+		final double[] values = new double[a.length];
+		for (int i = 0; i < values.length; ++i) {
+			final double value = a.doubleValue(i);
+			values[i] = value + (b.doubleValue(i) - value)/2.0;
+		}
+
+		return of(values, 0, values.length, a.min, a.max);
+	}
+
+	@Override
+	public DoubleGeneMSeq copy() {
+		return DoubleGeneMSeq.of(array.copy());
+	}
+
+	/**
+	 * Wraps the given {@code alleles} array segment into an immutable gene
+	 * sequence. The given array is <em>not</em> copied and must not be
+	 * changed afterwards.
+	 *
+	 * @param alleles the allele array
+	 * @param offset the start offset of the gene sequence
+	 * @param length the length of the gene sequence
+	 * @param min the minimal value of the genes (inclusively)
+	 * @param max the maximal value of the genes (exclusively)
+	 * @return a new gene sequence, backed by the given array
+	 */
+	static DoubleGeneISeq of(
+		final double[] alleles,
+		final int offset,
+		final int length,
+		final double min,
+		final double max
+	) {
+		Array.checkIndex(offset, offset + length, alleles.length);
+		final var store = new DoubleGeneStore(alleles, offset, length, min, max);
+		return new DoubleGeneISeq(Array.of(store).seal());
+	}
+
+	/**
+	 * Wraps the remaining alleles of the given {@code buffer} into a
+	 * read-only gene sequence. The alleles are <em>not</em> copied and are
+	 * read directly from the buffer, which makes it possible to keep the
+	 * alleles outside the heap, e.g. in a memory-mapped file.
+	 *
+	 * @param buffer the allele buffer
+	 * @param min the minimal value of the genes
+	 * @param max the maximal value of the genes
+	 * @return a new gene sequence, backed by the given buffer
+	 */
+	static ISeq<DoubleGene> of(
+		final DoubleBuffer buffer,
+		final double min,
+		final double max
+	) {
+		final var store = new DoubleGeneBufferStore(buffer, min, max);
+		return new ArrayISeq<>(Array.of(store).seal());
+	}
+
+	// Return true if the given genes are read from a buffer.
+	static boolean isBuffered(final ISeq<?> genes) {
+		return genes instanceof ArrayISeq &&
+			((ArrayISeq<?>)genes).array.store() instanceof DoubleGeneBufferStore;
+	}
+
+	/**
+	 * Packs the given {@code genes} into a {@code double[]} backed gene
+	 * sequence, if all genes share the same range. Otherwise the given
+	 * {@code genes} are returned unchanged. Buffer backed gene sequences are
+	 * also returned unchanged, to keep them outside the heap.
+	 *
+	 * @param genes the genes to pack
+	 * @return the packed gene sequence, if possible
+	 */
+	static ISeq<DoubleGene> pack(final ISeq<DoubleGene> genes) {
+		if (genes instanceof DoubleGeneISeq ||
+			genes.isEmpty() ||
+			isBuffered(genes))
+		{
+			return genes;
+		}
+
+		final DoubleGene first = genes.get(0);
+		final double min = first.min();
+		final double max = first.max();
+
+		final double[] alleles = new double[genes.length()];
+		for (int i = 0; i < alleles.length; ++i) {
+			final DoubleGene gene = genes.get(i);
+			if (Double.compare(gene.min(), min) != 0 ||
+				Double.compare(gene.max(), max) != 0)
+			{
+				return genes;
+			}
+			alleles[i] = gene.doubleValue();
+		}
+
+		return of(alleles, 0, alleles.length, min, max);
+	}
+
+	/**
+	 * Create a new random, packed gene sequence.
+	 *
+	 * @param min the minimal value of the genes (inclusively)
+	 * @param max the maximal value of the genes (exclusively)
+	 * @param lengthRange the allowed length range of the sequence
+	 * @return a new random gene sequence
+	 */
+	static DoubleGeneISeq of(
+		final double min,
+		final double max,
+		final IntRange lengthRange
+	) {
+		final Random random = RandomRegistry.random();
+		final double[] alleles = new double[Randoms.nextInt(lengthRange, random)];
+		for (int i = 0; i < alleles.length; ++i) {
+			alleles[i] = nextDouble(min, max, random);
+		}
+
+		return of(alleles, 0, alleles.length, min, max);
+	}
+
+}
+
+/**
+ * Array store of {@link DoubleGene}s. Only the alleles are stored in the
+ * {@code double[]} array, the gene range is shared by all genes.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @since 6.1
+ * @version 6.1
+ */
+final class DoubleGeneStore implements Array.Store<DoubleGene>, Serializable {
+	private static final long serialVersionUID = 1L;
+
+	final double[] array;
+	final int offset;
+	final int length;
+	final double min;
+	final double max;
+
+	// Primary constructor.
+	DoubleGeneStore(
+		final double[] array,
+		final int offset,
+		final int length,
+		final double min,
+		final double max
+	) {
+		this.array = requireNonNull(array);
+		this.offset = offset;
+		this.length = length;
+		this.min = min;
+		this.max = max;
+	}
+
+	@Override
+	public DoubleGene get(final int index) {
+		return DoubleGene.of(array[offset + index], min, max);
+	}
+
+	double doubleValue(final int index) {
+		return array[offset + index];
+	}
+
+	// Same semantic as the 'DoubleGene.isValid' method.
+	boolean isValid(final int index) {
+		final double allele = array[offset + index];
+		return
+			Double.isFinite(allele) &&
+			Double.isFinite(min) &&
+			Double.isFinite(max) &&
+			Double.compare(allele, min) >= 0 &&
+			Double.compare(allele, max) < 0;
+	}
+
+	@Override
+	public void set(final int index, final DoubleGene value) {
+		array[offset + index] = value.doubleValue();
+	}
+
+	// Only genes with the range of the store can be set, without losing the
+	// gene range.
+	@Override
+	public boolean accepts(final DoubleGene value) {
+		return Double.compare(value.min(), min) == 0 &&
+			Double.compare(value.max(), max) == 0;
+	}
+
+	// Return true if the other store has the same gene range.
+	boolean hasRange(final DoubleGeneStore other) {
+		return Double.compare(other.min, min) == 0 &&
+			Double.compare(other.max, max) == 0;
+	}
+
+	void set(final int index, final double value) {
+		array[offset + index] = value;
+	}
+
+	double[] toArray(final double[] values) {
+		final double[] result = values.length >= length
+			? values
+			: new double[length];
+
+		System.arraycopy(array, offset, result, 0, length);
+		return result;
+	}
+
+	@Override
+	public void sort(
+		final int from,
+		final int until,
+		final Comparator<? super DoubleGene> comparator
+	) {
+		if (comparator == null) {
+			Arrays.sort(array, offset + from, offset + until);
+		} else {
+			final DoubleGene[] genes = new DoubleGene[until - from];
+			for (int i = 0; i < genes.length; ++i) {
+				genes[i] = get(from + i);
+			}
+			Arrays.sort(genes, comparator);
+			for (int i = 0; i < genes.length; ++i) {
+				set(from + i, genes[i]);
+			}
+		}
+	}
+
+	void swap(
+		final int start, final int end,
+		final DoubleGeneStore other, final int otherStart
+	) {
+		for (int i = end - start; --i >= 0;) {
+			final int j = offset + start + i;
+			final int k = other.offset + otherStart + i;
+
+			final double temp = array[j];
+			array[j] = other.array[k];
+			other.array[k] = temp;
+		}
+	}
+
+	@Override
+	public DoubleGeneStore copy(final int from, final int until) {
+		return new DoubleGeneStore(
+			Arrays.copyOfRange(array, offset + from, offset + until),
+			0,
+			until - from,
+			min,
+			max
+		);
+	}
+
+	@Override
+	public DoubleGeneStore newInstance(final int length) {
+		return new DoubleGeneStore(new double[length], 0, length, min, max);
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+	static DoubleGeneStore of(
+		final double[] array,
+		final double min,
+		final double max
+	) {
+		return new DoubleGeneStore(array, 0, array.length, min, max);
+	}
+
+
+	/* *************************************************************************
+	 *  Java object serialization
+	 * ************************************************************************/
+
+	private Object writeReplace() {
+		return new Serial(Serial.DOUBLE_GENE_STORE, this);
+	}
+
+	private void readObject(final ObjectInputStream stream)
+		throws InvalidObjectException
+	{
+		throw new InvalidObjectException("Serialization proxy required.");
+	}
+
+	void write(final DataOutput out) throws IOException {
+		writeInt(length, out);
+		out.writeDouble(min);
+		out.writeDouble(max);
+		for (int i = 0; i < length; ++i) {
+			out.writeDouble(array[offset + i]);
+		}
+	}
+
+	static DoubleGeneStore read(final DataInput in) throws IOException {
+		final int length = readInt(in);
+		final double min = in.readDouble();
+		final double max = in.readDouble();
+		final double[] array = new double[length];
+		for (int i = 0; i < length; ++i) {
+			array[i] = in.readDouble();
+		}
+
+		return of(array, min, max);
+	}
+
+}
+
+/**
+ * Read-only {@link DoubleGene} store, which reads the alleles from a
+ * {@link DoubleBuffer}. Copies of the store are created on the heap.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @since 6.1
+ * @version 6.1
+ */
+final class DoubleGeneBufferStore implements Array.Store<DoubleGene> {
+
+	final DoubleBuffer buffer;
+	final int offset;
+	final int length;
+	final double min;
+	final double max;
+
+	DoubleGeneBufferStore(
+		final DoubleBuffer buffer,
+		final double min,
+		final double max
+	) {
+		this.buffer = requireNonNull(buffer);
+		this.offset = buffer.position();
+		this.length = buffer.remaining();
+		this.min = min;
+		this.max = max;
+	}
+
+	@Override
+	public DoubleGene get(final int index) {
+		return DoubleGene.of(buffer.get(offset + index), min, max);
+	}
+
+	@Override
+	public void set(final int index, final DoubleGene value) {
+		throw new UnsupportedOperationException("Read-only gene store.");
+	}
+
+	@Override
+	public void sort(
+		final int from,
+		final int until,
+		final Comparator<? super DoubleGene> comparator
+	) {
+		throw new UnsupportedOperationException("Read-only gene store.");
+	}
+
+	@Override
+	public DoubleGeneStore copy(final int from, final int until) {
+		final double[] array = new double[until - from];
+		for (int i = 0; i < array.length; ++i) {
+			array[i] = buffer.get(offset + from + i);
+		}
+		return new DoubleGeneStore(array, 0, array.length, min, max);
+	}
+
+	@Override
+	public DoubleGeneStore newInstance(final int length) {
+		return new DoubleGeneStore(new double[length], 0, length, min, max);
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+}
@@ -0,0 +1,420 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static io.jenetics.internal.math.Randoms.nextDouble;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import io.jenetics.util.BaseSeq;
+import io.jenetics.util.DoubleRange;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.IntRange;
+import io.jenetics.util.MSeq;
+import io.jenetics.util.RandomRegistry;
+import io.jenetics.util.Seq;
+
+/**
+ * Population of {@link DoubleGene} genotypes, which stores the alleles of
+ * <em>all</em> individuals in one contiguous {@code double[]} matrix. Every
+ * genotype occupies one row of the matrix and all genes share the same
+ * {@link #range()}. This class is a compact <em>factory</em> for the seed
+ * population of an evolution. No {@link DoubleGene} objects are stored, and
+ * the genotypes returned by this class are <em>packed</em>: every chromosome
+ * stores a copy of its matrix row segment in a primitive array, and genes
+ * are only created on demand, when accessed via {@link Chromosome#get(int)}.
+ * Since the rows are copied, a surviving genotype doesn't keep the whole
+ * matrix alive.
+ * <p>
+ * The {@link Mutator}, {@link MeanAlterer} and {@link IntermediateCrossover}
+ * alterers are working directly on the primitive alleles of packed
+ * chromosomes, and newly created chromosomes, e.g. via
+ * {@link Chromosome#newInstance()}, stay packed. The population of the
+ * {@code Engine} is not stored in a matrix: from the first generation on,
+ * every offspring is a separately allocated packed chromosome.
+ *
+ * <pre>{@code
+ * final DoublePopulation population =
+ *     DoublePopulation.of(DoubleRange.of(-5, 5), 200, 50_000);
+ *
+ * // The genotypes also serve as (packed) genotype factory.
+ * final Engine<DoubleGene, Double> engine = Engine
+ *     .builder(Main::fitness, population.get(0))
+ *     .populationSize(population.length())
+ *     .build();
+ *
+ * final Phenotype<DoubleGene, Double> best = engine
+ *     .stream(EvolutionInit.of(population.genotypes(), 1))
+ *     .limit(100)
+ *     .collect(EvolutionResult.toBestPhenotype());
+ * }</pre>
+ *
+ * @see IntegerPopulation
+ *
+ * @implNote
+ * This class is immutable and thread-safe.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @since 6.1
+ * @version 6.1
+ */
+public final class DoublePopulation implements BaseSeq<Genotype<DoubleGene>> {
+
+	private final double[] _alleles;
+	private final double _min;
+	private final double _max;
+
+	// The shape of the genotypes: chromosome offsets within a row, chromosome
+	// lengths and the allowed length ranges of the chromosomes.
+	private final int[] _offsets;
+	private final int[] _lengths;
+	private final IntRange[] _lengthRanges;
+	private final int _width;
+	private final int _size;
+
+	private DoublePopulation(
+		final double[] alleles,
+		final double min,
+		final double max,
+		final int[] lengths,
+		final IntRange[] lengthRanges,
+		final int size
+	) {
+		_alleles = alleles;
+		_min = min;
+		_max = max;
+		_lengths = lengths;
+		_lengthRanges = lengthRanges;
+		_size = size;
+
+		_offsets = new int[lengths.length];
+		int width = 0;
+		for (int i = 0; i < lengths.length; ++i) {
+			_offsets[i] = width;
+			width += lengths[i];
+		}
+		_width = width;
+
+		assert _alleles.length == _width*_size;
+	}
+
+	/**
+	 * Return the number of genotypes of this population.
+	 *
+	 * @return the number of genotypes of this population
+	 */
+	@Override
+	public int length() {
+		return _size;
+	}
+
+	/**
+	 * Return the number of genes of every genotype of this population.
+	 *
+	 * @return the number of genes of every genotype
+	 */
+	public int geneCount() {
+		return _width;
+	}
+
+	/**
+	 * Return the allele range shared by all genes of this population.
+	 *
+	 * @return the allele range of all genes
+	 */
+	public DoubleRange range() {
+		return DoubleRange.of(_min, _max);
+	}
+
+	/**
+	 * Return the allele of the given {@code gene} of the genotype with the
+	 * given {@code index}. The gene index is counted over all chromosomes of
+	 * the genotype.
+	 *
+	 * @param index the genotype index
+	 * @param gene the gene index within the genotype
+	 * @return the allele value
+	 * @throws IndexOutOfBoundsException if one of the indexes is out of range
+	 */
+	public double doubleValue(final int index, final int gene) {
+		checkIndex(index);
+		if (gene < 0 || gene >= _width) {
+			throw new IndexOutOfBoundsException(format(
+				"Gene index %d is out of bounds [0, %d)", gene, _width
+			));
+		}
+
+		return _alleles[index*_width + gene];
+	}
+
+	/**
+	 * Return a packed genotype with a copy of the matrix row with the given
+	 * {@code index}. No gene objects are created.
+	 *
+	 * @param index the genotype index
+	 * @return the genotype with the given {@code index}
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	@Override
+	public Genotype<DoubleGene> get(final int index) {
+		checkIndex(index);
+
+		final MSeq<Chromosome<DoubleGene>> chromosomes =
+			MSeq.ofLength(_lengths.length);
+
+		for (int i = 0; i < _lengths.length; ++i) {
+			final int start = index*_width + _offsets[i];
+			final DoubleGeneISeq genes = DoubleGeneISeq.of(
+				Arrays.copyOfRange(_alleles, start, start + _lengths[i]),
+				0,
+				_lengths[i],
+				_min,
+				_max
+			);
+			chromosomes.set(i, new DoubleChromosome(genes, _lengthRanges[i]));
+		}
+
+		return new Genotype<>(chromosomes.toISeq());
+	}
+
+	private void checkIndex(final int index) {
+		if (index < 0 || index >= _size) {
+			throw new IndexOutOfBoundsException(format(
+				"Index %d is out of bounds [0, %d)", index, _size
+			));
+		}
+	}
+
+	/**
+	 * Return the packed genotypes of all matrix rows.
+	 *
+	 * @return the genotypes of this population
+	 */
+	public ISeq<Genotype<DoubleGene>> genotypes() {
+		final MSeq<Genotype<DoubleGene>> genotypes = MSeq.ofLength(_size);
+		for (int i = 0; i < _size; ++i) {
+			genotypes.set(i, get(i));
+		}
+		return genotypes.toISeq();
+	}
+
+	/**
+	 * Return the (not evaluated) phenotypes of this population.
+	 *
+	 * @param generation the generation of the created phenotypes
+	 * @param <C> the fitness result type
+	 * @return the phenotypes of this population
+	 * @throws IllegalArgumentException if the given {@code generation} is
+	 *         {@code < 0}
+	 */
+	public <C extends Comparable<? super C>> ISeq<Phenotype<DoubleGene, C>>
+	phenotypes(final long generation) {
+		final MSeq<Phenotype<DoubleGene, C>> phenotypes = MSeq.ofLength(_size);
+		for (int i = 0; i < _size; ++i) {
+			phenotypes.set(i, Phenotype.of(get(i), generation));
+		}
+		return phenotypes.toISeq();
+	}
+
+	/**
+	 * Copies the alleles of the genotype with the given {@code index} into the
+	 * given {@code array}. If the genotype fits in the specified array, it is
+	 * returned therein. Otherwise, a new array is allocated with the length of
+	 * {@link #geneCount()}.
+	 *
+	 * @param index the genotype index
+	 * @param array the array into which the alleles are copied
+	 * @return an array containing the alleles of the genotype
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 * @throws NullPointerException if the given {@code array} is {@code null}
+	 */
+	public double[] toArray(final int index, final double[] array) {
+		checkIndex(index);
+		final double[] a = array.length >= _width ? array : new double[_width];
+		System.arraycopy(_alleles, index*_width, a, 0, _width);
+		return a;
+	}
+
+
+	/* *************************************************************************
+	 * Static factory methods.
+	 * ************************************************************************/
+
+	/**
+	 * Packs the given {@code genotypes} into a new population matrix. All
+	 * genotypes must have the same shape, which means the same number of
+	 * chromosomes with the same lengths, and all genes must have the same
+	 * range.
+	 *
+	 * @param genotypes the genotypes to pack
+	 * @return a new packed population
+	 * @throws NullPointerException if the given {@code genotypes} is
+	 *         {@code null}
+	 * @throws IllegalArgumentException if the given {@code genotypes} is empty,
+	 *         the genotypes have different shapes or the genes different
+	 *         ranges
+	 */
+	public static DoublePopulation
+	of(final Seq<? extends Genotype<DoubleGene>> genotypes) {
+		requireNonNull(genotypes);
+		if (genotypes.isEmpty()) {
+			throw new IllegalArgumentException("Genotypes must not be empty.");
+		}
+
+		final Genotype<DoubleGene> template = genotypes.get(0);
+		final int[] lengths = new int[template.length()];
+		final IntRange[] lengthRanges = new IntRange[template.length()];
+		for (int i = 0; i < lengths.length; ++i) {
+			final Chromosome<DoubleGene> ch = template.get(i);
+			lengths[i] = ch.length();
+			lengthRanges[i] = ch instanceof DoubleChromosome
+				? ((DoubleChromosome)ch).lengthRange()
+				: IntRange.of(ch.length());
+		}
+
+		final DoubleGene gene = template.gene();
+		final double min = gene.min();
+		final double max = gene.max();
+
+		final int width = template.geneCount();
+		final double[] alleles = new double[width*genotypes.length()];
+		for (int i = 0; i < genotypes.length(); ++i) {
+			final Genotype<DoubleGene> gt = genotypes.get(i);
+			if (gt.length() != lengths.length) {
+				throw new IllegalArgumentException(format(
+					"Expected %d chromosomes, but got %d.",
+					lengths.length, gt.length()
+				));
+			}
+
+			int offset = i*width;
+			for (int j = 0; j < lengths.length; ++j) {
+				final Chromosome<DoubleGene> ch = gt.get(j);
+				if (ch.length() != lengths[j]) {
+					throw new IllegalArgumentException(format(
+						"Expected chromosome length %d, but got %d.",
+						lengths[j], ch.length()
+					));
+				}
+
+				offset = pack(ch, min, max, alleles, offset);
+			}
+		}
+
+		return new DoublePopulation(
+			alleles, min, max, lengths, lengthRanges, genotypes.length()
+		);
+	}
+
+	private static int pack(
+		final Chromosome<DoubleGene> chromosome,
+		final double min,
+		final double max,
+		final double[] alleles,
+		final int offset
+	) {
+		if (chromosome instanceof DoubleChromosome &&
+			((DoubleChromosome)chromosome).isPacked())
+		{
+			final DoubleGeneStore store =
+				((DoubleGeneISeq)((DoubleChromosome)chromosome)._genes).store();
+
+			checkRange(store.min, store.max, min, max);
+			System.arraycopy(store.array, store.offset, alleles, offset, store.length);
+		} else {
+			for (int i = 0; i < chromosome.length(); ++i) {
+				final DoubleGene gene = chromosome.get(i);
+				checkRange(gene.min(), gene.max(), min, max);
+				alleles[offset + i] = gene.doubleValue();
+			}
+		}
+
+		return offset + chromosome.length();
+	}
+
+	private static void checkRange(
+		final double min,
+		final double max,
+		final double expectedMin,
+		final double expectedMax
+	) {
+		if (Double.compare(min, expectedMin) != 0 ||
+			Double.compare(max, expectedMax) != 0)
+		{
+			throw new IllegalArgumentException(format(
+				"All genes must have the same range [%s, %s), but got [%s, %s).",
+				expectedMin, expectedMax, min, max
+			));
+		}
+	}
+
+	/**
+	 * Create a new random population of genotypes with one chromosome of the
+	 * given {@code length}. The alleles are written directly into the
+	 * population matrix, without creating any gene objects.
+	 *
+	 * @param range the allele range of the genes
+	 * @param length the number of genes of the genotypes
+	 * @param size the number of genotypes of the population
+	 * @return a new random population
+	 * @throws NullPointerException if the given {@code range} is {@code null}
+	 * @throws IllegalArgumentException if the {@code length} or the
+	 *         {@code size} is smaller than one
+	 */
+	public static DoublePopulation of(
+		final DoubleRange range,
+		final int length,
+		final int size
+	) {
+		requireNonNull(range);
+		if (length < 1) {
+			throw new IllegalArgumentException(format(
+				"Length must be greater than zero, but was %d.", length
+			));
+		}
+		if (size < 1) {
+			throw new IllegalArgumentException(format(
+				"Size must be greater than zero, but was %d.", size
+			));
+		}
+
+		final Random random = RandomRegistry.random();
+		final double min = range.min();
+		final double max = range.max();
+
+		final double[] alleles = new double[Math.multiplyExact(length, size)];
+		for (int i = 0; i < alleles.length; ++i) {
+			alleles[i] = nextDouble(min, max, random);
+		}
+
+		return new DoublePopulation(
+			alleles,
+			min,
+			max,
+			new int[]{length},
+			new IntRange[]{IntRange.of(length)},
+			size
+		);
+	}
+
+}
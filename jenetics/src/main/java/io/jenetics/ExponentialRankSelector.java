@@ -51,7 +51,7 @@ import io.jenetics.util.Seq;
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
  * @since 1.0
- * @version 5.0
+ * @version 6.1
  */
 public final class ExponentialRankSelector<
 	G extends Gene<?, G>,
@@ -63,14 +63,18 @@ public final class ExponentialRankSelector<
 	private final double _c;
 
 	/**
-	 * Create a new exponential rank selector.
+	 * Create a new exponential rank selector with the given sampling strategy.
+	 *
+	 * @since 6.1
 	 *
 	 * @param c the <i>c</i> value.
+	 * @param sampling the sampling strategy of the selector
 	 * @throws IllegalArgumentException if {@code c} is not within the range
 	 *         {@code [0..1)}.
+	 * @throws NullPointerException if the {@code sampling} is {@code null}
 	 */
-	public ExponentialRankSelector(final double c) {
-		super(true);
+	public ExponentialRankSelector(final double c, final Sampling sampling) {
+		super(true, sampling);
 
 		if (compare(c, 0) < 0 || compare(c, 1) >= 0) {
 			throw new IllegalArgumentException(format(
@@ -80,6 +84,17 @@ public final class ExponentialRankSelector<
 		_c = c;
 	}
 
+	/**
+	 * Create a new exponential rank selector.
+	 *
+	 * @param c the <i>c</i> value.
+	 * @throws IllegalArgumentException if {@code c} is not within the range
+	 *         {@code [0..1)}.
+	 */
+	public ExponentialRankSelector(final double c) {
+		this(c, Sampling.CUMULATIVE);
+	}
+
 	/**
 	 * Create a new selector with default value of 0.975.
 	 */
@@ -29,6 +29,7 @@ import java.io.IOException;
 import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.nio.IntBuffer;
 import java.util.function.Function;
 import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
@@ -37,7 +38,6 @@ import java.util.stream.Stream;
 import io.jenetics.util.DoubleRange;
 import io.jenetics.util.ISeq;
 import io.jenetics.util.IntRange;
-import io.jenetics.util.MSeq;
 
 /**
  * Numeric chromosome implementation which holds 32 bit integer numbers.
@@ -45,7 +45,12 @@ import io.jenetics.util.MSeq;
  * @see IntegerGene
  *
  * @implNote
- * This class is immutable and thread-safe.
+ * This class is immutable and thread-safe. If all genes share the same range,
+ * which is always the case for chromosomes created by the factory methods,
+ * the alleles are stored in an {@code int[]} array and the
+ * {@link IntegerGene} objects are created on demand. Bulk access via
+ * {@link #intValue(int)} and {@link #toArray(int[])} doesn't create
+ * any gene objects in this case.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz  Wilhelmstötter</a>
  * @since 2.0
@@ -77,7 +82,7 @@ public class IntegerChromosome
 		final ISeq<IntegerGene> genes,
 		final IntRange lengthRange
 	) {
-		super(genes, lengthRange);
+		super(IntegerGeneISeq.pack(genes), lengthRange);
 	}
 
 	@Override
@@ -90,6 +95,23 @@ public class IntegerChromosome
 		return of(_min, _max, lengthRange());
 	}
 
+	// Return true if the alleles are stored in an int[] array.
+	boolean isPacked() {
+		return _genes instanceof IntegerGeneISeq;
+	}
+
+	// Return true if the alleles are stored in a int[] array or buffer.
+	boolean isPrimitive() {
+		return isPacked() || IntegerGeneISeq.isBuffered(_genes);
+	}
+
+	@Override
+	public int intValue(final int index) {
+		return isPacked()
+			? ((IntegerGeneISeq)_genes).intValue(index)
+			: get(index).intValue();
+	}
+
 	/**
 	 * Maps the gene alleles of this chromosome, given as {@code int[]} array,
 	 * by applying the given mapper function {@code f}. The mapped gene values
@@ -119,12 +141,13 @@ public class IntegerChromosome
 	public IntegerChromosome map(final Function<? super int[], int[]> f) {
 		requireNonNull(f);
 
-		final var range = IntRange.of(_min, _max);
-		final var genes = IntStream.of(f.apply(toArray()))
-			.mapToObj(v -> IntegerGene.of(v, range))
-			.collect(ISeq.toISeq());
+		final int[] array = toArray();
+		final int[] values = f.apply(array);
 
-		return newInstance(genes);
+		return newInstance(IntegerGeneISeq.of(
+			values == array ? values : values.clone(),
+			0, values.length, _min, _max
+		));
 	}
 
 	/**
@@ -154,6 +177,10 @@ public class IntegerChromosome
 	 * @throws NullPointerException if the given {@code array} is {@code null}
 	 */
 	public int[] toArray(final int[] array) {
+		if (isPacked()) {
+			return ((IntegerGeneISeq)_genes).toArray(array);
+		}
+
 		final int[] a = array.length >= length() ? array : new int[length()];
 		for (int i = length(); --i >= 0;) {
 			a[i] = intValue(i);
@@ -230,7 +257,7 @@ public class IntegerChromosome
 		final int max,
 		final IntRange lengthRange
 	) {
-		final ISeq<IntegerGene> values = IntegerGene.seq(min, max, lengthRange);
+		final ISeq<IntegerGene> values = IntegerGeneISeq.of(min, max, lengthRange);
 		return new IntegerChromosome(values, lengthRange);
 	}
 
@@ -314,6 +341,63 @@ public class IntegerChromosome
 
 
 
+	/**
+	 * Create a new {@code IntegerChromosome} with the given {@code alleles}.
+	 * The alleles are stored in a packed {@code int[]} array, without
+	 * creating the gene objects.
+	 *
+	 * @since 6.1
+	 *
+	 * @param range the allele range of the genes
+	 * @param lengthRange the allowed length range of the chromosome
+	 * @param alleles the alleles of the chromosome; the array is copied
+	 * @return a new {@code IntegerChromosome} with the given alleles
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the length of the {@code alleles}
+	 *         is zero or doesn't match with the allowed length range
+	 */
+	public static IntegerChromosome of(
+		final IntRange range,
+		final IntRange lengthRange,
+		final int[] alleles
+	) {
+		return new IntegerChromosome(
+			IntegerGeneISeq.of(
+				alleles.clone(), 0, alleles.length, range.min(), range.max()
+			),
+			lengthRange
+		);
+	}
+
+	/**
+	 * Create a new {@code IntegerChromosome}, which reads its alleles directly
+	 * from the <em>remaining</em> elements of the given {@code alleles}
+	 * buffer. The alleles are not copied, which allows to keep them outside
+	 * the heap, e.g. in a memory-mapped file. The buffer content must not be
+	 * changed as long as the chromosome is in use.
+	 *
+	 * @since 6.1
+	 *
+	 * @param range the allele range of the genes
+	 * @param lengthRange the allowed length range of the chromosome
+	 * @param alleles the allele buffer of the chromosome
+	 * @return a new {@code IntegerChromosome}, backed by the given buffer
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the number of remaining
+	 *         {@code alleles} is zero or doesn't match with the allowed
+	 *         length range
+	 */
+	public static IntegerChromosome of(
+		final IntRange range,
+		final IntRange lengthRange,
+		final IntBuffer alleles
+	) {
+		return new IntegerChromosome(
+			IntegerGeneISeq.of(alleles, range.min(), range.max()),
+			lengthRange
+		);
+	}
+
 	/* *************************************************************************
 	 *  Java object serialization
 	 * ************************************************************************/
@@ -346,12 +430,15 @@ public class IntegerChromosome
 		final var min = readInt(in);
 		final var max = readInt(in);
 
-		final MSeq<IntegerGene> values = MSeq.ofLength(length);
+		final int[] values = new int[length];
 		for (int i = 0; i < length; ++i) {
-			values.set(i, IntegerGene.of(readInt(in), min, max));
+			values[i] = readInt(in);
 		}
 
-		return new IntegerChromosome(values.toISeq(), lengthRange);
+		return new IntegerChromosome(
+			IntegerGeneISeq.of(values, 0, length, min, max),
+			lengthRange
+		);
 	}
 
 }
@@ -33,10 +33,7 @@ import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.Random;
 
-import io.jenetics.internal.math.Randoms;
-import io.jenetics.util.ISeq;
 import io.jenetics.util.IntRange;
-import io.jenetics.util.MSeq;
 import io.jenetics.util.Mean;
 
 /**
@@ -207,6 +204,7 @@ public final class IntegerGene
 		return String.format("[%s]", _allele);
 	}
 
+
 	/* *************************************************************************
 	 * Static factory methods.
 	 * ************************************************************************/
@@ -269,17 +267,6 @@ public final class IntegerGene
 		return of(nextInt(random(), range.min(), range.max()), range);
 	}
 
-	static ISeq<IntegerGene> seq(
-		final int min,
-		final int max,
-		final IntRange lengthRange
-	) {
-		final Random r = random();
-		return MSeq.<IntegerGene>ofLength(Randoms.nextInt(lengthRange, r))
-			.fill(() -> new IntegerGene(nextInt(r, min, max), min, max))
-			.toISeq();
-	}
-
 	/**
 	 * Returns a pseudo-random, uniformly distributed int value between min and
 	 * max (min and max included).
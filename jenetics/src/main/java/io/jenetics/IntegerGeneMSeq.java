@@ -0,0 +1,600 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics;
+
+import static java.util.Objects.requireNonNull;
+import static io.jenetics.internal.util.SerialIO.readInt;
+import static io.jenetics.internal.util.SerialIO.writeInt;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import io.jenetics.internal.collection.Array;
+import io.jenetics.internal.collection.ArrayISeq;
+import io.jenetics.internal.collection.ArrayMSeq;
+import io.jenetics.internal.math.Randoms;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.IntRange;
+import io.jenetics.util.MSeq;
+import io.jenetics.util.RandomRegistry;
+
+/**
+ * Mutable {@link IntegerGene} sequence, which stores the gene alleles in a
+ * {@code int[]} array. The genes are created on demand, when accessed via
+ * the {@link #get(int)} method. If a gene with a different range is set, the
+ * sequence is unpacked into an object array, which keeps the gene ranges.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @since 6.1
+ * @version 6.1
+ */
+final class IntegerGeneMSeq extends ArrayMSeq<IntegerGene> {
+
+	private static final long serialVersionUID = 1L;
+
+	// Primary constructor.
+	private IntegerGeneMSeq(final Array<IntegerGene> array) {
+		super(array);
+		assert array.store() instanceof IntegerGeneStore;
+	}
+
+	/**
+	 * Return the allele at the given {@code index}, without creating a
+	 * {@link IntegerGene} object.
+	 *
+	 * @param index the gene index
+	 * @return the allele at the given {@code index}
+	 */
+	int intValue(final int index) {
+		array.checkIndex(index);
+		return isPacked()
+			? ((IntegerGeneStore)array.store()).intValue(index)
+			: array.get(index).intValue();
+	}
+
+	/**
+	 * Set the allele at the given {@code index}, without creating a
+	 * {@link IntegerGene} object.
+	 *
+	 * @param index the gene index
+	 * @param allele the new allele value
+	 */
+	void set(final int index, final int allele) {
+		array.checkIndex(index);
+		if (isPacked()) {
+			array.copyIfSealed();
+			((IntegerGeneStore)array.store()).set(index, allele);
+		} else {
+			array.set(index, array.get(index).newInstance(allele));
+		}
+	}
+
+	/**
+	 * Return {@code true} if the alleles are still stored in the primitive
+	 * array. This is no longer the case, after a gene with a different range
+	 * has been set.
+	 *
+	 * @return {@code true} if the alleles are stored in a primitive array
+	 */
+	boolean isPacked() {
+		return array.store() instanceof IntegerGeneStore;
+	}
+
+	IntegerGeneStore store() {
+		return (IntegerGeneStore)array.store();
+	}
+
+	@Override
+	public void swap(final int i, final int j) {
+		if (!isPacked()) {
+			super.swap(i, j);
+			return;
+		}
+
+		array.checkIndex(i);
+		array.checkIndex(j);
+		array.copyIfSealed();
+
+		final IntegerGeneStore store = (IntegerGeneStore)array.store();
+		final int temp = store.intValue(i);
+		store.set(i, store.intValue(j));
+		store.set(j, temp);
+	}
+
+	@Override
+	public void swap(
+		final int start, final int end,
+		final MSeq<IntegerGene> other, final int otherStart
+	) {
+		if (isPacked(this) &&
+			isPacked(other) &&
+			store().hasRange(((IntegerGeneMSeq)other).store()))
+		{
+			checkIndex(start, end, otherStart, other.length());
+			final var otherMSeq = (IntegerGeneMSeq)other;
+
+			array.copyIfSealed();
+			otherMSeq.array.copyIfSealed();
+
+			final var thisStore = (IntegerGeneStore)array.store();
+			final var otherStore = (IntegerGeneStore)otherMSeq.array.store();
+			thisStore.swap(start, end, otherStore, otherStart);
+		} else {
+			super.swap(start, end, other, otherStart);
+		}
+	}
+
+	@Override
+	public MSeq<IntegerGene> copy() {
+		return isPacked()
+			? new IntegerGeneMSeq(array.copy())
+			: new ArrayMSeq<>(array.copy());
+	}
+
+	@Override
+	public ISeq<IntegerGene> toISeq() {
+		return isPacked()
+			? new IntegerGeneISeq(array.seal())
+			: new ArrayISeq<>(array.seal());
+	}
+
+	/**
+	 * Return {@code true} if the given {@code genes} are a packed
+	 * {@link IntegerGene} sequence.
+	 *
+	 * @param genes the gene sequence to test
+	 * @return {@code true} if the given {@code genes} are packed
+	 */
+	static boolean isPacked(final MSeq<?> genes) {
+		return genes instanceof IntegerGeneMSeq && ((IntegerGeneMSeq)genes).isPacked();
+	}
+
+	static IntegerGeneMSeq of(final Array<IntegerGene> array) {
+		return new IntegerGeneMSeq(array);
+	}
+
+	static IntegerGeneMSeq ofLength(
+		final int length,
+		final int min,
+		final int max
+	) {
+		return new IntegerGeneMSeq(
+			Array.of(IntegerGeneStore.of(new int[length], min, max))
+		);
+	}
+
+}
+
+/**
+ * Immutable {@link IntegerGene} sequence, which stores the gene alleles in a
+ * {@code int[]} array.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @since 6.1
+ * @version 6.1
+ */
+final class IntegerGeneISeq extends ArrayISeq<IntegerGene> {
+	private static final long serialVersionUID = 1L;
+
+	// Primary constructor.
+	IntegerGeneISeq(final Array<IntegerGene> array) {
+		super(array);
+		assert array.store() instanceof IntegerGeneStore;
+	}
+
+	int intValue(final int index) {
+		array.checkIndex(index);
+		return ((IntegerGeneStore)array.store()).intValue(index);
+	}
+
+	int[] toArray(final int[] array) {
+		return ((IntegerGeneStore)this.array.store()).toArray(array);
+	}
+
+	IntegerGeneStore store() {
+		return (IntegerGeneStore)array.store();
+	}
+
+	/**
+	 * Return a new gene sequence with the mean values of {@code this} and the
+	 * {@code other} gene sequence. The result has the same semantic as the
+	 * {@link IntegerGene#mean(IntegerGene)} method.
+	 *
+	 * @param other the other gene sequence
+	 * @return a new gene sequence with the mean values
+	 */
+	IntegerGeneISeq mean(final IntegerGeneISeq other) {
+		final IntegerGeneStore a = store();
+		final IntegerGeneStore b = other.store();
+
+		final int[] values = new int[a.length];
+		for (int i = 0; i < values.length; ++i) {
+			final int value = a.intValue(i);
+			values[i] = value + (b.intValue(i) - value)/2;
+		}
+
+		return of(values, 0, values.length, a.min, a.max);
+	}
+
+	@Override
+	public IntegerGeneMSeq copy() {
+		return IntegerGeneMSeq.of(array.copy());
+	}
+
+	/**
+	 * Wraps the given {@code alleles} array segment into an immutable gene
+	 * sequence. The given array is <em>not</em> copied and must not be
+	 * changed afterwards.
+	 *
+	 * @param alleles the allele array
+	 * @param offset the start offset of the gene sequence
+	 * @param length the length of the gene sequence
+	 * @param min the minimal value of the genes (inclusively)
+	 * @param max the maximal value of the genes (inclusively)
+	 * @return a new gene sequence, backed by the given array
+	 */
+	static IntegerGeneISeq of(
+		final int[] alleles,
+		final int offset,
+		final int length,
+		final int min,
+		final int max
+	) {
+		Array.checkIndex(offset, offset + length, alleles.length);
+		final var store = new IntegerGeneStore(alleles, offset, length, min, max);
+		return new IntegerGeneISeq(Array.of(store).seal());
+	}
+
+	/**
+	 * Wraps the remaining alleles of the given {@code buffer} into a
+	 * read-only gene sequence. The alleles are <em>not</em> copied and are
+	 * read directly from the buffer, which makes it possible to keep the
+	 * alleles outside the heap, e.g. in a memory-mapped file.
+	 *
+	 * @param buffer the allele buffer
+	 * @param min the minimal value of the genes
+	 * @param max the maximal value of the genes
+	 * @return a new gene sequence, backed by the given buffer
+	 */
+	static ISeq<IntegerGene> of(
+		final IntBuffer buffer,
+		final int min,
+		final int max
+	) {
+		final var store = new IntegerGeneBufferStore(buffer, min, max);
+		return new ArrayISeq<>(Array.of(store).seal());
+	}
+
+	// Return true if the given genes are read from a buffer.
+	static boolean isBuffered(final ISeq<?> genes) {
+		return genes instanceof ArrayISeq &&
+			((ArrayISeq<?>)genes).array.store() instanceof IntegerGeneBufferStore;
+	}
+
+	/**
+	 * Packs the given {@code genes} into a {@code int[]} backed gene
+	 * sequence, if all genes share the same range. Otherwise the given
+	 * {@code genes} are returned unchanged. Buffer backed gene sequences are
+	 * also returned unchanged, to keep them outside the heap.
+	 *
+	 * @param genes the genes to pack
+	 * @return the packed gene sequence, if possible
+	 */
+	static ISeq<IntegerGene> pack(final ISeq<IntegerGene> genes) {
+		if (genes instanceof IntegerGeneISeq ||
+			genes.isEmpty() ||
+			isBuffered(genes))
+		{
+			return genes;
+		}
+
+		final IntegerGene first = genes.get(0);
+		final int min = first.min();
+		final int max = first.max();
+
+		final int[] alleles = new int[genes.length()];
+		for (int i = 0; i < alleles.length; ++i) {
+			final IntegerGene gene = genes.get(i);
+			if (gene.min() != min || gene.max() != max) {
+				return genes;
+			}
+			alleles[i] = gene.intValue();
+		}
+
+		return of(alleles, 0, alleles.length, min, max);
+	}
+
+	/**
+	 * Create a new random, packed gene sequence.
+	 *
+	 * @param min the minimal value of the genes (inclusively)
+	 * @param max the maximal value of the genes (inclusively)
+	 * @param lengthRange the allowed length range of the sequence
+	 * @return a new random gene sequence
+	 */
+	static IntegerGeneISeq of(
+		final int min,
+		final int max,
+		final IntRange lengthRange
+	) {
+		final Random random = RandomRegistry.random();
+		final int[] alleles = new int[Randoms.nextInt(lengthRange, random)];
+		for (int i = 0; i < alleles.length; ++i) {
+			alleles[i] = IntegerGene.nextInt(random, min, max);
+		}
+
+		return of(alleles, 0, alleles.length, min, max);
+	}
+
+}
+
+/**
+ * Array store of {@link IntegerGene}s. Only the alleles are stored in the
+ * {@code int[]} array, the gene range is shared by all genes.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @since 6.1
+ * @version 6.1
+ */
+final class IntegerGeneStore implements Array.Store<IntegerGene>, Serializable {
+	private static final long serialVersionUID = 1L;
+
+	final int[] array;
+	final int offset;
+	final int length;
+	final int min;
+	final int max;
+
+	// Primary constructor.
+	IntegerGeneStore(
+		final int[] array,
+		final int offset,
+		final int length,
+		final int min,
+		final int max
+	) {
+		this.array = requireNonNull(array);
+		this.offset = offset;
+		this.length = length;
+		this.min = min;
+		this.max = max;
+	}
+
+	@Override
+	public IntegerGene get(final int index) {
+		return IntegerGene.of(array[offset + index], min, max);
+	}
+
+	int intValue(final int index) {
+		return array[offset + index];
+	}
+
+	// Same semantic as the 'IntegerGene.isValid' method.
+	boolean isValid(final int index) {
+		final int allele = array[offset + index];
+		return allele >= min && allele <= max;
+	}
+
+	@Override
+	public void set(final int index, final IntegerGene value) {
+		array[offset + index] = value.intValue();
+	}
+
+	// Only genes with the range of the store can be set, without losing the
+	// gene range.
+	@Override
+	public boolean accepts(final IntegerGene value) {
+		return value.min() == min && value.max() == max;
+	}
+
+	// Return true if the other store has the same gene range.
+	boolean hasRange(final IntegerGeneStore other) {
+		return other.min == min && other.max == max;
+	}
+
+	void set(final int index, final int value) {
+		array[offset + index] = value;
+	}
+
+	int[] toArray(final int[] values) {
+		final int[] result = values.length >= length
+			? values
+			: new int[length];
+
+		System.arraycopy(array, offset, result, 0, length);
+		return result;
+	}
+
+	@Override
+	public void sort(
+		final int from,
+		final int until,
+		final Comparator<? super IntegerGene> comparator
+	) {
+		if (comparator == null) {
+			Arrays.sort(array, offset + from, offset + until);
+		} else {
+			final IntegerGene[] genes = new IntegerGene[until - from];
+			for (int i = 0; i < genes.length; ++i) {
+				genes[i] = get(from + i);
+			}
+			Arrays.sort(genes, comparator);
+			for (int i = 0; i < genes.length; ++i) {
+				set(from + i, genes[i]);
+			}
+		}
+	}
+
+	void swap(
+		final int start, final int end,
+		final IntegerGeneStore other, final int otherStart
+	) {
+		for (int i = end - start; --i >= 0;) {
+			final int j = offset + start + i;
+			final int k = other.offset + otherStart + i;
+
+			final int temp = array[j];
+			array[j] = other.array[k];
+			other.array[k] = temp;
+		}
+	}
+
+	@Override
+	public IntegerGeneStore copy(final int from, final int until) {
+		return new IntegerGeneStore(
+			Arrays.copyOfRange(array, offset + from, offset + until),
+			0,
+			until - from,
+			min,
+			max
+		);
+	}
+
+	@Override
+	public IntegerGeneStore newInstance(final int length) {
+		return new IntegerGeneStore(new int[length], 0, length, min, max);
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+	static IntegerGeneStore of(
+		final int[] array,
+		final int min,
+		final int max
+	) {
+		return new IntegerGeneStore(array, 0, array.length, min, max);
+	}
+
+
+	/* *************************************************************************
+	 *  Java object serialization
+	 * ************************************************************************/
+
+	private Object writeReplace() {
+		return new Serial(Serial.INTEGER_GENE_STORE, this);
+	}
+
+	private void readObject(final ObjectInputStream stream)
+		throws InvalidObjectException
+	{
+		throw new InvalidObjectException("Serialization proxy required.");
+	}
+
+	void write(final DataOutput out) throws IOException {
+		writeInt(length, out);
+		writeInt(min, out);
+		writeInt(max, out);
+		for (int i = 0; i < length; ++i) {
+			writeInt(array[offset + i], out);
+		}
+	}
+
+	static IntegerGeneStore read(final DataInput in) throws IOException {
+		final int length = readInt(in);
+		final int min = readInt(in);
+		final int max = readInt(in);
+		final int[] array = new int[length];
+		for (int i = 0; i < length; ++i) {
+			array[i] = readInt(in);
+		}
+
+		return of(array, min, max);
+	}
+
+}
+
+/**
+ * Read-only {@link IntegerGene} store, which reads the alleles from a
+ * {@link IntBuffer}. Copies of the store are created on the heap.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @since 6.1
+ * @version 6.1
+ */
+final class IntegerGeneBufferStore implements Array.Store<IntegerGene> {
+
+	final IntBuffer buffer;
+	final int offset;
+	final int length;
+	final int min;
+	final int max;
+
+	IntegerGeneBufferStore(
+		final IntBuffer buffer,
+		final int min,
+		final int max
+	) {
+		this.buffer = requireNonNull(buffer);
+		this.offset = buffer.position();
+		this.length = buffer.remaining();
+		this.min = min;
+		this.max = max;
+	}
+
+	@Override
+	public IntegerGene get(final int index) {
+		return IntegerGene.of(buffer.get(offset + index), min, max);
+	}
+
+	@Override
+	public void set(final int index, final IntegerGene value) {
+		throw new UnsupportedOperationException("Read-only gene store.");
+	}
+
+	@Override
+	public void sort(
+		final int from,
+		final int until,
+		final Comparator<? super IntegerGene> comparator
+	) {
+		throw new UnsupportedOperationException("Read-only gene store.");
+	}
+
+	@Override
+	public IntegerGeneStore copy(final int from, final int until) {
+		final int[] array = new int[until - from];
+		for (int i = 0; i < array.length; ++i) {
+			array[i] = buffer.get(offset + from + i);
+		}
+		return new IntegerGeneStore(array, 0, array.length, min, max);
+	}
+
+	@Override
+	public IntegerGeneStore newInstance(final int length) {
+		return new IntegerGeneStore(new int[length], 0, length, min, max);
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+}
@@ -48,7 +48,7 @@ import io.jenetics.util.RandomRegistry;
  * @see LineCrossover
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 3.8
+ * @version 6.1
  * @since 3.8
  */
 public class IntermediateCrossover<
@@ -111,6 +111,24 @@ public class IntermediateCrossover<
 	protected int crossover(final MSeq<G> v, final MSeq<G> w) {
 		final Random random = RandomRegistry.random();
 
+		if (DoubleGeneMSeq.isPacked(v) && DoubleGeneMSeq.isPacked(w)) {
+			crossover((DoubleGeneMSeq)v, (DoubleGeneMSeq)w, random);
+		} else if (IntegerGeneMSeq.isPacked(v) && IntegerGeneMSeq.isPacked(w)) {
+			crossover((IntegerGeneMSeq)v, (IntegerGeneMSeq)w, random);
+		} else if (LongGeneMSeq.isPacked(v) && LongGeneMSeq.isPacked(w)) {
+			crossover((LongGeneMSeq)v, (LongGeneMSeq)w, random);
+		} else {
+			crossover(v, w, random);
+		}
+
+		return 2;
+	}
+
+	private void crossover(
+		final MSeq<G> v,
+		final MSeq<G> w,
+		final Random random
+	) {
 		final double min = v.get(0).min().doubleValue();
 		final double max = v.get(0).max().doubleValue();
 
@@ -135,8 +153,99 @@ public class IntermediateCrossover<
 				w.set(i, w.get(i).newInstance(s));
 			}
 		}
+	}
 
-		return 2;
+	// Crossover of packed double genes, without creating gene objects.
+	private void crossover(
+		final DoubleGeneMSeq v,
+		final DoubleGeneMSeq w,
+		final Random random
+	) {
+		final DoubleGeneStore vs = v.store();
+		final DoubleGeneStore ws = w.store();
+		final double min = vs.min;
+		final double max = vs.max;
+
+		for (int i = 0, n = min(v.length(), w.length()); i < n; ++i) {
+			if (vs.isValid(i) && ws.isValid(i)) {
+				final double vi = vs.doubleValue(i);
+				final double wi = ws.doubleValue(i);
+
+				double t, s;
+				do {
+					final double a = nextDouble(-_p, 1 + _p, random);
+					final double b = nextDouble(-_p, 1 + _p, random);
+
+					t = a*vi + (1 - a)*wi;
+					s = b*wi + (1 - b)*vi;
+				} while (t < min || s < min || t >= max || s >= max);
+
+				v.set(i, t);
+				w.set(i, s);
+			}
+		}
+	}
+
+	// Crossover of packed integer genes, without creating gene objects.
+	private void crossover(
+		final IntegerGeneMSeq v,
+		final IntegerGeneMSeq w,
+		final Random random
+	) {
+		final IntegerGeneStore vs = v.store();
+		final IntegerGeneStore ws = w.store();
+		final double min = vs.min;
+		final double max = vs.max;
+
+		for (int i = 0, n = min(v.length(), w.length()); i < n; ++i) {
+			if (vs.isValid(i) && ws.isValid(i)) {
+				final double vi = vs.intValue(i);
+				final double wi = ws.intValue(i);
+
+				double t, s;
+				do {
+					final double a = nextDouble(-_p, 1 + _p, random);
+					final double b = nextDouble(-_p, 1 + _p, random);
+
+					t = a*vi + (1 - a)*wi;
+					s = b*wi + (1 - b)*vi;
+				} while (t < min || s < min || t >= max || s >= max);
+
+				v.set(i, (int)Math.round(t));
+				w.set(i, (int)Math.round(s));
+			}
+		}
+	}
+
+	// Crossover of packed long genes, without creating gene objects.
+	private void crossover(
+		final LongGeneMSeq v,
+		final LongGeneMSeq w,
+		final Random random
+	) {
+		final LongGeneStore vs = v.store();
+		final LongGeneStore ws = w.store();
+		final double min = vs.min;
+		final double max = vs.max;
+
+		for (int i = 0, n = min(v.length(), w.length()); i < n; ++i) {
+			if (vs.isValid(i) && ws.isValid(i)) {
+				final double vi = vs.longValue(i);
+				final double wi = ws.longValue(i);
+
+				double t, s;
+				do {
+					final double a = nextDouble(-_p, 1 + _p, random);
+					final double b = nextDouble(-_p, 1 + _p, random);
+
+					t = a*vi + (1 - a)*wi;
+					s = b*wi + (1 - b)*vi;
+				} while (t < min || s < min || t >= max || s >= max);
+
+				v.set(i, Math.round(t));
+				w.set(i, Math.round(s));
+			}
+		}
 	}
 
 	@Override
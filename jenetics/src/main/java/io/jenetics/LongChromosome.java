@@ -31,6 +31,7 @@ import java.io.IOException;
 import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.nio.LongBuffer;
 import java.util.function.Function;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
@@ -39,7 +40,6 @@ import java.util.stream.Stream;
 import io.jenetics.util.ISeq;
 import io.jenetics.util.IntRange;
 import io.jenetics.util.LongRange;
-import io.jenetics.util.MSeq;
 
 /**
  * Numeric chromosome implementation which holds 64 bit integer numbers.
@@ -47,7 +47,12 @@ import io.jenetics.util.MSeq;
  * @see LongGene
  *
  * @implNote
- * This class is immutable and thread-safe.
+ * This class is immutable and thread-safe. If all genes share the same range,
+ * which is always the case for chromosomes created by the factory methods,
+ * the alleles are stored in a {@code long[]} array and the
+ * {@link LongGene} objects are created on demand. Bulk access via
+ * {@link #longValue(int)} and {@link #toArray(long[])} doesn't create
+ * any gene objects in this case.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
  * @since 1.6
@@ -79,7 +84,7 @@ public class LongChromosome
 		final ISeq<LongGene> genes,
 		final IntRange lengthRange
 	) {
-		super(genes, lengthRange);
+		super(LongGeneISeq.pack(genes), lengthRange);
 	}
 
 	@Override
@@ -92,6 +97,23 @@ public class LongChromosome
 		return of(_min, _max, lengthRange());
 	}
 
+	// Return true if the alleles are stored in a long[] array.
+	boolean isPacked() {
+		return _genes instanceof LongGeneISeq;
+	}
+
+	// Return true if the alleles are stored in a long[] array or buffer.
+	boolean isPrimitive() {
+		return isPacked() || LongGeneISeq.isBuffered(_genes);
+	}
+
+	@Override
+	public long longValue(final int index) {
+		return isPacked()
+			? ((LongGeneISeq)_genes).longValue(index)
+			: get(index).longValue();
+	}
+
 	/**
 	 * Maps the gene alleles of this chromosome, given as {@code long[]} array,
 	 * by applying the given mapper function {@code f}. The mapped gene values
@@ -121,12 +143,13 @@ public class LongChromosome
 	public LongChromosome map(final Function<? super long[], long[]> f) {
 		requireNonNull(f);
 
-		final var range = LongRange.of(_min, _max);
-		final var genes = LongStream.of(f.apply(toArray()))
-			.mapToObj(v -> LongGene.of(v, range))
-			.collect(ISeq.toISeq());
+		final long[] array = toArray();
+		final long[] values = f.apply(array);
 
-		return newInstance(genes);
+		return newInstance(LongGeneISeq.of(
+			values == array ? values : values.clone(),
+			0, values.length, _min, _max
+		));
 	}
 
 	/**
@@ -156,6 +179,10 @@ public class LongChromosome
 	 * @throws NullPointerException if the given {@code array} is {@code null}
 	 */
 	public long[] toArray(final long[] array) {
+		if (isPacked()) {
+			return ((LongGeneISeq)_genes).toArray(array);
+		}
+
 		final long[] a = array.length >= length() ? array : new long[length()];
 		for (int i = length(); --i >= 0;) {
 			a[i] = longValue(i);
@@ -233,7 +260,7 @@ public class LongChromosome
 		final long max,
 		final IntRange lengthRange
 	) {
-		final ISeq<LongGene> values = LongGene.seq(min, max, lengthRange);
+		final ISeq<LongGene> values = LongGeneISeq.of(min, max, lengthRange);
 		return new LongChromosome(values, lengthRange);
 	}
 
@@ -319,6 +346,63 @@ public class LongChromosome
 
 
 
+	/**
+	 * Create a new {@code LongChromosome} with the given {@code alleles}.
+	 * The alleles are stored in a packed {@code long[]} array, without
+	 * creating the gene objects.
+	 *
+	 * @since 6.1
+	 *
+	 * @param range the allele range of the genes
+	 * @param lengthRange the allowed length range of the chromosome
+	 * @param alleles the alleles of the chromosome; the array is copied
+	 * @return a new {@code LongChromosome} with the given alleles
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the length of the {@code alleles}
+	 *         is zero or doesn't match with the allowed length range
+	 */
+	public static LongChromosome of(
+		final LongRange range,
+		final IntRange lengthRange,
+		final long[] alleles
+	) {
+		return new LongChromosome(
+			LongGeneISeq.of(
+				alleles.clone(), 0, alleles.length, range.min(), range.max()
+			),
+			lengthRange
+		);
+	}
+
+	/**
+	 * Create a new {@code LongChromosome}, which reads its alleles directly
+	 * from the <em>remaining</em> elements of the given {@code alleles}
+	 * buffer. The alleles are not copied, which allows to keep them outside
+	 * the heap, e.g. in a memory-mapped file. The buffer content must not be
+	 * changed as long as the chromosome is in use.
+	 *
+	 * @since 6.1
+	 *
+	 * @param range the allele range of the genes
+	 * @param lengthRange the allowed length range of the chromosome
+	 * @param alleles the allele buffer of the chromosome
+	 * @return a new {@code LongChromosome}, backed by the given buffer
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the number of remaining
+	 *         {@code alleles} is zero or doesn't match with the allowed
+	 *         length range
+	 */
+	public static LongChromosome of(
+		final LongRange range,
+		final IntRange lengthRange,
+		final LongBuffer alleles
+	) {
+		return new LongChromosome(
+			LongGeneISeq.of(alleles, range.min(), range.max()),
+			lengthRange
+		);
+	}
+
 	/* *************************************************************************
 	 *  Java object serialization
 	 * ************************************************************************/
@@ -351,12 +435,15 @@ public class LongChromosome
 		final var min = readLong(in);
 		final var max = readLong(in);
 
-		final MSeq<LongGene> values = MSeq.ofLength(length);
+		final long[] values = new long[length];
 		for (int i = 0; i < length; ++i) {
-			values.set(i, LongGene.of(readLong(in), min, max));
+			values[i] = readLong(in);
 		}
 
-		return new LongChromosome(values.toISeq(), lengthRange);
+		return new LongChromosome(
+			LongGeneISeq.of(values, 0, length, min, max),
+			lengthRange
+		);
 	}
 
 }
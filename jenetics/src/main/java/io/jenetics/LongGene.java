@@ -33,11 +33,7 @@ import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.Random;
 
-import io.jenetics.internal.math.Randoms;
-import io.jenetics.util.ISeq;
-import io.jenetics.util.IntRange;
 import io.jenetics.util.LongRange;
-import io.jenetics.util.MSeq;
 import io.jenetics.util.Mean;
 
 /**
@@ -208,6 +204,7 @@ public final class LongGene
 		return String.format("[%s]", _allele);
 	}
 
+
 	/* *************************************************************************
 	 * Static factory methods.
 	 * ************************************************************************/
@@ -270,17 +267,6 @@ public final class LongGene
 		return of(nextLong(random(), range.min(), range.max()), range);
 	}
 
-	static ISeq<LongGene> seq(
-		final long min,
-		final long max,
-		final IntRange lengthRange
-	) {
-		final Random r = random();
-		return MSeq.<LongGene>ofLength(Randoms.nextInt(lengthRange, r))
-			.fill(() -> LongGene.of(nextLong(r, min, max), min, max))
-			.toISeq();
-	}
-
 	/**
 	 * Returns a pseudo-random, uniformly distributed int value between min
 	 * and max (min and max included).
@@ -0,0 +1,602 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics;
+
+import static java.util.Objects.requireNonNull;
+import static io.jenetics.internal.util.SerialIO.readInt;
+import static io.jenetics.internal.util.SerialIO.readLong;
+import static io.jenetics.internal.util.SerialIO.writeInt;
+import static io.jenetics.internal.util.SerialIO.writeLong;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import io.jenetics.internal.collection.Array;
+import io.jenetics.internal.collection.ArrayISeq;
+import io.jenetics.internal.collection.ArrayMSeq;
+import io.jenetics.internal.math.Randoms;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.IntRange;
+import io.jenetics.util.MSeq;
+import io.jenetics.util.RandomRegistry;
+
+/**
+ * Mutable {@link LongGene} sequence, which stores the gene alleles in a
+ * {@code long[]} array. The genes are created on demand, when accessed via
+ * the {@link #get(int)} method. If a gene with a different range is set, the
+ * sequence is unpacked into an object array, which keeps the gene ranges.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @since 6.1
+ * @version 6.1
+ */
+final class LongGeneMSeq extends ArrayMSeq<LongGene> {
+
+	private static final long serialVersionUID = 1L;
+
+	// Primary constructor.
+	private LongGeneMSeq(final Array<LongGene> array) {
+		super(array);
+		assert array.store() instanceof LongGeneStore;
+	}
+
+	/**
+	 * Return the allele at the given {@code index}, without creating a
+	 * {@link LongGene} object.
+	 *
+	 * @param index the gene index
+	 * @return the allele at the given {@code index}
+	 */
+	long longValue(final int index) {
+		array.checkIndex(index);
+		return isPacked()
+			? ((LongGeneStore)array.store()).longValue(index)
+			: array.get(index).longValue();
+	}
+
+	/**
+	 * Set the allele at the given {@code index}, without creating a
+	 * {@link LongGene} object.
+	 *
+	 * @param index the gene index
+	 * @param allele the new allele value
+	 */
+	void set(final int index, final long allele) {
+		array.checkIndex(index);
+		if (isPacked()) {
+			array.copyIfSealed();
+			((LongGeneStore)array.store()).set(index, allele);
+		} else {
+			array.set(index, array.get(index).newInstance(allele));
+		}
+	}
+
+	/**
+	 * Return {@code true} if the alleles are still stored in the primitive
+	 * array. This is no longer the case, after a gene with a different range
+	 * has been set.
+	 *
+	 * @return {@code true} if the alleles are stored in a primitive array
+	 */
+	boolean isPacked() {
+		return array.store() instanceof LongGeneStore;
+	}
+
+	LongGeneStore store() {
+		return (LongGeneStore)array.store();
+	}
+
+	@Override
+	public void swap(final int i, final int j) {
+		if (!isPacked()) {
+			super.swap(i, j);
+			return;
+		}
+
+		array.checkIndex(i);
+		array.checkIndex(j);
+		array.copyIfSealed();
+
+		final LongGeneStore store = (LongGeneStore)array.store();
+		final long temp = store.longValue(i);
+		store.set(i, store.longValue(j));
+		store.set(j, temp);
+	}
+
+	@Override
+	public void swap(
+		final int start, final int end,
+		final MSeq<LongGene> other, final int otherStart
+	) {
+		if (isPacked(this) &&
+			isPacked(other) &&
+			store().hasRange(((LongGeneMSeq)other).store()))
+		{
+			checkIndex(start, end, otherStart, other.length());
+			final var otherMSeq = (LongGeneMSeq)other;
+
+			array.copyIfSealed();
+			otherMSeq.array.copyIfSealed();
+
+			final var thisStore = (LongGeneStore)array.store();
+			final var otherStore = (LongGeneStore)otherMSeq.array.store();
+			thisStore.swap(start, end, otherStore, otherStart);
+		} else {
+			super.swap(start, end, other, otherStart);
+		}
+	}
+
+	@Override
+	public MSeq<LongGene> copy() {
+		return isPacked()
+			? new LongGeneMSeq(array.copy())
+			: new ArrayMSeq<>(array.copy());
+	}
+
+	@Override
+	public ISeq<LongGene> toISeq() {
+		return isPacked()
+			? new LongGeneISeq(array.seal())
+			: new ArrayISeq<>(array.seal());
+	}
+
+	/**
+	 * Return {@code true} if the given {@code genes} are a packed
+	 * {@link LongGene} sequence.
+	 *
+	 * @param genes the gene sequence to test
+	 * @return {@code true} if the given {@code genes} are packed
+	 */
+	static boolean isPacked(final MSeq<?> genes) {
+		return genes instanceof LongGeneMSeq && ((LongGeneMSeq)genes).isPacked();
+	}
+
+	static LongGeneMSeq of(final Array<LongGene> array) {
+		return new LongGeneMSeq(array);
+	}
+
+	static LongGeneMSeq ofLength(
+		final int length,
+		final long min,
+		final long max
+	) {
+		return new LongGeneMSeq(
+			Array.of(LongGeneStore.of(new long[length], min, max))
+		);
+	}
+
+}
+
+/**
+ * Immutable {@link LongGene} sequence, which stores the gene alleles in a
+ * {@code long[]} array.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @since 6.1
+ * @version 6.1
+ */
+final class LongGeneISeq extends ArrayISeq<LongGene> {
+	private static final long serialVersionUID = 1L;
+
+	// Primary constructor.
+	LongGeneISeq(final Array<LongGene> array) {
+		super(array);
+		assert array.store() instanceof LongGeneStore;
+	}
+
+	long longValue(final int index) {
+		array.checkIndex(index);
+		return ((LongGeneStore)array.store()).longValue(index);
+	}
+
+	long[] toArray(final long[] array) {
+		return ((LongGeneStore)this.array.store()).toArray(array);
+	}
+
+	LongGeneStore store() {
+		return (LongGeneStore)array.store();
+	}
+
+	/**
+	 * Return a new gene sequence with the mean values of {@code this} and the
+	 * {@code other} gene sequence. The result has the same semantic as the
+	 * {@link LongGene#mean(LongGene)} method.
+	 *
+	 * @param other the other gene sequence
+	 * @return a new gene sequence with the mean values
+	 */
+	LongGeneISeq mean(final LongGeneISeq other) {
+		final LongGeneStore a = store();
+		final LongGeneStore b = other.store();
+
+		final long[] values = new long[a.length];
+		for (int i = 0; i < values.length; ++i) {
+			final long value = a.longValue(i);
+			values[i] = value + (b.longValue(i) - value)/2;
+		}
+
+		return of(values, 0, values.length, a.min, a.max);
+	}
+
+	@Override
+	public LongGeneMSeq copy() {
+		return LongGeneMSeq.of(array.copy());
+	}
+
+	/**
+	 * Wraps the given {@code alleles} array segment into an immutable gene
+	 * sequence. The given array is <em>not</em> copied and must not be
+	 * changed afterwards.
+	 *
+	 * @param alleles the allele array
+	 * @param offset the start offset of the gene sequence
+	 * @param length the length of the gene sequence
+	 * @param min the minimal value of the genes (inclusively)
+	 * @param max the maximal value of the genes (inclusively)
+	 * @return a new gene sequence, backed by the given array
+	 */
+	static LongGeneISeq of(
+		final long[] alleles,
+		final int offset,
+		final int length,
+		final long min,
+		final long max
+	) {
+		Array.checkIndex(offset, offset + length, alleles.length);
+		final var store = new LongGeneStore(alleles, offset, length, min, max);
+		return new LongGeneISeq(Array.of(store).seal());
+	}
+
+	/**
+	 * Wraps the remaining alleles of the given {@code buffer} into a
+	 * read-only gene sequence. The alleles are <em>not</em> copied and are
+	 * read directly from the buffer, which makes it possible to keep the
+	 * alleles outside the heap, e.g. in a memory-mapped file.
+	 *
+	 * @param buffer the allele buffer
+	 * @param min the minimal value of the genes
+	 * @param max the maximal value of the genes
+	 * @return a new gene sequence, backed by the given buffer
+	 */
+	static ISeq<LongGene> of(
+		final LongBuffer buffer,
+		final long min,
+		final long max
+	) {
+		final var store = new LongGeneBufferStore(buffer, min, max);
+		return new ArrayISeq<>(Array.of(store).seal());
+	}
+
+	// Return true if the given genes are read from a buffer.
+	static boolean isBuffered(final ISeq<?> genes) {
+		return genes instanceof ArrayISeq &&
+			((ArrayISeq<?>)genes).array.store() instanceof LongGeneBufferStore;
+	}
+
+	/**
+	 * Packs the given {@code genes} into a {@code long[]} backed gene
+	 * sequence, if all genes share the same range. Otherwise the given
+	 * {@code genes} are returned unchanged. Buffer backed gene sequences are
+	 * also returned unchanged, to keep them outside the heap.
+	 *
+	 * @param genes the genes to pack
+	 * @return the packed gene sequence, if possible
+	 */
+	static ISeq<LongGene> pack(final ISeq<LongGene> genes) {
+		if (genes instanceof LongGeneISeq ||
+			genes.isEmpty() ||
+			isBuffered(genes))
+		{
+			return genes;
+		}
+
+		final LongGene first = genes.get(0);
+		final long min = first.min();
+		final long max = first.max();
+
+		final long[] alleles = new long[genes.length()];
+		for (int i = 0; i < alleles.length; ++i) {
+			final LongGene gene = genes.get(i);
+			if (gene.min() != min || gene.max() != max) {
+				return genes;
+			}
+			alleles[i] = gene.longValue();
+		}
+
+		return of(alleles, 0, alleles.length, min, max);
+	}
+
+	/**
+	 * Create a new random, packed gene sequence.
+	 *
+	 * @param min the minimal value of the genes (inclusively)
+	 * @param max the maximal value of the genes (inclusively)
+	 * @param lengthRange the allowed length range of the sequence
+	 * @return a new random gene sequence
+	 */
+	static LongGeneISeq of(
+		final long min,
+		final long max,
+		final IntRange lengthRange
+	) {
+		final Random random = RandomRegistry.random();
+		final long[] alleles = new long[Randoms.nextInt(lengthRange, random)];
+		for (int i = 0; i < alleles.length; ++i) {
+			alleles[i] = LongGene.nextLong(random, min, max);
+		}
+
+		return of(alleles, 0, alleles.length, min, max);
+	}
+
+}
+
+/**
+ * Array store of {@link LongGene}s. Only the alleles are stored in the
+ * {@code long[]} array, the gene range is shared by all genes.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @since 6.1
+ * @version 6.1
+ */
+final class LongGeneStore implements Array.Store<LongGene>, Serializable {
+	private static final long serialVersionUID = 1L;
+
+	final long[] array;
+	final int offset;
+	final int length;
+	final long min;
+	final long max;
+
+	// Primary constructor.
+	LongGeneStore(
+		final long[] array,
+		final int offset,
+		final int length,
+		final long min,
+		final long max
+	) {
+		this.array = requireNonNull(array);
+		this.offset = offset;
+		this.length = length;
+		this.min = min;
+		this.max = max;
+	}
+
+	@Override
+	public LongGene get(final int index) {
+		return LongGene.of(array[offset + index], min, max);
+	}
+
+	long longValue(final int index) {
+		return array[offset + index];
+	}
+
+	// Same semantic as the 'LongGene.isValid' method.
+	boolean isValid(final int index) {
+		final long allele = array[offset + index];
+		return allele >= min && allele <= max;
+	}
+
+	@Override
+	public void set(final int index, final LongGene value) {
+		array[offset + index] = value.longValue();
+	}
+
+	// Only genes with the range of the store can be set, without losing the
+	// gene range.
+	@Override
+	public boolean accepts(final LongGene value) {
+		return value.min() == min && value.max() == max;
+	}
+
+	// Return true if the other store has the same gene range.
+	boolean hasRange(final LongGeneStore other) {
+		return other.min == min && other.max == max;
+	}
+
+	void set(final int index, final long value) {
+		array[offset + index] = value;
+	}
+
+	long[] toArray(final long[] values) {
+		final long[] result = values.length >= length
+			? values
+			: new long[length];
+
+		System.arraycopy(array, offset, result, 0, length);
+		return result;
+	}
+
+	@Override
+	public void sort(
+		final int from,
+		final int until,
+		final Comparator<? super LongGene> comparator
+	) {
+		if (comparator == null) {
+			Arrays.sort(array, offset + from, offset + until);
+		} else {
+			final LongGene[] genes = new LongGene[until - from];
+			for (int i = 0; i < genes.length; ++i) {
+				genes[i] = get(from + i);
+			}
+			Arrays.sort(genes, comparator);
+			for (int i = 0; i < genes.length; ++i) {
+				set(from + i, genes[i]);
+			}
+		}
+	}
+
+	void swap(
+		final int start, final int end,
+		final LongGeneStore other, final int otherStart
+	) {
+		for (int i = end - start; --i >= 0;) {
+			final int j = offset + start + i;
+			final int k = other.offset + otherStart + i;
+
+			final long temp = array[j];
+			array[j] = other.array[k];
+			other.array[k] = temp;
+		}
+	}
+
+	@Override
+	public LongGeneStore copy(final int from, final int until) {
+		return new LongGeneStore(
+			Arrays.copyOfRange(array, offset + from, offset + until),
+			0,
+			until - from,
+			min,
+			max
+		);
+	}
+
+	@Override
+	public LongGeneStore newInstance(final int length) {
+		return new LongGeneStore(new long[length], 0, length, min, max);
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+	static LongGeneStore of(
+		final long[] array,
+		final long min,
+		final long max
+	) {
+		return new LongGeneStore(array, 0, array.length, min, max);
+	}
+
+
+	/* *************************************************************************
+	 *  Java object serialization
+	 * ************************************************************************/
+
+	private Object writeReplace() {
+		return new Serial(Serial.LONG_GENE_STORE, this);
+	}
+
+	private void readObject(final ObjectInputStream stream)
+		throws InvalidObjectException
+	{
+		throw new InvalidObjectException("Serialization proxy required.");
+	}
+
+	void write(final DataOutput out) throws IOException {
+		writeInt(length, out);
+		writeLong(min, out);
+		writeLong(max, out);
+		for (int i = 0; i < length; ++i) {
+			writeLong(array[offset + i], out);
+		}
+	}
+
+	static LongGeneStore read(final DataInput in) throws IOException {
+		final int length = readInt(in);
+		final long min = readLong(in);
+		final long max = readLong(in);
+		final long[] array = new long[length];
+		for (int i = 0; i < length; ++i) {
+			array[i] = readLong(in);
+		}
+
+		return of(array, min, max);
+	}
+
+}
+
+/**
+ * Read-only {@link LongGene} store, which reads the alleles from a
+ * {@link LongBuffer}. Copies of the store are created on the heap.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @since 6.1
+ * @version 6.1
+ */
+final class LongGeneBufferStore implements Array.Store<LongGene> {
+
+	final LongBuffer buffer;
+	final int offset;
+	final int length;
+	final long min;
+	final long max;
+
+	LongGeneBufferStore(
+		final LongBuffer buffer,
+		final long min,
+		final long max
+	) {
+		this.buffer = requireNonNull(buffer);
+		this.offset = buffer.position();
+		this.length = buffer.remaining();
+		this.min = min;
+		this.max = max;
+	}
+
+	@Override
+	public LongGene get(final int index) {
+		return LongGene.of(buffer.get(offset + index), min, max);
+	}
+
+	@Override
+	public void set(final int index, final LongGene value) {
+		throw new UnsupportedOperationException("Read-only gene store.");
+	}
+
+	@Override
+	public void sort(
+		final int from,
+		final int until,
+		final Comparator<? super LongGene> comparator
+	) {
+		throw new UnsupportedOperationException("Read-only gene store.");
+	}
+
+	@Override
+	public LongGeneStore copy(final int from, final int until) {
+		final long[] array = new long[until - from];
+		for (int i = 0; i < array.length; ++i) {
+			array[i] = buffer.get(offset + from + i);
+		}
+		return new LongGeneStore(array, 0, array.length, min, max);
+	}
+
+	@Override
+	public LongGeneStore newInstance(final int length) {
+		return new LongGeneStore(new long[length], 0, length, min, max);
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+}
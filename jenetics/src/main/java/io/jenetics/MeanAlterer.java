@@ -19,6 +19,7 @@
  */
 package io.jenetics;
 
+import io.jenetics.util.ISeq;
 import io.jenetics.util.Mean;
 
 /**
@@ -30,7 +31,7 @@ import io.jenetics.util.Mean;
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
  * @since 1.0
- * @version 6.0
+ * @version 6.1
  */
 public class MeanAlterer<
 	G extends Gene<?, G> & Mean<G>,
@@ -57,4 +58,35 @@ public class MeanAlterer<
 		this(0.05);
 	}
 
+	@Override
+	@SuppressWarnings("unchecked")
+	ISeq<G> combine(final Chromosome<G> a, final Chromosome<G> b) {
+		// Calculating the mean value of packed genes directly.
+		if (a.length() != b.length()) {
+			return super.combine(a, b);
+		}
+
+		if (a instanceof DoubleChromosome && b instanceof DoubleChromosome) {
+			final var ga = ((DoubleChromosome)a)._genes;
+			final var gb = ((DoubleChromosome)b)._genes;
+			if (ga instanceof DoubleGeneISeq && gb instanceof DoubleGeneISeq) {
+				return (ISeq<G>)((DoubleGeneISeq)ga).mean((DoubleGeneISeq)gb);
+			}
+		} else if (a instanceof IntegerChromosome && b instanceof IntegerChromosome) {
+			final var ga = ((IntegerChromosome)a)._genes;
+			final var gb = ((IntegerChromosome)b)._genes;
+			if (ga instanceof IntegerGeneISeq && gb instanceof IntegerGeneISeq) {
+				return (ISeq<G>)((IntegerGeneISeq)ga).mean((IntegerGeneISeq)gb);
+			}
+		} else if (a instanceof LongChromosome && b instanceof LongChromosome) {
+			final var ga = ((LongChromosome)a)._genes;
+			final var gb = ((LongChromosome)b)._genes;
+			if (ga instanceof LongGeneISeq && gb instanceof LongGeneISeq) {
+				return (ISeq<G>)((LongGeneISeq)ga).mean((LongGeneISeq)gb);
+			}
+		}
+
+		return super.combine(a, b);
+	}
+
 }
@@ -19,13 +19,18 @@
  */
 package io.jenetics;
 
+import static java.lang.Math.floor;
+import static java.lang.Math.log;
 import static java.lang.Math.pow;
 import static java.lang.String.format;
+import static io.jenetics.internal.math.Randoms.nextDouble;
 
 import java.util.Random;
 
 import io.jenetics.internal.math.Probabilities;
+import io.jenetics.internal.util.Bits;
 import io.jenetics.util.ISeq;
+import io.jenetics.util.MSeq;
 import io.jenetics.util.RandomRegistry;
 import io.jenetics.util.Seq;
 
@@ -63,9 +68,19 @@ import io.jenetics.util.Seq;
  * <img src="doc-files/mutator-mean_m.gif" alt="\hat{\mu}=N_{P}N_{g}\cdot P(m)" >
  * </p>
  *
+ * <b>Reproducibility:</b> Since version 6.1, the {@code Mutator} mutates
+ * {@link BitChromosome}s and numeric chromosomes with packed, primitive
+ * alleles by <em>geometric skipping</em>. Instead of drawing one random
+ * number per gene, the distance to the next mutated gene is drawn from a
+ * geometric distribution. The mutated genes follow the same distribution, but
+ * the random engine is consumed differently. Evolutions with a seeded random
+ * engine therefore give different results than with earlier versions. The
+ * per-gene draw is still used by subclasses and for all other chromosome
+ * types.
+ *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
  * @since 1.0
- * @version 4.0
+ * @version 6.1
  */
 public class Mutator<
 	G extends Gene<?, G>,
@@ -117,15 +132,19 @@ public class Mutator<
 		final double p = pow(_probability, 1.0/3.0);
 		final int P = Probabilities.toInt(p);
 
-		final Seq<MutatorResult<Phenotype<G, C>>> result = population
-			.map(pt -> random.nextInt() < P
-				? mutate(pt, generation, p, random)
-				: MutatorResult.of(pt));
+		final MSeq<Phenotype<G, C>> result = MSeq.of(population);
+		int mutations = 0;
+		for (int i = 0, n = result.length(); i < n; ++i) {
+			if (random.nextInt() < P) {
+				final MutatorResult<Phenotype<G, C>> mutated =
+					mutate(result.get(i), generation, p, random);
 
-		return AltererResult.of(
-			result.map(MutatorResult::result).asISeq(),
-			result.stream().mapToInt(MutatorResult::mutations).sum()
-		);
+				result.set(i, mutated.result());
+				mutations += mutated.mutations();
+			}
+		}
+
+		return AltererResult.of(result.toISeq(), mutations);
 	}
 
 	/**
@@ -168,16 +187,20 @@ public class Mutator<
 		final Random random
 	) {
 		final int P = Probabilities.toInt(p);
-		final ISeq<MutatorResult<Chromosome<G>>> result = genotype.stream()
-			.map(gt -> random.nextInt() < P
-				? mutate(gt, p, random)
-				: MutatorResult.of(gt))
-			.collect(ISeq.toISeq());
 
-		return MutatorResult.of(
-			Genotype.of(result.map(MutatorResult::result)),
-			result.stream().mapToInt(MutatorResult::mutations).sum()
-		);
+		final MSeq<Chromosome<G>> result = MSeq.of(genotype);
+		int mutations = 0;
+		for (int i = 0, n = result.length(); i < n; ++i) {
+			if (random.nextInt() < P) {
+				final MutatorResult<Chromosome<G>> mutated =
+					mutate(result.get(i), p, random);
+
+				result.set(i, mutated.result());
+				mutations += mutated.mutations();
+			}
+		}
+
+		return MutatorResult.of(Genotype.of(result.toISeq()), mutations);
 	}
 
 	/**
@@ -195,19 +218,192 @@ public class Mutator<
 		final double p,
 		final Random random
 	) {
+		// The gene mutation can only be bypassed, if it hasn't been overridden.
+		if (getClass() == Mutator.class) {
+			final MutatorResult<Chromosome<G>> result =
+				mutateAlleles(chromosome, p, random);
+			if (result != null) {
+				return result;
+			}
+		}
+
 		final int P = Probabilities.toInt(p);
-		final ISeq<MutatorResult<G>> result = chromosome.stream()
-			.map(gene -> random.nextInt() < P
-				? MutatorResult.of(mutate(gene, random), 1)
-				: MutatorResult.of(gene))
-			.collect(ISeq.toISeq());
+
+		// Only the mutated genes are replaced. Genes which are stored in
+		// primitive arrays stay packed.
+		final MSeq<G> genes = AbstractChromosome.copyOf(chromosome);
+		int mutations = 0;
+		for (int i = 0, n = genes.length(); i < n; ++i) {
+			if (random.nextInt() < P) {
+				genes.set(i, mutate(genes.get(i), random));
+				++mutations;
+			}
+		}
 
 		return MutatorResult.of(
-			chromosome.newInstance(result.map(MutatorResult::result)),
-			result.stream().mapToInt(MutatorResult::mutations).sum()
+			chromosome.newInstance(genes.toISeq()),
+			mutations
 		);
 	}
 
+	/*
+	 * Mutates the alleles of bit chromosomes and chromosomes which store
+	 * their alleles in primitive arrays or buffers directly. The positions of
+	 * the mutated genes are drawn via geometric skipping, which needs only one
+	 * random number per mutated gene. The alleles are only copied if at least
+	 * one gene is mutated. Returns null if the chromosome type is not
+	 * supported.
+	 */
+	@SuppressWarnings("unchecked")
+	private MutatorResult<Chromosome<G>> mutateAlleles(
+		final Chromosome<G> chromosome,
+		final double p,
+		final Random random
+	) {
+		final double lnq = log(1.0 - p);
+
+		final MutatorResult<? extends ISeq<?>> result;
+		if (chromosome instanceof BitChromosome) {
+			result = mutate((BitChromosome)chromosome, lnq, random);
+		} else if (chromosome instanceof DoubleChromosome &&
+			((DoubleChromosome)chromosome).isPrimitive())
+		{
+			result = mutate((DoubleChromosome)chromosome, lnq, random);
+		} else if (chromosome instanceof IntegerChromosome &&
+			((IntegerChromosome)chromosome).isPrimitive())
+		{
+			result = mutate((IntegerChromosome)chromosome, lnq, random);
+		} else if (chromosome instanceof LongChromosome &&
+			((LongChromosome)chromosome).isPrimitive())
+		{
+			result = mutate((LongChromosome)chromosome, lnq, random);
+		} else {
+			return null;
+		}
+
+		return result.mutations() > 0
+			? MutatorResult.of(
+				chromosome.newInstance((ISeq<G>)result.result()),
+				result.mutations())
+			: MutatorResult.of(chromosome);
+	}
+
+	private static MutatorResult<ISeq<BitGene>> mutate(
+		final BitChromosome chromosome,
+		final double lnq,
+		final Random random
+	) {
+		final int length = chromosome.length();
+
+		byte[] bits = null;
+		int mutations = 0;
+		for (int i = next(-1, lnq, random); i < length; i = next(i, lnq, random)) {
+			if (bits == null) {
+				bits = chromosome._genes.clone();
+			}
+			if (random.nextBoolean()) {
+				Bits.set(bits, i);
+			} else {
+				Bits.unset(bits, i);
+			}
+			++mutations;
+		}
+
+		return mutations > 0
+			? MutatorResult.of(BitGeneMSeq.of(bits, length).toISeq(), mutations)
+			: MutatorResult.of(ISeq.empty());
+	}
+
+	private static MutatorResult<ISeq<DoubleGene>> mutate(
+		final DoubleChromosome chromosome,
+		final double lnq,
+		final Random random
+	) {
+		final double min = chromosome._min;
+		final double max = chromosome._max;
+		final int length = chromosome.length();
+
+		double[] alleles = null;
+		int mutations = 0;
+		for (int i = next(-1, lnq, random); i < length; i = next(i, lnq, random)) {
+			if (alleles == null) {
+				alleles = chromosome.toArray();
+			}
+			alleles[i] = nextDouble(min, max, random);
+			++mutations;
+		}
+
+		return mutations > 0
+			? MutatorResult.of(
+				DoubleGeneISeq.of(alleles, 0, length, min, max),
+				mutations)
+			: MutatorResult.of(chromosome._genes);
+	}
+
+	private static MutatorResult<ISeq<IntegerGene>> mutate(
+		final IntegerChromosome chromosome,
+		final double lnq,
+		final Random random
+	) {
+		final int min = chromosome._min;
+		final int max = chromosome._max;
+		final int length = chromosome.length();
+
+		int[] alleles = null;
+		int mutations = 0;
+		for (int i = next(-1, lnq, random); i < length; i = next(i, lnq, random)) {
+			if (alleles == null) {
+				alleles = chromosome.toArray();
+			}
+			alleles[i] = IntegerGene.nextInt(random, min, max);
+			++mutations;
+		}
+
+		return mutations > 0
+			? MutatorResult.of(
+				IntegerGeneISeq.of(alleles, 0, length, min, max),
+				mutations)
+			: MutatorResult.of(chromosome._genes);
+	}
+
+	private static MutatorResult<ISeq<LongGene>> mutate(
+		final LongChromosome chromosome,
+		final double lnq,
+		final Random random
+	) {
+		final long min = chromosome._min;
+		final long max = chromosome._max;
+		final int length = chromosome.length();
+
+		long[] alleles = null;
+		int mutations = 0;
+		for (int i = next(-1, lnq, random); i < length; i = next(i, lnq, random)) {
+			if (alleles == null) {
+				alleles = chromosome.toArray();
+			}
+			alleles[i] = LongGene.nextLong(random, min, max);
+			++mutations;
+		}
+
+		return mutations > 0
+			? MutatorResult.of(
+				LongGeneISeq.of(alleles, 0, length, min, max),
+				mutations)
+			: MutatorResult.of(chromosome._genes);
+	}
+
+	/*
+	 * Return the index of the next mutated gene, after the given one. The
+	 * number of skipped genes is geometrically distributed, where
+	 * lnq = log(1 - p). For p = 0, no index is returned at all.
+	 */
+	private static int next(final int index, final double lnq, final Random random) {
+		final double skip = floor(log(1.0 - random.nextDouble())/lnq);
+		return skip >= 0 && skip < Integer.MAX_VALUE - 1 - index
+			? index + 1 + (int)skip
+			: Integer.MAX_VALUE;
+	}
+
 	/**
 	 * Mutates the given gene.
 	 *
@@ -19,6 +19,7 @@
  */
 package io.jenetics;
 
+import java.io.Serializable;
 import java.util.Comparator;
 
 /**
@@ -27,7 +28,7 @@ import java.util.Comparator;
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
  * @since 1.0
- * @version 3.0
+ * @version 6.1
  */
 public enum Optimize {
 
@@ -89,7 +90,7 @@ public enum Optimize {
 	 * @return a new {@link Comparator} for the type {@code T}.
 	 */
 	public <T extends Comparable<? super T>> Comparator<T> descending() {
-		return (a, b) -> compare(b, a);
+		return (Comparator<T> & Serializable)(a, b) -> compare(b, a);
 	}
 
 	/**
@@ -111,7 +112,7 @@ public enum Optimize {
 	 * @return a new {@link Comparator} for the type {@code T}.
 	 */
 	public <T extends Comparable<? super T>> Comparator<T> ascending() {
-		return this::compare;
+		return (Comparator<T> & Serializable)this::compare;
 	}
 
 	/**
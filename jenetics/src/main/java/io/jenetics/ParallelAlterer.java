@@ -0,0 +1,372 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics;
+
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ObjIntConsumer;
+
+import io.jenetics.internal.math.SplitRandom;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.MSeq;
+import io.jenetics.util.RandomRegistry;
+import io.jenetics.util.Seq;
+
+/**
+ * Alterer, which alters the population concurrently. The population is
+ * divided into partitions of a fixed size, which are altered by the wrapped
+ * alterer, using the given {@link Executor}. Every partition is altered with
+ * its own random engine, which is split from a seed drawn from
+ * {@link RandomRegistry#random()}. Since the partitioning only depends on the
+ * population size, the altered population doesn't depend on the executor
+ * and the number of available threads. A seeded evolution, e.g. with
+ * {@link RandomRegistry#using(java.util.Random, java.util.function.Consumer)},
+ * stays reproducible.
+ *
+ * <pre>{@code
+ * final Engine<DoubleGene, Double> engine = Engine.builder(problem)
+ *     .alterers(ParallelAlterer.of(
+ *         Alterer.of(new Mutator<>(0.03), new MeanAlterer<>(0.6))
+ *     ))
+ *     .build();
+ * }</pre>
+ *
+ * @implNote
+ * The calling thread alters partitions itself and takes the next free
+ * partition until all partitions are taken. It only waits for partitions,
+ * which are already altered by other threads, and never for tasks waiting in
+ * the queue of the executor. This prevents a deadlock, if the alterer is
+ * called from a thread of the given executor. Nevertheless, the partitions
+ * are only altered concurrently if the executor has free threads. Prefer a
+ * {@link ForkJoinPool}, or an executor which is not used by the engine.
+ *
+ * @apiNote
+ * The wrapped alterer only <em>sees</em> the individuals of one partition.
+ * For recombinators this means, that the recombination partners are chosen
+ * from the same partition. Populations, which are not bigger than the
+ * partition size, are altered directly by the wrapped alterer.
+ *
+ * @param <G> the gene type
+ * @param <C> the fitness function result type
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @since 6.1
+ * @version 6.1
+ */
+public final class ParallelAlterer<
+	G extends Gene<?, G>,
+	C extends Comparable<? super C>
+>
+	implements Alterer<G, C>
+{
+
+	/**
+	 * The default partition size: 1,024
+	 */
+	public static final int DEFAULT_PARTITION_SIZE = 1024;
+
+	private final Alterer<G, C> _alterer;
+	private final Executor _executor;
+	private final int _partitionSize;
+
+	private ParallelAlterer(
+		final Alterer<G, C> alterer,
+		final Executor executor,
+		final int partitionSize
+	) {
+		if (partitionSize < 1) {
+			throw new IllegalArgumentException(format(
+				"Partition size must be greater than zero, but was %d.",
+				partitionSize
+			));
+		}
+
+		_alterer = requireNonNull(alterer);
+		_executor = requireNonNull(executor);
+		_partitionSize = partitionSize;
+	}
+
+	/**
+	 * Return the wrapped alterer.
+	 *
+	 * @return the wrapped alterer
+	 */
+	public Alterer<G, C> alterer() {
+		return _alterer;
+	}
+
+	/**
+	 * Return the number of individuals of one partition.
+	 *
+	 * @return the partition size
+	 */
+	public int partitionSize() {
+		return _partitionSize;
+	}
+
+	/**
+	 * Return the number of partitions, a population of the given {@code size}
+	 * is divided into.
+	 *
+	 * @param size the population size
+	 * @return the number of partitions of the given population size
+	 */
+	public int partitions(final int size) {
+		return size <= _partitionSize
+			? 1
+			: (size + _partitionSize - 1)/_partitionSize;
+	}
+
+	@Override
+	public AltererResult<G, C> alter(
+		final Seq<Phenotype<G, C>> population,
+		final long generation
+	) {
+		return alter(population, generation, (partition, index) -> {});
+	}
+
+	/**
+	 * Alters the given {@code population}, like {@link #alter(Seq, long)}, and
+	 * hands every altered partition to the given {@code consumer}, as soon as
+	 * it is available. This allows to process the altered partitions, e.g.
+	 * to evaluate them, while the remaining partitions are still altered. The
+	 * consumer is called with the altered partition and its index, from the
+	 * thread which altered the partition.
+	 *
+	 * @see #partitions(int)
+	 *
+	 * @param population the population to alter
+	 * @param generation the current generation
+	 * @param consumer the consumer of the altered partitions
+	 * @return the alter result of the whole population
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws CancellationException if the alteration of a partition, or the
+	 *         consumer of an altered partition, fails
+	 */
+	public AltererResult<G, C> alter(
+		final Seq<Phenotype<G, C>> population,
+		final long generation,
+		final ObjIntConsumer<? super ISeq<Phenotype<G, C>>> consumer
+	) {
+		requireNonNull(population);
+		requireNonNull(consumer);
+		if (population.size() <= _partitionSize) {
+			final AltererResult<G, C> result =
+				_alterer.alter(population, generation);
+			consumer.accept(result.population(), 0);
+			return result;
+		}
+
+		final SplitRandom random =
+			new SplitRandom(RandomRegistry.random().nextLong());
+
+		final int size = population.size();
+		final MSeq<Alteration<G, C>> alterations =
+			MSeq.ofLength((size + _partitionSize - 1)/_partitionSize);
+		for (int i = 0; i < alterations.length(); ++i) {
+			final int start = i*_partitionSize;
+			alterations.set(i, new Alteration<>(
+				_alterer,
+				population.subSeq(start, min(start + _partitionSize, size)),
+				generation,
+				random.split(),
+				i,
+				consumer
+			));
+		}
+
+		alter(alterations);
+
+		final MSeq<Phenotype<G, C>> result = MSeq.ofLength(size);
+		int count = 0;
+		int index = 0;
+		for (Alteration<G, C> alteration : alterations) {
+			for (Phenotype<G, C> pt : alteration._result.population()) {
+				result.set(index++, pt);
+			}
+			count += alteration._result.alterations();
+		}
+
+		return AltererResult.of(result.toISeq(), count);
+	}
+
+	// Alters the partitions with the executor and the calling thread. Every
+	// thread takes the next partition which is not altered yet.
+	private void alter(final Seq<Alteration<G, C>> alterations) {
+		final AtomicInteger next = new AtomicInteger();
+		final CountDownLatch latch = new CountDownLatch(alterations.size());
+		final Runnable worker = () -> {
+			int index;
+			while ((index = next.getAndIncrement()) < alterations.size()) {
+				try {
+					alterations.get(index).run();
+				} finally {
+					latch.countDown();
+				}
+			}
+		};
+
+		for (int i = 1; i < alterations.size(); ++i) {
+			_executor.execute(worker);
+		}
+		worker.run();
+
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw (CancellationException)new CancellationException(
+				e.getMessage()).initCause(e);
+		}
+
+		for (Alteration<G, C> alteration : alterations) {
+			if (alteration._failure != null) {
+				throw (CancellationException)new CancellationException(
+					alteration._failure.getMessage()
+				).initCause(alteration._failure);
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return format("ParallelAlterer[%s, %d]", _alterer, _partitionSize);
+	}
+
+	/**
+	 * Alteration of one partition, with its own random engine. The altered
+	 * partition is handed to the consumer.
+	 */
+	private static final class Alteration<
+		G extends Gene<?, G>,
+		C extends Comparable<? super C>
+	>
+		implements Runnable
+	{
+		private final Alterer<G, C> _alterer;
+		private final Seq<Phenotype<G, C>> _population;
+		private final long _generation;
+		private final SplitRandom _random;
+		private final int _index;
+		private final ObjIntConsumer<? super ISeq<Phenotype<G, C>>> _consumer;
+
+		private AltererResult<G, C> _result;
+		private Throwable _failure;
+
+		Alteration(
+			final Alterer<G, C> alterer,
+			final Seq<Phenotype<G, C>> population,
+			final long generation,
+			final SplitRandom random,
+			final int index,
+			final ObjIntConsumer<? super ISeq<Phenotype<G, C>>> consumer
+		) {
+			_alterer = alterer;
+			_population = population;
+			_generation = generation;
+			_random = random;
+			_index = index;
+			_consumer = consumer;
+		}
+
+		@Override
+		public void run() {
+			try {
+				_result = RandomRegistry.with(_random, r ->
+					_alterer.alter(_population, _generation)
+				);
+				_consumer.accept(_result.population(), _index);
+			} catch (Throwable e) {
+				_failure = e;
+			}
+		}
+	}
+
+
+	/* *************************************************************************
+	 * Static factory methods.
+	 **************************************************************************/
+
+	/**
+	 * Return a new alterer, which alters the partitions of the population,
+	 * with the given {@code partitionSize}, concurrently.
+	 *
+	 * @param alterer the wrapped alterer
+	 * @param executor the executor used for altering the partitions
+	 * @param partitionSize the number of individuals of one partition
+	 * @param <G> the gene type
+	 * @param <C> the fitness function result type
+	 * @return a new parallel alterer
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the {@code partitionSize} is smaller
+	 *         than one
+	 */
+	public static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	ParallelAlterer<G, C> of(
+		final Alterer<G, C> alterer,
+		final Executor executor,
+		final int partitionSize
+	) {
+		return new ParallelAlterer<>(alterer, executor, partitionSize);
+	}
+
+	/**
+	 * Return a new alterer, which alters the partitions of the population
+	 * concurrently, using the {@link #DEFAULT_PARTITION_SIZE}.
+	 *
+	 * @param alterer the wrapped alterer
+	 * @param executor the executor used for altering the partitions
+	 * @param <G> the gene type
+	 * @param <C> the fitness function result type
+	 * @return a new parallel alterer
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 */
+	public static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	ParallelAlterer<G, C> of(
+		final Alterer<G, C> alterer,
+		final Executor executor
+	) {
+		return new ParallelAlterer<>(alterer, executor, DEFAULT_PARTITION_SIZE);
+	}
+
+	/**
+	 * Return a new alterer, which alters the partitions of the population
+	 * concurrently, using the common {@link ForkJoinPool} and the
+	 * {@link #DEFAULT_PARTITION_SIZE}.
+	 *
+	 * @param alterer the wrapped alterer
+	 * @param <G> the gene type
+	 * @param <C> the fitness function result type
+	 * @return a new parallel alterer
+	 * @throws NullPointerException if the {@code alterer} is {@code null}
+	 */
+	public static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	ParallelAlterer<G, C> of(final Alterer<G, C> alterer) {
+		return of(alterer, ForkJoinPool.commonPool());
+	}
+
+}
@@ -27,8 +27,10 @@ import static io.jenetics.internal.math.Basics.ulpDistance;
 
 import java.util.Comparator;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
+import io.jenetics.internal.engine.RankedPopulation;
 import io.jenetics.internal.math.DoubleAdder;
 import io.jenetics.internal.util.Arrays;
 import io.jenetics.util.ISeq;
@@ -49,10 +51,16 @@ import io.jenetics.util.Seq;
  * <i>O(n+</i>log<i>(n))</i> instead of <i>O(n<sup>2</sup>)</i> as for the naive
  * approach: <i>A binary (index) search is performed on the summed probability
  * array.</i>
+ * <p>
+ * With the {@link Sampling#ALIAS} sampling, the individuals are drawn from an
+ * alias table instead, which is built in <i>O(n)</i> time and selects an
+ * individual in constant time. This sampling is faster for big populations
+ * and selection counts, but selects other individuals than the default
+ * {@link Sampling#CUMULATIVE} sampling for the same random seed.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
  * @since 1.0
- * @version 4.0
+ * @version 6.1
  */
 public abstract class ProbabilitySelector<
 	G extends Gene<?, G>,
@@ -67,9 +75,59 @@ public abstract class ProbabilitySelector<
 	protected final Comparator<Phenotype<G, C>> POPULATION_COMPARATOR = (a, b) ->
 		Optimize.MAXIMUM.<C>descending().compare(a.fitness(), b.fitness());
 
+	/**
+	 * The strategies for drawing the individuals from the calculated selection
+	 * probabilities.
+	 *
+	 * @since 6.1
+	 */
+	public enum Sampling {
+
+		/**
+		 * Performs a search on the cumulative probability array, for every
+		 * selected individual, which takes <i>O(</i>log<i>(n))</i> time.
+		 */
+		CUMULATIVE,
+
+		/**
+		 * Draws the individuals from an alias table (Walker's alias method),
+		 * which takes constant time for every selected individual.
+		 */
+		ALIAS
+
+	}
+
 	protected final boolean _sorted;
 	protected final Function<double[], double[]> _reverter;
 
+	private final Sampling _sampling;
+
+	// The alias table is reused by the following selections. It is taken by
+	// the selecting thread and put back after the selection.
+	private final AtomicReference<AliasTable> _table = new AtomicReference<>();
+
+	/**
+	 * Create a new {@code ProbabilitySelector} with the given {@code sorting}
+	 * flag and {@code sampling} strategy. <em>This flag must set to
+	 * {@code true} if the selector implementation is sorting the population
+	 * in the {@link #probabilities(Seq, int)} method.</em>
+	 *
+	 * @since 6.1
+	 *
+	 * @param sorted {@code true} if the implementation is sorting the
+	 *        population when calculating the selection probabilities,
+	 *        {@code false} otherwise.
+	 * @param sampling the sampling strategy of the selector
+	 * @throws NullPointerException if the {@code sampling} is {@code null}
+	 */
+	protected ProbabilitySelector(
+		final boolean sorted,
+		final Sampling sampling
+	) {
+		_sorted = sorted;
+		_reverter = sorted ? Arrays::revert : ProbabilitySelector::sortAndRevert;
+		_sampling = requireNonNull(sampling);
+	}
 
 	/**
 	 * Create a new {@code ProbabilitySelector} with the given {@code sorting}
@@ -82,8 +140,7 @@ public abstract class ProbabilitySelector<
 	 *        {@code false} otherwise.
 	 */
 	protected ProbabilitySelector(final boolean sorted) {
-		_sorted = sorted;
-		_reverter = sorted ? Arrays::revert : ProbabilitySelector::sortAndRevert;
+		this(sorted, Sampling.CUMULATIVE);
 	}
 
 	/**
@@ -93,6 +150,17 @@ public abstract class ProbabilitySelector<
 		this(false);
 	}
 
+	/**
+	 * Return the sampling strategy of this selector.
+	 *
+	 * @since 6.1
+	 *
+	 * @return the sampling strategy of this selector
+	 */
+	public Sampling sampling() {
+		return _sampling;
+	}
+
 	@Override
 	public ISeq<Phenotype<G, C>> select(
 		final Seq<Phenotype<G, C>> population,
@@ -113,7 +181,7 @@ public abstract class ProbabilitySelector<
 
 		if (count > 0 && !population.isEmpty()) {
 			final Seq<Phenotype<G, C>> pop = _sorted
-				? population.asISeq().copy().sort(POPULATION_COMPARATOR)
+				? sorted(population)
 				: population;
 
 
@@ -124,10 +192,20 @@ public abstract class ProbabilitySelector<
 			checkAndCorrect(prob);
 			assert sum2one(prob) : "Probabilities doesn't sum to one.";
 
-			incremental(prob);
-
 			final Random random = RandomRegistry.random();
-			selection.fill(() -> pop.get(indexOf(prob, random.nextDouble())));
+			if (_sampling == Sampling.ALIAS) {
+				AliasTable table = _table.getAndSet(null);
+				if (table == null) {
+					table = new AliasTable();
+				}
+
+				final AliasTable alias = table.update(prob);
+				selection.fill(() -> pop.get(alias.next(random)));
+				_table.set(alias);
+			} else {
+				incremental(prob);
+				selection.fill(() -> pop.get(indexOf(prob, random.nextDouble())));
+			}
 		}
 
 		return selection.toISeq();
@@ -155,6 +233,17 @@ public abstract class ProbabilitySelector<
 			: probabilities(population, count);
 	}
 
+	// Return the population in descending fitness order. The ranking of an
+	// already ranked population is reused.
+	final Seq<Phenotype<G, C>> sorted(final Seq<Phenotype<G, C>> population) {
+		final int[] ranking = RankedPopulation.ranking(population, Optimize.MAXIMUM);
+		final MSeq<Phenotype<G, C>> sorted = MSeq.ofLength(ranking.length);
+		for (int i = 0; i < ranking.length; ++i) {
+			sorted.set(i, population.get(ranking[i]));
+		}
+		return sorted;
+	}
+
 	// Package private for testing.
 	static double[] sortAndRevert(final double[] array) {
 		final int[] indexes = ProxySorter.sort(array);
@@ -38,7 +38,7 @@ import io.jenetics.util.Seq;
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
  * @since 1.0
- * @version 5.0
+ * @version 6.1
  */
 public class RouletteWheelSelector<
 	G extends Gene<?, G>,
@@ -55,6 +55,18 @@ public class RouletteWheelSelector<
 		super(sorted);
 	}
 
+	/**
+	 * Create a new roulette-wheel selector with the given sampling strategy.
+	 *
+	 * @since 6.1
+	 *
+	 * @param sampling the sampling strategy of the selector
+	 * @throws NullPointerException if the {@code sampling} is {@code null}
+	 */
+	public RouletteWheelSelector(final Sampling sampling) {
+		super(false, sampling);
+	}
+
 	@Override
 	protected double[] probabilities(
 		final Seq<Phenotype<G, N>> population,
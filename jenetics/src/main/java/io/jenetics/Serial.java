@@ -49,6 +49,9 @@ final class Serial implements Externalizable {
 	static final byte PHENOTYPE = 11;
 
 	static final byte BIT_GENE_STORE = 12;
+	static final byte DOUBLE_GENE_STORE = 13;
+	static final byte INTEGER_GENE_STORE = 14;
+	static final byte LONG_GENE_STORE = 15;
 
 	/**
 	 * The type being serialized.
@@ -93,6 +96,9 @@ final class Serial implements Externalizable {
 			case GENOTYPE: ((Genotype)_object).write(out); break;
 			case PHENOTYPE: ((Phenotype)_object).write(out); break;
 			case BIT_GENE_STORE: ((BitGeneStore)_object).write(out); break;
+			case DOUBLE_GENE_STORE: ((DoubleGeneStore)_object).write(out); break;
+			case INTEGER_GENE_STORE: ((IntegerGeneStore)_object).write(out); break;
+			case LONG_GENE_STORE: ((LongGeneStore)_object).write(out); break;
 			default:
 				throw new StreamCorruptedException("Unknown serialized type.");
 		}
@@ -116,6 +122,9 @@ final class Serial implements Externalizable {
 			case GENOTYPE: _object = Genotype.read(in); break;
 			case PHENOTYPE: _object = Phenotype.read(in); break;
 			case BIT_GENE_STORE: _object = BitGeneStore.read(in); break;
+			case DOUBLE_GENE_STORE: _object = DoubleGeneStore.read(in); break;
+			case INTEGER_GENE_STORE: _object = IntegerGeneStore.read(in); break;
+			case LONG_GENE_STORE: _object = LongGeneStore.read(in); break;
 			default:
 				throw new StreamCorruptedException("Unknown serialized type.");
 		}
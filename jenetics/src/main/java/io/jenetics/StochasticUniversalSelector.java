@@ -84,7 +84,7 @@ public class StochasticUniversalSelector<
 		final MSeq<Phenotype<G, N>> selection = MSeq.ofLength(count);
 
 		final Seq<Phenotype<G, N>> pop = _sorted
-			? population.asISeq().copy().sort(POPULATION_COMPARATOR)
+			? sorted(population)
 			: population;
 
 		final double[] probabilities = probabilities(pop, count, opt);
@@ -24,8 +24,11 @@ import static java.util.Objects.requireNonNull;
 
 import java.util.Comparator;
 import java.util.Random;
-import java.util.stream.Stream;
+import java.util.SplittableRandom;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
 
+import io.jenetics.internal.util.IntComparator;
 import io.jenetics.util.ISeq;
 import io.jenetics.util.MSeq;
 import io.jenetics.util.RandomRegistry;
@@ -40,12 +43,22 @@ import io.jenetics.util.Seq;
  * in all the tournaments it participates. The selection pressure can be varied
  * by changing the tournament size <i>s</i> . For large values of <i>s</i>, weak
  * individuals have less chance being selected.
+ * <p>
+ * If the individuals are compared by their natural order and the fitness
+ * values are {@link Double}, {@link Float}, {@link Long}, {@link Integer},
+ * {@link Short} or {@link Byte} objects, the fitness values are copied into a
+ * primitive array once per {@code select} call and the tournaments compare
+ * the array elements directly. Large selections are split into blocks, which
+ * are selected in parallel. Each block uses its own random engine, seeded
+ * from the {@link RandomRegistry#random()} engine, which keeps the selection
+ * result deterministic for a given seed, independent of the number of
+ * threads.
  *
  * @see <a href="http://en.wikipedia.org/wiki/Tournament_selection">Tournament selection</a>
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
  * @since 1.0
- * @version 6.0
+ * @version 6.1
  */
 public class TournamentSelector<
 	G extends Gene<?, G>,
@@ -54,9 +67,32 @@ public class TournamentSelector<
 	implements Selector<G, C>
 {
 
+	// Selections are performed in parallel if the selection count reaches
+	// this threshold.
+	static final int PARALLEL_THRESHOLD = 1 << 16;
+
+	// Number of selections performed with one random engine.
+	static final int BLOCK_SIZE = 1 << 12;
+
 	private final Comparator<? super Phenotype<G, C>> _comparator;
+	private final boolean _natural;
 	private final int _sampleSize;
 
+	private TournamentSelector(
+		final Comparator<? super Phenotype<G, C>> comparator,
+		final boolean natural,
+		final int sampleSize
+	) {
+		_comparator = requireNonNull(comparator);
+		_natural = natural;
+		if (sampleSize < 2) {
+			throw new IllegalArgumentException(
+				"Sample size must be greater than one, but was " + sampleSize
+			);
+		}
+		_sampleSize = sampleSize;
+	}
+
 	/**
 	 * Create a tournament selector with the give {@code comparator} and
 	 * sample size. The sample size must be greater than one.
@@ -74,13 +110,7 @@ public class TournamentSelector<
 		final Comparator<? super Phenotype<G, C>> comparator,
 		final int sampleSize
 	) {
-		_comparator = requireNonNull(comparator);
-		if (sampleSize < 2) {
-			throw new IllegalArgumentException(
-				"Sample size must be greater than one, but was " + sampleSize
-			);
-		}
-		_sampleSize = sampleSize;
+		this(comparator, false, sampleSize);
 	}
 
 	/**
@@ -91,14 +121,14 @@ public class TournamentSelector<
 	 * @throws IllegalArgumentException if the sample size is smaller than two.
 	 */
 	public TournamentSelector(final int sampleSize) {
-		this(Phenotype::compareTo, sampleSize);
+		this(Phenotype::compareTo, true, sampleSize);
 	}
 
 	/**
 	 * Create a tournament selector with sample size two.
 	 */
 	public TournamentSelector() {
-		this(Phenotype::compareTo,2);
+		this(Phenotype::compareTo, true, 2);
 	}
 
 	/**
@@ -127,32 +157,123 @@ public class TournamentSelector<
 			));
 		}
 
+		if (population.isEmpty() || count == 0) {
+			return ISeq.empty();
+		}
+
+		final int size = population.size();
+		final IntComparator comparator = comparator(population, opt);
 		final Random random = RandomRegistry.random();
-		return population.isEmpty()
-			? ISeq.empty()
-			: MSeq.<Phenotype<G, C>>ofLength(count)
-				.fill(() -> select(population, opt, random))
-				.toISeq();
+
+		final int[] winners = new int[count];
+		if (count < PARALLEL_THRESHOLD) {
+			select(comparator, size, random::nextInt, winners, 0, count);
+		} else {
+			final long[] seeds = random
+				.longs((count + BLOCK_SIZE - 1)/BLOCK_SIZE)
+				.toArray();
+
+			IntStream.range(0, seeds.length).parallel().forEach(i -> {
+				final SplittableRandom rnd = new SplittableRandom(seeds[i]);
+				select(
+					comparator, size, rnd::nextInt, winners,
+					i*BLOCK_SIZE, Math.min((i + 1)*BLOCK_SIZE, count)
+				);
+			});
+		}
+
+		final MSeq<Phenotype<G, C>> selection = MSeq.ofLength(count);
+		for (int i = 0; i < count; ++i) {
+			selection.set(i, population.get(winners[i]));
+		}
+		return selection.toISeq();
+	}
+
+	/*
+	 * Performs the tournaments for the winner indexes [from, until). The
+	 * first of equally good competitors wins the tournament.
+	 */
+	private void select(
+		final IntComparator comparator,
+		final int size,
+		final IntUnaryOperator random,
+		final int[] winners,
+		final int from,
+		final int until
+	) {
+		assert _sampleSize >= 2;
+		assert size >= 1;
+
+		for (int i = from; i < until; ++i) {
+			int winner = random.applyAsInt(size);
+			for (int j = 1; j < _sampleSize; ++j) {
+				final int competitor = random.applyAsInt(size);
+				if (comparator.compare(competitor, winner) > 0) {
+					winner = competitor;
+				}
+			}
+			winners[i] = winner;
+		}
 	}
 
-	private Phenotype<G, C> select(
+	/*
+	 * Return the comparator for the population indexes, where the better
+	 * individual is the greater one.
+	 */
+	private IntComparator comparator(
 		final Seq<Phenotype<G, C>> population,
-		final Optimize opt,
-		final Random random
+		final Optimize opt
 	) {
-		final int N = population.size();
+		final IntComparator comparator;
+		if (_natural && isNumber(population, Double.class, Float.class)) {
+			final double[] fitness = new double[population.size()];
+			for (int i = 0; i < fitness.length; ++i) {
+				fitness[i] = ((Number)population.get(i).fitness()).doubleValue();
+			}
+			comparator = (i, j) -> Double.compare(fitness[i], fitness[j]);
+		} else if (_natural && isNumber(
+			population, Long.class, Integer.class, Short.class, Byte.class))
+		{
+			final long[] fitness = new long[population.size()];
+			for (int i = 0; i < fitness.length; ++i) {
+				fitness[i] = ((Number)population.get(i).fitness()).longValue();
+			}
+			comparator = (i, j) -> Long.compare(fitness[i], fitness[j]);
+		} else {
+			comparator = (i, j) ->
+				_comparator.compare(population.get(i), population.get(j));
+		}
 
-		assert _sampleSize >= 2;
-		assert N >= 1;
+		return opt == Optimize.MAXIMUM
+			? comparator
+			: (i, j) -> comparator.compare(j, i);
+	}
 
-		final Comparator<? super Phenotype<G, C>> cmp = opt == Optimize.MAXIMUM
-			? _comparator
-			: _comparator.reversed();
+	/*
+	 * Return true if all individuals are evaluated and the fitness values are
+	 * of the same type, which must be one of the given number types.
+	 */
+	private static boolean isNumber(
+		final Seq<? extends Phenotype<?, ?>> population,
+		final Class<?>... types
+	) {
+		final Phenotype<?, ?> first = population.get(0);
+		if (first.nonEvaluated()) {
+			return false;
+		}
+
+		final Class<?> type = first.fitness().getClass();
+		boolean supported = false;
+		for (Class<?> t : types) {
+			supported |= t == type;
+		}
+
+		for (int i = 1, n = population.size(); i < n && supported; ++i) {
+			final Phenotype<?, ?> pt = population.get(i);
+			supported = pt.isEvaluated() && pt.fitness().getClass() == type;
+		}
 
-		return Stream.generate(() -> population.get(random.nextInt(N)))
-			.limit(_sampleSize)
-			.max(cmp)
-			.orElseThrow(AssertionError::new);
+		return supported;
 	}
 
 	@Override
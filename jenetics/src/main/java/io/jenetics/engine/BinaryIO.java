@@ -0,0 +1,535 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.engine;
+
+import static java.util.Objects.requireNonNull;
+import static io.jenetics.internal.engine.BinaryCodec.readFitness;
+import static io.jenetics.internal.engine.BinaryCodec.readGenotype;
+import static io.jenetics.internal.engine.BinaryCodec.writeFitness;
+import static io.jenetics.internal.engine.BinaryCodec.writeGenotype;
+import static io.jenetics.internal.util.SerialIO.readInt;
+import static io.jenetics.internal.util.SerialIO.readLong;
+import static io.jenetics.internal.util.SerialIO.writeInt;
+import static io.jenetics.internal.util.SerialIO.writeLong;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.NotSerializableException;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.time.Duration;
+
+import io.jenetics.Genotype;
+import io.jenetics.Optimize;
+import io.jenetics.Phenotype;
+import io.jenetics.util.IO;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.MSeq;
+import io.jenetics.util.Seq;
+
+/**
+ * Compact, versioned binary format for {@link Genotype}s, {@link Phenotype}s,
+ * populations ({@code Seq<Phenotype>} and {@code Seq<Genotype>}) and
+ * {@link EvolutionResult}s. Compared to the {@link IO#object} serialization,
+ * the alleles of the numeric chromosomes are written as packed primitive
+ * arrays and the bit chromosomes as raw bytes, without any per-gene object
+ * overhead. Chromosomes and fitness values without a compact representation
+ * are written with <em>Java</em> serialization.
+ *
+ * <pre>{@code
+ * final EvolutionResult<DoubleGene, Double> result = ...;
+ * BinaryIO.binary.write(result, Path.of("result.bin"));
+ *
+ * // Reading the result and continuing the evolution.
+ * final EvolutionResult<DoubleGene, Double> read = BinaryIO.binary
+ *     .read(EvolutionResult.class, Path.of("result.bin"));
+ * final EvolutionStream<DoubleGene, Double> stream = engine
+ *     .stream(read.toEvolutionStart());
+ * }</pre>
+ *
+ * Beside the {@code OutputStream} and {@code InputStream} methods, objects
+ * can be written to and read from {@link ByteBuffer}s (e.g. a memory mapped
+ * file), byte channels (e.g. a {@link java.nio.channels.FileChannel}) and
+ * {@link DataOutput}/{@link DataInput} objects. Several objects can be
+ * written, one after another, into the same {@code ByteBuffer} or
+ * {@code DataOutput} and read back in the same order.
+ *
+ * <p>Every object starts with a header, containing a magic number, the
+ * format version and the object type. Reading data, written with a newer
+ * (unknown) format version, fails with a {@link StreamCorruptedException}.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 6.1
+ * @since 6.1
+ */
+public final class BinaryIO extends IO {
+
+	/**
+	 * The binary IO instance.
+	 */
+	public static final BinaryIO binary = new BinaryIO();
+
+	/**
+	 * The magic number, written at the beginning of every object.
+	 */
+	static final int MAGIC = 0x4A42494E;
+
+	/**
+	 * The current version of the binary format.
+	 */
+	static final int VERSION = 1;
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	// Object types.
+	private static final byte GENOTYPE = 1;
+	private static final byte PHENOTYPE = 2;
+	private static final byte GENOTYPES = 3;
+	private static final byte POPULATION = 4;
+	private static final byte EVOLUTION_RESULT = 5;
+
+	private BinaryIO() {
+	}
+
+
+	/* *************************************************************************
+	 * Writing objects.
+	 * ************************************************************************/
+
+	/**
+	 * Write the given {@code object} to the given output stream. The stream
+	 * is flushed, but not closed.
+	 *
+	 * @param object the object to write
+	 * @param out the output stream to write the object to
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws NotSerializableException if the type of the given
+	 *         {@code object} is not supported by the binary format
+	 * @throws IOException if the object could not be written
+	 */
+	@Override
+	public void write(final Object object, final OutputStream out)
+		throws IOException
+	{
+		final var dout = new DataOutputStream(
+			new BufferedOutputStream(out, BUFFER_SIZE)
+		);
+		write(object, (DataOutput)dout);
+		dout.flush();
+	}
+
+	/**
+	 * Write the given {@code object} to the given byte channel, e.g. a
+	 * {@link java.nio.channels.FileChannel}. The channel is not closed.
+	 *
+	 * @param object the object to write
+	 * @param channel the channel to write the object to
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws NotSerializableException if the type of the given
+	 *         {@code object} is not supported by the binary format
+	 * @throws IOException if the object could not be written
+	 */
+	public void write(final Object object, final WritableByteChannel channel)
+		throws IOException
+	{
+		write(object, Channels.newOutputStream(channel));
+	}
+
+	/**
+	 * Write the given {@code object} to the given byte buffer, starting at
+	 * its current position. After the call, the position of the buffer points
+	 * to the first byte after the written object.
+	 *
+	 * @param object the object to write
+	 * @param buffer the buffer to write the object to
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws java.nio.BufferOverflowException if the remaining space of the
+	 *         buffer is too small
+	 * @throws NotSerializableException if the type of the given
+	 *         {@code object} is not supported by the binary format
+	 * @throws IOException if the object could not be written
+	 */
+	public void write(final Object object, final ByteBuffer buffer)
+		throws IOException
+	{
+		requireNonNull(buffer);
+		write(object, (DataOutput)new DataOutputStream(new OutputStream() {
+			@Override
+			public void write(final int b) {
+				buffer.put((byte)b);
+			}
+			@Override
+			public void write(final byte[] b, final int off, final int len) {
+				buffer.put(b, off, len);
+			}
+		}));
+	}
+
+	/**
+	 * Write the given {@code object} to the given data output. The written
+	 * bytes are not buffered by this method.
+	 *
+	 * @param object the object to write
+	 * @param out the data output to write the object to
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws NotSerializableException if the type of the given
+	 *         {@code object} is not supported by the binary format
+	 * @throws IOException if the object could not be written
+	 */
+	public void write(final Object object, final DataOutput out)
+		throws IOException
+	{
+		requireNonNull(object);
+		requireNonNull(out);
+
+		if (object instanceof Genotype) {
+			writeHeader(GENOTYPE, out);
+			writeGenotype((Genotype<?>)object, out);
+		} else if (object instanceof Phenotype) {
+			writeHeader(PHENOTYPE, out);
+			writePhenotype((Phenotype<?, ?>)object, out);
+		} else if (object instanceof EvolutionResult) {
+			writeHeader(EVOLUTION_RESULT, out);
+			writeResult((EvolutionResult<?, ?>)object, out);
+		} else if (object instanceof Seq &&
+			((Seq<?>)object).forAll(Genotype.class::isInstance) &&
+			!((Seq<?>)object).isEmpty())
+		{
+			final Seq<?> genotypes = (Seq<?>)object;
+			writeHeader(GENOTYPES, out);
+			writeInt(genotypes.length(), out);
+			for (Object gt : genotypes) {
+				writeGenotype((Genotype<?>)gt, out);
+			}
+		} else if (object instanceof Seq &&
+			((Seq<?>)object).forAll(Phenotype.class::isInstance))
+		{
+			writeHeader(POPULATION, out);
+			writePopulation((Seq<?>)object, out);
+		} else {
+			throw new NotSerializableException(object.getClass().getName());
+		}
+	}
+
+	private static void writeHeader(final byte type, final DataOutput out)
+		throws IOException
+	{
+		out.writeInt(MAGIC);
+		out.writeByte(VERSION);
+		out.writeByte(type);
+	}
+
+	private static void writeResult(
+		final EvolutionResult<?, ?> result,
+		final DataOutput out
+	)
+		throws IOException
+	{
+		out.writeByte(result.optimize() == Optimize.MINIMUM ? 0 : 1);
+		writeLong(result.generation(), out);
+		writeLong(result.totalGenerations(), out);
+		writeDurations(result.durations(), out);
+		writeInt(result.killCount(), out);
+		writeInt(result.invalidCount(), out);
+		writeInt(result.alterCount(), out);
+		writePopulation(result.population(), out);
+	}
+
+	static void writeDurations(
+		final EvolutionDurations durations,
+		final DataOutput out
+	)
+		throws IOException
+	{
+		writeDuration(durations.offspringSelectionDuration(), out);
+		writeDuration(durations.survivorsSelectionDuration(), out);
+		writeDuration(durations.offspringAlterDuration(), out);
+		writeDuration(durations.offspringFilterDuration(), out);
+		writeDuration(durations.survivorFilterDuration(), out);
+		writeDuration(durations.evaluationDuration(), out);
+		writeDuration(durations.evolveDuration(), out);
+		writeInt(durations.evaluationBatchSize(), out);
+	}
+
+	private static void writeDuration(
+		final Duration duration,
+		final DataOutput out
+	)
+		throws IOException
+	{
+		writeLong(duration.getSeconds(), out);
+		writeInt(duration.getNano(), out);
+	}
+
+	private static void writePopulation(
+		final Seq<?> population,
+		final DataOutput out
+	)
+		throws IOException
+	{
+		writeInt(population.length(), out);
+		for (Object pt : population) {
+			writePhenotype((Phenotype<?, ?>)pt, out);
+		}
+	}
+
+	static void writePhenotype(
+		final Phenotype<?, ?> pt,
+		final DataOutput out
+	)
+		throws IOException
+	{
+		writeGenotype(pt.genotype(), out);
+		writeLong(pt.generation(), out);
+		writeFitness(pt.isEvaluated() ? pt.fitness() : null, out);
+	}
+
+
+	/* *************************************************************************
+	 * Reading objects.
+	 * ************************************************************************/
+
+	/**
+	 * Reads an object from the given input stream. The input stream is
+	 * buffered and might be read beyond the end of the object.
+	 *
+	 * @param <T> the type of the read object
+	 * @param type the type of the read object
+	 * @param in the input stream to read from
+	 * @return the read object
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IOException if the object could not be read
+	 */
+	@Override
+	public <T> T read(final Class<T> type, final InputStream in)
+		throws IOException
+	{
+		return read(
+			type,
+			(DataInput)new DataInputStream(
+				new BufferedInputStream(in, BUFFER_SIZE)
+			)
+		);
+	}
+
+	/**
+	 * Reads an object from the given byte channel, e.g. a
+	 * {@link java.nio.channels.FileChannel}. The channel is buffered and
+	 * might be read beyond the end of the object.
+	 *
+	 * @param <T> the type of the read object
+	 * @param type the type of the read object
+	 * @param channel the channel to read from
+	 * @return the read object
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IOException if the object could not be read
+	 */
+	public <T> T read(final Class<T> type, final ReadableByteChannel channel)
+		throws IOException
+	{
+		return read(type, Channels.newInputStream(channel));
+	}
+
+	/**
+	 * Reads an object from the given byte buffer, starting at its current
+	 * position. After the call, the position of the buffer points to the
+	 * first byte after the read object.
+	 *
+	 * @param <T> the type of the read object
+	 * @param type the type of the read object
+	 * @param buffer the buffer to read from
+	 * @return the read object
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IOException if the object could not be read
+	 */
+	public <T> T read(final Class<T> type, final ByteBuffer buffer)
+		throws IOException
+	{
+		requireNonNull(buffer);
+		return read(type, (DataInput)new DataInputStream(new InputStream() {
+			@Override
+			public int read() {
+				return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+			}
+			@Override
+			public int read(final byte[] b, final int off, final int len) {
+				if (len == 0) {
+					return 0;
+				}
+				if (!buffer.hasRemaining()) {
+					return -1;
+				}
+				final int n = Math.min(len, buffer.remaining());
+				buffer.get(b, off, n);
+				return n;
+			}
+		}));
+	}
+
+	/**
+	 * Reads an object from the given data input.
+	 *
+	 * @param <T> the type of the read object
+	 * @param type the type of the read object
+	 * @param in the data input to read from
+	 * @return the read object
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IOException if the object could not be read
+	 */
+	public <T> T read(final Class<T> type, final DataInput in)
+		throws IOException
+	{
+		requireNonNull(type);
+		requireNonNull(in);
+
+		final byte objectType = readHeader(in);
+		final Object object;
+		switch (objectType) {
+			case GENOTYPE:
+				object = readGenotype(in);
+				break;
+			case PHENOTYPE:
+				object = readPhenotype(in);
+				break;
+			case GENOTYPES: {
+				final MSeq<Genotype<?>> genotypes = MSeq.ofLength(readInt(in));
+				for (int i = 0; i < genotypes.length(); ++i) {
+					genotypes.set(i, readGenotype(in));
+				}
+				object = genotypes.toISeq();
+				break;
+			}
+			case POPULATION:
+				object = readPopulation(in);
+				break;
+			case EVOLUTION_RESULT:
+				object = readResult(in);
+				break;
+			default:
+				throw new StreamCorruptedException(
+					"Unknown object type: " + objectType
+				);
+		}
+
+		try {
+			return type.cast(object);
+		} catch (ClassCastException e) {
+			throw new IOException(e);
+		}
+	}
+
+	private static byte readHeader(final DataInput in) throws IOException {
+		final int magic = in.readInt();
+		if (magic != MAGIC) {
+			throw new StreamCorruptedException(String.format(
+				"Invalid binary header: %08x", magic
+			));
+		}
+		final int version = in.readUnsignedByte();
+		if (version > VERSION) {
+			throw new StreamCorruptedException(String.format(
+				"Unsupported binary format version: %d", version
+			));
+		}
+		return in.readByte();
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static EvolutionResult<?, ?> readResult(final DataInput in)
+		throws IOException
+	{
+		final Optimize optimize = in.readByte() == 0
+			? Optimize.MINIMUM
+			: Optimize.MAXIMUM;
+		final long generation = readLong(in);
+		final long totalGenerations = readLong(in);
+		final EvolutionDurations durations = readDurations(in);
+		final int killCount = readInt(in);
+		final int invalidCount = readInt(in);
+		final int alterCount = readInt(in);
+		final ISeq population = readPopulation(in);
+
+		return EvolutionResult.of(
+			optimize,
+			population,
+			generation,
+			totalGenerations,
+			durations,
+			killCount,
+			invalidCount,
+			alterCount
+		);
+	}
+
+	static EvolutionDurations readDurations(final DataInput in)
+		throws IOException
+	{
+		return EvolutionDurations.of(
+			readDuration(in),
+			readDuration(in),
+			readDuration(in),
+			readDuration(in),
+			readDuration(in),
+			readDuration(in),
+			readDuration(in),
+			readInt(in)
+		);
+	}
+
+	private static Duration readDuration(final DataInput in)
+		throws IOException
+	{
+		return Duration.ofSeconds(readLong(in), readInt(in));
+	}
+
+	private static ISeq<Phenotype<?, ?>> readPopulation(final DataInput in)
+		throws IOException
+	{
+		final MSeq<Phenotype<?, ?>> population = MSeq.ofLength(readInt(in));
+		for (int i = 0; i < population.length(); ++i) {
+			population.set(i, readPhenotype(in));
+		}
+		return population.toISeq();
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	static Phenotype<?, ?> readPhenotype(final DataInput in)
+		throws IOException
+	{
+		final Genotype genotype = readGenotype(in);
+		final long generation = readLong(in);
+		final Comparable fitness = (Comparable)readFitness(in);
+
+		return fitness != null
+			? Phenotype.of(genotype, generation, fitness)
+			: Phenotype.of(genotype, generation);
+	}
+
+}
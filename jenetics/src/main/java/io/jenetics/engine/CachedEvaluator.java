@@ -0,0 +1,302 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.engine;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import io.jenetics.Gene;
+import io.jenetics.Genotype;
+import io.jenetics.Phenotype;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.MSeq;
+import io.jenetics.util.Seq;
+
+/**
+ * Fitness evaluator, which caches the fitness values of already evaluated
+ * genotypes. Only the phenotypes which are not found in the cache are
+ * forwarded to the decorated evaluator. The number of cached fitness values
+ * is bounded and the <em>least recently used</em> entries are evicted first.
+ *
+ * <pre>{@code
+ * final CachedEvaluator<DoubleGene, Double> evaluator = Evaluators.cached(
+ *     Evaluators.concurrent(Main::fitness, ForkJoinPool.commonPool()),
+ *     10_000
+ * );
+ * final Engine<DoubleGene, Double> engine =
+ *     new Engine.Builder<>(evaluator, genotypeFactory)
+ *         .build();
+ *
+ * final EvolutionResult<DoubleGene, Double> result = engine.stream()
+ *     .limit(100)
+ *     .collect(EvolutionResult.toBestEvolutionResult());
+ *
+ * System.out.println(evaluator);
+ * }</pre>
+ *
+ * The cache is only useful if the same genotypes are evaluated several times,
+ * e.g. if the fitness of surviving phenotypes is reset. It is keyed by the
+ * genotype itself by default. A cheaper or coarser key can be given with the
+ * {@link Evaluators#cached(Evaluator, Function, int)} factory method.
+ *
+ * @implNote
+ * This class is thread-safe. The same evaluator can be shared between
+ * several engines, as long as they use the same fitness function.
+ *
+ * @see Evaluators#cached(Evaluator, int)
+ * @see Evaluators#cached(Evaluator, Function, int)
+ *
+ * @param <G> the gene type
+ * @param <C> the fitness result type
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 6.1
+ * @since 6.1
+ */
+public final class CachedEvaluator<
+	G extends Gene<?, G>,
+	C extends Comparable<? super C>
+>
+	implements Evaluator<G, C>
+{
+
+	private final Evaluator<G, C> _evaluator;
+	private final Function<? super Genotype<G>, ?> _key;
+	private final Cache<C> _cache;
+
+	private CachedEvaluator(
+		final Evaluator<G, C> evaluator,
+		final Function<? super Genotype<G>, ?> key,
+		final Cache<C> cache
+	) {
+		_evaluator = requireNonNull(evaluator);
+		_key = requireNonNull(key);
+		_cache = requireNonNull(cache);
+	}
+
+	CachedEvaluator(
+		final Evaluator<G, C> evaluator,
+		final Function<? super Genotype<G>, ?> key,
+		final int maxSize
+	) {
+		this(evaluator, key, new Cache<>(maxSize));
+	}
+
+	// Replaces the executor of the decorated, concurrent evaluator. The
+	// fitness cache is shared with the returned evaluator.
+	CachedEvaluator<G, C> with(final Executor executor) {
+		return _evaluator instanceof ConcurrentEvaluator
+			? new CachedEvaluator<>(
+				((ConcurrentEvaluator<G, C>)_evaluator).with(executor),
+				_key,
+				_cache)
+			: this;
+	}
+
+	@Override
+	public ISeq<Phenotype<G, C>> eval(final Seq<Phenotype<G, C>> population) {
+		final MSeq<Phenotype<G, C>> result = MSeq.of(population);
+
+		// Cache keys of the not cached phenotypes with their indexes, in
+		// population order.
+		final Map<Object, List<Integer>> misses = new LinkedHashMap<>();
+		final List<Phenotype<G, C>> evaluate = new ArrayList<>();
+
+		synchronized (_cache) {
+			for (int i = 0, n = result.length(); i < n; ++i) {
+				final Phenotype<G, C> pt = result.get(i);
+
+				if (pt.nonEvaluated()) {
+					final Object key = _key.apply(pt.genotype());
+					final C fitness = _cache.get(key);
+
+					if (fitness != null) {
+						result.set(i, pt.withFitness(fitness));
+						++_cache.hits;
+					} else {
+						final List<Integer> indexes = misses.get(key);
+						if (indexes == null) {
+							misses.put(key, new ArrayList<>(List.of(i)));
+							evaluate.add(pt);
+							++_cache.misses;
+						} else {
+							indexes.add(i);
+							++_cache.hits;
+						}
+					}
+				}
+			}
+		}
+
+		if (!evaluate.isEmpty()) {
+			final ISeq<Phenotype<G, C>> evaluated =
+				_evaluator.eval(ISeq.of(evaluate));
+
+			final Map<Object, C> fitness = new HashMap<>();
+			for (Phenotype<G, C> pt : evaluated) {
+				fitness.put(_key.apply(pt.genotype()), pt.fitness());
+			}
+
+			synchronized (_cache) {
+				for (var entry : misses.entrySet()) {
+					final C value = fitness.get(entry.getKey());
+					if (value == null) {
+						throw new IllegalStateException(format(
+							"Evaluator returned no fitness value for key %s.",
+							entry.getKey()
+						));
+					}
+
+					_cache.put(entry.getKey(), value);
+					for (int index : entry.getValue()) {
+						result.set(index, result.get(index).withFitness(value));
+					}
+				}
+			}
+		}
+
+		return result.toISeq();
+	}
+
+	// Return the batch size of the last evaluation of the decorated
+	// evaluator.
+	int batchSize() {
+		return Evaluators.batchSize(_evaluator);
+	}
+
+	/**
+	 * Return the number of phenotypes whose fitness value has been taken from
+	 * the cache, without calling the decorated evaluator.
+	 *
+	 * @return the number of cache hits
+	 */
+	public long hitCount() {
+		synchronized (_cache) {
+			return _cache.hits;
+		}
+	}
+
+	/**
+	 * Return the number of phenotypes which have been forwarded to the
+	 * decorated evaluator.
+	 *
+	 * @return the number of cache misses
+	 */
+	public long missCount() {
+		synchronized (_cache) {
+			return _cache.misses;
+		}
+	}
+
+	/**
+	 * Return the number of fitness values which have been removed from the
+	 * cache, because the maximal cache size has been exceeded.
+	 *
+	 * @return the number of evicted cache entries
+	 */
+	public long evictionCount() {
+		synchronized (_cache) {
+			return _cache.evictions;
+		}
+	}
+
+	/**
+	 * Return the current number of cached fitness values.
+	 *
+	 * @return the current number of cached fitness values
+	 */
+	public int size() {
+		synchronized (_cache) {
+			return _cache.size();
+		}
+	}
+
+	/**
+	 * Return the maximal number of cached fitness values.
+	 *
+	 * @return the maximal number of cached fitness values
+	 */
+	public int maxSize() {
+		return _cache.maxSize;
+	}
+
+	/**
+	 * Removes all cached fitness values. The cache statistics are not reset.
+	 */
+	public void clear() {
+		synchronized (_cache) {
+			_cache.clear();
+		}
+	}
+
+	@Override
+	public String toString() {
+		synchronized (_cache) {
+			return format(
+				"CachedEvaluator[size=%d, maxSize=%d, hits=%d, misses=%d, evictions=%d]",
+				_cache.size(), _cache.maxSize,
+				_cache.hits, _cache.misses, _cache.evictions
+			);
+		}
+	}
+
+
+	/**
+	 * LRU map of the cached fitness values, including the cache statistics.
+	 * All access must be synchronized on the cache object.
+	 */
+	private static final class Cache<C> extends LinkedHashMap<Object, C> {
+		private static final long serialVersionUID = 1L;
+
+		final int maxSize;
+		long hits;
+		long misses;
+		long evictions;
+
+		Cache(final int maxSize) {
+			super(16, 0.75F, true);
+			if (maxSize < 1) {
+				throw new IllegalArgumentException(format(
+					"Max cache size must be greater than zero: %d", maxSize
+				));
+			}
+			this.maxSize = maxSize;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<Object, C> eldest) {
+			final boolean remove = size() > maxSize;
+			if (remove) {
+				++evictions;
+			}
+			return remove;
+		}
+
+	}
+
+}
@@ -0,0 +1,663 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.engine;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Objects.requireNonNull;
+import static io.jenetics.internal.util.SerialIO.readBytes;
+import static io.jenetics.internal.util.SerialIO.readInt;
+import static io.jenetics.internal.util.SerialIO.readLong;
+import static io.jenetics.internal.util.SerialIO.writeBytes;
+import static io.jenetics.internal.util.SerialIO.writeInt;
+import static io.jenetics.internal.util.SerialIO.writeLong;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+import io.jenetics.Gene;
+import io.jenetics.Optimize;
+import io.jenetics.Phenotype;
+import io.jenetics.internal.math.SplitRandom;
+import io.jenetics.util.IO;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.MSeq;
+import io.jenetics.util.RandomRegistry;
+
+/**
+ * Writes checkpoints of a running evolution stream to disk and allows to
+ * resume the evolution from the last written checkpoint. A checkpoint
+ * contains the population, the generation, the state of the
+ * {@link RandomRegistry#random()} engine (if it is serializable and not a
+ * thread-local engine, like the {@link ThreadLocalRandom}) and the accumulated
+ * {@link EvolutionStatistics}, if registered. For a <em>splittable</em>
+ * registry engine, the seed and the position of its random
+ * {@link RandomRegistry#streams()} are stored, which lets a seeded evolution
+ * resume exactly.
+ *
+ * <pre>{@code
+ * try (var checkpoint = Checkpoint.<DoubleGene, Double>of(
+ *     Path.of("evolution.checkpoint"), 100, Duration.ofMinutes(5)))
+ * {
+ *     // Restores the statistics of the last checkpoint, if available.
+ *     final var statistics = checkpoint.statistics(EvolutionStatistics::ofNumber);
+ *
+ *     // Resumes the evolution from the last checkpoint, if available.
+ *     final Phenotype<DoubleGene, Double> best = engine.stream(checkpoint)
+ *         .limit(bySteadyFitness(1000))
+ *         .collect(toBestPhenotype());
+ *     System.out.println(statistics);
+ * }
+ * }</pre>
+ *
+ * A checkpoint is written if at least the given number of generations or
+ * the given time has passed since the last checkpoint. The checkpoint file
+ * is an append-only log. Only the phenotypes which are not already part of
+ * the previously written checkpoint are appended to the file. After a
+ * number of such <em>delta</em> records, the file is replaced (atomically)
+ * by a file containing the full population. Every record is protected by a
+ * checksum, and an incomplete last record, e.g. caused by a crash, is
+ * ignored when resuming. The file is synced with the storage device only
+ * every few records.
+ *
+ * @apiNote
+ * The registered statistics are updated by the checkpoint itself and must
+ * not be added to the evolution stream (e.g. with {@code peek}). The
+ * population and fitness values are written with the {@link BinaryIO}
+ * format. A checkpoint is either used for a stream, created with
+ * {@link Engine#stream(Checkpoint)}, or as engine interceptor, but not for
+ * both.
+ *
+ * @see Engine#stream(Checkpoint)
+ * @see BinaryIO
+ *
+ * @param <G> the gene type
+ * @param <C> the fitness result type
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 6.1
+ * @since 6.1
+ */
+public final class Checkpoint<
+	G extends Gene<?, G>,
+	C extends Comparable<? super C>
+>
+	implements EvolutionInterceptor<G, C>, Closeable
+{
+
+	// Magic number of the checkpoint files: "JCKP".
+	static final int MAGIC = 0x4A434B50;
+	static final int VERSION = 1;
+
+	// Number of delta records, before the full population is written again.
+	static final int DELTA_RECORDS = 16;
+
+	// Number of records, which are written between two file syncs.
+	static final int SYNC_RECORDS = 4;
+
+	// Record types.
+	private static final byte FULL = 1;
+	private static final byte DELTA = 2;
+
+	private final Path _file;
+	private final long _generations;
+	private final Duration _interval;
+
+	private EvolutionStatistics<C, ?> _statistics;
+	private FileChannel _channel;
+
+	// Population of the last written record, for writing delta records.
+	private ISeq<Phenotype<G, C>> _written;
+	private int _deltas;
+	private int _unsynced;
+	private long _lastGeneration = 0;
+	private long _lastTime = System.nanoTime();
+
+	// Lazily read last checkpoint.
+	private Record<G, C> _record;
+	private EvolutionResult<G, C> _result;
+	private boolean _read = false;
+
+	private Checkpoint(
+		final Path file,
+		final long generations,
+		final Duration interval
+	) {
+		if (generations < 1) {
+			throw new IllegalArgumentException(
+				"Generations must be greater than zero: " + generations
+			);
+		}
+		if (interval.isNegative() || interval.isZero()) {
+			throw new IllegalArgumentException(
+				"Interval must be positive: " + interval
+			);
+		}
+
+		_file = requireNonNull(file);
+		_generations = generations;
+		_interval = interval;
+	}
+
+	/**
+	 * Return the checkpoint file.
+	 *
+	 * @return the checkpoint file
+	 */
+	public Path file() {
+		return _file;
+	}
+
+	/**
+	 * Return the statistics object, which is updated and written by this
+	 * checkpoint. If the last checkpoint contains statistics of the same
+	 * type, the restored statistics are returned. Otherwise a new statistics
+	 * object is created with the given {@code factory}.
+	 *
+	 * @param factory the factory for the statistics object, used if no
+	 *        statistics can be restored
+	 * @param <S> the statistics type
+	 * @return the restored or newly created statistics object
+	 * @throws NullPointerException if the given {@code factory} is
+	 *         {@code null}
+	 * @throws UncheckedIOException if the checkpoint file can't be read
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <S extends EvolutionStatistics<C, ?>> S
+	statistics(final Supplier<? extends S> factory) {
+		final S statistics = requireNonNull(factory.get());
+		final Record<G, C> record = record();
+
+		_statistics = record != null &&
+			record.statistics != null &&
+			record.statistics.getClass() == statistics.getClass()
+				? (S)record.statistics
+				: statistics;
+
+		return (S)_statistics;
+	}
+
+	/**
+	 * Return the evolution result of the last written or restored checkpoint.
+	 *
+	 * @return the last written evolution result, or {@code Optional.empty()}
+	 *         if no checkpoint has been written yet
+	 * @throws UncheckedIOException if the checkpoint file can't be read
+	 */
+	public synchronized Optional<EvolutionResult<G, C>> result() {
+		record();
+		return Optional.ofNullable(_result);
+	}
+
+	/**
+	 * Return the evolution start object for resuming the evolution from the
+	 * last written checkpoint. If the checkpoint contains the state of the
+	 * random engine, it is set as new {@link RandomRegistry#random(Random)}.
+	 * If no checkpoint has been written yet, an
+	 * {@link EvolutionStart#empty()} object is returned.
+	 *
+	 * @return the evolution start object for resuming the evolution
+	 * @throws UncheckedIOException if the checkpoint file can't be read
+	 */
+	public synchronized EvolutionStart<G, C> start() {
+		final Record<G, C> record = record();
+		if (record == null) {
+			return EvolutionStart.empty();
+		}
+
+		if (record.random != null) {
+			RandomRegistry.random(record.random);
+		}
+		return record.result.next();
+	}
+
+	/**
+	 * Updates the registered statistics with the given {@code result} and
+	 * writes a new checkpoint, if the checkpoint interval has passed.
+	 *
+	 * @param result the evolution result
+	 * @return the unchanged evolution {@code result}
+	 * @throws UncheckedIOException if the checkpoint can't be written
+	 */
+	@Override
+	public synchronized EvolutionResult<G, C>
+	after(final EvolutionResult<G, C> result) {
+		if (_statistics != null) {
+			_statistics.accept(result);
+		}
+
+		final long now = System.nanoTime();
+		if (result.generation() - _lastGeneration >= _generations ||
+			now - _lastTime >= _interval.toNanos())
+		{
+			write(result);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Writes a new checkpoint for the given evolution {@code result},
+	 * independently of the checkpoint interval.
+	 *
+	 * @param result the evolution result to write
+	 * @throws NullPointerException if the given {@code result} is
+	 *         {@code null}
+	 * @throws UncheckedIOException if the checkpoint can't be written
+	 */
+	public synchronized void write(final EvolutionResult<G, C> result) {
+		requireNonNull(result);
+
+		try {
+			record();
+			if (_written == null || _deltas >= DELTA_RECORDS) {
+				writeFull(result);
+			} else {
+				append(DELTA, result);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		_result = result;
+		_written = result.population();
+		_lastGeneration = result.generation();
+		_lastTime = System.nanoTime();
+	}
+
+	// Replaces the checkpoint file with a file containing the full population.
+	private void writeFull(final EvolutionResult<G, C> result)
+		throws IOException
+	{
+		closeChannel();
+
+		final Path temp = _file.resolveSibling(_file.getFileName() + ".tmp");
+		try (var channel = FileChannel.open(temp, CREATE, WRITE, TRUNCATE_EXISTING)) {
+			final ByteBuffer header = ByteBuffer.allocate(5);
+			header.putInt(MAGIC).put((byte)VERSION).flip();
+			write(header, channel);
+			write(record(FULL, result), channel);
+			channel.force(true);
+		}
+		Files.move(temp, _file, ATOMIC_MOVE, REPLACE_EXISTING);
+
+		_channel = FileChannel.open(_file, WRITE);
+		_channel.position(_channel.size());
+		_deltas = 0;
+		_unsynced = 0;
+	}
+
+	private void append(final byte type, final EvolutionResult<G, C> result)
+		throws IOException
+	{
+		write(record(type, result), _channel);
+		++_deltas;
+		if (++_unsynced >= SYNC_RECORDS) {
+			_channel.force(false);
+			_unsynced = 0;
+		}
+	}
+
+	private static void write(final ByteBuffer buffer, final FileChannel channel)
+		throws IOException
+	{
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	/**
+	 * Flushes the not yet synced checkpoints and closes the checkpoint file.
+	 *
+	 * @throws IOException if closing the file fails
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		closeChannel();
+	}
+
+	private void closeChannel() throws IOException {
+		if (_channel != null) {
+			try {
+				if (_unsynced > 0) {
+					_channel.force(false);
+				}
+			} finally {
+				_channel.close();
+				_channel = null;
+				_unsynced = 0;
+			}
+		}
+	}
+
+
+	/* *************************************************************************
+	 * Record encoding.
+	 **************************************************************************/
+
+	private ByteBuffer record(final byte type, final EvolutionResult<G, C> result)
+		throws IOException
+	{
+		final var bytes = new ByteArrayOutputStream();
+		bytes.write(new byte[8]);
+		final var out = new DataOutputStream(bytes);
+
+		out.writeByte(type);
+		out.writeByte(result.optimize() == Optimize.MINIMUM ? 0 : 1);
+		writeLong(result.generation(), out);
+		writeLong(result.totalGenerations(), out);
+		BinaryIO.writeDurations(result.durations(), out);
+		writeInt(result.killCount(), out);
+		writeInt(result.invalidCount(), out);
+		writeInt(result.alterCount(), out);
+
+		final ISeq<Phenotype<G, C>> population = result.population();
+		writeInt(population.length(), out);
+		if (type == FULL) {
+			for (Phenotype<G, C> pt : population) {
+				BinaryIO.writePhenotype(pt, out);
+			}
+		} else {
+			// Survivors are written as index into the last written population.
+			final Map<Phenotype<G, C>, Integer> indexes = new IdentityHashMap<>();
+			for (int i = 0; i < _written.length(); ++i) {
+				indexes.putIfAbsent(_written.get(i), i);
+			}
+			for (Phenotype<G, C> pt : population) {
+				final Integer index = indexes.get(pt);
+				if (index != null) {
+					writeInt(index + 1, out);
+				} else {
+					writeInt(0, out);
+					BinaryIO.writePhenotype(pt, out);
+				}
+			}
+		}
+
+		writeBytes(random(), out);
+		writeBytes(
+			_statistics != null
+				? IO.object.toByteArray(_statistics)
+				: new byte[0],
+			out
+		);
+		out.flush();
+
+		final ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+		final CRC32 crc = new CRC32();
+		crc.update(buffer.array(), 8, buffer.capacity() - 8);
+		buffer.putInt(0, buffer.capacity() - 8);
+		buffer.putInt(4, (int)crc.getValue());
+		return buffer;
+	}
+
+	// Return the state of the random streams of a splittable registry engine,
+	// or the state of the registry engine, if it is serializable and not a
+	// thread-local engine.
+	private static byte[] random() throws IOException {
+		final Optional<Random> streams = RandomRegistry.streams();
+		if (streams.isPresent()) {
+			return IO.object.toByteArray(streams.get());
+		}
+
+		final Random random = RandomRegistry.random();
+		return
+			random instanceof Serializable &&
+			!(random instanceof ThreadLocalRandom) &&
+			!(random instanceof SplitRandom)
+				? IO.object.toByteArray(random)
+				: new byte[0];
+	}
+
+	private Record<G, C> record() {
+		if (!_read) {
+			try {
+				_record = read();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			_read = true;
+		}
+		return _record;
+	}
+
+	// Reads the last valid record and prepares the file for appending.
+	private Record<G, C> read() throws IOException {
+		if (!Files.exists(_file)) {
+			return null;
+		}
+
+		final ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(_file));
+		if (data.remaining() < 5 || data.getInt() != MAGIC) {
+			throw new StreamCorruptedException(
+				"Invalid checkpoint file: " + _file
+			);
+		}
+		final int version = data.get();
+		if (version > VERSION) {
+			throw new StreamCorruptedException(String.format(
+				"Unsupported checkpoint version: %d", version
+			));
+		}
+
+		Record<G, C> record = null;
+		int records = 0;
+		final CRC32 crc = new CRC32();
+		while (data.remaining() >= 8) {
+			final int length = data.getInt(data.position());
+			final int checksum = data.getInt(data.position() + 4);
+			if (length < 0 || length > data.remaining() - 8) {
+				break;
+			}
+
+			crc.reset();
+			crc.update(data.array(), data.position() + 8, length);
+			if ((int)crc.getValue() != checksum) {
+				break;
+			}
+
+			record = read(
+				new DataInputStream(new ByteArrayInputStream(
+					data.array(), data.position() + 8, length
+				)),
+				record
+			);
+			data.position(data.position() + 8 + length);
+			++records;
+		}
+
+		if (record != null) {
+			// Cuts off an incomplete last record, before appending new ones.
+			_channel = FileChannel.open(_file, WRITE);
+			_channel.truncate(data.position());
+			_channel.position(data.position());
+			_result = record.result;
+			_written = record.result.population();
+			_deltas = records - 1;
+			_lastGeneration = record.result.generation();
+		}
+
+		return record;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	Record<G, C> read(final DataInput in, final Record<G, C> previous)
+		throws IOException
+	{
+		final byte type = in.readByte();
+		if (type != FULL && (type != DELTA || previous == null)) {
+			throw new StreamCorruptedException(
+				"Invalid checkpoint record type: " + type
+			);
+		}
+
+		final Optimize optimize = in.readByte() == 0
+			? Optimize.MINIMUM
+			: Optimize.MAXIMUM;
+		final long generation = readLong(in);
+		final long totalGenerations = readLong(in);
+		final EvolutionDurations durations = BinaryIO.readDurations(in);
+		final int killCount = readInt(in);
+		final int invalidCount = readInt(in);
+		final int alterCount = readInt(in);
+
+		final MSeq<Phenotype<G, C>> population = MSeq.ofLength(readInt(in));
+		for (int i = 0; i < population.length(); ++i) {
+			final int index = type == FULL ? 0 : readInt(in);
+			population.set(i, index == 0
+				? (Phenotype<G, C>)BinaryIO.readPhenotype(in)
+				: previous.result.population().get(index - 1));
+		}
+
+		final byte[] random = readBytes(in);
+		final byte[] statistics = readBytes(in);
+
+		final EvolutionResult<G, C> result = EvolutionResult.of(
+			optimize,
+			population.toISeq(),
+			generation,
+			totalGenerations,
+			durations,
+			killCount,
+			invalidCount,
+			alterCount
+		);
+
+		// An already evaluated population is not evaluated again when
+		// resuming, which would consume an additional random stream.
+		return new Record<>(
+			population.forAll(Phenotype::isEvaluated) ? result.clean() : result,
+			random.length > 0
+				? (Random)IO.object.fromByteArray(random)
+				: null,
+			statistics.length > 0
+				? (EvolutionStatistics<C, ?>)IO.object.fromByteArray(statistics)
+				: null
+		);
+	}
+
+	private static final class Record<
+		G extends Gene<?, G>,
+		C extends Comparable<? super C>
+	> {
+		final EvolutionResult<G, C> result;
+		final Random random;
+		final EvolutionStatistics<C, ?> statistics;
+
+		Record(
+			final EvolutionResult<G, C> result,
+			final Random random,
+			final EvolutionStatistics<C, ?> statistics
+		) {
+			this.result = result;
+			this.random = random;
+			this.statistics = statistics;
+		}
+	}
+
+
+	/* *************************************************************************
+	 * Static factory methods.
+	 **************************************************************************/
+
+	/**
+	 * Create a new checkpoint, which is written every {@code generations}
+	 * generations or if the given time {@code interval} has passed since the
+	 * last checkpoint.
+	 *
+	 * @param file the checkpoint file
+	 * @param generations the number of generations between two checkpoints
+	 * @param interval the maximal time between two checkpoints
+	 * @param <G> the gene type
+	 * @param <C> the fitness result type
+	 * @return a new checkpoint
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the {@code generations} or the
+	 *         {@code interval} is not positive
+	 */
+	public static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	Checkpoint<G, C> of(
+		final Path file,
+		final long generations,
+		final Duration interval
+	) {
+		return new Checkpoint<>(file, generations, interval);
+	}
+
+	/**
+	 * Create a new checkpoint, which is written every {@code generations}
+	 * generations.
+	 *
+	 * @param file the checkpoint file
+	 * @param generations the number of generations between two checkpoints
+	 * @param <G> the gene type
+	 * @param <C> the fitness result type
+	 * @return a new checkpoint
+	 * @throws NullPointerException if the {@code file} is {@code null}
+	 * @throws IllegalArgumentException if the {@code generations} is smaller
+	 *         than one
+	 */
+	public static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	Checkpoint<G, C> of(final Path file, final long generations) {
+		return new Checkpoint<>(file, generations, Duration.ofNanos(Long.MAX_VALUE));
+	}
+
+	/**
+	 * Create a new checkpoint, which is written if the given time
+	 * {@code interval} has passed since the last checkpoint.
+	 *
+	 * @param file the checkpoint file
+	 * @param interval the time between two checkpoints
+	 * @param <G> the gene type
+	 * @param <C> the fitness result type
+	 * @return a new checkpoint
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the {@code interval} is not positive
+	 */
+	public static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	Checkpoint<G, C> of(final Path file, final Duration interval) {
+		return new Checkpoint<>(file, Long.MAX_VALUE, interval);
+	}
+
+}
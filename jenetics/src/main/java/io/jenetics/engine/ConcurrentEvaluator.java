@@ -23,20 +23,25 @@ import static java.util.Objects.requireNonNull;
 
 import java.util.concurrent.Executor;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import io.jenetics.Gene;
 import io.jenetics.Genotype;
 import io.jenetics.Phenotype;
+import io.jenetics.internal.util.BatchSizing;
 import io.jenetics.internal.util.Concurrency;
 import io.jenetics.util.ISeq;
 import io.jenetics.util.Seq;
 
 /**
  * Default phenotype evaluation strategy. It uses the configured {@link Executor}
- * for the fitness evaluation.
+ * for the fitness evaluation. If a {@link BatchSizing} object is given, the
+ * size of the evaluation batches is adapted to the measured fitness
+ * evaluation times. With a splittable random engine, every individual is
+ * evaluated with the random stream of its population index.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 5.0
+ * @version 6.1
  * @since 4.2
  */
 final class ConcurrentEvaluator<
@@ -48,29 +53,55 @@ final class ConcurrentEvaluator<
 
 	private final Function<? super Genotype<G>, ? extends C> _function;
 	private final Executor _executor;
+	private final BatchSizing _sizing;
 
 	ConcurrentEvaluator(
 		final Function<? super Genotype<G>, ? extends C> function,
-		final Executor executor
+		final Executor executor,
+		final BatchSizing sizing
 	) {
 		_function = requireNonNull(function);
 		_executor = requireNonNull(executor);
+		_sizing = sizing;
 	}
 
+	ConcurrentEvaluator(
+		final Function<? super Genotype<G>, ? extends C> function,
+		final Executor executor
+	) {
+		this(function, executor, null);
+	}
+
+	// The returned evaluator shares the measured fitness evaluation times.
 	ConcurrentEvaluator<G, C> with(final Executor executor) {
-		return new ConcurrentEvaluator<>(_function, executor);
+		return new ConcurrentEvaluator<>(_function, executor, _sizing);
+	}
+
+	/**
+	 * Return the batch size of the last adaptive evaluation.
+	 *
+	 * @return the batch size of the last adaptive evaluation, or zero if the
+	 *         batch size is not adapted
+	 */
+	int batchSize() {
+		return _sizing != null ? _sizing.batchSize() : 0;
 	}
 
 	@Override
 	public ISeq<Phenotype<G, C>> eval(final Seq<Phenotype<G, C>> population) {
-		final ISeq<PhenotypeFitness<G, C>> evaluate = population.stream()
-			.filter(Phenotype::nonEvaluated)
-			.map(pt -> new PhenotypeFitness<>(pt, _function))
+		// Every individual is evaluated with the random stream of its index,
+		// if the random engine of the registry is splittable.
+		final RandomStreams streams = RandomStreams.next();
+		final ISeq<PhenotypeFitness<G, C>> evaluate = IntStream
+			.range(0, population.size())
+			.filter(i -> population.get(i).nonEvaluated())
+			.mapToObj(i -> new PhenotypeFitness<>(
+				population.get(i), _function, streams, i))
 			.collect(ISeq.toISeq());
 
 		final ISeq<Phenotype<G, C>> result;
 		if (evaluate.nonEmpty()) {
-			try (var c = Concurrency.with(_executor)) {
+			try (var c = Concurrency.with(_executor, _sizing)) {
 				c.execute(evaluate);
 			}
 
@@ -96,19 +127,27 @@ final class ConcurrentEvaluator<
 	{
 		final Phenotype<G, C> _phenotype;
 		final Function<? super Genotype<G>, ? extends C> _function;
+		final RandomStreams _streams;
+		final int _index;
 		C _fitness;
 
 		PhenotypeFitness(
 			final Phenotype<G, C> phenotype,
-			final Function<? super Genotype<G>, ? extends C> function
+			final Function<? super Genotype<G>, ? extends C> function,
+			final RandomStreams streams,
+			final int index
 		) {
 			_phenotype = phenotype;
 			_function = function;
+			_streams = streams;
+			_index = index;
 		}
 
 		@Override
 		public void run() {
-			_fitness = _function.apply(_phenotype.genotype());
+			_fitness = _streams.with(_index, () ->
+				_function.apply(_phenotype.genotype())
+			);
 		}
 
 		Phenotype<G, C> phenotype() {
@@ -25,6 +25,8 @@ import static java.util.concurrent.CompletableFuture.supplyAsync;
 import static java.util.concurrent.ForkJoinPool.commonPool;
 
 import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.Function;
@@ -37,8 +39,10 @@ import io.jenetics.Chromosome;
 import io.jenetics.Gene;
 import io.jenetics.Genotype;
 import io.jenetics.Optimize;
+import io.jenetics.ParallelAlterer;
 import io.jenetics.Phenotype;
 import io.jenetics.Selector;
+import io.jenetics.internal.engine.RankedPopulation;
 import io.jenetics.util.Copyable;
 import io.jenetics.util.Factory;
 import io.jenetics.util.ISeq;
@@ -108,7 +112,7 @@ import io.jenetics.util.Seq;
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
  * @since 3.0
- * @version 6.0
+ * @version 6.1
  */
 public final class Engine<
 	G extends Gene<?, G>,
@@ -133,6 +137,7 @@ public final class Engine<
 	private final Executor _executor;
 	private final Clock _clock;
 	private final EvolutionInterceptor<G, C> _interceptor;
+	private final boolean _pipelined;
 
 
 	/**
@@ -150,6 +155,8 @@ public final class Engine<
 	 * @param clock the clock used for calculating the timing results
 	 * @param interceptor the evolution interceptor, which gives additional
 	 *        possibilities to influence the actual evolution
+	 * @param pipelined if {@code true}, the offspring partitions are
+	 *        evaluated as soon as they are altered
 	 * @throws NullPointerException if one of the arguments is {@code null}
 	 * @throws IllegalArgumentException if the given integer values are smaller
 	 *         than one.
@@ -162,7 +169,8 @@ public final class Engine<
 		final EvolutionParams<G, C> evolutionParams,
 		final Executor executor,
 		final Clock clock,
-		final EvolutionInterceptor<G, C> interceptor
+		final EvolutionInterceptor<G, C> interceptor,
+		final boolean pipelined
 	) {
 		_evaluator = requireNonNull(evaluator);
 		_genotypeFactory = requireNonNull(genotypeFactory);
@@ -172,6 +180,7 @@ public final class Engine<
 		_executor = requireNonNull(executor);
 		_clock = requireNonNull(clock);
 		_interceptor = requireNonNull(interceptor);
+		_pipelined = pipelined;
 	}
 
 	@Override
@@ -181,21 +190,29 @@ public final class Engine<
 
 		final EvolutionStart<G, C> interceptedStart = _interceptor.before(start);
 
+		// Deterministic random streams for the (concurrently executed) steps,
+		// if the random engine of the registry is splittable.
+		final RandomStreams streams = RandomStreams.next();
+
 		// Create initial population if `start` is empty.
 		final EvolutionStart<G, C> es = interceptedStart.population().isEmpty()
-			? evolutionStart(interceptedStart)
+			? streams.with(0, () -> evolutionStart(interceptedStart))
 			: interceptedStart;
 
-		// Initial evaluation of the population.
-		final ISeq<Phenotype<G, C>> population = es.isDirty()
-			? timing.evaluation.timing(() -> eval(es.population()))
-			: es.population();
+		// Initial evaluation of the population. The ranking of the population
+		// is shared by the offspring and survivors selector.
+		final ISeq<Phenotype<G, C>> population = RankedPopulation.of(
+			es.isDirty()
+				? timing.evaluation.timing(() -> eval(es.population()))
+				: es.population(),
+			_optimize
+		);
 
 		// Select the offspring population.
 		final CompletableFuture<ISeq<Phenotype<G, C>>> offspring =
 			supplyAsync(() ->
 				timing.offspringSelection.timing(() ->
-					selectOffspring(population)
+					streams.with(1, () -> selectOffspring(population))
 				),
 				_executor
 			);
@@ -204,16 +221,7 @@ public final class Engine<
 		final CompletableFuture<ISeq<Phenotype<G, C>>> survivors =
 			supplyAsync(() ->
 				timing.survivorsSelection.timing(() ->
-					selectSurvivors(population)
-				),
-				_executor
-			);
-
-		// Altering the offspring population.
-		final CompletableFuture<AltererResult<G, C>> alteredOffspring =
-			offspring.thenApplyAsync(off ->
-				timing.offspringAlter.timing(() ->
-					_evolutionParams.alterer().alter(off, es.generation())
+					streams.with(2, () -> selectSurvivors(population))
 				),
 				_executor
 			);
@@ -222,47 +230,107 @@ public final class Engine<
 		final CompletableFuture<FilterResult<G, C>> filteredSurvivors =
 			survivors.thenApplyAsync(sur ->
 				timing.survivorFilter.timing(() ->
-					filter(sur, es.generation())
+					streams.with(4, () -> filter(sur, es.generation()))
 				),
 				_executor
 			);
 
-		// Filter and replace invalid and old offspring individuals.
-		final CompletableFuture<FilterResult<G, C>> filteredOffspring =
-			alteredOffspring.thenApplyAsync(off ->
-				timing.offspringFilter.timing(() ->
-					filter(off.population(), es.generation())
+		final ParallelAlterer<G, C> pipeline = pipeline();
+		final CompletableFuture<AltererResult<G, C>> alteredOffspring;
+		final FilterResult<G, C> filteredOffspring;
+		final ISeq<Phenotype<G, C>> result;
+		if (pipeline != null) {
+			// The altered partitions of the offspring population.
+			final int count = pipeline.partitions(_evolutionParams.offspringSize());
+			final List<CompletableFuture<ISeq<Phenotype<G, C>>>> partitions =
+				new ArrayList<>(count);
+			for (int i = 0; i < count; ++i) {
+				partitions.add(new CompletableFuture<>());
+			}
+
+			// Altering the offspring population, partition by partition.
+			alteredOffspring = offspring.thenApplyAsync(off ->
+				timing.offspringAlter.timing(() ->
+					streams.with(3, () ->
+						pipeline.alter(
+							off,
+							es.generation(),
+							(part, index) -> partitions.get(index).complete(part)
+						)
+					)
 				),
 				_executor
 			);
+			alteredOffspring.whenComplete((altered, failure) -> {
+				if (failure != null) {
+					partitions.forEach(p -> p.completeExceptionally(failure));
+				}
+			});
+
+			// Evaluate the offspring partitions as soon as they are altered.
+			filteredOffspring = evalPartitions(
+				partitions,
+				streams,
+				es.generation(),
+				timing
+			);
 
-		// Combining survivors and offspring to the new population.
-		final CompletableFuture<ISeq<Phenotype<G, C>>> nextPopulation =
-			filteredSurvivors.thenCombineAsync(
-				filteredOffspring,
-				(s, o) -> ISeq.of(s.population.append(o.population)),
+			// Only survivors, replaced by the filter, need an evaluation.
+			final ISeq<Phenotype<G, C>> sur = filteredSurvivors.join().population;
+			final ISeq<Phenotype<G, C>> evaluatedSurvivors =
+				sur.forAll(Phenotype::isEvaluated)
+					? sur
+					: timing.evaluation.timing(() -> eval(sur));
+
+			result = ISeq.of(evaluatedSurvivors.append(filteredOffspring.population));
+		} else {
+			// Altering the offspring population.
+			alteredOffspring = offspring.thenApplyAsync(off ->
+				timing.offspringAlter.timing(() ->
+					streams.with(3, () ->
+						_evolutionParams.alterer().alter(off, es.generation())
+					)
+				),
 				_executor
 			);
 
-		// Evaluate the fitness-function and wait for result.
-		final ISeq<Phenotype<G, C>> pop = nextPopulation.join();
-		final ISeq<Phenotype<G, C>> result = timing.evaluation.timing(() ->
-			eval(pop)
-		);
+			// Filter and replace invalid and old offspring individuals.
+			final CompletableFuture<FilterResult<G, C>> filtered =
+				alteredOffspring.thenApplyAsync(off ->
+					timing.offspringFilter.timing(() ->
+						streams.with(5, () -> filter(off.population(), es.generation()))
+					),
+					_executor
+				);
+
+			// Combining survivors and offspring to the new population.
+			final CompletableFuture<ISeq<Phenotype<G, C>>> nextPopulation =
+				filteredSurvivors.thenCombineAsync(
+					filtered,
+					(s, o) -> ISeq.of(s.population.append(o.population)),
+					_executor
+				);
+
+			// Evaluate the fitness-function and wait for result.
+			final ISeq<Phenotype<G, C>> pop = nextPopulation.join();
+			result = timing.evaluation.timing(() -> eval(pop));
+			timing.evaluationBatchSize = evaluationBatchSize();
+			filteredOffspring = filtered.join();
+		}
 
 		final int killCount =
-			filteredOffspring.join().killCount +
+			filteredOffspring.killCount +
 			filteredSurvivors.join().killCount;
 
 		final int invalidCount =
-			filteredOffspring.join().invalidCount +
+			filteredOffspring.invalidCount +
 			filteredSurvivors.join().invalidCount;
 
 		final int alterationCount = alteredOffspring.join().alterations();
 
 		EvolutionResult<G, C> er = EvolutionResult.of(
 			_optimize,
-			result,
+			RankedPopulation.of(result, _optimize),
 			es.generation(),
 			timing.toDurations(),
 			killCount,
@@ -285,6 +353,53 @@ public final class Engine<
 			.clean();
 	}
 
+	// Return the parallel alterer, whose altered partitions are evaluated
+	// immediately, or null if the evaluation isn't pipelined.
+	private ParallelAlterer<G, C> pipeline() {
+		return _pipelined && _evolutionParams.alterer() instanceof ParallelAlterer
+			? (ParallelAlterer<G, C>)_evolutionParams.alterer()
+			: null;
+	}
+
+	// Filters and evaluates the altered offspring partitions in the order of
+	// their index, while the following partitions are still altered. The
+	// partition i is filtered with the random stream 5 + i.
+	private FilterResult<G, C> evalPartitions(
+		final List<CompletableFuture<ISeq<Phenotype<G, C>>>> partitions,
+		final RandomStreams streams,
+		final long generation,
+		final EvolutionTiming timing
+	) {
+		final List<Phenotype<G, C>> population = new ArrayList<>();
+		int killCount = 0;
+		int invalidCount = 0;
+
+		for (int i = 0; i < partitions.size(); ++i) {
+			final ISeq<Phenotype<G, C>> partition = partitions.get(i).join();
+			final long stream = 5 + i;
+
+			final FilterResult<G, C> filtered = timing.offspringFilter.timing(() ->
+				streams.with(stream, () -> filter(partition, generation))
+			);
+			final ISeq<Phenotype<G, C>> evaluated = timing.evaluation.timing(() ->
+				eval(filtered.population)
+			);
+			timing.evaluationBatchSize = evaluationBatchSize();
+
+			population.addAll(evaluated.asList());
+			killCount += filtered.killCount;
+			invalidCount += filtered.invalidCount;
+		}
+
+		return new FilterResult<>(ISeq.of(population), killCount, invalidCount);
+	}
+
+	// Return the batch size of the last evaluation, if reported by the
+	// evaluator.
+	private int evaluationBatchSize() {
+		return Evaluators.batchSize(_evaluator);
+	}
+
 	// Selects the survivors population. A new population object is returned.
 	private ISeq<Phenotype<G, C>>
 	selectSurvivors(final ISeq<Phenotype<G, C>> population) {
@@ -391,6 +506,38 @@ public final class Engine<
 		return stream(evolutionStart(init));
 	}
 
+	/**
+	 * Create a new evolution stream, which resumes the evolution from the
+	 * last written {@code checkpoint} and writes new checkpoints while the
+	 * stream is running. If no checkpoint has been written yet, the
+	 * evolution starts with a new, random population.
+	 *
+	 * <pre>{@code
+	 * try (var checkpoint = Checkpoint.<DoubleGene, Double>of(file, 100)) {
+	 *     final Phenotype<DoubleGene, Double> best = engine.stream(checkpoint)
+	 *         .limit(1_000_000)
+	 *         .collect(toBestPhenotype());
+	 * }
+	 * }</pre>
+	 *
+	 * @since 6.1
+	 *
+	 * @param checkpoint the checkpoint used for resuming and writing the
+	 *        evolution state
+	 * @return a new evolution stream
+	 * @throws NullPointerException if the given {@code checkpoint} is
+	 *         {@code null}
+	 * @throws java.io.UncheckedIOException if the checkpoint can't be read
+	 *         or written
+	 */
+	public EvolutionStream<G, C> stream(final Checkpoint<G, C> checkpoint) {
+		requireNonNull(checkpoint);
+		return EvolutionStream.ofEvolution(
+			() -> evolutionStart(checkpoint.start()),
+			start -> checkpoint.after(evolve(start))
+		);
+	}
+
 	private EvolutionStart<G, C>
 	evolutionStart(final EvolutionStart<G, C> start) {
 		final ISeq<Phenotype<G, C>> population = start.population();
@@ -406,7 +553,10 @@ public final class Engine<
 			.limit(populationSize())
 			.collect(ISeq.toISeq());
 
-		return EvolutionStart.of(pop, gen);
+		// An unchanged start population keeps its evaluation state.
+		return pop.length() == population.length()
+			? start
+			: EvolutionStart.of(pop, gen);
 	}
 
 	private EvolutionStart<G, C>
@@ -551,6 +701,20 @@ public final class Engine<
 		return _interceptor;
 	}
 
+	/**
+	 * Return {@code true} if the offspring partitions of a
+	 * {@link ParallelAlterer} are evaluated as soon as they are altered.
+	 *
+	 * @since 6.1
+	 *
+	 * @see Builder#pipelined(boolean)
+	 *
+	 * @return {@code true} if the evaluation of the offspring is pipelined
+	 */
+	public boolean pipelined() {
+		return _pipelined;
+	}
+
 	/**
 	 * Create a new evolution {@code Engine.Builder} initialized with the values
 	 * of the current evolution {@code Engine}. With this method, the evolution
@@ -565,7 +729,8 @@ public final class Engine<
 			.optimize(_optimize)
 			.constraint(_constraint)
 			.evolutionParams(_evolutionParams)
-			.interceptor(_interceptor);
+			.interceptor(_interceptor)
+			.pipelined(_pipelined);
 	}
 
 
@@ -674,7 +839,7 @@ public final class Engine<
 	 *
 	 * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
 	 * @since 3.0
-	 * @version 6.0
+	 * @version 6.1
 	 */
 	public static final class Builder<
 		G extends Gene<?, G>,
@@ -700,6 +865,7 @@ public final class Engine<
 
 		private EvolutionInterceptor<G, C> _interceptor =
 			EvolutionInterceptor.identity();
+		private boolean _pipelined = false;
 
 		/**
 		 * Create a new evolution {@code Engine.Builder} with the given fitness
@@ -1019,6 +1185,39 @@ public final class Engine<
 			return this;
 		}
 
+		/**
+		 * Enables the pipelined evaluation of the offspring population. The
+		 * pipelining requires a {@link ParallelAlterer} as alterer of the
+		 * engine. Every offspring partition of the parallel alterer is filtered
+		 * and evaluated as soon as it is altered, while the remaining
+		 * partitions are still altered. The partitions are evaluated in the
+		 * calling thread, like the default engine, which prevents blocking
+		 * the threads of the configured executor. The survivors are only
+		 * evaluated, if the survivor filter replaced some of them. The
+		 * reported {@link EvolutionDurations#evaluationBatchSize()} is the one
+		 * of the offspring evaluation. For other alterers, this option has no
+		 * effect. The default value is {@code false}.
+		 *
+		 * <pre>{@code
+		 * final Engine<DoubleGene, Double> engine = Engine.builder(problem)
+		 *     .alterers(ParallelAlterer.of(
+		 *         Alterer.of(new Mutator<>(0.03), new MeanAlterer<>(0.6))
+		 *     ))
+		 *     .pipelined(true)
+		 *     .build();
+		 * }</pre>
+		 *
+		 * @since 6.1
+		 *
+		 * @param pipelined {@code true} for evaluating the offspring partitions
+		 *        as soon as they are altered
+		 * @return {@code this} builder, for command chaining
+		 */
+		public Builder<G, C> pipelined(final boolean pipelined) {
+			_pipelined = pipelined;
+			return this;
+		}
+
 		/**
 		 * Builds an new {@code Engine} instance from the set properties.
 		 *
@@ -1033,14 +1232,19 @@ public final class Engine<
 				_evolutionParams.build(),
 				_executor,
 				_clock,
-				_interceptor
+				_interceptor,
+				_pipelined
 			);
 		}
 
 		private Evaluator<G, C> __evaluator() {
-			return _evaluator instanceof ConcurrentEvaluator
-				? ((ConcurrentEvaluator<G, C>)_evaluator).with(_executor)
-				: _evaluator;
+			if (_evaluator instanceof ConcurrentEvaluator) {
+				return ((ConcurrentEvaluator<G, C>)_evaluator).with(_executor);
+			} else if (_evaluator instanceof CachedEvaluator) {
+				return ((CachedEvaluator<G, C>)_evaluator).with(_executor);
+			} else {
+				return _evaluator;
+			}
 		}
 
 		private Constraint<G, C> __constraint() {
@@ -1196,6 +1400,17 @@ public final class Engine<
 			return _interceptor;
 		}
 
+		/**
+		 * Return {@code true} if the offspring evaluation is pipelined.
+		 *
+		 * @since 6.1
+		 *
+		 * @return {@code true} if the offspring evaluation is pipelined
+		 */
+		public boolean pipelined() {
+			return _pipelined;
+		}
+
 		/**
 		 * Create a new builder, with the current configuration.
 		 *
@@ -1211,7 +1426,8 @@ public final class Engine<
 				.constraint(_constraint)
 				.optimize(_optimize)
 				.evolutionParams(_evolutionParams.build())
-				.interceptor(_interceptor);
+				.interceptor(_interceptor)
+				.pipelined(_pipelined);
 		}
 
 	}
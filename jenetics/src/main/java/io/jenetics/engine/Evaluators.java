@@ -19,13 +19,18 @@
  */
 package io.jenetics.engine;
 
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import java.util.function.Function;
 
 import io.jenetics.Gene;
 import io.jenetics.Genotype;
+import io.jenetics.internal.util.BatchSizing;
 
 /**
  * This class contains factory methods for creating commonly usable
@@ -35,7 +40,7 @@ import io.jenetics.Genotype;
  * @see Evaluator
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 5.0
+ * @version 6.1
  * @since 5.0
  */
 public final class Evaluators {
@@ -171,6 +176,73 @@ public final class Evaluators {
 		return concurrent(fitness, codec.decoder(), executor);
 	}
 
+	/**
+	 * Return a new fitness evaluator, which evaluates the fitness function of
+	 * the population concurrently with the given {@code executor}. In contrast
+	 * to the {@link #concurrent(Function, Executor)} evaluator, the execution
+	 * time of every fitness evaluation is measured and the population is
+	 * split into batches, whose size minimizes the estimated evaluation time
+	 * of the next generations. Cheap fitness functions are evaluated in big
+	 * batches, which reduces the scheduling overhead. Fitness functions with
+	 * strongly varying evaluation times are evaluated in small batches, down
+	 * to one phenotype per batch, which prevents idle worker threads. The
+	 * chosen batch size is reported by the
+	 * {@link EvolutionDurations#evaluationBatchSize()} property.
+	 *
+	 * <pre>{@code
+	 * final Engine<DoubleGene, Double> engine = new Engine.Builder<>(
+	 *         Evaluators.adaptive(Main::fitness, ForkJoinPool.commonPool()),
+	 *         genotypeFactory)
+	 *     .build();
+	 * }</pre>
+	 *
+	 * @since 6.1
+	 *
+	 * @param fitness the fitness function
+	 * @param executor the {@code Executor} used for evaluating the fitness
+	 *        function
+	 * @param <G> the gene type
+	 * @param <C> the fitness value type
+	 * @return a new (concurrent) fitness evaluator with adaptive batch sizes
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 */
+	public static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	Evaluator<G, C> adaptive(
+		final Function<? super Genotype<G>, ? extends C> fitness,
+		final Executor executor
+	) {
+		return new ConcurrentEvaluator<>(fitness, executor, new BatchSizing());
+	}
+
+	/**
+	 * Return a new fitness evaluator, which evaluates the fitness function of
+	 * the population concurrently with the given {@code executor}, using
+	 * adaptive batch sizes.
+	 *
+	 * @since 6.1
+	 *
+	 * @see #adaptive(Function, Executor)
+	 *
+	 * @param fitness the fitness function, working on the <em>native</em>
+	 *        fitness domain
+	 * @param codec the codec used for transforming the fitness domain
+	 * @param executor the {@code Executor} used for evaluating the fitness
+	 *        function
+	 * @param <T> the <em>native</em> fitness domain type
+	 * @param <G> the gene type
+	 * @param <C> the fitness value type
+	 * @return a new (concurrent) fitness evaluator with adaptive batch sizes
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 */
+	public static <T, G extends Gene<?, G>, C extends Comparable<? super C>>
+	Evaluator<G, C> adaptive(
+		final Function<? super T, ? extends C> fitness,
+		final Codec<T, G> codec,
+		final Executor executor
+	) {
+		return adaptive(fitness.compose(codec.decoder()), executor);
+	}
+
 	/**
 	 * Return a new fitness evaluator, which evaluates <em>asynchronous</em>
 	 * fitness functions.
@@ -295,4 +367,214 @@ public final class Evaluators {
 		return completable(fitness, codec.decoder());
 	}
 
+	/**
+	 * Return a new fitness evaluator, which evaluates every phenotype in its
+	 * own thread. At most {@code maxConcurrency} fitness evaluations are
+	 * running at the same time. This evaluator is intended for blocking,
+	 * I/O bound fitness functions, e.g. remote calls, where the default
+	 * batching of the {@link #concurrent(Function, Executor)} evaluator would
+	 * serialize the waiting. If one fitness evaluation fails, the remaining
+	 * evaluations are cancelled and the {@link Evaluator#eval(io.jenetics.util.Seq)}
+	 * method throws a {@link java.util.concurrent.CancellationException}.
+	 *
+	 * <pre>{@code
+	 * final Evaluator<DoubleGene, Double> evaluator =
+	 *     Evaluators.threadPerTask(Main::remoteFitness, 1_000);
+	 * }</pre>
+	 *
+	 * @since 6.1
+	 *
+	 * @param fitness the (blocking) fitness function
+	 * @param maxConcurrency the maximal number of concurrently running fitness
+	 *        evaluations
+	 * @param <G> the gene type
+	 * @param <C> the fitness value type
+	 * @return a new thread-per-task fitness evaluator
+	 * @throws NullPointerException if the {@code fitness} function is
+	 *         {@code null}
+	 * @throws IllegalArgumentException if the {@code maxConcurrency} is not
+	 *         positive
+	 */
+	public static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	Evaluator<G, C> threadPerTask(
+		final Function<? super Genotype<G>, ? extends C> fitness,
+		final int maxConcurrency
+	) {
+		return new ThreadPerTaskEvaluator<>(
+			fitness,
+			maxConcurrency,
+			null,
+			ThreadPerTaskEvaluator::newDaemonThread
+		);
+	}
+
+	/**
+	 * Return a new fitness evaluator, which evaluates every phenotype in its
+	 * own thread. At most {@code maxConcurrency} fitness evaluations are
+	 * running at the same time. If one fitness evaluation fails or takes
+	 * longer than the given {@code timeout}, the remaining evaluations are
+	 * cancelled and the {@link Evaluator#eval(io.jenetics.util.Seq)} method
+	 * throws a {@link java.util.concurrent.CancellationException}. The cause
+	 * of a timed out evaluation is a
+	 * {@link java.util.concurrent.TimeoutException}.
+	 *
+	 * @since 6.1
+	 *
+	 * @see #threadPerTask(Function, int)
+	 *
+	 * @param fitness the (blocking) fitness function
+	 * @param maxConcurrency the maximal number of concurrently running fitness
+	 *        evaluations
+	 * @param timeout the maximal duration of one fitness evaluation, measured
+	 *        from the start of its thread
+	 * @param <G> the gene type
+	 * @param <C> the fitness value type
+	 * @return a new thread-per-task fitness evaluator
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the {@code maxConcurrency} or the
+	 *         {@code timeout} is not positive
+	 */
+	public static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	Evaluator<G, C> threadPerTask(
+		final Function<? super Genotype<G>, ? extends C> fitness,
+		final int maxConcurrency,
+		final Duration timeout
+	) {
+		return threadPerTask(
+			fitness,
+			maxConcurrency,
+			timeout,
+			ThreadPerTaskEvaluator::newDaemonThread
+		);
+	}
+
+	/**
+	 * Return a new fitness evaluator, which evaluates every phenotype in a
+	 * new thread, created by the given {@code threadFactory}. On runtimes
+	 * with lightweight threads, the factory of such threads can be used for
+	 * scaling the evaluation to thousands of concurrent, blocking fitness
+	 * calls.
+	 *
+	 * @since 6.1
+	 *
+	 * @see #threadPerTask(Function, int, Duration)
+	 *
+	 * @param fitness the (blocking) fitness function
+	 * @param maxConcurrency the maximal number of concurrently running fitness
+	 *        evaluations
+	 * @param timeout the maximal duration of one fitness evaluation, measured
+	 *        from the start of its thread
+	 * @param threadFactory the factory used for creating one thread per
+	 *        fitness evaluation
+	 * @param <G> the gene type
+	 * @param <C> the fitness value type
+	 * @return a new thread-per-task fitness evaluator
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the {@code maxConcurrency} or the
+	 *         {@code timeout} is not positive
+	 */
+	public static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	Evaluator<G, C> threadPerTask(
+		final Function<? super Genotype<G>, ? extends C> fitness,
+		final int maxConcurrency,
+		final Duration timeout,
+		final ThreadFactory threadFactory
+	) {
+		return new ThreadPerTaskEvaluator<>(
+			fitness,
+			maxConcurrency,
+			requireNonNull(timeout),
+			threadFactory
+		);
+	}
+
+	/**
+	 * Return a new fitness evaluator, which caches the fitness values of the
+	 * already evaluated genotypes. Only genotypes which are not in the cache
+	 * are evaluated by the given {@code evaluator}. The cache is keyed by the
+	 * genotype and evicts the least recently used entries, if the maximal
+	 * cache size is exceeded.
+	 *
+	 * <pre>{@code
+	 * final CachedEvaluator<DoubleGene, Double> evaluator = Evaluators.cached(
+	 *     Evaluators.concurrent(Main::fitness, ForkJoinPool.commonPool()),
+	 *     10_000
+	 * );
+	 * }</pre>
+	 *
+	 * @since 6.1
+	 *
+	 * @see CachedEvaluator
+	 *
+	 * @param evaluator the evaluator used for the not cached genotypes
+	 * @param maxSize the maximal number of cached fitness values
+	 * @param <G> the gene type
+	 * @param <C> the fitness value type
+	 * @return a new caching fitness evaluator
+	 * @throws NullPointerException if the given {@code evaluator} is
+	 *         {@code null}
+	 * @throws IllegalArgumentException if the {@code maxSize} is smaller than
+	 *         one
+	 */
+	public static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	CachedEvaluator<G, C>
+	cached(final Evaluator<G, C> evaluator, final int maxSize) {
+		return cached(evaluator, Function.identity(), maxSize);
+	}
+
+	/**
+	 * Return a new fitness evaluator, which caches the fitness values of the
+	 * already evaluated genotypes. Only genotypes which are not in the cache
+	 * are evaluated by the given {@code evaluator}. The cache key is
+	 * calculated with the given {@code key} function, which allows to use a
+	 * cheaper key than the genotype itself. Genotypes with equal keys must
+	 * have the same fitness value.
+	 *
+	 * <pre>{@code
+	 * final Codec<double[], DoubleGene> codec = ...;
+	 * final CachedEvaluator<DoubleGene, Double> evaluator = Evaluators.cached(
+	 *     Evaluators.concurrent(Main::fitness, codec, ForkJoinPool.commonPool()),
+	 *     gt -> Arrays.toString(codec.decode(gt)),
+	 *     10_000
+	 * );
+	 * }</pre>
+	 *
+	 * @since 6.1
+	 *
+	 * @see CachedEvaluator
+	 *
+	 * @param evaluator the evaluator used for the not cached genotypes
+	 * @param key the function which calculates the cache key of a genotype
+	 * @param maxSize the maximal number of cached fitness values
+	 * @param <G> the gene type
+	 * @param <C> the fitness value type
+	 * @return a new caching fitness evaluator
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the {@code maxSize} is smaller than
+	 *         one
+	 */
+	public static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	CachedEvaluator<G, C> cached(
+		final Evaluator<G, C> evaluator,
+		final Function<? super Genotype<G>, ?> key,
+		final int maxSize
+	) {
+		return new CachedEvaluator<>(evaluator, key, maxSize);
+	}
+
+	// Return the batch size of the last evaluation of the given evaluator,
+	// or zero if not reported. Cached evaluators report the batch size of
+	// the decorated evaluator.
+	static int batchSize(final Evaluator<?, ?> evaluator) {
+		if (evaluator instanceof ConcurrentEvaluator) {
+			return ((ConcurrentEvaluator<?, ?>)evaluator).batchSize();
+		} else if (evaluator instanceof CachedEvaluator) {
+			return ((CachedEvaluator<?, ?>)evaluator).batchSize();
+		} else if (evaluator instanceof ThreadPerTaskEvaluator) {
+			return ((ThreadPerTaskEvaluator<?, ?>)evaluator).batchSize();
+		} else {
+			return 0;
+		}
+	}
+
 }
@@ -45,7 +45,7 @@ import java.util.Objects;
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
  * @since 3.0
- * @version 6.0
+ * @version 6.1
  */
 public final /*record*/ class EvolutionDurations
 	implements
@@ -74,6 +74,7 @@ public final /*record*/ class EvolutionDurations
 	private final Duration _survivorFilterDuration;
 	private final Duration _evaluationDuration;
 	private final Duration _evolveDuration;
+	private final int _evaluationBatchSize;
 
 	EvolutionDurations(
 		final Duration offspringSelectionDuration,
@@ -82,8 +83,16 @@ public final /*record*/ class EvolutionDurations
 		final Duration offspringFilterDuration,
 		final Duration survivorFilterDuration,
 		final Duration evaluationDuration,
-		final Duration evolveDuration
+		final Duration evolveDuration,
+		final int evaluationBatchSize
 	) {
+		if (evaluationBatchSize < 0) {
+			throw new IllegalArgumentException(
+				"Evaluation batch size must not be negative: " +
+					evaluationBatchSize
+			);
+		}
+
 		_offspringSelectionDuration = requireNonNull(offspringSelectionDuration);
 		_survivorsSelectionDuration = requireNonNull(survivorsSelectionDuration);
 		_offspringAlterDuration = requireNonNull(offspringAlterDuration);
@@ -91,6 +100,7 @@ public final /*record*/ class EvolutionDurations
 		_survivorFilterDuration = requireNonNull(survivorFilterDuration);
 		_evaluationDuration = requireNonNull(evaluationDuration);
 		_evolveDuration = requireNonNull(evolveDuration);
+		_evaluationBatchSize = evaluationBatchSize;
 	}
 
 	/**
@@ -163,7 +173,30 @@ public final /*record*/ class EvolutionDurations
 	}
 
 	/**
-	 * Returns a copy of this duration with the specified duration added.
+	 * Return the number of phenotypes, which have been evaluated together in
+	 * one concurrent batch. This value is only reported by evaluators which
+	 * adapt the batch size to the measured fitness evaluation times, and by
+	 * the thread-per-task evaluators, which evaluate every phenotype on its
+	 * own. The batch size of a cached evaluator is the batch size of the
+	 * evaluator it decorates.
+	 *
+	 * @see Evaluators#adaptive(java.util.function.Function, java.util.concurrent.Executor)
+	 * @see Evaluators#threadPerTask(java.util.function.Function, int)
+	 * @see Evaluators#cached(Evaluator, int)
+	 *
+	 * @since 6.1
+	 *
+	 * @return the evaluation batch size, or zero if not reported by the
+	 *         evaluator
+	 */
+	public int evaluationBatchSize() {
+		return _evaluationBatchSize;
+	}
+
+	/**
+	 * Returns a copy of this duration with the specified duration added. The
+	 * {@link #evaluationBatchSize()} of the {@code other} durations is taken,
+	 * if reported.
 	 * <p>
 	 * This instance is immutable and unaffected by this method call.
 	 *
@@ -182,7 +215,10 @@ public final /*record*/ class EvolutionDurations
 			_offspringFilterDuration.plus(other._offspringFilterDuration),
 			_survivorFilterDuration.plus(other._survivorFilterDuration),
 			_evaluationDuration.plus(other._evaluationDuration),
-			_evolveDuration.plus(other._evolveDuration)
+			_evolveDuration.plus(other._evolveDuration),
+			other._evaluationBatchSize != 0
+				? other._evaluationBatchSize
+				: _evaluationBatchSize
 		);
 	}
 
@@ -194,7 +230,8 @@ public final /*record*/ class EvolutionDurations
 			_offspringFilterDuration,
 			_survivorFilterDuration,
 			_evaluationDuration.plus(duration),
-			_evolveDuration
+			_evolveDuration,
+			_evaluationBatchSize
 		);
 	}
 
@@ -206,7 +243,8 @@ public final /*record*/ class EvolutionDurations
 			_offspringFilterDuration,
 			_survivorFilterDuration,
 			_evaluationDuration,
-			_evolveDuration.plus(duration)
+			_evolveDuration.plus(duration),
+			_evaluationBatchSize
 		);
 	}
 
@@ -234,7 +272,8 @@ public final /*record*/ class EvolutionDurations
 			hash(_offspringFilterDuration,
 			hash(_survivorsSelectionDuration,
 			hash(_evaluationDuration,
-			hash(_evolveDuration)))))));
+			hash(_evolveDuration,
+			hash(_evaluationBatchSize))))))));
 	}
 
 	@Override
@@ -254,7 +293,9 @@ public final /*record*/ class EvolutionDurations
 			Objects.equals(_evaluationDuration,
 				((EvolutionDurations)obj)._evaluationDuration) &&
 			Objects.equals(_evolveDuration,
-				((EvolutionDurations)obj)._evolveDuration);
+				((EvolutionDurations)obj)._evolveDuration) &&
+			_evaluationBatchSize ==
+				((EvolutionDurations)obj)._evaluationBatchSize;
 	}
 
 	/**
@@ -285,6 +326,54 @@ public final /*record*/ class EvolutionDurations
 		final Duration survivorFilterDuration,
 		final Duration evaluationDuration,
 		final Duration evolveDuration
+	) {
+		return of(
+			offspringSelectionDuration,
+			survivorsSelectionDuration,
+			offspringAlterDuration,
+			offspringFilterDuration,
+			survivorFilterDuration,
+			evaluationDuration,
+			evolveDuration,
+			0
+		);
+	}
+
+	/**
+	 * Return an new {@code EvolutionDurations} object with the given values.
+	 *
+	 * @since 6.1
+	 *
+	 * @param offspringSelectionDuration the duration needed for selecting the
+	 *        offspring population
+	 * @param survivorsSelectionDuration the duration needed for selecting the
+	 *        survivors population
+	 * @param offspringAlterDuration the duration needed for altering the
+	 *        offspring population
+	 * @param offspringFilterDuration the duration needed for removing and
+	 *        replacing invalid offspring individuals
+	 * @param survivorFilterDuration the duration needed for removing and
+	 *        replacing old and invalid survivor individuals
+	 * @param evaluationDuration the duration needed for evaluating the fitness
+	 *        function of the new individuals
+	 * @param evolveDuration the duration needed for the whole evolve step
+	 * @param evaluationBatchSize the batch size used for evaluating the
+	 *        fitness function, or zero if not known
+	 * @return an new durations object
+	 * @throws NullPointerException if one of the arguments is
+	 *         {@code null}
+	 * @throws IllegalArgumentException if the {@code evaluationBatchSize} is
+	 *         negative
+	 */
+	public static EvolutionDurations of(
+		final Duration offspringSelectionDuration,
+		final Duration survivorsSelectionDuration,
+		final Duration offspringAlterDuration,
+		final Duration offspringFilterDuration,
+		final Duration survivorFilterDuration,
+		final Duration evaluationDuration,
+		final Duration evolveDuration,
+		final int evaluationBatchSize
 	) {
 		return new EvolutionDurations(
 			offspringSelectionDuration,
@@ -293,7 +382,8 @@ public final /*record*/ class EvolutionDurations
 			offspringFilterDuration,
 			survivorFilterDuration,
 			evaluationDuration,
-			evolveDuration
+			evolveDuration,
+			evaluationBatchSize
 		);
 	}
 
@@ -302,8 +392,14 @@ public final /*record*/ class EvolutionDurations
 	 *  Java object serialization
 	 * ************************************************************************/
 
+	// Durations without evaluation batch size keep the original serial form.
 	private Object writeReplace() {
-		return new Serial(Serial.EVOLUTION_DURATIONS, this);
+		return new Serial(
+			_evaluationBatchSize == 0
+				? Serial.EVOLUTION_DURATIONS
+				: Serial.BATCHED_EVOLUTION_DURATIONS,
+			this
+		);
 	}
 
 	private void readObject(final ObjectInputStream stream)
@@ -322,6 +418,11 @@ public final /*record*/ class EvolutionDurations
 		writeDuration(_evolveDuration, out);
 	}
 
+	void writeBatched(final ObjectOutput out) throws IOException {
+		write(out);
+		writeInt(_evaluationBatchSize, out);
+	}
+
 	private static void writeDuration(final Duration duration, final DataOutput out)
 		throws IOException
 	{
@@ -330,6 +431,17 @@ public final /*record*/ class EvolutionDurations
 	}
 
 	static EvolutionDurations read(final ObjectInput in) throws IOException {
+		return read(in, false);
+	}
+
+	static EvolutionDurations readBatched(final ObjectInput in)
+		throws IOException
+	{
+		return read(in, true);
+	}
+
+	private static EvolutionDurations
+	read(final ObjectInput in, final boolean batched) throws IOException {
 		return new EvolutionDurations(
 			readDuration(in),
 			readDuration(in),
@@ -337,7 +449,8 @@ public final /*record*/ class EvolutionDurations
 			readDuration(in),
 			readDuration(in),
 			readDuration(in),
-			readDuration(in)
+			readDuration(in),
+			batched ? readInt(in) : 0
 		);
 	}
 
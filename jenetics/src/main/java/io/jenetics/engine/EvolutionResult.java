@@ -44,6 +44,7 @@ import io.jenetics.Gene;
 import io.jenetics.Genotype;
 import io.jenetics.Optimize;
 import io.jenetics.Phenotype;
+import io.jenetics.internal.engine.RankedPopulation;
 import io.jenetics.internal.util.Lazy;
 import io.jenetics.stat.MinMax;
 import io.jenetics.util.Factory;
@@ -120,15 +121,24 @@ public final class EvolutionResult<
 		_alterCount = alterCount;
 		_dirty = dirty;
 
-		_best = Lazy.of(() -> _population.stream()
-			.max(_optimize.ascending())
-			.orElse(null)
-		);
-
-		_worst = Lazy.of(() -> _population.stream()
-			.min(_optimize.ascending())
-			.orElse(null)
-		);
+		// An already computed population ranking is used, if available.
+		_best = Lazy.of(() -> {
+			final var ranked = RankedPopulation.ranked(_population, _optimize);
+			return ranked != null
+				? ranked.best()
+				: _population.stream()
+					.max(_optimize.ascending())
+					.orElse(null);
+		});
+
+		_worst = Lazy.of(() -> {
+			final var ranked = RankedPopulation.ranked(_population, _optimize);
+			return ranked != null
+				? ranked.worst()
+				: _population.stream()
+					.min(_optimize.ascending())
+					.orElse(null);
+		});
 	}
 
 	/**
@@ -22,15 +22,18 @@ package io.jenetics.engine;
 import static java.lang.Math.sqrt;
 import static java.lang.String.format;
 
+import java.io.Serializable;
 import java.text.NumberFormat;
 import java.time.Duration;
 import java.util.function.Consumer;
 
+import io.jenetics.Optimize;
 import io.jenetics.Phenotype;
 import io.jenetics.stat.DoubleMomentStatistics;
 import io.jenetics.stat.IntMomentStatistics;
 import io.jenetics.stat.LongMomentStatistics;
 import io.jenetics.stat.MinMax;
+import io.jenetics.stat.QuantileSketch;
 
 /**
  * This class can be used to gather additional statistic information of an
@@ -80,20 +83,37 @@ import io.jenetics.stat.MinMax;
  * |                      mean = 384.430345078660                              |
  * |                      var  = 13006.132537301528                            |
  * |                      std  = 114.044432                                    |
+ * |                      p50  = 423.612049270612                              |
+ * |                      p90  = 478.325916271842                              |
+ * |                      p99  = 481.597412003615                              |
  * +---------------------------------------------------------------------------+
  * }</pre>
  *
+ * @implNote
+ * The population statistics of big populations are accumulated in parallel,
+ * using the common fork-join pool. The statistics of the population parts
+ * are combined afterwards, without any synchronization. The fitness
+ * quantiles of numeric fitness values are estimated with a
+ * {@link QuantileSketch}, which uses a bounded amount of memory, independent
+ * of the number of generations.
+ *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
  * @since 3.0
- * @version 6.0
+ * @version 6.1
  */
 public abstract class EvolutionStatistics<
 	C extends Comparable<? super C>,
 	FitnessStatistics
 >
-	implements Consumer<EvolutionResult<?, C>>
+	implements Consumer<EvolutionResult<?, C>>, Serializable
 {
 
+	private static final long serialVersionUID = 1L;
+
+	// Minimal population size for accumulating the population statistics
+	// in parallel.
+	static final int PARALLEL_THRESHOLD = 1 << 16;
+
 	// The duration statistics values.
 	private final DoubleMomentStatistics
 		_selectionDuration = new DoubleMomentStatistics();
@@ -112,6 +132,7 @@ public abstract class EvolutionStatistics<
 	// The population statistics values.
 	final LongMomentStatistics _age = new LongMomentStatistics();
 	FitnessStatistics _fitness = null;
+	final QuantileSketch _fitnessQuantiles = new QuantileSketch();
 
 	EvolutionStatistics() {
 	}
@@ -124,12 +145,62 @@ public abstract class EvolutionStatistics<
 		_invalids.accept(result.invalidCount());
 		_altered.accept(result.alterCount());
 
-		result.population()
-			.forEach(pt -> accept(pt, result.generation()));
+		final long generation = result.generation();
+		if (result.population().size() >= PARALLEL_THRESHOLD) {
+			// The statistics of the population parts are accumulated in
+			// parallel and combined afterwards, without synchronization.
+			final Part part = result.population()
+				.stream()
+				.parallel()
+				.collect(
+					() -> new Part(fitness(result.optimize())),
+					(p, pt) -> p.accept(pt, generation),
+					Part::combine
+				);
+
+			_age.combine(part.age);
+			_fitness = combine(_fitness, part.fitness);
+		} else {
+			result.population()
+				.forEach(pt -> accept(pt, generation));
+		}
 	}
 
 	void accept(final Phenotype<?, C> pt, final long generation) {
 		_age.accept(pt.age(generation));
+		accept(_fitness, pt.fitness());
+	}
+
+	// Return a new, empty fitness statistics object.
+	abstract FitnessStatistics fitness(final Optimize optimize);
+
+	// Add the given fitness value to the fitness statistics.
+	abstract void accept(final FitnessStatistics statistics, final C fitness);
+
+	// Combine the two fitness statistics objects.
+	abstract FitnessStatistics combine(
+		final FitnessStatistics a,
+		final FitnessStatistics b
+	);
+
+	// Population statistics of one part of the population.
+	private final class Part {
+		final LongMomentStatistics age = new LongMomentStatistics();
+		FitnessStatistics fitness;
+
+		Part(final FitnessStatistics fitness) {
+			this.fitness = fitness;
+		}
+
+		void accept(final Phenotype<?, C> pt, final long generation) {
+			age.accept(pt.age(generation));
+			EvolutionStatistics.this.accept(fitness, pt.fitness());
+		}
+
+		void combine(final Part other) {
+			age.combine(other.age);
+			fitness = EvolutionStatistics.this.combine(fitness, other.fitness);
+		}
 	}
 
 	// Calculate duration statistics
@@ -251,6 +322,26 @@ public abstract class EvolutionStatistics<
 		return _fitness;
 	}
 
+	/**
+	 * Return the quantile sketch of the fitness values, which allows to query
+	 * fitness quantiles, like the median or the 99th percentile. The sketch
+	 * is only filled for <em>numeric</em> fitness values, created with
+	 * {@link #ofNumber()}; it is empty for statistics objects created with
+	 * {@link #ofComparable()}.
+	 *
+	 * <pre>{@code
+	 * final double[] quantiles = statistics.fitnessQuantiles()
+	 *     .quantiles(0.5, 0.9, 0.99);
+	 * }</pre>
+	 *
+	 * @since 6.1
+	 *
+	 * @return the quantile sketch of the fitness values
+	 */
+	public QuantileSketch fitnessQuantiles() {
+		return _fitnessQuantiles;
+	}
+
 	final String cpattern = "| %22s %-51s|\n";
 	final String spattern = "| %27s %-46s|\n";
 
@@ -318,6 +409,8 @@ public abstract class EvolutionStatistics<
 		>
 		extends EvolutionStatistics<C, MinMax<C>>
 	{
+		private static final long serialVersionUID = 1L;
+
 		private Comp() {
 			_fitness = MinMax.of();
 		}
@@ -332,9 +425,18 @@ public abstract class EvolutionStatistics<
 		}
 
 		@Override
-		void accept(final Phenotype<?, C> pt, final long generation) {
-			super.accept(pt, generation);
-			_fitness.accept(pt.fitness());
+		MinMax<C> fitness(final Optimize optimize) {
+			return MinMax.of(optimize.ascending());
+		}
+
+		@Override
+		void accept(final MinMax<C> statistics, final C fitness) {
+			statistics.accept(fitness);
+		}
+
+		@Override
+		MinMax<C> combine(final MinMax<C> a, final MinMax<C> b) {
+			return a.combine(b);
 		}
 
 		@Override
@@ -354,14 +456,48 @@ public abstract class EvolutionStatistics<
 	private static final class Num<N extends Number & Comparable<? super N>>
 		extends EvolutionStatistics<N, DoubleMomentStatistics>
 	{
+		private static final long serialVersionUID = 1L;
+
 		private Num() {
 			_fitness = new DoubleMomentStatistics();
 		}
 
 		@Override
-		void accept(final Phenotype<?, N> pt, final long generation) {
-			super.accept(pt, generation);
-			_fitness.accept(pt.fitness().doubleValue());
+		public void accept(final EvolutionResult<?, N> result) {
+			super.accept(result);
+
+			final var population = result.population();
+			if (population.size() >= PARALLEL_THRESHOLD) {
+				_fitnessQuantiles.combine(
+					population.stream()
+						.parallel()
+						.collect(QuantileSketch.toQuantileSketch(
+							pt -> pt.fitness().doubleValue()
+						))
+				);
+			} else {
+				for (Phenotype<?, N> pt : population) {
+					_fitnessQuantiles.accept(pt.fitness().doubleValue());
+				}
+			}
+		}
+
+		@Override
+		DoubleMomentStatistics fitness(final Optimize optimize) {
+			return new DoubleMomentStatistics();
+		}
+
+		@Override
+		void accept(final DoubleMomentStatistics statistics, final N fitness) {
+			statistics.accept(fitness.doubleValue());
+		}
+
+		@Override
+		DoubleMomentStatistics combine(
+			final DoubleMomentStatistics a,
+			final DoubleMomentStatistics b
+		) {
+			return a.combine(b);
 		}
 
 		@Override
@@ -377,6 +513,9 @@ public abstract class EvolutionStatistics<
 				format(spattern, "mean =", d(_fitness.mean())) +
 				format(spattern, "var  =", d(_fitness.variance())) +
 				format(spattern, "std  =", d(sqrt(_fitness.variance()))) +
+				format(spattern, "p50  =", d(_fitnessQuantiles.quantile(0.5))) +
+				format(spattern, "p90  =", d(_fitnessQuantiles.quantile(0.9))) +
+				format(spattern, "p99  =", d(_fitnessQuantiles.quantile(0.99))) +
 				"+---------------------------------------------------------------------------+";
 		}
 
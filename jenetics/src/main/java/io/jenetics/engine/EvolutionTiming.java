@@ -23,7 +23,7 @@ import java.time.Clock;
 
 /**
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 5.0
+ * @version 6.1
  * @since 5.0
  */
 final class EvolutionTiming {
@@ -35,6 +35,7 @@ final class EvolutionTiming {
 	final Timing survivorFilter;
 	final Timing evaluation;
 	final Timing evolve;
+	int evaluationBatchSize;
 
 	EvolutionTiming(final Clock clock) {
 		offspringSelection = Timing.of(clock);
@@ -55,7 +56,8 @@ final class EvolutionTiming {
 			offspringFilter.duration(),
 			survivorFilter.duration(),
 			evaluation.duration(),
-			evolve.duration()
+			evolve.duration(),
+			evaluationBatchSize
 		);
 	}
 
@@ -0,0 +1,501 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.engine;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.DELETE_ON_CLOSE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Objects.requireNonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.jenetics.Chromosome;
+import io.jenetics.DoubleChromosome;
+import io.jenetics.DoubleGene;
+import io.jenetics.Gene;
+import io.jenetics.Genotype;
+import io.jenetics.IntegerChromosome;
+import io.jenetics.IntegerGene;
+import io.jenetics.LongChromosome;
+import io.jenetics.LongGene;
+import io.jenetics.Phenotype;
+import io.jenetics.util.DoubleRange;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.IntRange;
+import io.jenetics.util.LongRange;
+
+/**
+ * Engine interceptor, which keeps the alleles of the evolved populations in
+ * a memory-mapped file, instead of the Java heap. This allows to evolve
+ * populations, whose genotypes wouldn't fit into the heap.
+ *
+ * <pre>{@code
+ * try (var mapped = MappedPopulation.<DoubleGene, Double>of()) {
+ *     final Engine<DoubleGene, Double> engine = Engine.builder(fitness, codec)
+ *         .populationSize(1_000_000)
+ *         .selector(new TournamentSelector<>())
+ *         .interceptor(mapped)
+ *         .build();
+ *
+ *     final Phenotype<DoubleGene, Double> best = engine.stream()
+ *         .limit(100)
+ *         .collect(EvolutionResult.toBestPhenotype());
+ * }
+ * }</pre>
+ *
+ * After every generation, the alleles of the newly created genotypes are
+ * written to the mapped file and the phenotypes are replaced by phenotypes
+ * whose chromosomes read their alleles directly from the mapping. The heap
+ * only holds the fitness values and the (small) chromosome handles. Selectors
+ * which only compare the fitness values, like the {@link
+ * io.jenetics.TournamentSelector} or the {@link io.jenetics.TruncationSelector},
+ * never touch the genotype pages, and the alterers only read the genotypes of
+ * the selected individuals.
+ * <p>
+ * Only genotypes, which consist solely of {@link DoubleChromosome},
+ * {@link IntegerChromosome} or {@link LongChromosome} instances, are mapped.
+ * All other genotypes stay on the heap. The size of the file slot, reserved
+ * for a genotype, is determined by the first mapped genotype, using the
+ * maximal allowed length of its chromosomes. The slot of a genotype is
+ * reused, after the genotype is no longer referenced.
+ *
+ * @apiNote
+ * The mapped phenotypes are still readable after the mapped population has
+ * been closed, but the slots of the closed file are not reused any more.
+ * The alterers create the offspring on the heap, and they are moved to the
+ * mapped file at the end of the generation.
+ *
+ * @param <G> the gene type
+ * @param <C> the fitness result type
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 6.1
+ * @since 6.1
+ */
+public final class MappedPopulation<
+	G extends Gene<?, G>,
+	C extends Comparable<? super C>
+>
+	implements EvolutionInterceptor<G, C>, Closeable
+{
+
+	// Size of the mapped file regions.
+	static final int CHUNK_SIZE = 64*1024*1024;
+
+	private final Path _file;
+	private final FileChannel _channel;
+
+	private final List<MappedByteBuffer> _chunks = new ArrayList<>();
+	private int _slotSize = -1;
+	private int _chunkSlots;
+
+	// Number of allocated slots and the stack of the free ones.
+	private int _slots = 0;
+	private int[] _free = new int[16];
+	private int _freeCount = 0;
+
+	// Number of reachable allele buffers per slot.
+	private int[] _references = new int[16];
+	private final Map<Reference<?>, Integer> _slotOf = new HashMap<>();
+	private final ReferenceQueue<Buffer> _queue = new ReferenceQueue<>();
+
+	// The mapped genotypes of the current population.
+	private Map<Genotype<G>, Boolean> _mapped = new IdentityHashMap<>();
+
+	private boolean _closed = false;
+
+	private MappedPopulation(final Path file, final FileChannel channel) {
+		_file = requireNonNull(file);
+		_channel = requireNonNull(channel);
+	}
+
+	/**
+	 * Return the file, where the alleles are mapped to.
+	 *
+	 * @return the mapped file
+	 */
+	public Path file() {
+		return _file;
+	}
+
+	/**
+	 * Return the number of file slots, which are currently in use.
+	 *
+	 * @return the number of used file slots
+	 */
+	public synchronized int size() {
+		reclaim();
+		return _slots - _freeCount;
+	}
+
+	@Override
+	public synchronized EvolutionStart<G, C>
+	before(final EvolutionStart<G, C> start) {
+		return _closed || start.population().isEmpty()
+			? start
+			: new EvolutionStart<>(
+				map(start.population()),
+				start.generation(),
+				start.isDirty()
+			);
+	}
+
+	@Override
+	public synchronized EvolutionResult<G, C>
+	after(final EvolutionResult<G, C> result) {
+		return _closed
+			? result
+			: result.withPopulation(map(result.population()));
+	}
+
+	private ISeq<Phenotype<G, C>> map(final ISeq<Phenotype<G, C>> population) {
+		reclaim();
+
+		final Map<Genotype<G>, Boolean> mapped = new IdentityHashMap<>();
+		final ISeq<Phenotype<G, C>> result = population.map(pt -> {
+			if (_mapped.containsKey(pt.genotype())) {
+				mapped.put(pt.genotype(), Boolean.TRUE);
+				return pt;
+			}
+
+			final Genotype<G> gt = map(pt.genotype());
+			if (gt == pt.genotype()) {
+				return pt;
+			}
+
+			mapped.put(gt, Boolean.TRUE);
+			return pt.isEvaluated()
+				? Phenotype.of(gt, pt.generation(), pt.fitness())
+				: Phenotype.of(gt, pt.generation());
+		});
+
+		_mapped = mapped;
+		return result;
+	}
+
+	// Return the mapped genotype, or the given one, if it can't be mapped.
+	private Genotype<G> map(final Genotype<G> genotype) {
+		final int size = slotSize(genotype, false);
+		if (size < 0) {
+			return genotype;
+		}
+		if (_slotSize == -1) {
+			final int max = slotSize(genotype, true);
+			_slotSize = Math.max(max < 0 ? size : max, 8);
+			_chunkSlots = Math.max(CHUNK_SIZE/_slotSize, 1);
+		}
+		if (size > _slotSize) {
+			return genotype;
+		}
+
+		final int slot = allocate();
+		final ByteBuffer bytes = slot(slot);
+
+		final List<Chromosome<G>> chromosomes = new ArrayList<>(genotype.length());
+		for (Chromosome<G> ch : genotype) {
+			final ByteBuffer segment = bytes.slice()
+				.limit(align(ch.length()*elementSize(ch)))
+				.slice()
+				.order(ByteOrder.nativeOrder());
+			bytes.position(bytes.position() + segment.capacity());
+
+			chromosomes.add(map(ch, segment, slot));
+		}
+
+		return Genotype.of(chromosomes);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Chromosome<G> map(
+		final Chromosome<G> chromosome,
+		final ByteBuffer segment,
+		final int slot
+	) {
+		final Chromosome<?> result;
+
+		if (chromosome instanceof DoubleChromosome) {
+			final var ch = (DoubleChromosome)chromosome;
+			final DoubleBuffer buffer = segment.asDoubleBuffer()
+				.put(ch.toArray())
+				.flip();
+			track(buffer, slot);
+			result = DoubleChromosome.of(
+				DoubleRange.of(ch.min(), ch.max()),
+				ch.lengthRange(),
+				buffer
+			);
+		} else if (chromosome instanceof IntegerChromosome) {
+			final var ch = (IntegerChromosome)chromosome;
+			final IntBuffer buffer = segment.asIntBuffer()
+				.put(ch.toArray())
+				.flip();
+			track(buffer, slot);
+			result = IntegerChromosome.of(
+				IntRange.of(ch.min(), ch.max()),
+				ch.lengthRange(),
+				buffer
+			);
+		} else {
+			final var ch = (LongChromosome)chromosome;
+			final LongBuffer buffer = segment.asLongBuffer()
+				.put(ch.toArray())
+				.flip();
+			track(buffer, slot);
+			result = LongChromosome.of(
+				LongRange.of(ch.min(), ch.max()),
+				ch.lengthRange(),
+				buffer
+			);
+		}
+
+		return (Chromosome<G>)result;
+	}
+
+	/* *************************************************************************
+	 * Slot handling.
+	 * ************************************************************************/
+
+	private int allocate() {
+		if (_freeCount > 0) {
+			return _free[--_freeCount];
+		}
+
+		final int slot = _slots++;
+		if (slot >= _references.length) {
+			_references = Arrays.copyOf(_references, _references.length*2);
+		}
+		return slot;
+	}
+
+	// Return the byte buffer of the given slot, positioned at the slot start.
+	private ByteBuffer slot(final int slot) {
+		final int chunk = slot/_chunkSlots;
+		try {
+			while (_chunks.size() <= chunk) {
+				final long size = (long)_chunkSlots*_slotSize;
+				_chunks.add(_channel.map(
+					MapMode.READ_WRITE,
+					_chunks.size()*size,
+					size
+				));
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		final int offset = (slot%_chunkSlots)*_slotSize;
+		return _chunks.get(chunk).duplicate()
+			.position(offset)
+			.limit(offset + _slotSize);
+	}
+
+	private void track(final Buffer buffer, final int slot) {
+		_slotOf.put(new WeakReference<>(buffer, _queue), slot);
+		++_references[slot];
+	}
+
+	// Frees the slots, whose allele buffers are no longer reachable.
+	private void reclaim() {
+		Reference<?> ref;
+		while ((ref = _queue.poll()) != null) {
+			final Integer slot = _slotOf.remove(ref);
+			if (slot != null && --_references[slot] == 0 && !_closed) {
+				if (_freeCount == _free.length) {
+					_free = Arrays.copyOf(_free, _free.length*2);
+				}
+				_free[_freeCount++] = slot;
+			}
+		}
+	}
+
+	/**
+	 * Return the number of bytes needed for storing the given genotype, or
+	 * -1 if the genotype can't be mapped.
+	 */
+	private static int slotSize(final Genotype<?> genotype, final boolean max) {
+		long size = 0;
+		for (Chromosome<?> ch : genotype) {
+			final int elementSize = elementSize(ch);
+			if (elementSize == -1 || !isUniform(ch)) {
+				return -1;
+			}
+
+			final int length = max
+				? Math.max(ch.length(), lengthRange(ch).max() - 1)
+				: ch.length();
+			size += align((long)length*elementSize);
+		}
+
+		return size <= CHUNK_SIZE ? (int)size : -1;
+	}
+
+	private static int elementSize(final Chromosome<?> ch) {
+		final Class<?> type = ch.getClass();
+		if (type == DoubleChromosome.class) {
+			return Double.BYTES;
+		} else if (type == IntegerChromosome.class) {
+			return Integer.BYTES;
+		} else if (type == LongChromosome.class) {
+			return Long.BYTES;
+		} else {
+			return -1;
+		}
+	}
+
+	private static IntRange lengthRange(final Chromosome<?> ch) {
+		if (ch instanceof DoubleChromosome) {
+			return ((DoubleChromosome)ch).lengthRange();
+		} else if (ch instanceof IntegerChromosome) {
+			return ((IntegerChromosome)ch).lengthRange();
+		} else {
+			return ((LongChromosome)ch).lengthRange();
+		}
+	}
+
+	// Only chromosomes, whose genes share the same range, can be mapped.
+	private static boolean isUniform(final Chromosome<?> ch) {
+		if (ch instanceof DoubleChromosome) {
+			final var dch = (DoubleChromosome)ch;
+			for (DoubleGene gene : dch) {
+				if (Double.compare(gene.min(), dch.min()) != 0 ||
+					Double.compare(gene.max(), dch.max()) != 0)
+				{
+					return false;
+				}
+			}
+		} else if (ch instanceof IntegerChromosome) {
+			final var ich = (IntegerChromosome)ch;
+			for (IntegerGene gene : ich) {
+				if (gene.min() != ich.min() || gene.max() != ich.max()) {
+					return false;
+				}
+			}
+		} else {
+			final var lch = (LongChromosome)ch;
+			for (LongGene gene : lch) {
+				if (gene.min() != lch.min() || gene.max() != lch.max()) {
+					return false;
+				}
+			}
+		}
+
+		return true;
+	}
+
+	private static int align(final int size) {
+		return (size + 7) & ~7;
+	}
+
+	private static long align(final long size) {
+		return (size + 7) & ~7L;
+	}
+
+	/**
+	 * Closes the underlying file. The already mapped phenotypes stay readable,
+	 * but no further genotypes are mapped.
+	 *
+	 * @throws IOException if closing the file fails
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (!_closed) {
+			_closed = true;
+			_chunks.clear();
+			_mapped.clear();
+			_channel.close();
+		}
+	}
+
+	/* *************************************************************************
+	 * Static factory methods.
+	 * ************************************************************************/
+
+	/**
+	 * Create a new mapped population, which stores the alleles in the given
+	 * {@code file}. An existing file is overwritten.
+	 *
+	 * @param file the mapped file
+	 * @param <G> the gene type
+	 * @param <C> the fitness result type
+	 * @return a new mapped population
+	 * @throws NullPointerException if the given {@code file} is {@code null}
+	 * @throws UncheckedIOException if the file can't be opened
+	 */
+	public static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	MappedPopulation<G, C> of(final Path file) {
+		return open(file, false);
+	}
+
+	/**
+	 * Create a new mapped population, which stores the alleles in a temporary
+	 * file. The file is deleted, when the mapped population is closed.
+	 *
+	 * @param <G> the gene type
+	 * @param <C> the fitness result type
+	 * @return a new mapped population
+	 * @throws UncheckedIOException if the temporary file can't be created
+	 */
+	public static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	MappedPopulation<G, C> of() {
+		try {
+			return open(Files.createTempFile("jenetics-", ".population"), true);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	MappedPopulation<G, C> open(final Path file, final boolean temporary) {
+		try {
+			final FileChannel channel = temporary
+				? FileChannel.open(file, READ, WRITE, DELETE_ON_CLOSE)
+				: FileChannel.open(file, READ, WRITE, CREATE, TRUNCATE_EXISTING);
+
+			return new MappedPopulation<>(file, channel);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+}
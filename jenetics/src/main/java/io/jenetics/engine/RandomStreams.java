@@ -0,0 +1,81 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.engine;
+
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+import io.jenetics.internal.math.SplitRandom;
+import io.jenetics.util.RandomRegistry;
+
+/**
+ * Deterministic random streams for the tasks of one evolution step (or
+ * evaluation), which are derived from the <em>splittable</em> random engine
+ * of the {@link RandomRegistry}. Every task is executed with the random
+ * engine of its stream index, independent of the executing thread. If the
+ * registered random engine is not splittable, the tasks are executed with
+ * the registry random engine.
+ *
+ * @see RandomRegistry#random(SplittableRandom)
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 6.1
+ * @since 6.1
+ */
+final class RandomStreams {
+
+	private static final RandomStreams NONE = new RandomStreams(0, false);
+
+	private final long _seed;
+	private final boolean _split;
+
+	private RandomStreams(final long seed, final boolean split) {
+		_seed = seed;
+		_split = split;
+	}
+
+	/**
+	 * Executes the given {@code task} with the random engine of the given
+	 * {@code stream} index.
+	 *
+	 * @param stream the stream index
+	 * @param task the task to execute
+	 * @param <T> the result type
+	 * @return the result of the given {@code task}
+	 */
+	<T> T with(final long stream, final Supplier<? extends T> task) {
+		return _split
+			? RandomRegistry.with(SplitRandom.of(_seed, stream), r -> task.get())
+			: task.get();
+	}
+
+	/**
+	 * Return the random streams for the next evolution step. This method must
+	 * be called in a deterministic order, e.g. from the evolving thread.
+	 *
+	 * @return the random streams for the next evolution step
+	 */
+	static RandomStreams next() {
+		return RandomRegistry.split()
+			.map(random -> new RandomStreams(random.nextLong(), true))
+			.orElse(NONE);
+	}
+
+}
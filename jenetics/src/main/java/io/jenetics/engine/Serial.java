@@ -20,6 +20,7 @@ final class Serial implements Externalizable {
 	static final byte EVOLUTION_PARAMS = 3;
 	static final byte EVOLUTION_RESULT = 4;
 	static final byte EVOLUTION_START = 5;
+	static final byte BATCHED_EVOLUTION_DURATIONS = 6;
 
 	/**
 	 * The type being serialized.
@@ -57,6 +58,7 @@ final class Serial implements Externalizable {
 			case EVOLUTION_PARAMS: ((EvolutionParams)_object).write(out); break;
 			case EVOLUTION_RESULT: ((EvolutionResult)_object).write(out); break;
 			case EVOLUTION_START: ((EvolutionStart)_object).write(out); break;
+			case BATCHED_EVOLUTION_DURATIONS: ((EvolutionDurations)_object).writeBatched(out); break;
 			default:
 				throw new StreamCorruptedException("Unknown serialized type.");
 		}
@@ -73,6 +75,7 @@ final class Serial implements Externalizable {
 			case EVOLUTION_PARAMS: _object = EvolutionParams.read(in); break;
 			case EVOLUTION_RESULT: _object = EvolutionResult.read(in); break;
 			case EVOLUTION_START: _object = EvolutionStart.read(in); break;
+			case BATCHED_EVOLUTION_DURATIONS: _object = EvolutionDurations.readBatched(in); break;
 			default:
 				throw new StreamCorruptedException("Unknown serialized type.");
 		}
@@ -0,0 +1,485 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.engine;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import io.jenetics.AltererResult;
+import io.jenetics.Gene;
+import io.jenetics.Genotype;
+import io.jenetics.Optimize;
+import io.jenetics.Phenotype;
+import io.jenetics.internal.util.Concurrency;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.MSeq;
+import io.jenetics.util.Seq;
+
+/**
+ * Asynchronous, <em>steady-state</em> evolution of a population. Unlike the
+ * generational {@link Engine}, this evolution doesn't wait for the slowest
+ * fitness evaluation of a generation. Every finished fitness evaluation
+ * immediately replaces the worst individual of the population, and new
+ * offspring are bred and dispatched to the free workers. This keeps all
+ * workers busy, if the evaluation time of the fitness function varies
+ * strongly.
+ * <p>
+ * The steady-state engine uses the parameters of the given {@link Engine}:
+ * the offspring {@link io.jenetics.Selector} chooses the parents, the
+ * {@link io.jenetics.Alterer} creates the offspring and the
+ * {@link Constraint} repairs invalid offspring. The fitness function is
+ * evaluated with the {@link Engine#executor()} of the engine.
+ *
+ * <pre>{@code
+ * final Engine<DoubleGene, Double> engine = Engine
+ *     .builder(Main::fitness, codec)
+ *     .alterers(new Mutator<>(0.2), new MeanAlterer<>())
+ *     .build();
+ *
+ * final EvolutionResult<DoubleGene, Double> result = SteadyStateEngine
+ *     .of(engine, codec.decoder().andThen(Main::fitness))
+ *     .stream()
+ *     .limit(100)
+ *     .collect(EvolutionResult.toBestEvolutionResult());
+ * }</pre>
+ *
+ * One evolution step ends after {@link #cadence()} fitness evaluations, which
+ * is the {@link Engine#offspringSize()} by default. Each step emits an
+ * {@link EvolutionResult}, which makes the steady-state engine usable with
+ * the existing evolution stream limits and collectors. The emitted result
+ * is a snapshot of the evaluated population; within an evolution stream,
+ * the workers are not drained at the step boundaries. Evaluations which are
+ * still running are inserted into the population of the next step. When the
+ * stream is closed, the remaining evaluations are finished, but their
+ * results are discarded.
+ *
+ * @implNote
+ * The unevaluated individuals of the evolution start population are
+ * evaluated with the {@link Evaluator} of the given engine, before the
+ * steady-state evolution starts. The offspring are evaluated with the given
+ * fitness function instead. An {@code Evaluator} evaluates a whole batch of
+ * individuals and returns when the slowest one is finished, which is exactly
+ * the barrier the steady-state evolution avoids. Calling it for every single
+ * offspring, from within the engine's executor, would block the worker
+ * threads while waiting for their own nested tasks. The survivors selector
+ * of the engine is not used, since every evaluated offspring replaces the
+ * worst individual.
+ *
+ * @param <G> the gene type
+ * @param <C> the fitness result type
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 6.1
+ * @since 6.1
+ */
+public final class SteadyStateEngine<
+	G extends Gene<?, G>,
+	C extends Comparable<? super C>
+>
+	implements Evolution<G, C>, EvolutionStreamable<G, C>
+{
+
+	private final Engine<G, C> _engine;
+	private final Function<? super Genotype<G>, ? extends C> _fitness;
+	private final int _maxInFlight;
+	private final int _cadence;
+
+	private SteadyStateEngine(
+		final Engine<G, C> engine,
+		final Function<? super Genotype<G>, ? extends C> fitness,
+		final int maxInFlight,
+		final int cadence
+	) {
+		_engine = requireNonNull(engine);
+		_fitness = requireNonNull(fitness);
+
+		if (maxInFlight < 1) {
+			throw new IllegalArgumentException(format(
+				"Max in-flight evaluations must be greater than zero: %d",
+				maxInFlight
+			));
+		}
+		if (cadence < 1) {
+			throw new IllegalArgumentException(format(
+				"Cadence must be greater than zero: %d", cadence
+			));
+		}
+		_maxInFlight = maxInFlight;
+		_cadence = cadence;
+	}
+
+	/**
+	 * Return the maximal number of concurrently running fitness evaluations.
+	 *
+	 * @return the maximal number of concurrently running fitness evaluations
+	 */
+	public int maxInFlight() {
+		return _maxInFlight;
+	}
+
+	/**
+	 * Return the number of fitness evaluations of one evolution step. After
+	 * this number of evaluations, an {@link EvolutionResult} is emitted.
+	 *
+	 * @return the number of fitness evaluations of one evolution step
+	 */
+	public int cadence() {
+		return _cadence;
+	}
+
+	/**
+	 * Return the engine, which defines the evolution parameters.
+	 *
+	 * @return the engine which defines the evolution parameters
+	 */
+	public Engine<G, C> engine() {
+		return _engine;
+	}
+
+	/**
+	 * Performs one evolution step. Only the new offspring of the current step
+	 * are dispatched and the method returns after all of them have been
+	 * evaluated. The evolution streams created by this engine don't stop the
+	 * dispatching at the step boundaries.
+	 *
+	 * @param start the evolution start state
+	 * @return the resulting evolution state
+	 * @throws NullPointerException if the given evolution {@code start} is
+	 *         {@code null}
+	 */
+	@Override
+	public EvolutionResult<G, C> evolve(final EvolutionStart<G, C> start) {
+		return new Steps(false).evolve(start);
+	}
+
+	// Filters out invalid and old individuals.
+	private FilterResult<G, C> filter(
+		final Seq<Phenotype<G, C>> population,
+		final long generation
+	) {
+		int killCount = 0;
+		int invalidCount = 0;
+
+		final MSeq<Phenotype<G, C>> pop = MSeq.of(population);
+		for (int i = 0, n = pop.size(); i < n; ++i) {
+			final Phenotype<G, C> individual = pop.get(i);
+
+			if (!_engine.constraint().test(individual)) {
+				pop.set(i, _engine.constraint().repair(individual, generation));
+				++invalidCount;
+			} else if (individual.age(generation) >
+						_engine.maximalPhenotypeAge())
+			{
+				pop.set(i, Phenotype.of(
+					_engine.genotypeFactory().newInstance(),
+					generation
+				));
+				++killCount;
+			}
+		}
+
+		return new FilterResult<>(pop.toISeq(), killCount, invalidCount);
+	}
+
+
+	/**
+	 * The state of the steady-state evolution. Breeding and insertion is done
+	 * by the calling thread; only the fitness evaluations are performed
+	 * concurrently. If the evolution is <em>continuous</em>, the running
+	 * evaluations are kept over the step boundaries and are inserted into the
+	 * population of the next step.
+	 */
+	private final class Steps implements Evolution<G, C> {
+		final boolean _continuous;
+
+		final BlockingQueue<Evaluation> _evaluated = new LinkedBlockingQueue<>();
+		final Deque<Phenotype<G, C>> _offspring = new ArrayDeque<>();
+		int _inFlight = 0;
+
+		MSeq<Phenotype<G, C>> _population;
+		long _generation;
+		EvolutionTiming _timing;
+		int _alterCount;
+		int _invalidCount;
+
+		Steps(final boolean continuous) {
+			_continuous = continuous;
+		}
+
+		@Override
+		public EvolutionResult<G, C> evolve(final EvolutionStart<G, C> start) {
+			_timing = new EvolutionTiming(_engine.clock());
+			_timing.evolve.start();
+
+			final EvolutionStart<G, C> es = start.population().isEmpty()
+				? evolutionStart(start)
+				: start;
+
+			final FilterResult<G, C> filtered = _timing.survivorFilter.timing(() ->
+				filter(es.population(), es.generation())
+			);
+
+			_population = _timing.evaluation
+				.timing(() -> _engine.eval(filtered.population))
+				.copy();
+			_generation = es.generation();
+			_alterCount = 0;
+			_invalidCount = 0;
+
+			run();
+
+			_timing.evolve.stop();
+
+			return EvolutionResult.of(
+				_engine.optimize(),
+				_population.toISeq(),
+				es.generation(),
+				_timing.toDurations(),
+				filtered.killCount,
+				filtered.invalidCount + _invalidCount,
+				_alterCount
+			);
+		}
+
+		private void run() {
+			int dispatched = 0;
+
+			for (int evaluated = 0; evaluated < _cadence; ++evaluated) {
+				while (_inFlight < _maxInFlight &&
+					(_continuous || dispatched < _cadence))
+				{
+					if (_offspring.isEmpty()) {
+						final int free = _maxInFlight - _inFlight;
+						breed(max(
+							_continuous ? free : min(free, _cadence - dispatched),
+							2
+						));
+					}
+					dispatch(_offspring.removeFirst());
+					++dispatched;
+					++_inFlight;
+				}
+
+				final Evaluation evaluation = _timing.evaluation.timing(this::take);
+				--_inFlight;
+
+				if (evaluation.failure != null) {
+					final String msg = evaluation.failure.getMessage();
+					throw (CancellationException)new CancellationException(msg)
+						.initCause(evaluation.failure);
+				}
+				replaceWorst(evaluation.phenotype);
+			}
+		}
+
+		private Evaluation take() {
+			try {
+				return _evaluated.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw (CancellationException)new CancellationException(e.getMessage())
+					.initCause(e);
+			}
+		}
+
+		// Selects and alters new offspring. Invalid offspring are repaired.
+		private void breed(final int count) {
+			final Optimize optimize = _engine.optimize();
+			final ISeq<Phenotype<G, C>> parents = _timing.offspringSelection
+				.timing(() -> _engine.offspringSelector()
+					.select(_population, count, optimize));
+
+			final AltererResult<G, C> altered = _timing.offspringAlter
+				.timing(() -> _engine.alterer().alter(parents, _generation));
+			_alterCount += altered.alterations();
+
+			_timing.offspringFilter.timing(() -> {
+				for (Phenotype<G, C> pt : altered.population()) {
+					if (_engine.constraint().test(pt)) {
+						_offspring.addLast(pt);
+					} else {
+						_offspring.addLast(
+							_engine.constraint().repair(pt, _generation)
+						);
+						++_invalidCount;
+					}
+				}
+				return null;
+			});
+		}
+
+		// Not altered offspring are already evaluated and directly inserted.
+		private void dispatch(final Phenotype<G, C> pt) {
+			if (pt.isEvaluated()) {
+				_evaluated.add(new Evaluation(pt, null));
+			} else {
+				_engine.executor().execute(() -> {
+					try {
+						final C fitness = _fitness.apply(pt.genotype());
+						_evaluated.add(new Evaluation(pt.withFitness(fitness), null));
+					} catch (Throwable e) {
+						_evaluated.add(new Evaluation(null, e));
+					}
+				});
+			}
+		}
+
+		private void replaceWorst(final Phenotype<G, C> pt) {
+			final Optimize optimize = _engine.optimize();
+
+			int worst = 0;
+			for (int i = 1, n = _population.size(); i < n; ++i) {
+				final C fitness = _population.get(i).fitness();
+				if (optimize.compare(fitness, _population.get(worst).fitness()) < 0) {
+					worst = i;
+				}
+			}
+			_population.set(worst, pt);
+		}
+
+	}
+
+	/**
+	 * Result of one fitness evaluation.
+	 */
+	private final class Evaluation {
+		final Phenotype<G, C> phenotype;
+		final Throwable failure;
+
+		Evaluation(final Phenotype<G, C> phenotype, final Throwable failure) {
+			this.phenotype = phenotype;
+			this.failure = failure;
+		}
+	}
+
+
+	/* *************************************************************************
+	 * Evolution Stream creation.
+	 **************************************************************************/
+
+	@Override
+	public EvolutionStream<G, C>
+	stream(final Supplier<EvolutionStart<G, C>> start) {
+		return EvolutionStream.ofEvolution(
+			() -> evolutionStart(start.get()),
+			new Steps(true)
+		);
+	}
+
+	@Override
+	public EvolutionStream<G, C> stream(final EvolutionInit<G> init) {
+		final long gen = init.generation();
+		return stream(
+			EvolutionStart.of(
+				init.population().map(gt -> Phenotype.of(gt, gen)),
+				gen
+			)
+		);
+	}
+
+	private EvolutionStart<G, C>
+	evolutionStart(final EvolutionStart<G, C> start) {
+		final ISeq<Phenotype<G, C>> population = start.population();
+		final long gen = start.generation();
+
+		final Stream<Phenotype<G, C>> stream = Stream.concat(
+			population.stream(),
+			_engine.genotypeFactory().instances()
+				.map(gt -> Phenotype.of(gt, gen))
+		);
+
+		final ISeq<Phenotype<G, C>> pop = stream
+			.limit(_engine.populationSize())
+			.collect(ISeq.toISeq());
+
+		return EvolutionStart.of(pop, gen);
+	}
+
+
+	/* *************************************************************************
+	 * Static factory methods.
+	 **************************************************************************/
+
+	/**
+	 * Create a new steady-state engine with the evolution parameters of the
+	 * given {@code engine}.
+	 *
+	 * @param engine the engine which defines the evolution parameters
+	 * @param fitness the fitness function, which is evaluated for every new
+	 *        offspring individual
+	 * @param maxInFlight the maximal number of concurrently running fitness
+	 *        evaluations
+	 * @param cadence the number of fitness evaluations of one evolution step
+	 * @param <G> the gene type
+	 * @param <C> the fitness result type
+	 * @return a new steady-state engine
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if the {@code maxInFlight} or the
+	 *         {@code cadence} is smaller than one
+	 */
+	public static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	SteadyStateEngine<G, C> of(
+		final Engine<G, C> engine,
+		final Function<? super Genotype<G>, ? extends C> fitness,
+		final int maxInFlight,
+		final int cadence
+	) {
+		return new SteadyStateEngine<>(engine, fitness, maxInFlight, cadence);
+	}
+
+	/**
+	 * Create a new steady-state engine with the evolution parameters of the
+	 * given {@code engine}. At most {@code 2*CORES} fitness evaluations are
+	 * running concurrently, and one evolution step performs
+	 * {@link Engine#offspringSize()} fitness evaluations.
+	 *
+	 * @param engine the engine which defines the evolution parameters
+	 * @param fitness the fitness function, which is evaluated for every new
+	 *        offspring individual
+	 * @param <G> the gene type
+	 * @param <C> the fitness result type
+	 * @return a new steady-state engine
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 */
+	public static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	SteadyStateEngine<G, C> of(
+		final Engine<G, C> engine,
+		final Function<? super Genotype<G>, ? extends C> fitness
+	) {
+		return of(
+			engine,
+			fitness,
+			2*Concurrency.CORES,
+			max(engine.offspringSize(), 1)
+		);
+	}
+
+}
@@ -0,0 +1,304 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.engine;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import io.jenetics.Gene;
+import io.jenetics.Genotype;
+import io.jenetics.Phenotype;
+import io.jenetics.internal.util.Requires;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.Seq;
+
+/**
+ * Fitness evaluator, which starts a new thread for every phenotype to
+ * evaluate. The number of concurrently running fitness evaluations is limited
+ * by a semaphore. Unlike the {@link ConcurrentEvaluator}, the phenotypes are
+ * not split into batches, which makes this evaluator suitable for blocking
+ * (I/O bound) fitness functions.
+ * <p>
+ * If one fitness evaluation fails, or exceeds the given timeout, the
+ * remaining evaluations are cancelled (interrupted) and a
+ * {@link CancellationException} is thrown.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 6.1
+ * @since 6.1
+ */
+final class ThreadPerTaskEvaluator<
+	G extends Gene<?, G>,
+	C extends Comparable<? super C>
+>
+	implements Evaluator<G, C>
+{
+
+	private final Function<? super Genotype<G>, ? extends C> _fitness;
+	private final int _maxConcurrency;
+	private final Duration _timeout;
+	private final ThreadFactory _threadFactory;
+
+	/**
+	 * Create a new thread-per-task evaluator.
+	 *
+	 * @param fitness the fitness function
+	 * @param maxConcurrency the maximal number of concurrent evaluations
+	 * @param timeout the maximal duration of one fitness evaluation, or
+	 *        {@code null} if the evaluation time is not limited
+	 * @param threadFactory the factory used for creating the evaluation
+	 *        threads
+	 * @throws NullPointerException if the {@code fitness} function or the
+	 *         {@code threadFactory} is {@code null}
+	 * @throws IllegalArgumentException if the {@code maxConcurrency} or the
+	 *         {@code timeout} is not positive
+	 */
+	ThreadPerTaskEvaluator(
+		final Function<? super Genotype<G>, ? extends C> fitness,
+		final int maxConcurrency,
+		final Duration timeout,
+		final ThreadFactory threadFactory
+	) {
+		if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+			throw new IllegalArgumentException(format(
+				"Timeout must be positive: %s", timeout
+			));
+		}
+
+		_fitness = requireNonNull(fitness);
+		_maxConcurrency = Requires.positive(maxConcurrency);
+		_timeout = timeout;
+		_threadFactory = requireNonNull(threadFactory);
+	}
+
+	@Override
+	public ISeq<Phenotype<G, C>> eval(final Seq<Phenotype<G, C>> population) {
+		final Evaluation evaluation = new Evaluation(
+			population.stream()
+				.filter(Phenotype::nonEvaluated)
+				.collect(ISeq.toISeq())
+		);
+
+		final ISeq<Phenotype<G, C>> result;
+		if (evaluation._tasks.nonEmpty()) {
+			evaluation.run();
+
+			result = evaluation._tasks.size() == population.size()
+				? evaluation.phenotypes()
+				: population.stream()
+					.filter(Phenotype::isEvaluated)
+					.collect(ISeq.toISeq())
+					.append(evaluation.phenotypes());
+		} else {
+			result = population.asISeq();
+		}
+
+		return result;
+	}
+
+	/**
+	 * Return the number of phenotypes evaluated by one task.
+	 *
+	 * @return one, since every phenotype is evaluated in its own thread
+	 */
+	int batchSize() {
+		return 1;
+	}
+
+	/**
+	 * Creates daemon threads, which are used if no thread factory is given.
+	 *
+	 * @param task the runnable executed by the new thread
+	 * @return a new daemon thread
+	 */
+	static Thread newDaemonThread(final Runnable task) {
+		final Thread thread = new Thread(task, "jenetics-evaluator");
+		thread.setDaemon(true);
+		return thread;
+	}
+
+
+	/**
+	 * The state of one {@link #eval(Seq)} call.
+	 */
+	private final class Evaluation {
+		final ISeq<Task> _tasks;
+		final Semaphore _permits = new Semaphore(_maxConcurrency);
+		final CompletableFuture<Void> _done = new CompletableFuture<>();
+		final AtomicInteger _pending;
+
+		Evaluation(final ISeq<Phenotype<G, C>> phenotypes) {
+			_tasks = phenotypes.map(Task::new);
+			_pending = new AtomicInteger(_tasks.size());
+		}
+
+		void run() {
+			try {
+				for (Task task : _tasks) {
+					_permits.acquire();
+					if (_done.isDone()) {
+						break;
+					}
+					task.start();
+				}
+				_done.get();
+			} catch (ExecutionException e) {
+				cancel();
+				final String msg = e.getCause() != null
+					? e.getCause().getMessage()
+					: null;
+				throw (CancellationException)new CancellationException(msg)
+					.initCause(e.getCause());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				cancel();
+				throw (CancellationException)new CancellationException(e.getMessage())
+					.initCause(e);
+			} catch (RuntimeException | Error e) {
+				cancel();
+				throw e;
+			}
+		}
+
+		void completed() {
+			if (_pending.decrementAndGet() == 0) {
+				_done.complete(null);
+			}
+		}
+
+		void failed(final Throwable cause) {
+			if (_done.completeExceptionally(cause)) {
+				// Wakes up the main thread, if it waits for a free permit.
+				_permits.release(_maxConcurrency);
+			}
+		}
+
+		void cancel() {
+			for (Task task : _tasks) {
+				task.cancel();
+			}
+		}
+
+		ISeq<Phenotype<G, C>> phenotypes() {
+			return _tasks.map(Task::phenotype);
+		}
+
+
+		/**
+		 * Evaluates the fitness of one phenotype in its own thread.
+		 */
+		private final class Task implements Runnable {
+			final Phenotype<G, C> _phenotype;
+
+			Thread _thread;
+			ScheduledFuture<?> _timer;
+			volatile boolean _finished;
+			C _value;
+
+			Task(final Phenotype<G, C> phenotype) {
+				_phenotype = phenotype;
+			}
+
+			void start() {
+				_thread = _threadFactory.newThread(this);
+				if (_thread == null) {
+					throw new IllegalStateException(
+						"Thread factory returned no thread."
+					);
+				}
+				if (_timeout != null) {
+					_timer = Timer.EXECUTOR.schedule(
+						this::timeout,
+						_timeout.toNanos(),
+						TimeUnit.NANOSECONDS
+					);
+				}
+				_thread.start();
+			}
+
+			@Override
+			public void run() {
+				try {
+					_value = _fitness.apply(_phenotype.genotype());
+					_finished = true;
+					completed();
+				} catch (Throwable e) {
+					_finished = true;
+					failed(e);
+				} finally {
+					if (_timer != null) {
+						_timer.cancel(false);
+					}
+					_permits.release();
+				}
+			}
+
+			void timeout() {
+				if (!_finished) {
+					failed(new TimeoutException(format(
+						"Fitness evaluation exceeded timeout of %s.", _timeout
+					)));
+				}
+			}
+
+			void cancel() {
+				if (_timer != null) {
+					_timer.cancel(false);
+				}
+				if (_thread != null && !_finished) {
+					_thread.interrupt();
+				}
+			}
+
+			Phenotype<G, C> phenotype() {
+				return _phenotype.withFitness(_value);
+			}
+		}
+
+	}
+
+	/**
+	 * Lazily created scheduler for the evaluation timeouts.
+	 */
+	private static final class Timer {
+		static final ScheduledThreadPoolExecutor EXECUTOR;
+		static {
+			EXECUTOR = new ScheduledThreadPoolExecutor(
+				1,
+				ThreadPerTaskEvaluator::newDaemonThread
+			);
+			EXECUTOR.setRemoveOnCancelPolicy(true);
+		}
+	}
+
+}
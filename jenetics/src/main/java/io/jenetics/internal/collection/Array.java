@@ -40,7 +40,7 @@ import io.jenetics.internal.collection.Array.Store.Ref;
  *
  * @param <T> the array element type
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 6.0
+ * @version 6.1
  * @since 3.4
  */
 public final class Array<T> implements BaseMSeq<T>, Serializable {
@@ -480,6 +480,21 @@ public final class Array<T> implements BaseMSeq<T>, Serializable {
 		 */
 		Store<T> newInstance(final int length);
 
+		/**
+		 * Return {@code true} if the given {@code value} can be written to
+		 * {@code this} store without loss of information. Specialized stores,
+		 * which only keep parts of the element state, must override this
+		 * method. A store which doesn't accept a value is replaced by an
+		 * {@link ObjectStore} on the next write.
+		 *
+		 * @param value the value to test
+		 * @return {@code true} if the given {@code value} can be stored,
+		 *         {@code false} otherwise
+		 */
+		default boolean accepts(final T value) {
+			return true;
+		}
+
 		/**
 		 * Mutable reference of an underlying array {@code Store}.
 		 *
@@ -515,9 +530,21 @@ public final class Array<T> implements BaseMSeq<T>, Serializable {
 			@Override
 			public void set(final int index, final T value) {
 				copyIfSealed();
+				if (!_value.accepts(value)) {
+					_value = unpack(_value);
+				}
 				_value.set(index, value);
 			}
 
+			// Copies the elements of the given store into an object store.
+			private static <T> Store<T> unpack(final Store<T> store) {
+				final Object[] array = new Object[store.length()];
+				for (int i = 0; i < array.length; ++i) {
+					array[i] = store.get(i);
+				}
+				return ObjectStore.of(array);
+			}
+
 			public void sort(
 				final int from,
 				final int until,
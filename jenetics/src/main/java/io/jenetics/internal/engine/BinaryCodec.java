@@ -0,0 +1,373 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.internal.engine;
+
+import static io.jenetics.internal.util.SerialIO.readBytes;
+import static io.jenetics.internal.util.SerialIO.readInt;
+import static io.jenetics.internal.util.SerialIO.readString;
+import static io.jenetics.internal.util.SerialIO.writeBytes;
+import static io.jenetics.internal.util.SerialIO.writeInt;
+import static io.jenetics.internal.util.SerialIO.writeString;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import io.jenetics.BitChromosome;
+import io.jenetics.CharacterChromosome;
+import io.jenetics.Chromosome;
+import io.jenetics.DoubleChromosome;
+import io.jenetics.Genotype;
+import io.jenetics.IntegerChromosome;
+import io.jenetics.LongChromosome;
+import io.jenetics.util.CharSeq;
+import io.jenetics.util.DoubleRange;
+import io.jenetics.util.IO;
+import io.jenetics.util.IntRange;
+import io.jenetics.util.LongRange;
+
+/**
+ * Compact binary encoding of genotypes and fitness values. The alleles of the
+ * numeric chromosomes are written as packed primitive arrays and the bit
+ * chromosomes as raw bytes. Chromosomes and fitness values without a compact
+ * representation are written with <em>Java</em> serialization. This encoding
+ * is shared by the {@code BinaryIO} format and the wire format of the
+ * distributed evaluator.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @since 6.1
+ * @version 6.1
+ */
+public final class BinaryCodec {
+	private BinaryCodec() {}
+
+	// Chromosome types.
+	private static final byte OBJECT_CHROMOSOME = 0;
+	private static final byte BIT_CHROMOSOME = 1;
+	private static final byte DOUBLE_CHROMOSOME = 2;
+	private static final byte INTEGER_CHROMOSOME = 3;
+	private static final byte LONG_CHROMOSOME = 4;
+	private static final byte CHARACTER_CHROMOSOME = 5;
+
+	// Fitness types.
+	private static final byte NO_FITNESS = 0;
+	private static final byte OBJECT_FITNESS = 1;
+	private static final byte DOUBLE_FITNESS = 2;
+	private static final byte INTEGER_FITNESS = 3;
+	private static final byte LONG_FITNESS = 4;
+
+
+	/* *************************************************************************
+	 * Fitness encoding.
+	 * ************************************************************************/
+
+	/**
+	 * Writes the given {@code fitness} value to the given data output.
+	 *
+	 * @param fitness the fitness value to write, or {@code null} for a
+	 *        not evaluated phenotype
+	 * @param out the data output
+	 * @throws IOException if the fitness value can't be written
+	 */
+	public static void writeFitness(final Object fitness, final DataOutput out)
+		throws IOException
+	{
+		if (fitness == null) {
+			out.writeByte(NO_FITNESS);
+		} else if (fitness instanceof Double) {
+			out.writeByte(DOUBLE_FITNESS);
+			out.writeDouble((Double)fitness);
+		} else if (fitness instanceof Integer) {
+			out.writeByte(INTEGER_FITNESS);
+			out.writeInt((Integer)fitness);
+		} else if (fitness instanceof Long) {
+			out.writeByte(LONG_FITNESS);
+			out.writeLong((Long)fitness);
+		} else {
+			out.writeByte(OBJECT_FITNESS);
+			writeBytes(IO.object.toByteArray(fitness), out);
+		}
+	}
+
+	/**
+	 * Reads a fitness value from the given data input.
+	 *
+	 * @param in the data input
+	 * @return the read fitness value, or {@code null} if no fitness value has
+	 *         been written
+	 * @throws IOException if the fitness value can't be read
+	 */
+	public static Object readFitness(final DataInput in) throws IOException {
+		return readFitness(in, null);
+	}
+
+	/**
+	 * Reads a fitness value from the given data input. Java serialized
+	 * fitness values are checked by the given {@code filter}.
+	 *
+	 * @param in the data input
+	 * @param filter the filter for Java serialized fitness values, or
+	 *        {@code null} if they are not filtered
+	 * @return the read fitness value, or {@code null} if no fitness value has
+	 *         been written
+	 * @throws java.io.InvalidClassException if a serialized fitness value is
+	 *         rejected by the given {@code filter}
+	 * @throws IOException if the fitness value can't be read
+	 */
+	public static Object readFitness(
+		final DataInput in,
+		final ObjectInputFilter filter
+	)
+		throws IOException
+	{
+		final byte type = in.readByte();
+		switch (type) {
+			case NO_FITNESS: return null;
+			case DOUBLE_FITNESS: return in.readDouble();
+			case INTEGER_FITNESS: return in.readInt();
+			case LONG_FITNESS: return in.readLong();
+			case OBJECT_FITNESS: return readObject(readBytes(in), filter);
+			default:
+				throw new StreamCorruptedException(
+					"Unknown fitness type: " + type
+				);
+		}
+	}
+
+
+	/* *************************************************************************
+	 * Genotype encoding.
+	 * ************************************************************************/
+
+	/**
+	 * Writes the given genotype to the given data output.
+	 *
+	 * @param gt the genotype to write
+	 * @param out the data output
+	 * @throws IOException if the genotype can't be written
+	 */
+	public static void writeGenotype(final Genotype<?> gt, final DataOutput out)
+		throws IOException
+	{
+		writeInt(gt.length(), out);
+		for (int i = 0; i < gt.length(); ++i) {
+			writeChromosome(gt.get(i), out);
+		}
+	}
+
+	private static void writeChromosome(
+		final Chromosome<?> ch,
+		final DataOutput out
+	)
+		throws IOException
+	{
+		if (ch.getClass() == BitChromosome.class) {
+			final var bc = (BitChromosome)ch;
+			out.writeByte(BIT_CHROMOSOME);
+			writeInt(bc.length(), out);
+			out.writeDouble(bc.oneProbability());
+			writeBytes(bc.toByteArray(), out);
+		} else if (ch.getClass() == DoubleChromosome.class) {
+			final var dc = (DoubleChromosome)ch;
+			out.writeByte(DOUBLE_CHROMOSOME);
+			writeLengthRange(dc.lengthRange(), out);
+			out.writeDouble(dc.min());
+			out.writeDouble(dc.max());
+			final double[] values = dc.toArray();
+			writeInt(values.length, out);
+			final ByteBuffer buffer = ByteBuffer
+				.allocate(values.length*Double.BYTES);
+			buffer.asDoubleBuffer().put(values);
+			out.write(buffer.array());
+		} else if (ch.getClass() == IntegerChromosome.class) {
+			final var ic = (IntegerChromosome)ch;
+			out.writeByte(INTEGER_CHROMOSOME);
+			writeLengthRange(ic.lengthRange(), out);
+			out.writeInt(ic.min());
+			out.writeInt(ic.max());
+			final int[] values = ic.toArray();
+			writeInt(values.length, out);
+			final ByteBuffer buffer = ByteBuffer
+				.allocate(values.length*Integer.BYTES);
+			buffer.asIntBuffer().put(values);
+			out.write(buffer.array());
+		} else if (ch.getClass() == LongChromosome.class) {
+			final var lc = (LongChromosome)ch;
+			out.writeByte(LONG_CHROMOSOME);
+			writeLengthRange(lc.lengthRange(), out);
+			out.writeLong(lc.min());
+			out.writeLong(lc.max());
+			final long[] values = lc.toArray();
+			writeInt(values.length, out);
+			final ByteBuffer buffer = ByteBuffer
+				.allocate(values.length*Long.BYTES);
+			buffer.asLongBuffer().put(values);
+			out.write(buffer.array());
+		} else if (ch.getClass() == CharacterChromosome.class &&
+			ch.length() == ((CharacterChromosome)ch).lengthRange().min() &&
+			ch.length() == ((CharacterChromosome)ch).lengthRange().max())
+		{
+			final var cc = (CharacterChromosome)ch;
+			out.writeByte(CHARACTER_CHROMOSOME);
+			writeString(cc.gene().validChars().toString(), out);
+			writeString(new String(cc.toArray()), out);
+		} else {
+			out.writeByte(OBJECT_CHROMOSOME);
+			writeBytes(IO.object.toByteArray(ch), out);
+		}
+	}
+
+	private static void writeLengthRange(
+		final IntRange range,
+		final DataOutput out
+	)
+		throws IOException
+	{
+		writeInt(range.min(), out);
+		writeInt(range.max(), out);
+	}
+
+	/**
+	 * Reads a genotype from the given data input.
+	 *
+	 * @param in the data input
+	 * @return the read genotype
+	 * @throws IOException if the genotype can't be read
+	 */
+	public static Genotype<?> readGenotype(final DataInput in)
+		throws IOException
+	{
+		return readGenotype(in, null);
+	}
+
+	/**
+	 * Reads a genotype from the given data input. Java serialized chromosomes
+	 * are checked by the given {@code filter}.
+	 *
+	 * @param in the data input
+	 * @param filter the filter for Java serialized chromosomes, or
+	 *        {@code null} if they are not filtered
+	 * @return the read genotype
+	 * @throws java.io.InvalidClassException if a serialized chromosome is
+	 *         rejected by the given {@code filter}
+	 * @throws IOException if the genotype can't be read
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public static Genotype<?> readGenotype(
+		final DataInput in,
+		final ObjectInputFilter filter
+	)
+		throws IOException
+	{
+		final int length = readInt(in);
+		final List<Chromosome> chromosomes = new ArrayList<>(length);
+		for (int i = 0; i < length; ++i) {
+			chromosomes.add(readChromosome(in, filter));
+		}
+		return Genotype.of((List)chromosomes);
+	}
+
+	private static Chromosome<?> readChromosome(
+		final DataInput in,
+		final ObjectInputFilter filter
+	)
+		throws IOException
+	{
+		final byte type = in.readByte();
+		switch (type) {
+			case BIT_CHROMOSOME: {
+				final int length = readInt(in);
+				final double p = in.readDouble();
+				final byte[] bytes = readBytes(in);
+				return BitChromosome.of(BitSet.valueOf(bytes), length, p);
+			}
+			case DOUBLE_CHROMOSOME: {
+				final IntRange lengthRange = readLengthRange(in);
+				final var range = DoubleRange.of(in.readDouble(), in.readDouble());
+				final double[] values = new double[readInt(in)];
+				final byte[] bytes = new byte[values.length*Double.BYTES];
+				in.readFully(bytes);
+				ByteBuffer.wrap(bytes).asDoubleBuffer().get(values);
+				return DoubleChromosome.of(range, lengthRange, values);
+			}
+			case INTEGER_CHROMOSOME: {
+				final IntRange lengthRange = readLengthRange(in);
+				final var range = IntRange.of(in.readInt(), in.readInt());
+				final int[] values = new int[readInt(in)];
+				final byte[] bytes = new byte[values.length*Integer.BYTES];
+				in.readFully(bytes);
+				ByteBuffer.wrap(bytes).asIntBuffer().get(values);
+				return IntegerChromosome.of(range, lengthRange, values);
+			}
+			case LONG_CHROMOSOME: {
+				final IntRange lengthRange = readLengthRange(in);
+				final var range = LongRange.of(in.readLong(), in.readLong());
+				final long[] values = new long[readInt(in)];
+				final byte[] bytes = new byte[values.length*Long.BYTES];
+				in.readFully(bytes);
+				ByteBuffer.wrap(bytes).asLongBuffer().get(values);
+				return LongChromosome.of(range, lengthRange, values);
+			}
+			case CHARACTER_CHROMOSOME: {
+				final CharSeq validChars = new CharSeq(readString(in));
+				return CharacterChromosome.of(readString(in), validChars);
+			}
+			case OBJECT_CHROMOSOME:
+				return (Chromosome<?>)readObject(readBytes(in), filter);
+			default:
+				throw new StreamCorruptedException(
+					"Unknown chromosome type: " + type
+				);
+		}
+	}
+
+	private static IntRange readLengthRange(final DataInput in)
+		throws IOException
+	{
+		return IntRange.of(readInt(in), readInt(in));
+	}
+
+	private static Object readObject(
+		final byte[] bytes,
+		final ObjectInputFilter filter
+	)
+		throws IOException
+	{
+		if (filter == null) {
+			return IO.object.fromByteArray(bytes);
+		}
+
+		try (var in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+			in.setObjectInputFilter(filter);
+			return in.readObject();
+		} catch (ClassNotFoundException e) {
+			throw new IOException(e);
+		}
+	}
+
+}
@@ -0,0 +1,267 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.internal.engine;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Comparator;
+
+import io.jenetics.Gene;
+import io.jenetics.Optimize;
+import io.jenetics.Phenotype;
+import io.jenetics.internal.collection.Array;
+import io.jenetics.internal.collection.ArrayISeq;
+import io.jenetics.internal.util.Lazy;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.ProxySorter;
+import io.jenetics.util.Seq;
+
+/**
+ * Population, which carries the ranking of its individuals. The ranking is
+ * an index permutation, from the best to the worst individual, which is
+ * computed lazily at most once and shared by all consumers of the
+ * population, e.g. the selectors of one generation. The ranking is
+ * <em>stable</em>: equally fit individuals keep their population order. This
+ * makes the ranking equivalent to a stable sort of the population.
+ *
+ * @param <G> the gene type
+ * @param <C> the fitness result type
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @since 6.1
+ * @version 6.1
+ */
+public final class RankedPopulation<
+	G extends Gene<?, G>,
+	C extends Comparable<? super C>
+>
+	extends ArrayISeq<Phenotype<G, C>>
+{
+	private static final long serialVersionUID = 1L;
+
+	private final transient Optimize _optimize;
+	private final transient Lazy<int[]> _ranking;
+	private final transient Lazy<int[]> _reversed;
+
+	private RankedPopulation(
+		final Array<Phenotype<G, C>> array,
+		final Optimize optimize
+	) {
+		super(array);
+		_optimize = requireNonNull(optimize);
+		_ranking = Lazy.of(() -> rank(this, _optimize));
+		_reversed = Lazy.of(this::reverse);
+	}
+
+	/**
+	 * Return the optimization strategy of the ranking.
+	 *
+	 * @return the optimization strategy of the ranking
+	 */
+	public Optimize optimize() {
+		return _optimize;
+	}
+
+	/**
+	 * Return {@code true} if the ranking has already been computed.
+	 *
+	 * @return {@code true} if the ranking has already been computed
+	 */
+	public boolean isRanked() {
+		return _ranking.isEvaluated();
+	}
+
+	/**
+	 * Return the population indexes, ordered from the best to the worst
+	 * individual, according to the given optimization strategy. The returned
+	 * array is shared and must not be changed.
+	 *
+	 * @param optimize the optimization strategy
+	 * @return the population ranking
+	 */
+	public int[] ranking(final Optimize optimize) {
+		return requireNonNull(optimize) == _optimize
+			? _ranking.get()
+			: _reversed.get();
+	}
+
+	/**
+	 * Return the best individual. If more than one individual has the best
+	 * fitness, the first one is returned.
+	 *
+	 * @return the best individual
+	 */
+	public Phenotype<G, C> best() {
+		return get(_ranking.get()[0]);
+	}
+
+	/**
+	 * Return the worst individual. If more than one individual has the worst
+	 * fitness, the first one is returned.
+	 *
+	 * @return the worst individual
+	 */
+	public Phenotype<G, C> worst() {
+		final int[] ranking = _ranking.get();
+
+		int i = ranking.length - 1;
+		while (i > 0 && compare(ranking[i - 1], ranking[i]) == 0) {
+			--i;
+		}
+		return get(ranking[i]);
+	}
+
+	// The reversed ranking, where equally fit individuals keep their
+	// population order, which is the stable ranking of the opposite strategy.
+	private int[] reverse() {
+		final int[] ranking = _ranking.get();
+		final int[] reversed = new int[ranking.length];
+		for (int i = 0; i < ranking.length; ++i) {
+			reversed[i] = ranking[ranking.length - 1 - i];
+		}
+
+		int start = 0;
+		for (int i = 1; i <= reversed.length; ++i) {
+			if (i == reversed.length ||
+				compare(reversed[i - 1], reversed[i]) != 0)
+			{
+				revert(reversed, start, i);
+				start = i;
+			}
+		}
+
+		return reversed;
+	}
+
+	private int compare(final int i, final int j) {
+		return get(i).fitness().compareTo(get(j).fitness());
+	}
+
+	private static void revert(final int[] array, final int from, final int until) {
+		for (int i = from, j = until - 1; i < j; ++i, --j) {
+			final int temp = array[i];
+			array[i] = array[j];
+			array[j] = temp;
+		}
+	}
+
+	private Object writeReplace() {
+		return new ArrayISeq<>(array);
+	}
+
+
+	/* *************************************************************************
+	 * Static factory methods.
+	 **************************************************************************/
+
+	/**
+	 * Return a ranked view of the given {@code population}. If the population
+	 * is already ranked with the given optimization strategy, it is returned
+	 * unchanged. The elements of the population are not copied, if possible.
+	 *
+	 * @param population the population
+	 * @param optimize the optimization strategy of the ranking
+	 * @param <G> the gene type
+	 * @param <C> the fitness result type
+	 * @return a ranked population
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 */
+	public static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	ISeq<Phenotype<G, C>> of(
+		final ISeq<Phenotype<G, C>> population,
+		final Optimize optimize
+	) {
+		requireNonNull(optimize);
+
+		if (population instanceof RankedPopulation &&
+			((RankedPopulation<G, C>)population)._optimize == optimize)
+		{
+			return population;
+		}
+		if (population.isEmpty()) {
+			return population;
+		}
+
+		final ArrayISeq<Phenotype<G, C>> seq = population instanceof ArrayISeq
+			? (ArrayISeq<Phenotype<G, C>>)population
+			: (ArrayISeq<Phenotype<G, C>>)population.copy().toISeq();
+
+		return new RankedPopulation<>(seq.array, optimize);
+	}
+
+	/**
+	 * Return the ranking of the given {@code population}, from the best to the
+	 * worst individual. If the given population is a {@code RankedPopulation},
+	 * its shared ranking is returned, otherwise the ranking is computed. The
+	 * returned array must not be changed.
+	 *
+	 * @param population the population
+	 * @param optimize the optimization strategy
+	 * @param <G> the gene type
+	 * @param <C> the fitness result type
+	 * @return the population ranking
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 */
+	public static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	int[] ranking(
+		final Seq<Phenotype<G, C>> population,
+		final Optimize optimize
+	) {
+		return population instanceof RankedPopulation
+			? ((RankedPopulation<G, C>)population).ranking(optimize)
+			: rank(population, optimize);
+	}
+
+	/**
+	 * Return the given {@code population} as ranked population, if its
+	 * ranking, for the given optimization strategy, has already been computed.
+	 *
+	 * @param population the population
+	 * @param optimize the optimization strategy
+	 * @param <G> the gene type
+	 * @param <C> the fitness result type
+	 * @return the ranked population, or {@code null} if the population has
+	 *         not been ranked yet
+	 */
+	public static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	RankedPopulation<G, C> ranked(
+		final Seq<Phenotype<G, C>> population,
+		final Optimize optimize
+	) {
+		if (population instanceof RankedPopulation) {
+			final var ranked = (RankedPopulation<G, C>)population;
+			if (ranked._optimize == optimize && ranked.isRanked()) {
+				return ranked;
+			}
+		}
+		return null;
+	}
+
+	private static <G extends Gene<?, G>, C extends Comparable<? super C>>
+	int[] rank(final Seq<Phenotype<G, C>> population, final Optimize optimize) {
+		final Comparator<C> comparator = optimize.descending();
+		return ProxySorter.sort(
+			population,
+			population.length(),
+			(p, i, j) -> comparator.compare(p.get(i).fitness(), p.get(j).fitness())
+		);
+	}
+
+}
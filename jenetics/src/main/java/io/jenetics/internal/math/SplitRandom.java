@@ -0,0 +1,227 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.internal.math;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * {@link Random} adapter of the {@link SplittableRandom} algorithm. It is
+ * used for creating independent random streams for parallel tasks. The
+ * instances of this class are <em>not</em> thread safe and must be used by one
+ * task only. In contrast to the {@link SplittableRandom}, the state of the
+ * engine, its seed and gamma value, is accessible and serializable, which
+ * allows to continue a random stream exactly at the serialized position.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @since 6.1
+ * @version 6.1
+ */
+public final class SplitRandom extends Random {
+	private static final long serialVersionUID = 1L;
+
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+	private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+	private transient long _seed;
+	private transient long _gamma;
+
+	// Primary constructor.
+	private SplitRandom(final long seed, final long gamma) {
+		_seed = seed;
+		_gamma = gamma;
+	}
+
+	/**
+	 * Create a new random engine with the given {@code seed}. The created
+	 * engine produces the same random sequence as
+	 * {@code new SplittableRandom(seed)}.
+	 *
+	 * @param seed the seed of the random engine
+	 */
+	public SplitRandom(final long seed) {
+		this(seed, GOLDEN_GAMMA);
+	}
+
+	/**
+	 * Return a new random engine, which shares no mutable state with this
+	 * one. The returned engine is derived deterministically from the state of
+	 * this engine.
+	 *
+	 * @return a new, independent random engine
+	 */
+	public SplitRandom split() {
+		return new SplitRandom(nextLong(), mixGamma(nextSeed()));
+	}
+
+	/**
+	 * Return a copy of {@code this} random engine, which continues the random
+	 * sequence at the current position.
+	 *
+	 * @return a copy of {@code this} random engine
+	 */
+	public SplitRandom copy() {
+		return new SplitRandom(_seed, _gamma);
+	}
+
+	/**
+	 * Return a new random engine, which is split from the given
+	 * {@code random} engine.
+	 *
+	 * @param random the random engine to split
+	 * @return a new, independent random engine
+	 * @throws NullPointerException if the given {@code random} engine is
+	 *         {@code null}
+	 */
+	public static SplitRandom split(final SplittableRandom random) {
+		requireNonNull(random);
+		return new SplitRandom(random.nextLong(), mixGamma(random.nextLong()));
+	}
+
+	/**
+	 * Return the random engine of the {@code stream} with the given
+	 * {@code seed}. The random engines of different streams are statistically
+	 * independent, and the engine of a stream depends only on the seed and the
+	 * stream index.
+	 *
+	 * @param seed the seed of the streams
+	 * @param stream the stream index
+	 * @return the random engine of the given stream
+	 */
+	public static SplitRandom of(final long seed, final long stream) {
+		return new SplitRandom(mix64(seed ^ mix64(stream + GOLDEN_GAMMA)));
+	}
+
+	private long nextSeed() {
+		return _seed += _gamma;
+	}
+
+	// Stafford's variant 13 of the 64-bit MurmurHash3 finalizer.
+	private static long mix64(final long value) {
+		long z = value;
+		z = (z ^ (z >>> 30))*0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27))*0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	// Stafford's variant 4 of the 64-bit MurmurHash3 finalizer.
+	private static int mix32(final long value) {
+		long z = value;
+		z = (z ^ (z >>> 33))*0x62A9D9ED799705F5L;
+		return (int)(((z ^ (z >>> 28))*0xCB24D0A5C88C35B3L) >>> 32);
+	}
+
+	// The gamma value must be odd and have enough bit transitions.
+	private static long mixGamma(final long value) {
+		long z = value;
+		z = (z ^ (z >>> 33))*0xFF51AFD7ED558CCDL;
+		z = (z ^ (z >>> 33))*0xC4CEB9FE1A85EC53L;
+		z = (z ^ (z >>> 33)) | 1L;
+		final int n = Long.bitCount(z ^ (z >>> 1));
+		return n < 24 ? z ^ 0xAAAAAAAAAAAAAAAAL : z;
+	}
+
+	@Override
+	protected int next(final int bits) {
+		return nextInt() >>> (32 - bits);
+	}
+
+	@Override
+	public int nextInt() {
+		return mix32(nextSeed());
+	}
+
+	@Override
+	public int nextInt(final int bound) {
+		if (bound <= 0) {
+			throw new IllegalArgumentException("Bound must be positive.");
+		}
+
+		int r = nextInt();
+		final int m = bound - 1;
+		if ((bound & m) == 0) {
+			r &= m;
+		} else {
+			for (int u = r >>> 1; u + m - (r = u%bound) < 0; u = nextInt() >>> 1);
+		}
+		return r;
+	}
+
+	@Override
+	public long nextLong() {
+		return mix64(nextSeed());
+	}
+
+	@Override
+	public boolean nextBoolean() {
+		return nextInt() < 0;
+	}
+
+	@Override
+	public double nextDouble() {
+		return (nextLong() >>> 11)*DOUBLE_UNIT;
+	}
+
+	/**
+	 * The seed of this random engine can't be changed.
+	 *
+	 * @param seed the seed
+	 * @throws UnsupportedOperationException always, after the construction
+	 */
+	@Override
+	public synchronized void setSeed(final long seed) {
+		// Called by the constructor of the super class. The gamma value is
+		// always odd, after the construction.
+		if (_gamma != 0) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+
+	/* *************************************************************************
+	 *  Java object serialization
+	 * ************************************************************************/
+
+	private void writeObject(final ObjectOutputStream out)
+		throws IOException
+	{
+		out.defaultWriteObject();
+		out.writeLong(_seed);
+		out.writeLong(_gamma);
+	}
+
+	private void readObject(final ObjectInputStream in)
+		throws IOException, ClassNotFoundException
+	{
+		in.defaultReadObject();
+		_seed = in.readLong();
+		_gamma = in.readLong();
+		if ((_gamma & 1L) == 0) {
+			throw new InvalidObjectException("Invalid gamma value: " + _gamma);
+		}
+	}
+
+}
@@ -0,0 +1,252 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.internal.util;
+
+import static java.lang.Math.ceil;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.sqrt;
+import static java.lang.String.format;
+import static java.security.AccessController.doPrivileged;
+
+import java.security.PrivilegedAction;
+
+import io.jenetics.util.BaseSeq;
+
+/**
+ * Chooses the batch size of concurrently executed runnables from their
+ * measured execution times. The execution time of every runnable is measured
+ * and the mean and variance of the task costs are smoothed over several
+ * executions (generations). The batch size is chosen to minimize the
+ * estimated makespan
+ * <pre>
+ *     T(b) = ⌈n/b⌉(o + b·m)/P + b·m + √b·s
+ * </pre>
+ * where {@code n} is the number of tasks, {@code b} the batch size, {@code o}
+ * the scheduling overhead of one batch, {@code P} the number of cores and
+ * {@code m} and {@code s} the mean and standard deviation of the task costs.
+ * The first term is the evenly distributed work (including the scheduling
+ * overhead), the remaining terms estimate the delay caused by the last
+ * running batch. Cheap tasks lead to big batches, which amortize the
+ * scheduling overhead, and tasks with strongly varying costs lead to small
+ * batches, down to one task per batch.
+ *
+ * @implNote
+ * This class is thread-safe.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 6.1
+ * @since 6.1
+ */
+public final class BatchSizing {
+
+	// Weight of the task costs of the last execution.
+	private static final double ALPHA = 0.5;
+
+	private final int _parallelism;
+	private final double _overhead;
+
+	// Smoothed task cost statistics, in nanoseconds.
+	private double _mean = Double.NaN;
+	private double _variance = 0;
+
+	// Task cost statistics of the current execution.
+	private long _count = 0;
+	private double _sum = 0;
+	private double _sumOfSquares = 0;
+
+	private int _batchSize = 0;
+
+	/**
+	 * Create a new batch sizing object.
+	 *
+	 * @param parallelism the number of concurrently executed batches
+	 * @param overhead the scheduling overhead of one batch, in nanoseconds
+	 * @throws IllegalArgumentException if the {@code parallelism} is smaller
+	 *         than one or the {@code overhead} is negative
+	 */
+	public BatchSizing(final int parallelism, final double overhead) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException(format(
+				"Parallelism must be greater than zero: %d", parallelism
+			));
+		}
+		_parallelism = parallelism;
+		_overhead = Requires.nonNegative(overhead, "Overhead");
+	}
+
+	/**
+	 * Create a new batch sizing object for the available cores and the
+	 * scheduling overhead given by the
+	 * {@code io.jenetics.concurrency.batchOverhead} system property (in
+	 * nanoseconds).
+	 */
+	public BatchSizing() {
+		this(Concurrency.CORES, Env.batchOverhead);
+	}
+
+	/**
+	 * Return the batch size for executing the given number of tasks. The
+	 * statistics of the previous executions are used for calculating the
+	 * batch size. If no task cost has been measured yet, the tasks are split
+	 * into {@code 2(P + 1)} batches.
+	 *
+	 * @param size the number of tasks to execute
+	 * @param maxBatchSize the maximal allowed batch size
+	 * @return the batch size for the given number of tasks
+	 */
+	public synchronized int batchSize(final int size, final int maxBatchSize) {
+		update();
+
+		final int batchSize;
+		if (Double.isNaN(_mean)) {
+			batchSize = (int)ceil(size/(double)((_parallelism + 1)*2));
+		} else {
+			final double s = sqrt(_variance);
+			final int limit = max(min(size, maxBatchSize), 1);
+
+			// Testing the powers of two and the maximal batch size.
+			int best = limit;
+			double makespan = makespan(size, limit, s);
+			for (long b = 1; b < limit; b *= 2) {
+				final double t = makespan(size, (int)b, s);
+				if (t < makespan) {
+					makespan = t;
+					best = (int)b;
+				}
+			}
+			batchSize = best;
+		}
+
+		_batchSize = max(min(batchSize, maxBatchSize), 1);
+		return _batchSize;
+	}
+
+	private double makespan(final int size, final int b, final double s) {
+		final double batches = ceil(size/(double)b);
+		return batches*(_overhead + b*_mean)/_parallelism + b*_mean + sqrt(b)*s;
+	}
+
+	// Merges the statistics of the last execution into the smoothed values.
+	private void update() {
+		if (_count > 0) {
+			final double mean = _sum/_count;
+			final double variance = max(_sumOfSquares/_count - mean*mean, 0);
+
+			if (Double.isNaN(_mean)) {
+				_mean = mean;
+				_variance = variance;
+			} else {
+				_mean = ALPHA*mean + (1 - ALPHA)*_mean;
+				_variance = ALPHA*variance + (1 - ALPHA)*_variance;
+			}
+
+			_count = 0;
+			_sum = 0;
+			_sumOfSquares = 0;
+		}
+	}
+
+	/**
+	 * Return the last calculated batch size.
+	 *
+	 * @return the last calculated batch size, or zero if no batch size has
+	 *         been calculated yet
+	 */
+	public synchronized int batchSize() {
+		return _batchSize;
+	}
+
+	/**
+	 * Return the smoothed mean task cost, in nanoseconds.
+	 *
+	 * @return the smoothed mean task cost, or {@code NaN} if no task has been
+	 *         measured yet
+	 */
+	public synchronized double meanCost() {
+		update();
+		return _mean;
+	}
+
+	/**
+	 * Executes the runnables of the given index range and measures the
+	 * execution time of every single runnable.
+	 *
+	 * @param runnables the runnables to execute
+	 * @param start the start index of the runnables to execute, inclusively
+	 * @param end the end index of the runnables to execute, exclusively
+	 */
+	void run(
+		final BaseSeq<? extends Runnable> runnables,
+		final int start,
+		final int end
+	) {
+		double sum = 0;
+		double sumOfSquares = 0;
+		for (int i = start; i < end; ++i) {
+			final long begin = System.nanoTime();
+			runnables.get(i).run();
+			final double nanos = System.nanoTime() - begin;
+
+			sum += nanos;
+			sumOfSquares += nanos*nanos;
+		}
+
+		accept(end - start, sum, sumOfSquares);
+	}
+
+	/**
+	 * Adds the measured costs of the given number of tasks to the statistics
+	 * of the current execution.
+	 *
+	 * @param count the number of measured tasks
+	 * @param sum the sum of the task costs, in nanoseconds
+	 * @param sumOfSquares the sum of the squared task costs
+	 */
+	synchronized void accept(
+		final long count,
+		final double sum,
+		final double sumOfSquares
+	) {
+		_count += count;
+		_sum += sum;
+		_sumOfSquares += sumOfSquares;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return format(
+			"BatchSizing[batchSize=%d, mean=%f, variance=%f]",
+			_batchSize, _mean, _variance
+		);
+	}
+
+	private static final class Env {
+		private static final int batchOverhead = max(
+			doPrivileged(
+				(PrivilegedAction<Integer>)() -> Integer.getInteger(
+					"io.jenetics.concurrency.batchOverhead",
+					10_000
+				)),
+			0
+		);
+	}
+
+}
@@ -41,7 +41,7 @@ import io.jenetics.util.Seq;
 
 /**
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 3.8
+ * @version 6.1
  * @since 2.0
  */
 public abstract class Concurrency implements Executor, AutoCloseable {
@@ -72,14 +72,32 @@ public abstract class Concurrency implements Executor, AutoCloseable {
 	 * @return a new Concurrency object
 	 */
 	public static Concurrency with(final Executor executor) {
+		return with(executor, null);
+	}
+
+	/**
+	 * Return an new Concurrency object from the given executor. The batch
+	 * sizes of the executed runnables are adapted to their measured execution
+	 * times, if a {@code sizing} object is given.
+	 *
+	 * @since 6.1
+	 *
+	 * @param executor the underlying Executor
+	 * @param sizing the batch sizing strategy, may be {@code null}
+	 * @return a new Concurrency object
+	 */
+	public static Concurrency with(
+		final Executor executor,
+		final BatchSizing sizing
+	) {
 		if (executor instanceof ForkJoinPool) {
-			return new ForkJoinPoolConcurrency((ForkJoinPool)executor);
+			return new ForkJoinPoolConcurrency((ForkJoinPool)executor, sizing);
 		} else if (executor instanceof ExecutorService) {
-			return new ExecutorServiceConcurrency((ExecutorService)executor);
+			return new ExecutorServiceConcurrency((ExecutorService)executor, sizing);
 		} else if (executor == SERIAL_EXECUTOR) {
 			return SERIAL_EXECUTOR;
 		} else {
-			return new ExecutorConcurrency(executor);
+			return new ExecutorConcurrency(executor, sizing);
 		}
 	}
 
@@ -99,9 +117,14 @@ public abstract class Concurrency implements Executor, AutoCloseable {
 	private static final class ForkJoinPoolConcurrency extends Concurrency {
 		private final List<ForkJoinTask<?>> _tasks = new ArrayList<>();
 		private final ForkJoinPool _pool;
+		private final BatchSizing _sizing;
 
-		ForkJoinPoolConcurrency(final ForkJoinPool pool) {
+		ForkJoinPoolConcurrency(
+			final ForkJoinPool pool,
+			final BatchSizing sizing
+		) {
 			_pool = requireNonNull(pool);
+			_sizing = sizing;
 		}
 
 		@Override
@@ -112,7 +135,14 @@ public abstract class Concurrency implements Executor, AutoCloseable {
 		@Override
 		public void execute(final Seq<? extends Runnable> runnables) {
 			if (runnables.nonEmpty()) {
-				_tasks.add(_pool.submit(new RunnablesAction(runnables)));
+				_tasks.add(_pool.submit(
+					_sizing != null
+						? new RunnablesAction(
+							runnables,
+							_sizing,
+							_sizing.batchSize(runnables.size(), Env.maxBatchSize))
+						: new RunnablesAction(runnables)
+				));
 			}
 		}
 
@@ -134,8 +164,14 @@ public abstract class Concurrency implements Executor, AutoCloseable {
 		private final List<Future<?>> _futures = new ArrayList<>();
 		private final ExecutorService _service;
 
-		ExecutorServiceConcurrency(final ExecutorService service) {
+		private final BatchSizing _sizing;
+
+		ExecutorServiceConcurrency(
+			final ExecutorService service,
+			final BatchSizing sizing
+		) {
 			_service = requireNonNull(service);
+			_sizing = sizing;
 		}
 
 		@Override
@@ -146,16 +182,10 @@ public abstract class Concurrency implements Executor, AutoCloseable {
 		@Override
 		public void execute(final Seq<? extends Runnable> runnables) {
 			if (runnables.nonEmpty()) {
-				final int[] parts = partition(
-					runnables.size(),
-					max(
-						(CORES + 1)*2,
-						(int)ceil(runnables.size()/(double)Env.maxBatchSize)
-					)
-				);
+				final int[] parts = partition(runnables.size(), _sizing);
 
 				for (int i = 0; i < parts.length - 1; ++i) {
-					execute(new RunnablesRunnable(runnables, parts[i], parts[i + 1]));
+					execute(batch(runnables, parts[i], parts[i + 1], _sizing));
 				}
 			}
 		}
@@ -172,6 +202,25 @@ public abstract class Concurrency implements Executor, AutoCloseable {
 
 	}
 
+	private static int[] partition(final int size, final BatchSizing sizing) {
+		final int parts = sizing != null
+			? (int)ceil(size/(double)sizing.batchSize(size, Env.maxBatchSize))
+			: max((CORES + 1)*2, (int)ceil(size/(double)Env.maxBatchSize));
+
+		return partition(size, parts);
+	}
+
+	private static Runnable batch(
+		final Seq<? extends Runnable> runnables,
+		final int start,
+		final int end,
+		final BatchSizing sizing
+	) {
+		return sizing != null
+			? () -> sizing.run(runnables, start, end)
+			: new RunnablesRunnable(runnables, start, end);
+	}
+
 	private static void join(final Iterable<? extends Future<?>> jobs) {
 		Future<?> task = null;
 		Iterator<? extends Future<?>> tasks = null;
@@ -216,8 +265,14 @@ public abstract class Concurrency implements Executor, AutoCloseable {
 		private final List<FutureTask<?>> _tasks = new ArrayList<>();
 		private final Executor _executor;
 
-		ExecutorConcurrency(final Executor executor) {
+		private final BatchSizing _sizing;
+
+		ExecutorConcurrency(
+			final Executor executor,
+			final BatchSizing sizing
+		) {
 			_executor = requireNonNull(executor);
+			_sizing = sizing;
 		}
 
 		@Override
@@ -230,16 +285,10 @@ public abstract class Concurrency implements Executor, AutoCloseable {
 		@Override
 		public void execute(final Seq<? extends Runnable> runnables) {
 			if (runnables.nonEmpty()) {
-				final int[] parts = partition(
-					runnables.size(),
-					max(
-						(CORES + 1)*2,
-						(int)ceil(runnables.size()/(double)Env.maxBatchSize)
-					)
-				);
+				final int[] parts = partition(runnables.size(), _sizing);
 
 				for (int i = 0; i < parts.length - 1; ++i) {
-					execute(new RunnablesRunnable(runnables, parts[i], parts[i + 1]));
+					execute(batch(runnables, parts[i], parts[i + 1], _sizing));
 				}
 			}
 		}
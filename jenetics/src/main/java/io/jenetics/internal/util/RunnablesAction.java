@@ -29,7 +29,7 @@ import io.jenetics.util.BaseSeq;
 
 /**
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 5.2
+ * @version 6.1
  * @since 2.0
  */
 final class RunnablesAction extends RecursiveAction {
@@ -38,36 +38,61 @@ final class RunnablesAction extends RecursiveAction {
 	private static final int DEFAULT_THRESHOLD = 7;
 
 	private final BaseSeq<? extends Runnable> _runnables;
+	private final BatchSizing _sizing;
+	private final int _threshold;
 	private final int _high;
 	private final int _low;
 
 	private RunnablesAction(
 		final BaseSeq<? extends Runnable> runnables,
+		final BatchSizing sizing,
+		final int threshold,
 		final int low,
 		final int high
 	) {
 		_runnables = runnables;
+		_sizing = sizing;
+		_threshold = threshold;
 		_low = low;
 		_high = high;
 	}
 
 	RunnablesAction(final BaseSeq<? extends Runnable> runnables) {
-		this(runnables, 0, runnables.length());
+		this(runnables, null, Env.splitThreshold, 0, runnables.length());
+	}
+
+	/**
+	 * Create a new action, which splits the runnables down to the given
+	 * {@code batchSize} and measures the execution time of the runnables.
+	 * The queue-length heuristic is not used for stopping the splitting,
+	 * since the batch size already reflects the measured task costs.
+	 */
+	RunnablesAction(
+		final BaseSeq<? extends Runnable> runnables,
+		final BatchSizing sizing,
+		final int batchSize
+	) {
+		this(runnables, sizing, batchSize, 0, runnables.length());
 	}
 
 	@Override
 	protected void compute() {
-		if ((_high - _low) <= Env.splitThreshold ||
+		if ((_high - _low) <= _threshold ||
+			_sizing == null &&
 			getSurplusQueuedTaskCount() > Env.maxSurplusQueuedTaskCount)
 		{
-			for (int i = _low; i < _high; ++i) {
-				_runnables.get(i).run();
+			if (_sizing != null) {
+				_sizing.run(_runnables, _low, _high);
+			} else {
+				for (int i = _low; i < _high; ++i) {
+					_runnables.get(i).run();
+				}
 			}
 		} else {
 			final int mid = (_low + _high) >>> 1;
 			invokeAll(
-				new RunnablesAction(_runnables, _low, mid),
-				new RunnablesAction(_runnables, mid, _high)
+				new RunnablesAction(_runnables, _sizing, _threshold, _low, mid),
+				new RunnablesAction(_runnables, _sizing, _threshold, mid, _high)
 			);
 		}
 	}
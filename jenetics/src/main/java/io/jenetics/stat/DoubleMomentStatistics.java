@@ -65,13 +65,15 @@ import io.jenetics.internal.math.DoubleAdder;
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
  * @since 3.0
- * @version 6.0
+ * @version 6.1
  */
 public class DoubleMomentStatistics
 	extends MomentStatistics
 	implements DoubleConsumer
 {
 
+	private static final long serialVersionUID = 1L;
+
 	private double _min = Double.POSITIVE_INFINITY;
 	private double _max = Double.NEGATIVE_INFINITY;
 
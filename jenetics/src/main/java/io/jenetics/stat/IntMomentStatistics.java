@@ -63,13 +63,15 @@ import java.util.stream.Collector;
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
  * @since 3.0
- * @version 6.0
+ * @version 6.1
  */
 public class IntMomentStatistics
 	extends MomentStatistics
 	implements IntConsumer
 {
 
+	private static final long serialVersionUID = 1L;
+
 	private int _min = Integer.MAX_VALUE;
 	private int _max = Integer.MIN_VALUE;
 	private long _sum = 0L;
@@ -63,13 +63,15 @@ import java.util.stream.Collector;
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
  * @since 3.0
- * @version 6.0
+ * @version 6.1
  */
 public class LongMomentStatistics
 	extends MomentStatistics
 	implements LongConsumer, IntConsumer
 {
 
+	private static final long serialVersionUID = 1L;
+
 	private long _min = Long.MAX_VALUE;
 	private long _max = Long.MIN_VALUE;
 	private long _sum = 0L;
@@ -22,6 +22,7 @@ package io.jenetics.stat;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 
+import java.io.Serializable;
 import java.util.Comparator;
 import java.util.Objects;
 import java.util.function.Consumer;
@@ -51,13 +52,16 @@ import io.jenetics.util.Streams;
  * parallel stream, because the parallel implementation of
  * {@link java.util.stream.Stream#collect Stream.collect()}provides the
  * necessary partitioning, isolation, and merging of results for safe and
- * efficient parallel execution.
+ * efficient parallel execution. A {@code MinMax} object is only
+ * serializable, if its comparator and the accepted elements are serializable.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
  * @since 3.0
- * @version 6.0
+ * @version 6.1
  */
-public final class MinMax<C> implements Consumer<C> {
+public final class MinMax<C> implements Consumer<C>, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	private final Comparator<? super C> _comparator;
 
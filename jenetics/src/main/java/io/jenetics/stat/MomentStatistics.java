@@ -23,6 +23,8 @@ import static java.lang.Double.NaN;
 import static java.lang.Math.sqrt;
 import static java.util.Objects.requireNonNull;
 
+import java.io.Serializable;
+
 import io.jenetics.internal.math.DoubleAdder;
 
 /**
@@ -33,9 +35,11 @@ import io.jenetics.internal.math.DoubleAdder;
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
  * @since 3.0
- * @version 6.0
+ * @version 6.1
  */
-abstract class MomentStatistics {
+abstract class MomentStatistics implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	// the sample count.
 	private long _n = 0L;
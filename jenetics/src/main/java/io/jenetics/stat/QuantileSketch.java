@@ -0,0 +1,528 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.stat;
+
+import static java.lang.Double.NaN;
+import static java.lang.Math.PI;
+import static java.lang.Math.asin;
+import static java.lang.Math.sin;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collector;
+
+/**
+ * Mergeable quantile sketch, which estimates arbitrary quantiles of a stream
+ * of double values with bounded memory. The implementation follows the
+ * <em>merging t-digest</em> published by
+ * <p>
+ * <strong>Ted DUNNING and Otmar ERTL</strong>:
+ * <em>
+ *     Computing Extremely Accurate Quantiles Using t-Digests
+ * </em>
+ * [<a href="https://arxiv.org/abs/1902.04023">arXiv:1902.04023</a>]
+ * <p>
+ * The accepted values are summarized in weighted <em>centroids</em>. The
+ * number of centroids is bounded by the {@link #compression()} parameter,
+ * independent of the number of accepted values. Centroids near the tails of
+ * the distribution are kept small, which gives an accurate estimation of
+ * the extreme quantiles. In contrast to the {@link Quantile} class, one
+ * sketch answers queries for <em>any</em> quantile, and two sketches can be
+ * combined without loss of accuracy.
+ *
+ * <pre>{@code
+ * final DoubleStream stream = ...
+ * final QuantileSketch sketch = stream.collect(
+ *         QuantileSketch::new,
+ *         QuantileSketch::accept,
+ *         QuantileSketch::combine
+ *     );
+ *
+ * final double[] quantiles = sketch.quantiles(0.5, 0.9, 0.99);
+ * }</pre>
+ *
+ * @implNote
+ * This implementation is not thread safe. However, it is safe to use
+ * {@link #toQuantileSketch(ToDoubleFunction)} on a parallel stream, because
+ * the parallel implementation of
+ * {@link java.util.stream.Stream#collect Stream.collect()} provides the
+ * necessary partitioning, isolation, and merging of results for safe and
+ * efficient parallel execution. {@code NaN} values are ignored. Infinite
+ * values are not merged into the centroids; they are counted separately and
+ * form the outer tails of the estimated distribution.
+ *
+ * @see Quantile
+ * @see <a href="https://github.com/tdunning/t-digest">t-digest</a>
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @since 6.1
+ * @version 6.1
+ */
+public final class QuantileSketch implements DoubleConsumer, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The default compression of the sketch: 100
+	 */
+	public static final double DEFAULT_COMPRESSION = 100;
+
+	private final double _compression;
+
+	// The merged centroids, sorted by their mean value.
+	private double[] _means;
+	private double[] _weights;
+	private int _size = 0;
+
+	// The accepted values, which are not merged yet.
+	private final double[] _buffer;
+	private int _buffered = 0;
+
+	// The number of accepted -∞ and +∞ values.
+	private long _negatives = 0;
+	private long _positives = 0;
+
+	private long _count = 0;
+	private double _min = Double.POSITIVE_INFINITY;
+	private double _max = Double.NEGATIVE_INFINITY;
+
+	// The minimal and maximal finite value.
+	private double _lower = Double.POSITIVE_INFINITY;
+	private double _upper = Double.NEGATIVE_INFINITY;
+
+	/**
+	 * Create a new quantile sketch with the given {@code compression}. Bigger
+	 * compression values lead to more accurate quantile estimations, but also
+	 * to a higher memory consumption. The number of centroids is in the order
+	 * of the {@code compression} value.
+	 *
+	 * @param compression the compression of the sketch
+	 * @throws IllegalArgumentException if the {@code compression} is smaller
+	 *         than 10 or not finite
+	 */
+	public QuantileSketch(final double compression) {
+		_compression = checkCompression(compression);
+		_means = new double[(int)compression + 10];
+		_weights = new double[_means.length];
+		_buffer = new double[5*(int)compression];
+	}
+
+	/**
+	 * Create a new quantile sketch with the {@link #DEFAULT_COMPRESSION}.
+	 */
+	public QuantileSketch() {
+		this(DEFAULT_COMPRESSION);
+	}
+
+	/**
+	 * Return the compression of {@code this} sketch.
+	 *
+	 * @return the compression of {@code this} sketch
+	 */
+	public double compression() {
+		return _compression;
+	}
+
+	/**
+	 * Return the number of accepted values.
+	 *
+	 * @return the number of accepted values
+	 */
+	public long count() {
+		return _count;
+	}
+
+	/**
+	 * Return the minimum value recorded, or {@code Double.POSITIVE_INFINITY} if
+	 * no values have been recorded.
+	 *
+	 * @return the minimum value, or {@code Double.POSITIVE_INFINITY} if none
+	 */
+	public double min() {
+		return _min;
+	}
+
+	/**
+	 * Return the maximum value recorded, or {@code Double.NEGATIVE_INFINITY} if
+	 * no values have been recorded.
+	 *
+	 * @return the maximum value, or {@code Double.NEGATIVE_INFINITY} if none
+	 */
+	public double max() {
+		return _max;
+	}
+
+	@Override
+	public void accept(final double value) {
+		if (Double.isInfinite(value)) {
+			if (value < 0) {
+				++_negatives;
+			} else {
+				++_positives;
+			}
+			_min = Math.min(_min, value);
+			_max = Math.max(_max, value);
+			++_count;
+		} else if (!Double.isNaN(value)) {
+			if (_buffered == _buffer.length) {
+				compress();
+			}
+
+			_buffer[_buffered++] = value;
+			_lower = Math.min(_lower, value);
+			_upper = Math.max(_upper, value);
+			_min = Math.min(_min, value);
+			_max = Math.max(_max, value);
+			++_count;
+		}
+	}
+
+	/**
+	 * Combine two {@code QuantileSketch} objects. The {@code other} sketch is
+	 * not changed, and the combined sketch keeps the compression of
+	 * {@code this} sketch.
+	 *
+	 * @param other the other {@code QuantileSketch} object to combine
+	 * @return {@code this}
+	 * @throws NullPointerException if the {@code other} object is
+	 *         {@code null}
+	 */
+	public QuantileSketch combine(final QuantileSketch other) {
+		requireNonNull(other);
+
+		if (other._count > 0) {
+			final double[] values = Arrays.copyOf(other._buffer, other._buffered);
+			Arrays.sort(values);
+
+			compress();
+			merge(other._means, other._weights, other._size);
+			merge(values, null, values.length);
+
+			_negatives += other._negatives;
+			_positives += other._positives;
+			_count += other._count;
+			_min = Math.min(_min, other._min);
+			_max = Math.max(_max, other._max);
+			_lower = Math.min(_lower, other._lower);
+			_upper = Math.max(_upper, other._upper);
+		}
+
+		return this;
+	}
+
+	/**
+	 * Return the estimated value of the given {@code quantile}.
+	 *
+	 * @param quantile the wished quantile
+	 * @return the estimated quantile value, or {@code NaN} if no values have
+	 *         been recorded
+	 * @throws IllegalArgumentException if the {@code quantile} is not in the
+	 *         range {@code [0, 1]}
+	 */
+	public double quantile(final double quantile) {
+		check(quantile);
+		compress();
+
+		if (_count == 0) {
+			return NaN;
+		} else if (quantile == 0.0) {
+			return _min;
+		} else if (quantile == 1.0) {
+			return _max;
+		} else {
+			return tails(quantile*_count);
+		}
+	}
+
+	/**
+	 * Return the estimated values of the given {@code quantiles}.
+	 *
+	 * @param quantiles the wished quantiles
+	 * @return the estimated quantile values, in the order of the given
+	 *         {@code quantiles}
+	 * @throws IllegalArgumentException if one of the {@code quantiles} is not
+	 *         in the range {@code [0, 1]}
+	 */
+	public double[] quantiles(final double... quantiles) {
+		final double[] values = new double[quantiles.length];
+		for (int i = 0; i < quantiles.length; ++i) {
+			values[i] = quantile(quantiles[i]);
+		}
+		return values;
+	}
+
+	private static double checkCompression(final double compression) {
+		if (!Double.isFinite(compression) || compression < 10) {
+			throw new IllegalArgumentException(format(
+				"Compression must be a finite value >= 10, but was %s.",
+				compression
+			));
+		}
+		return compression;
+	}
+
+	private static void check(final double quantile) {
+		if (!(quantile >= 0.0 && quantile <= 1.0)) {
+			throw new IllegalArgumentException(format(
+				"Quantile (%s) not in the valid range of [0, 1]", quantile
+			));
+		}
+	}
+
+	// The infinite values are located at the outer tails of the distribution.
+	// Only the finite values are interpolated, so that the infinite values
+	// can't spoil the centroids with NaN means.
+	private double tails(final double index) {
+		final long finite = _count - _negatives - _positives;
+
+		if (finite == 0) {
+			return index <= _negatives
+				? Double.NEGATIVE_INFINITY
+				: Double.POSITIVE_INFINITY;
+		} else if (index < _negatives) {
+			return Double.NEGATIVE_INFINITY;
+		} else if (index > _negatives + finite) {
+			return Double.POSITIVE_INFINITY;
+		} else {
+			return interpolate(index - _negatives, finite);
+		}
+	}
+
+	// Linear interpolation between the centers of the centroids. The minimum
+	// and maximum finite value are used as the outer boundaries.
+	private double interpolate(final double index, final long count) {
+		final double first = _weights[0]/2.0;
+		if (index <= first) {
+			return _lower + (_means[0] - _lower)*index/first;
+		}
+
+		final double last = _weights[_size - 1]/2.0;
+		if (index >= count - last) {
+			final double right = (count - index)/last;
+			return _upper - (_upper - _means[_size - 1])*right;
+		}
+
+		double center = first;
+		for (int i = 0; i < _size - 1; ++i) {
+			final double distance = (_weights[i] + _weights[i + 1])/2.0;
+			if (index < center + distance) {
+				final double t = (index - center)/distance;
+				return _means[i] + (_means[i + 1] - _means[i])*t;
+			}
+			center += distance;
+		}
+
+		return _means[_size - 1];
+	}
+
+	// Merge the buffered values into the centroids.
+	private void compress() {
+		if (_buffered > 0) {
+			Arrays.sort(_buffer, 0, _buffered);
+			merge(_buffer, null, _buffered);
+			_buffered = 0;
+		}
+	}
+
+	// Merge the given, sorted centroids with the centroids of this sketch.
+	// The weights of the given centroids are one, if the weights array is
+	// null.
+	private void merge(
+		final double[] means,
+		final double[] weights,
+		final int length
+	) {
+		if (length == 0) {
+			return;
+		}
+
+		double total = 0;
+		for (int i = 0; i < _size; ++i) {
+			total += _weights[i];
+		}
+		for (int i = 0; i < length; ++i) {
+			total += weights != null ? weights[i] : 1.0;
+		}
+
+		final double[] mergedMeans = new double[_means.length];
+		final double[] mergedWeights = new double[_weights.length];
+		int size = 0;
+
+		double sum = 0;
+		double limit = total*limit(0);
+
+		int i = 0;
+		int j = 0;
+		while (i < _size || j < length) {
+			final double mean;
+			final double weight;
+			if (j >= length || i < _size && _means[i] <= means[j]) {
+				mean = _means[i];
+				weight = _weights[i++];
+			} else {
+				mean = means[j];
+				weight = weights != null ? weights[j] : 1.0;
+				++j;
+			}
+
+			if (size > 0 && sum + mergedWeights[size - 1] + weight <= limit) {
+				final int k = size - 1;
+				mergedWeights[k] += weight;
+				mergedMeans[k] += (mean - mergedMeans[k])*weight/mergedWeights[k];
+			} else {
+				if (size > 0) {
+					sum += mergedWeights[size - 1];
+					limit = total*limit(sum/total);
+				}
+				if (size == mergedMeans.length) {
+					throw new AssertionError("Centroid overflow: " + size);
+				}
+
+				mergedMeans[size] = mean;
+				mergedWeights[size] = weight;
+				++size;
+			}
+		}
+
+		_means = mergedMeans;
+		_weights = mergedWeights;
+		_size = size;
+	}
+
+	// Return the maximal quantile of a centroid, which starts at the given
+	// quantile. The scale function k(q) = δ/(2π)*asin(2q - 1) is used.
+	private double limit(final double quantile) {
+		final double k = _compression/(2.0*PI)*asin(2.0*Math.min(quantile, 1.0) - 1.0);
+		final double x = Math.min((k + 1.0)*2.0*PI/_compression, PI/2.0);
+		return (sin(x) + 1.0)/2.0;
+	}
+
+	/**
+	 * Compares the state of two {@code QuantileSketch} objects. This is
+	 * a replacement for the {@link #equals(Object)} which is not advisable to
+	 * implement for this mutable object. If two object have the same state, it
+	 * has still the same state when updated with the same value.
+	 * <pre>{@code
+	 * final QuantileSketch qs1 = ...;
+	 * final QuantileSketch qs2 = ...;
+	 *
+	 * if (qs1.sameState(qs2)) {
+	 *     final double value = random.nextDouble();
+	 *     qs1.accept(value);
+	 *     qs2.accept(value);
+	 *
+	 *     assert qs1.sameState(qs2);
+	 *     assert qs2.sameState(qs1);
+	 *     assert qs1.sameState(qs1);
+	 * }
+	 * }</pre>
+	 *
+	 * @param other the other object for the test
+	 * @return {@code true} the {@code this} and the {@code other} objects have
+	 *         the same state, {@code false} otherwise
+	 */
+	public boolean sameState(final QuantileSketch other) {
+		return this == other ||
+			Double.compare(_compression, other._compression) == 0 &&
+			_count == other._count &&
+			_negatives == other._negatives &&
+			_positives == other._positives &&
+			_size == other._size &&
+			_buffered == other._buffered &&
+			Double.compare(_min, other._min) == 0 &&
+			Double.compare(_max, other._max) == 0 &&
+			Double.compare(_lower, other._lower) == 0 &&
+			Double.compare(_upper, other._upper) == 0 &&
+			Arrays.equals(_means, 0, _size, other._means, 0, _size) &&
+			Arrays.equals(_weights, 0, _size, other._weights, 0, _size) &&
+			Arrays.equals(_buffer, 0, _buffered, other._buffer, 0, _buffered);
+	}
+
+	@Override
+	public String toString() {
+		return format(
+			"%s[samples=%d, centroids=%d, p50=%f, p90=%f, p99=%f]",
+			getClass().getSimpleName(), count(), _size + _buffered,
+			quantile(0.5), quantile(0.9), quantile(0.99)
+		);
+	}
+
+	/**
+	 * Return a {@code Collector} which applies an double-producing mapping
+	 * function to each input element, and returns a quantile sketch, with
+	 * the given {@code compression}, for the resulting values.
+	 *
+	 * <pre>{@code
+	 * final Stream<SomeObject> stream = ...
+	 * final QuantileSketch sketch = stream
+	 *     .collect(toQuantileSketch(200, v -> v.doubleValue()));
+	 * }</pre>
+	 *
+	 * @param compression the compression of the sketch
+	 * @param mapper a mapping function to apply to each element
+	 * @param <T> the type of the input elements
+	 * @return a {@code Collector} implementing the quantile sketch reduction
+	 * @throws NullPointerException if the given {@code mapper} is
+	 *         {@code null}
+	 * @throws IllegalArgumentException if the {@code compression} is smaller
+	 *         than 10 or not finite
+	 */
+	public static <T> Collector<T, ?, QuantileSketch> toQuantileSketch(
+		final double compression,
+		final ToDoubleFunction<? super T> mapper
+	) {
+		checkCompression(compression);
+		requireNonNull(mapper);
+
+		return Collector.of(
+			() -> new QuantileSketch(compression),
+			(r, t) -> r.accept(mapper.applyAsDouble(t)),
+			QuantileSketch::combine
+		);
+	}
+
+	/**
+	 * Return a {@code Collector} which applies an double-producing mapping
+	 * function to each input element, and returns a quantile sketch for the
+	 * resulting values.
+	 *
+	 * <pre>{@code
+	 * final Stream<SomeObject> stream = ...
+	 * final QuantileSketch sketch = stream
+	 *     .collect(toQuantileSketch(v -> v.doubleValue()));
+	 * }</pre>
+	 *
+	 * @param mapper a mapping function to apply to each element
+	 * @param <T> the type of the input elements
+	 * @return a {@code Collector} implementing the quantile sketch reduction
+	 * @throws NullPointerException if the given {@code mapper} is
+	 *         {@code null}
+	 */
+	public static <T> Collector<T, ?, QuantileSketch> toQuantileSketch(
+		final ToDoubleFunction<? super T> mapper
+	) {
+		return toQuantileSketch(DEFAULT_COMPRESSION, mapper);
+	}
+
+}
@@ -66,8 +66,10 @@ import java.util.stream.Collector;
  * {@link java.util.stream.Stream#peek(Consumer)} or
  * {@link java.util.stream.Stream#forEach(Consumer)} method. Obtaining a
  * synchronized view of the accumulator with the {@link #synced()} method, will
- * solve this problem. If the accumulator is used as {@link Collector}, the
- * usage in parallel streams is safe.
+ * solve this problem. The {@link #striped()} view avoids the lock contention
+ * of the synchronized view, by accumulating the elements of every thread
+ * separately. If the accumulator is used as {@link Collector}, the usage in
+ * parallel streams is safe.
  *
  * @param <T> the type of input elements to the accumulate operation
  * @param <A> the accumulator type
@@ -153,6 +155,42 @@ public interface Accumulator<T, A extends Accumulator<T, A, R>, R>
 		return synced(this);
 	}
 
+	/**
+	 * Returns a thread-safe accumulator backed by {@code this} accumulator,
+	 * which accumulates the elements of every thread into its own
+	 * <em>stripe</em>, without synchronization. The stripes, and the
+	 * elements already accumulated by {@code this} accumulator, are combined
+	 * when the result is requested. The elements accumulated by the returned
+	 * accumulator are not written back to {@code this} accumulator.
+	 *
+	 * <pre>{@code
+	 * final Accumulator<Double, ?, DoubleMomentStatistics> accu =
+	 *     Accumulator.of(toDoubleMomentStatistics(Double::doubleValue))
+	 *         .striped();
+	 *
+	 * values.parallelStream().forEach(accu);
+	 * final DoubleMomentStatistics statistics = accu.result();
+	 * }</pre>
+	 *
+	 * @apiNote
+	 * {@code this} accumulator must implement the {@link #combine(Accumulator)}
+	 * method. The result only contains the elements of the completed
+	 * {@link #accept(Object)} calls, and should be requested after the
+	 * accumulation threads have finished.
+	 *
+	 * @since 6.1
+	 *
+	 * @return a striped (thread-safe) accumulator backed by {@code this}
+	 *         accumulator
+	 */
+	default Accumulator<T, ?, R> striped() {
+		@SuppressWarnings("unchecked")
+		final A self = (A)this;
+		return this instanceof StripedAccumulator
+			? this
+			: new StripedAccumulator<>(self);
+	}
+
 	/**
 	 * Create a new accumulator from the given {@code collector}.
 	 *
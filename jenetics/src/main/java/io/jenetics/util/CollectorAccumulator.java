@@ -48,11 +48,14 @@ final class CollectorAccumulator<T, A, R>
 	@Override
 	public CollectorAccumulator<T, A, R>
 	combine(final CollectorAccumulator<T, A, R> other) {
-		if (_collection == null) {
-			_collection = _collector.supplier().get();
-		}
+		if (other._collection != null) {
+			if (_collection == null) {
+				_collection = _collector.supplier().get();
+			}
 
-		_collector.combiner().apply(_collection, other._collection);
+			_collection = _collector.combiner()
+				.apply(_collection, other._collection);
+		}
 		return this;
 	}
 
@@ -66,7 +69,11 @@ final class CollectorAccumulator<T, A, R>
 
 	@Override
 	public R result() {
-		return _collector.finisher().apply(_collection);
+		return _collector.finisher().apply(
+			_collection != null
+				? _collection
+				: _collector.supplier().get()
+		);
 	}
 
 	@Override
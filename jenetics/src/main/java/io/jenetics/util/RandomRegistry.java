@@ -21,12 +21,16 @@ package io.jenetics.util;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.Optional;
 import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+import io.jenetics.internal.math.SplitRandom;
+
 /**
  * This class holds the {@link Random} engine used for the GA. The
  * {@code RandomRegistry} is thread safe. The registry is initialized with the
@@ -85,12 +89,32 @@ import java.util.function.Supplier;
  * }</pre>
  * <p>
  *
+ * <b>Reproducible parallel evolution</b><br>
+ *
+ * The results of a seeded evolution, which uses more than one thread, are in
+ * general not reproducible, since the assignment of the work to the threads
+ * isn't deterministic. With a <em>splittable</em> random engine, the
+ * evolution {@code Engine} derives a deterministic random stream for every
+ * evolution step and evaluated individual. The result doesn't depend on the
+ * executor and the number of threads.
+ *
+ * <pre>{@code
+ * final EvolutionResult<DoubleGene, Double> result =
+ *     with(new SplittableRandom(123), r ->
+ *         engine.stream()
+ *             .limit(100)
+ *             .collect(toBestEvolutionResult())
+ *     );
+ * }</pre>
+ * <p>
+ *
  * @see Random
  * @see ThreadLocalRandom
+ * @see SplittableRandom
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
  * @since 1.0
- * @version 3.0
+ * @version 6.1
  */
 public final class RandomRegistry {
 	private RandomRegistry() {}
@@ -115,15 +139,24 @@ public final class RandomRegistry {
 	 * Setting a <i>thread-local</i> random object leads, in general, to a faster
 	 * PRN generation, because the given {@code Random} engine don't have to be
 	 * thread-safe.
+	 * <p>
+	 * The (not thread safe) stream engines, returned by {@link #streams()},
+	 * are registered as <em>splittable</em> random engine, which continues
+	 * the random streams at the position of the given engine.
 	 *
 	 * @see #random(ThreadLocal)
+	 * @see #streams()
 	 *
 	 * @param random the new global {@link Random} object for the GA.
 	 * @throws NullPointerException if the {@code random} object is {@code null}.
 	 */
 	public static void random(final Random random) {
 		requireNonNull(random, "Random must not be null.");
-		CONTEXT.set(() -> random);
+		if (random instanceof SplitRandom) {
+			CONTEXT.set(new Splittable(((SplitRandom)random).copy()));
+		} else {
+			CONTEXT.set(() -> random);
+		}
 	}
 
 	/**
@@ -142,6 +175,64 @@ public final class RandomRegistry {
 		CONTEXT.set(random::get);
 	}
 
+	/**
+	 * Set the given <em>splittable</em> random engine as new global random
+	 * engine. Every thread uses its own random engine, which is split from the
+	 * given one. Additionally, the evolution {@code Engine} derives
+	 * deterministic random streams from the given engine, which makes a seeded
+	 * evolution reproducible, independent of the number of used threads.
+	 *
+	 * @see #split()
+	 * @since 6.1
+	 *
+	 * @param random the splittable random engine
+	 * @throws NullPointerException if the {@code random} object is {@code null}.
+	 */
+	public static void random(final SplittableRandom random) {
+		CONTEXT.set(new Splittable(random));
+	}
+
+	/**
+	 * Return a new random engine, which is split from the registered
+	 * <em>splittable</em> random engine. The engines are split in call order,
+	 * which makes the returned engines deterministic, if the calling order is.
+	 *
+	 * @see #random(SplittableRandom)
+	 * @since 6.1
+	 *
+	 * @return a new random engine, split from the registered one, or
+	 *         {@code Optional.empty()} if the registered random engine is
+	 *         not splittable
+	 */
+	public static Optional<SplittableRandom> split() {
+		final Supplier<Random> random = CONTEXT.get();
+		return random instanceof Splittable
+			? Optional.of(((Splittable)random).split())
+			: Optional.empty();
+	}
+
+	/**
+	 * Return a copy of the random engine, which creates the random streams
+	 * returned by {@link #split()}. The copy contains the seed and the
+	 * current stream position of the registered <em>splittable</em> random
+	 * engine and is serializable. If the copy is registered again with
+	 * {@link #random(Random)}, the random streams are continued exactly at the
+	 * copied position. This is used for checkpointing a seeded evolution.
+	 *
+	 * @see #random(SplittableRandom)
+	 * @since 6.1
+	 *
+	 * @return a copy of the stream engine of the registered random engine, or
+	 *         {@code Optional.empty()} if the registered random engine is
+	 *         not splittable
+	 */
+	public static Optional<Random> streams() {
+		final Supplier<Random> random = CONTEXT.get();
+		return random instanceof Splittable
+			? Optional.of(((Splittable)random).streams())
+			: Optional.empty();
+	}
+
 	/**
 	 * Set the random object to it's default value. The <i>default</i> used PRNG
 	 * is the {@link ThreadLocalRandom} PRNG.
@@ -212,6 +303,28 @@ public final class RandomRegistry {
 		});
 	}
 
+	/**
+	 * Executes the consumer code using the given <em>splittable</em>
+	 * {@code random} engine.
+	 *
+	 * @see #random(SplittableRandom)
+	 * @since 6.1
+	 *
+	 * @param random the splittable PRNG used within the consumer
+	 * @param consumer the consumer which is executed with the <i>scope</i> of
+	 *        the given {@code random} engine.
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 */
+	public static void using(
+		final SplittableRandom random,
+		final Consumer<? super Random> consumer
+	) {
+		CONTEXT.with(new Splittable(random), r -> {
+			consumer.accept(r.get());
+			return null;
+		});
+	}
+
 	/**
 	 * Opens a new {@code Scope} with the given random engine and executes the
 	 * given function within it. The following example shows how to create a
@@ -270,4 +383,71 @@ public final class RandomRegistry {
 		return CONTEXT.with(random::get, s -> function.apply(random.get()));
 	}
 
+	/**
+	 * Opens a new {@code Scope} with the given <em>splittable</em> random
+	 * engine and executes the given function within it.
+	 *
+	 * @see #random(SplittableRandom)
+	 * @since 6.1
+	 *
+	 * @param <T> the function return type
+	 * @param random the splittable PRNG used for the opened scope
+	 * @param function the function to apply within the random scope
+	 * @return the object returned by the given function
+	 * @throws NullPointerException if one of the arguments is {@code null}.
+	 */
+	public static <T> T with(
+		final SplittableRandom random,
+		final Function<? super Random, ? extends T> function
+	) {
+		return CONTEXT.with(new Splittable(random), s -> function.apply(s.get()));
+	}
+
+	/**
+	 * Supplier of the thread-local random engines, which are split from the
+	 * given random engine. The random streams, returned by {@link #split()},
+	 * are split from a separate engine. This keeps them deterministic,
+	 * independent of the threads, which are using the registry.
+	 */
+	private static final class Splittable implements Supplier<Random> {
+		private final SplitRandom _streams;
+		private final SplitRandom _threads;
+		private final ThreadLocal<Random> _random;
+
+		private Splittable(final SplitRandom streams, final SplitRandom threads) {
+			_streams = streams;
+			_threads = threads;
+			_random = ThreadLocal.withInitial(this::nextRandom);
+		}
+
+		Splittable(final SplittableRandom random) {
+			this(SplitRandom.split(random), SplitRandom.split(random));
+		}
+
+		// Continues the random streams of the given engine copy. The thread
+		// engines are split from a copy, to leave the streams unchanged.
+		Splittable(final SplitRandom streams) {
+			this(streams, streams.copy().split());
+		}
+
+		private Random nextRandom() {
+			synchronized (_threads) {
+				return _threads.split();
+			}
+		}
+
+		synchronized SplittableRandom split() {
+			return new SplittableRandom(_streams.nextLong());
+		}
+
+		synchronized SplitRandom streams() {
+			return _streams.copy();
+		}
+
+		@Override
+		public Random get() {
+			return _random.get();
+		}
+	}
+
 }
@@ -0,0 +1,106 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.util;
+
+import static java.util.Collections.addAll;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * Accumulator, which accumulates the elements of every thread into its own
+ * <em>stripe</em>. The stripes are combined, with the {@code combine} method
+ * of the backing accumulator, when the result is requested.
+ *
+ * @param <T> the type of input elements to the accumulate operation
+ * @param <A> the accumulator type
+ * @param <R> the result type of the accumulated operation
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 6.1
+ * @since 6.1
+ */
+final class StripedAccumulator<T, A extends Accumulator<T, A, R>, R>
+	implements Accumulator<T, StripedAccumulator<T, A, R>, R>
+{
+
+	private final A _accumulator;
+	private final Set<Characteristics> _characteristics;
+
+	private final Queue<A> _stripes = new ConcurrentLinkedQueue<>();
+	private final ThreadLocal<A> _stripe = ThreadLocal.withInitial(this::stripe);
+
+	StripedAccumulator(final A accumulator) {
+		_accumulator = requireNonNull(accumulator);
+
+		final var cs = EnumSet.noneOf(Characteristics.class);
+		addAll(cs, _accumulator.characteristics().toArray(Characteristics[]::new));
+		addAll(cs, Characteristics.CONCURRENT);
+		_characteristics = Collections.unmodifiableSet(cs);
+	}
+
+	private A stripe() {
+		final A stripe = _accumulator.supplier().get();
+		_stripes.add(stripe);
+		return stripe;
+	}
+
+	@Override
+	public StripedAccumulator<T, A, R>
+	combine(final StripedAccumulator<T, A, R> other) {
+		_stripes.add(other.merged());
+		return this;
+	}
+
+	@Override
+	public void accept(final T value) {
+		_stripe.get().accept(value);
+	}
+
+	private A merged() {
+		final A merged = _accumulator.supplier().get();
+		merged.combine(_accumulator);
+		for (A stripe : _stripes) {
+			merged.combine(stripe);
+		}
+		return merged;
+	}
+
+	@Override
+	public R result() {
+		return merged().result();
+	}
+
+	@Override
+	public Supplier<StripedAccumulator<T, A, R>> supplier() {
+		return () -> new StripedAccumulator<>(_accumulator.supplier().get());
+	}
+
+	@Override
+	public Set<Characteristics> characteristics() {
+		return _characteristics;
+	}
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics;
+
+import static io.jenetics.internal.math.Basics.normalize;
+
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class AliasTableTest {
+
+	private static double[] probabilities(final int size, final Random random) {
+		final double[] values = new double[size];
+		for (int i = 0; i < size; ++i) {
+			values[i] = i%7 == 3 ? 0 : random.nextDouble();
+		}
+		return normalize(values);
+	}
+
+	@Test(dataProvider = "sizes")
+	public void distribution(final Integer size) {
+		final Random random = new Random(1234);
+		final double[] probabilities = probabilities(size, random);
+		final AliasTable table = new AliasTable().update(probabilities);
+
+		final int samples = 1_000_000;
+		final int[] histogram = new int[size];
+		for (int i = 0; i < samples; ++i) {
+			++histogram[table.next(random)];
+		}
+
+		for (int i = 0; i < size; ++i) {
+			Assert.assertEquals(
+				histogram[i]/(double)samples,
+				probabilities[i],
+				0.005,
+				"Index " + i
+			);
+			if (probabilities[i] == 0) {
+				Assert.assertEquals(histogram[i], 0);
+			}
+		}
+	}
+
+	@DataProvider(name = "sizes")
+	public Object[][] sizes() {
+		return new Object[][] {{1}, {2}, {10}, {100}, {1000}};
+	}
+
+	@Test
+	public void reuse() {
+		final Random random = new Random(456);
+		final AliasTable table = new AliasTable();
+
+		table.update(probabilities(1000, random));
+		Assert.assertEquals(table.length(), 1000);
+
+		table.update(new double[]{0.0, 1.0, 0.0});
+		Assert.assertEquals(table.length(), 3);
+		for (int i = 0; i < 1000; ++i) {
+			Assert.assertEquals(table.next(random), 1);
+		}
+	}
+
+	@Test
+	public void indexOfUniform() {
+		final AliasTable table = new AliasTable()
+			.update(new double[]{0.25, 0.25, 0.25, 0.25});
+		Assert.assertEquals(table.indexOf(0.0), 0);
+		Assert.assertEquals(table.indexOf(0.3), 1);
+		Assert.assertEquals(table.indexOf(0.6), 2);
+		Assert.assertEquals(table.indexOf(Math.nextDown(1.0)), 3);
+	}
+
+}
@@ -35,6 +35,7 @@ import io.jenetics.stat.MinMax;
 import io.jenetics.util.DoubleRange;
 import io.jenetics.util.ISeq;
 import io.jenetics.util.IntRange;
+import io.jenetics.util.MSeq;
 
 /**
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
@@ -162,4 +163,64 @@ public class DoubleChromosomeTest
 		ch.map(v -> new double[0]);
 	}
 
+	@Test
+	public void packedAlleles() {
+		final var chromosome = DoubleChromosome.of(0, 10_000, 100);
+		Assert.assertTrue(chromosome.isPacked());
+
+		final double[] array = new double[chromosome.length()];
+		Assert.assertSame(chromosome.toArray(array), array);
+		for (int i = 0; i < array.length; ++i) {
+			Assert.assertEquals(array[i], chromosome.get(i).doubleValue());
+			Assert.assertEquals(chromosome.doubleValue(i), chromosome.get(i).doubleValue());
+		}
+
+		Assert.assertTrue(chromosome.newInstance().isPacked());
+		Assert.assertTrue(chromosome.map(v -> v).isPacked());
+		Assert.assertEquals(chromosome.map(v -> v), chromosome);
+	}
+
+	@Test
+	public void unpackedMixedRanges() {
+		final var chromosome = new DoubleChromosome(
+			ISeq.of(DoubleGene.of(1.0, 0, 10), DoubleGene.of(2.0, 0, 20)),
+			IntRange.of(2)
+		);
+
+		Assert.assertFalse(chromosome.isPacked());
+		Assert.assertEquals(chromosome.get(1).max(), DoubleGene.of(2.0, 0, 20).max());
+		Assert.assertEquals(chromosome.doubleValue(1), 2.0);
+	}
+
+	@Test
+	public void setGeneWithDifferentRange() {
+		final var chromosome = DoubleChromosome.of(0, 1, 5);
+		final MSeq<DoubleGene> genes = AbstractChromosome.copyOf(chromosome);
+		genes.set(0, DoubleGene.of(5, 0, 100));
+
+		final var result = chromosome.newInstance(genes.toISeq());
+		Assert.assertFalse(result.isPacked());
+		Assert.assertEquals(result.get(0), DoubleGene.of(5, 0, 100));
+		Assert.assertTrue(result.get(0).isValid());
+		Assert.assertEquals(result.doubleValue(0), 5.0);
+		Assert.assertEquals(result.get(1).max(), chromosome.get(1).max());
+		Assert.assertEquals(result.get(1), chromosome.get(1));
+	}
+
+	@Test
+	public void swapGenesWithDifferentRange() {
+		final var ch1 = DoubleChromosome.of(0, 1, 5);
+		final var ch2 = DoubleChromosome.of(0, 100, 5);
+		final MSeq<DoubleGene> genes1 = AbstractChromosome.copyOf(ch1);
+		final MSeq<DoubleGene> genes2 = AbstractChromosome.copyOf(ch2);
+		genes1.swap(0, 2, genes2, 0);
+
+		Assert.assertEquals(genes1.get(0), ch2.get(0));
+		Assert.assertEquals(genes1.get(1), ch2.get(1));
+		Assert.assertEquals(genes1.get(2), ch1.get(2));
+		Assert.assertEquals(genes2.get(0), ch1.get(0));
+		Assert.assertEquals(genes2.get(1), ch1.get(1));
+		Assert.assertEquals(genes2.get(2), ch2.get(2));
+	}
+
 }
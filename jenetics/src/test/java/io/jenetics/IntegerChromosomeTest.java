@@ -34,6 +34,7 @@ import io.jenetics.stat.Histogram;
 import io.jenetics.stat.MinMax;
 import io.jenetics.util.ISeq;
 import io.jenetics.util.IntRange;
+import io.jenetics.util.MSeq;
 
 /**
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
@@ -160,4 +161,64 @@ public class IntegerChromosomeTest
 		ch.map(v -> new int[0]);
 	}
 
+	@Test
+	public void packedAlleles() {
+		final var chromosome = IntegerChromosome.of(0, 10_000, 100);
+		Assert.assertTrue(chromosome.isPacked());
+
+		final int[] array = new int[chromosome.length()];
+		Assert.assertSame(chromosome.toArray(array), array);
+		for (int i = 0; i < array.length; ++i) {
+			Assert.assertEquals(array[i], chromosome.get(i).intValue());
+			Assert.assertEquals(chromosome.intValue(i), chromosome.get(i).intValue());
+		}
+
+		Assert.assertTrue(chromosome.newInstance().isPacked());
+		Assert.assertTrue(chromosome.map(v -> v).isPacked());
+		Assert.assertEquals(chromosome.map(v -> v), chromosome);
+	}
+
+	@Test
+	public void unpackedMixedRanges() {
+		final var chromosome = new IntegerChromosome(
+			ISeq.of(IntegerGene.of(1, 0, 10), IntegerGene.of(2, 0, 20)),
+			IntRange.of(2)
+		);
+
+		Assert.assertFalse(chromosome.isPacked());
+		Assert.assertEquals(chromosome.get(1).max(), IntegerGene.of(2, 0, 20).max());
+		Assert.assertEquals(chromosome.intValue(1), 2);
+	}
+
+	@Test
+	public void setGeneWithDifferentRange() {
+		final var chromosome = IntegerChromosome.of(0, 10, 5);
+		final MSeq<IntegerGene> genes = AbstractChromosome.copyOf(chromosome);
+		genes.set(0, IntegerGene.of(50, 0, 100));
+
+		final var result = chromosome.newInstance(genes.toISeq());
+		Assert.assertFalse(result.isPacked());
+		Assert.assertEquals(result.get(0), IntegerGene.of(50, 0, 100));
+		Assert.assertTrue(result.get(0).isValid());
+		Assert.assertEquals(result.intValue(0), 50);
+		Assert.assertEquals(result.get(1).max(), chromosome.get(1).max());
+		Assert.assertEquals(result.get(1), chromosome.get(1));
+	}
+
+	@Test
+	public void swapGenesWithDifferentRange() {
+		final var ch1 = IntegerChromosome.of(0, 10, 5);
+		final var ch2 = IntegerChromosome.of(0, 100, 5);
+		final MSeq<IntegerGene> genes1 = AbstractChromosome.copyOf(ch1);
+		final MSeq<IntegerGene> genes2 = AbstractChromosome.copyOf(ch2);
+		genes1.swap(0, 2, genes2, 0);
+
+		Assert.assertEquals(genes1.get(0), ch2.get(0));
+		Assert.assertEquals(genes1.get(1), ch2.get(1));
+		Assert.assertEquals(genes1.get(2), ch1.get(2));
+		Assert.assertEquals(genes2.get(0), ch1.get(0));
+		Assert.assertEquals(genes2.get(1), ch1.get(1));
+		Assert.assertEquals(genes2.get(2), ch2.get(2));
+	}
+
 }
@@ -0,0 +1,199 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import io.jenetics.util.IntRange;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.MSeq;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class IntegerPopulationTest {
+
+	@Test
+	public void newRandomPopulation() {
+		final var population = IntegerPopulation.of(IntRange.of(-5, 5), 20, 100);
+
+		Assert.assertEquals(population.length(), 100);
+		Assert.assertEquals(population.geneCount(), 20);
+		Assert.assertEquals(population.range(), IntRange.of(-5, 5));
+
+		for (var gt : population) {
+			Assert.assertTrue(gt.isValid());
+			Assert.assertEquals(gt.geneCount(), 20);
+			Assert.assertTrue(((IntegerChromosome)gt.chromosome()).isPacked());
+		}
+	}
+
+	@Test
+	public void packGenotypes() {
+		final Genotype<IntegerGene> template = Genotype.of(
+			IntegerChromosome.of(0, 10, 5),
+			IntegerChromosome.of(0, 10, 7)
+		);
+		final ISeq<Genotype<IntegerGene>> genotypes = template.instances()
+			.limit(50)
+			.collect(ISeq.toISeq());
+
+		final var population = IntegerPopulation.of(genotypes);
+		Assert.assertEquals(population.length(), genotypes.length());
+		Assert.assertEquals(population.geneCount(), 12);
+		Assert.assertEquals(population.genotypes(), genotypes);
+
+		for (int i = 0; i < genotypes.length(); ++i) {
+			final var gt = genotypes.get(i);
+			final int[] alleles = population.toArray(i, new int[0]);
+
+			Assert.assertEquals(alleles.length, 12);
+			Assert.assertEquals(population.intValue(i, 6), gt.get(1).get(1).intValue());
+			Assert.assertEquals(alleles[0], gt.get(0).get(0).intValue());
+		}
+	}
+
+	@Test
+	public void repackPopulation() {
+		final var population = IntegerPopulation.of(IntRange.of(0, 100), 10, 20);
+		final var repacked = IntegerPopulation.of(population.genotypes());
+
+		Assert.assertEquals(repacked.genotypes(), population.genotypes());
+	}
+
+	@Test
+	public void phenotypes() {
+		final var population = IntegerPopulation.of(IntRange.of(0, 100), 10, 20);
+		final ISeq<Phenotype<IntegerGene, Integer>> phenotypes =
+			population.phenotypes(3);
+
+		Assert.assertEquals(phenotypes.length(), 20);
+		for (int i = 0; i < phenotypes.length(); ++i) {
+			Assert.assertEquals(phenotypes.get(i).generation(), 3);
+			Assert.assertFalse(phenotypes.get(i).isEvaluated());
+			Assert.assertEquals(phenotypes.get(i).genotype(), population.get(i));
+		}
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void packDifferentRanges() {
+		IntegerPopulation.of(ISeq.of(
+			Genotype.of(IntegerChromosome.of(0, 10, 5)),
+			Genotype.of(IntegerChromosome.of(0, 11, 5))
+		));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void packDifferentShapes() {
+		IntegerPopulation.of(ISeq.of(
+			Genotype.of(IntegerChromosome.of(0, 10, 5)),
+			Genotype.of(IntegerChromosome.of(0, 10, 6))
+		));
+	}
+
+	@Test
+	public void getCopiesRow() {
+		final var population = IntegerPopulation.of(IntRange.of(0, 100), 10, 20);
+		final var chromosome = (IntegerChromosome)population.get(7).chromosome();
+		final var store = ((IntegerGeneISeq)chromosome._genes).store();
+
+		// The genotype doesn't keep the whole matrix alive.
+		Assert.assertEquals(store.array.length, 10);
+		Assert.assertEquals(chromosome.toArray(), population.toArray(7, new int[0]));
+	}
+
+	@Test(expectedExceptions = IndexOutOfBoundsException.class)
+	public void getOutOfBounds() {
+		IntegerPopulation.of(IntRange.of(0, 100), 10, 20).get(20);
+	}
+
+	@Test
+	public void packedChromosomeEquality() {
+		final var packed = (IntegerChromosome)IntegerPopulation
+			.of(IntRange.of(0, 100), 10, 1)
+			.get(0)
+			.chromosome();
+		final var copied = IntegerChromosome.of(ISeq.of(packed));
+
+		Assert.assertTrue(copied.isPacked());
+		Assert.assertEquals(packed, copied);
+		Assert.assertEquals(copied, packed);
+		Assert.assertEquals(packed.hashCode(), copied.hashCode());
+		Assert.assertEquals(packed.toArray(), copied.toArray());
+	}
+
+	@Test
+	public void packedChromosomeNewInstance() {
+		final var packed = (IntegerChromosome)IntegerPopulation
+			.of(IntRange.of(0, 100), 10, 1)
+			.get(0)
+			.chromosome();
+
+		Assert.assertTrue(packed.newInstance().isPacked());
+		Assert.assertTrue(packed.newInstance().isValid());
+		Assert.assertTrue(packed.newInstance(ISeq.of(packed)).isPacked());
+	}
+
+	@Test
+	public void alterPackedPopulation() {
+		final var population = IntegerPopulation.of(IntRange.of(0, 10), 10, 50);
+		final ISeq<Phenotype<IntegerGene, Integer>> phenotypes =
+			population.phenotypes(1);
+
+		final Alterer<IntegerGene, Integer> alterer =
+			new Mutator<IntegerGene, Integer>(0.5)
+				.andThen(new MeanAlterer<>(0.5))
+				.andThen(new SinglePointCrossover<>(0.5));
+		final var result = alterer.alter(phenotypes, 2);
+
+		Assert.assertTrue(result.alterations() > 0);
+		for (var pt : result.population()) {
+			final var ch = (IntegerChromosome)pt.genotype().chromosome();
+			Assert.assertTrue(ch.isPacked());
+			Assert.assertTrue(ch.isValid());
+		}
+
+		// The original population must not be changed.
+		Assert.assertEquals(
+			phenotypes.map(Phenotype::genotype),
+			population.genotypes()
+		);
+	}
+
+	@Test
+	public void packedMean() {
+		final var a = (IntegerChromosome)IntegerPopulation
+			.of(IntRange.of(0, 10), 10, 1).get(0).chromosome();
+		final var b = (IntegerChromosome)IntegerPopulation
+			.of(IntRange.of(0, 10), 10, 1).get(0).chromosome();
+
+		final MSeq<IntegerGene> expected = MSeq.ofLength(a.length());
+		for (int i = 0; i < a.length(); ++i) {
+			expected.set(i, a.get(i).mean(b.get(i)));
+		}
+
+		final ISeq<IntegerGene> mean = new MeanAlterer<IntegerGene, Integer>()
+			.combine(a, b);
+
+		Assert.assertEquals(mean, expected);
+	}
+
+}
@@ -34,6 +34,7 @@ import io.jenetics.stat.MinMax;
 import io.jenetics.util.ISeq;
 import io.jenetics.util.IntRange;
 import io.jenetics.util.LongRange;
+import io.jenetics.util.MSeq;
 
 /**
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
@@ -159,4 +160,64 @@ public class LongChromosomeTest
 		ch.map(v -> new long[0]);
 	}
 
+	@Test
+	public void packedAlleles() {
+		final var chromosome = LongChromosome.of(0, 10_000, 100);
+		Assert.assertTrue(chromosome.isPacked());
+
+		final long[] array = new long[chromosome.length()];
+		Assert.assertSame(chromosome.toArray(array), array);
+		for (int i = 0; i < array.length; ++i) {
+			Assert.assertEquals(array[i], chromosome.get(i).longValue());
+			Assert.assertEquals(chromosome.longValue(i), chromosome.get(i).longValue());
+		}
+
+		Assert.assertTrue(chromosome.newInstance().isPacked());
+		Assert.assertTrue(chromosome.map(v -> v).isPacked());
+		Assert.assertEquals(chromosome.map(v -> v), chromosome);
+	}
+
+	@Test
+	public void unpackedMixedRanges() {
+		final var chromosome = new LongChromosome(
+			ISeq.of(LongGene.of(1, 0, 10), LongGene.of(2, 0, 20)),
+			IntRange.of(2)
+		);
+
+		Assert.assertFalse(chromosome.isPacked());
+		Assert.assertEquals(chromosome.get(1).max(), LongGene.of(2, 0, 20).max());
+		Assert.assertEquals(chromosome.longValue(1), 2);
+	}
+
+	@Test
+	public void setGeneWithDifferentRange() {
+		final var chromosome = LongChromosome.of(0, 10, 5);
+		final MSeq<LongGene> genes = AbstractChromosome.copyOf(chromosome);
+		genes.set(0, LongGene.of(50, 0, 100));
+
+		final var result = chromosome.newInstance(genes.toISeq());
+		Assert.assertFalse(result.isPacked());
+		Assert.assertEquals(result.get(0), LongGene.of(50, 0, 100));
+		Assert.assertTrue(result.get(0).isValid());
+		Assert.assertEquals(result.longValue(0), 50);
+		Assert.assertEquals(result.get(1).max(), chromosome.get(1).max());
+		Assert.assertEquals(result.get(1), chromosome.get(1));
+	}
+
+	@Test
+	public void swapGenesWithDifferentRange() {
+		final var ch1 = LongChromosome.of(0, 10, 5);
+		final var ch2 = LongChromosome.of(0, 100, 5);
+		final MSeq<LongGene> genes1 = AbstractChromosome.copyOf(ch1);
+		final MSeq<LongGene> genes2 = AbstractChromosome.copyOf(ch2);
+		genes1.swap(0, 2, genes2, 0);
+
+		Assert.assertEquals(genes1.get(0), ch2.get(0));
+		Assert.assertEquals(genes1.get(1), ch2.get(1));
+		Assert.assertEquals(genes1.get(2), ch1.get(2));
+		Assert.assertEquals(genes2.get(0), ch1.get(0));
+		Assert.assertEquals(genes2.get(1), ch1.get(1));
+		Assert.assertEquals(genes2.get(2), ch2.get(2));
+	}
+
 }
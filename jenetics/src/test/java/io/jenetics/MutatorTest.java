@@ -19,6 +19,10 @@
  */
 package io.jenetics;
 
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 /**
@@ -32,4 +36,73 @@ public class MutatorTest extends MutatorTester {
 		return new Mutator<>(p);
 	}
 
+	@Test(dataProvider = "chromosomes")
+	public void mutateChromosome(final Chromosome<?> chromosome) {
+		final Random random = new Random(123);
+		final double p = 0.1;
+
+		long mutations = 0;
+		for (int i = 0; i < 100; ++i) {
+			final var result = mutate(chromosome, p, random);
+			final var mutated = result.result();
+
+			Assert.assertEquals(mutated.getClass(), chromosome.getClass());
+			Assert.assertEquals(mutated.length(), chromosome.length());
+			Assert.assertTrue(mutated.isValid());
+			Assert.assertTrue(diff(chromosome, mutated) <= result.mutations());
+			mutations += result.mutations();
+		}
+
+		// Expected number of mutations: 1,000 with a standard deviation of 30.
+		Assert.assertTrue(
+			mutations > 850 && mutations < 1150,
+			"Unexpected mutation count: " + mutations
+		);
+	}
+
+	@Test(dataProvider = "chromosomes")
+	public void mutateChromosomeWithZeroProbability(final Chromosome<?> chromosome) {
+		final var result = mutate(chromosome, 0, new Random());
+
+		Assert.assertSame(result.result(), chromosome);
+		Assert.assertEquals(result.mutations(), 0);
+	}
+
+	@Test(dataProvider = "chromosomes")
+	public void mutateChromosomeWithOneProbability(final Chromosome<?> chromosome) {
+		final var result = mutate(chromosome, 1, new Random());
+
+		Assert.assertEquals(result.mutations(), chromosome.length());
+		Assert.assertTrue(result.result().isValid());
+	}
+
+	@DataProvider(name = "chromosomes")
+	public Object[][] chromosomes() {
+		return new Object[][] {
+			{BitChromosome.of(100, 0.5)},
+			{DoubleChromosome.of(0, 10, 100)},
+			{IntegerChromosome.of(0, Integer.MAX_VALUE, 100)},
+			{LongChromosome.of(0, Long.MAX_VALUE, 100)}
+		};
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static MutatorResult<Chromosome<?>> mutate(
+		final Chromosome<?> chromosome,
+		final double p,
+		final Random random
+	) {
+		return (MutatorResult)new Mutator<>().mutate((Chromosome)chromosome, p, random);
+	}
+
+	private static int diff(final Chromosome<?> a, final Chromosome<?> b) {
+		int count = 0;
+		for (int i = 0; i < a.length(); ++i) {
+			if (!a.get(i).equals(b.get(i))) {
+				++count;
+			}
+		}
+		return count;
+	}
+
 }
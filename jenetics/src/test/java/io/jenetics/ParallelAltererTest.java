@@ -0,0 +1,173 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics;
+
+import static io.jenetics.CompositeAltererTest.population;
+
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import io.jenetics.engine.Engine;
+import io.jenetics.engine.EvolutionResult;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.RandomRegistry;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class ParallelAltererTest {
+
+	private static Alterer<DoubleGene, Double> alterer() {
+		return Alterer.<DoubleGene, Double>of(
+			new Mutator<>(0.1),
+			new MeanAlterer<>(0.5)
+		);
+	}
+
+	private static AltererResult<DoubleGene, Double> alter(
+		final ISeq<Phenotype<DoubleGene, Double>> population,
+		final Executor executor,
+		final int partitionSize
+	) {
+		final var alterer = ParallelAlterer.of(alterer(), executor, partitionSize);
+		return RandomRegistry.with(new Random(123), r -> alterer.alter(population, 3));
+	}
+
+	@Test
+	public void reproducible() {
+		final var population = RandomRegistry.with(new Random(456), r ->
+			population(10, 3, 1000));
+
+		final var expected = alter(population, Runnable::run, 64);
+		Assert.assertEquals(expected.population().size(), population.size());
+		Assert.assertTrue(expected.alterations() > 0);
+
+		final ExecutorService service = Executors.newFixedThreadPool(3);
+		try {
+			Assert.assertEquals(alter(population, service, 64), expected);
+			Assert.assertEquals(alter(population, ForkJoinPool.commonPool(), 64), expected);
+		} finally {
+			service.shutdown();
+		}
+	}
+
+	@Test
+	public void alterCount() {
+		final var population = population(5, 2, 333);
+		final var result = alter(population, ForkJoinPool.commonPool(), 50);
+
+		int altered = 0;
+		for (int i = 0; i < population.size(); ++i) {
+			if (population.get(i) != result.population().get(i)) {
+				++altered;
+			}
+		}
+		Assert.assertTrue(altered > 0);
+		Assert.assertTrue(altered <= result.alterations());
+	}
+
+	@Test
+	public void smallPopulation() {
+		final var population = population(10, 3, 100);
+
+		final var expected = RandomRegistry.with(new Random(123), r ->
+			alterer().alter(population, 3));
+
+		Assert.assertEquals(
+			alter(population, ForkJoinPool.commonPool(), population.size()),
+			expected
+		);
+	}
+
+	@Test
+	public void partitionConsumer() {
+		final var population = RandomRegistry.with(new Random(456), r ->
+			population(10, 3, 1000));
+		final var alterer = ParallelAlterer.of(
+			alterer(),
+			ForkJoinPool.commonPool(),
+			64
+		);
+		Assert.assertEquals(alterer.partitions(population.size()), 16);
+		Assert.assertEquals(alterer.partitions(64), 1);
+
+		final var partitions =
+			new AtomicReferenceArray<ISeq<Phenotype<DoubleGene, Double>>>(16);
+		final var result = RandomRegistry.with(new Random(123), r ->
+			alterer.alter(population, 3, (part, i) -> partitions.set(i, part)));
+
+		Assert.assertEquals(result, alter(population, Runnable::run, 64));
+		int index = 0;
+		for (int i = 0; i < partitions.length(); ++i) {
+			for (Phenotype<DoubleGene, Double> pt : partitions.get(i)) {
+				Assert.assertEquals(pt, result.population().get(index++));
+			}
+		}
+		Assert.assertEquals(index, population.size());
+	}
+
+	@Test(timeOut = 10_000)
+	public void sharedSingleThreadExecutor() {
+		final ExecutorService executor = Executors.newFixedThreadPool(1);
+		try {
+			final Engine<DoubleGene, Double> engine = Engine
+				.builder(
+					gt -> gt.gene().doubleValue(),
+					DoubleChromosome.of(0, 1, 10)
+				)
+				.populationSize(200)
+				.alterers(ParallelAlterer.of(alterer(), executor, 16))
+				.executor(executor)
+				.build();
+
+			final var result = engine.stream()
+				.limit(5)
+				.collect(EvolutionResult.toBestEvolutionResult());
+
+			Assert.assertEquals(result.totalGenerations(), 5);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test(expectedExceptions = CancellationException.class)
+	public void alterFailure() {
+		final Alterer<DoubleGene, Double> failing = (population, generation) -> {
+			throw new IllegalStateException("Alterer failure.");
+		};
+
+		ParallelAlterer.of(failing, ForkJoinPool.commonPool(), 10)
+			.alter(population(5, 2, 100), 1);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void illegalPartitionSize() {
+		ParallelAlterer.of(alterer(), Runnable::run, 0);
+	}
+
+}
@@ -124,6 +124,29 @@ public class RouletteWheelSelectorTest
 		});
 	}
 
+	@Test(dataProvider = "expectedDistribution", groups = {"statistics"})
+	public void selectAliasDistribution(
+		final Named<double[]> expected,
+		final Optimize opt
+	) {
+		retry(3, () -> {
+			final int loops = 50;
+			final int npopulation = POPULATION_COUNT;
+
+			final Random random = new Random();
+			using(random, r -> {
+				final Histogram<Double> distribution = SelectorTester.distribution(
+					new RouletteWheelSelector<>(ProbabilitySelector.Sampling.ALIAS),
+					opt,
+					npopulation,
+					loops
+				);
+
+				assertDistribution(distribution, expected.value, 0.001, 5);
+			});
+		});
+	}
+
 	@DataProvider(name = "expectedDistribution")
 	public Object[][] expectedDistribution() {
 		final String resource =
@@ -183,14 +206,16 @@ public class RouletteWheelSelectorTest
 			.map(gt -> Phenotype.of(gt, 10, gt.gene().allele()))
 			.collect(ISeq.toISeq());
 
-		final var selector = new RouletteWheelSelector<DoubleGene, Double>();
+		for (var sampling : ProbabilitySelector.Sampling.values()) {
+			final var selector = new RouletteWheelSelector<DoubleGene, Double>(sampling);
 
-		final var selected = selector.select(population, 10, Optimize.MINIMUM);
-		for (var individual : selected) {
-			Assert.assertEquals(
-				individual.genotype().gene().allele().doubleValue(),
-				-6480.008430943731
-			);
+			final var selected = selector.select(population, 10, Optimize.MINIMUM);
+			for (var individual : selected) {
+				Assert.assertEquals(
+					individual.genotype().gene().allele().doubleValue(),
+					-6480.008430943731
+				);
+			}
 		}
 	}
 
@@ -22,18 +22,22 @@ package io.jenetics;
 import static java.lang.String.format;
 import static io.jenetics.stat.StatisticsAssert.assertDistribution;
 import static io.jenetics.util.RandomRegistry.using;
+import static io.jenetics.util.RandomRegistry.with;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
+import java.util.function.Function;
 import java.util.stream.IntStream;
 
+import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import io.jenetics.internal.util.Named;
 import io.jenetics.stat.Histogram;
 import io.jenetics.util.Factory;
+import io.jenetics.util.ISeq;
 import io.jenetics.util.TestData;
 
 /**
@@ -48,6 +52,85 @@ public class TournamentSelectorTest
 		return () -> new TournamentSelector<>(3);
 	}
 
+	@Test(dataProvider = "selections")
+	public void fitnessArraySelection(final Integer count, final Optimize opt) {
+		final var population = population(1000, gt -> Math.floor(
+			gt.chromosome().gene().doubleValue()/10
+		));
+
+		// The comparator based selector never uses the fitness array.
+		final var expected = with(new Random(123), r ->
+			new TournamentSelector<DoubleGene, Double>(Phenotype::compareTo, 3)
+				.select(population, count, opt)
+		);
+		final var selected = with(new Random(123), r ->
+			new TournamentSelector<DoubleGene, Double>(3)
+				.select(population, count, opt)
+		);
+
+		Assert.assertEquals(selected, expected);
+	}
+
+	@Test(dataProvider = "selections")
+	public void longFitnessArraySelection(final Integer count, final Optimize opt) {
+		final var population = population(1000, gt ->
+			(long)gt.chromosome().gene().doubleValue()
+		);
+
+		final var expected = with(new Random(456), r ->
+			new TournamentSelector<DoubleGene, Long>(Phenotype::compareTo, 4)
+				.select(population, count, opt)
+		);
+		final var selected = with(new Random(456), r ->
+			new TournamentSelector<DoubleGene, Long>(4)
+				.select(population, count, opt)
+		);
+
+		Assert.assertEquals(selected, expected);
+	}
+
+	@DataProvider(name = "selections")
+	public Object[][] selections() {
+		final int large = TournamentSelector.PARALLEL_THRESHOLD + 123;
+		return new Object[][] {
+			{1, Optimize.MAXIMUM},
+			{1000, Optimize.MAXIMUM},
+			{1000, Optimize.MINIMUM},
+			{large, Optimize.MAXIMUM},
+			{large, Optimize.MINIMUM}
+		};
+	}
+
+	@Test
+	public void deterministicParallelSelection() {
+		final var population = population(1000, gt ->
+			gt.chromosome().gene().doubleValue()
+		);
+		final var selector = new TournamentSelector<DoubleGene, Double>(2);
+		final int count = 3*TournamentSelector.PARALLEL_THRESHOLD;
+
+		final var first = with(new Random(789), r ->
+			selector.select(population, count, Optimize.MAXIMUM)
+		);
+		final var second = with(new Random(789), r ->
+			selector.select(population, count, Optimize.MAXIMUM)
+		);
+
+		Assert.assertEquals(first.size(), count);
+		Assert.assertEquals(first, second);
+	}
+
+	private static <C extends Comparable<? super C>>
+	ISeq<Phenotype<DoubleGene, C>> population(
+		final int size,
+		final Function<Genotype<DoubleGene>, C> fitness
+	) {
+		return Genotype.of(DoubleChromosome.of(0, 1000)).instances()
+			.limit(size)
+			.map(gt -> Phenotype.of(gt, 1, fitness.apply(gt)))
+			.collect(ISeq.toISeq());
+	}
+
 	@Test(dataProvider = "expectedDistribution", groups = {"statistics"})
 	public void selectDistribution(
 		final Integer tournamentSize,
@@ -0,0 +1,218 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.engine;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import io.jenetics.BitChromosome;
+import io.jenetics.CharacterChromosome;
+import io.jenetics.DoubleChromosome;
+import io.jenetics.DoubleGene;
+import io.jenetics.Genotype;
+import io.jenetics.IntegerChromosome;
+import io.jenetics.LongChromosome;
+import io.jenetics.Optimize;
+import io.jenetics.PermutationChromosome;
+import io.jenetics.Phenotype;
+import io.jenetics.util.IO;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.IntRange;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class BinaryIOTest {
+
+	@Test(dataProvider = "objects")
+	public void streamRoundTrip(final Object object) throws IOException {
+		final var out = new ByteArrayOutputStream();
+		BinaryIO.binary.write(object, out);
+
+		final var in = new ByteArrayInputStream(out.toByteArray());
+		Assert.assertEquals(BinaryIO.binary.read(Object.class, in), object);
+	}
+
+	@Test(dataProvider = "objects")
+	public void byteBufferRoundTrip(final Object object) throws IOException {
+		final ByteBuffer buffer = ByteBuffer.allocate(1 << 20);
+		BinaryIO.binary.write(object, buffer);
+		BinaryIO.binary.write(object, buffer);
+		final int size = buffer.position();
+		buffer.flip();
+
+		Assert.assertEquals(BinaryIO.binary.read(Object.class, buffer), object);
+		Assert.assertEquals(buffer.position(), size/2);
+		Assert.assertEquals(BinaryIO.binary.read(Object.class, buffer), object);
+		Assert.assertFalse(buffer.hasRemaining());
+	}
+
+	@Test(dataProvider = "objects")
+	public void fileChannelRoundTrip(final Object object) throws IOException {
+		final Path file = Files.createTempFile("BinaryIOTest-", ".bin");
+		try {
+			try (var channel = FileChannel.open(file, WRITE)) {
+				BinaryIO.binary.write(object, channel);
+			}
+			try (var channel = FileChannel.open(file, READ)) {
+				Assert.assertEquals(
+					BinaryIO.binary.read(Object.class, channel),
+					object
+				);
+			}
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@DataProvider(name = "objects")
+	public Object[][] objects() {
+		final Genotype<DoubleGene> gt = Genotype.of(
+			DoubleChromosome.of(-5, 5, IntRange.of(10, 20)),
+			DoubleChromosome.of(0, 1, 30)
+		);
+
+		return new Object[][] {
+			{Genotype.of(BitChromosome.of(123, 0.3), 3)},
+			{Genotype.of(DoubleChromosome.of(-5, 5, 20), 4)},
+			{Genotype.of(IntegerChromosome.of(-100, 100, IntRange.of(5, 25)), 2)},
+			{Genotype.of(LongChromosome.of(0, Long.MAX_VALUE, 20), 3)},
+			{Genotype.of(CharacterChromosome.of(30), 2)},
+			{Genotype.of(CharacterChromosome.of(IntRange.of(5, 10)))},
+			{Genotype.of(PermutationChromosome.ofInteger(20))},
+			{Phenotype.of(gt, 3)},
+			{Phenotype.of(gt, 3, 1.5)},
+			{Phenotype.of(Genotype.of(IntegerChromosome.of(0, 10)), 1, 42)},
+			{Phenotype.of(Genotype.of(LongChromosome.of(0, 10)), 1, 42L)},
+			{Phenotype.of(Genotype.of(BitChromosome.of(10)), 1, "fitness")},
+			{population(0)},
+			{population(100)},
+			{gt.instances().limit(10).collect(ISeq.toISeq())},
+			{result(Optimize.MAXIMUM)},
+			{result(Optimize.MINIMUM)}
+		};
+	}
+
+	private static ISeq<Phenotype<DoubleGene, Double>> population(final int size) {
+		return Genotype.of(DoubleChromosome.of(0, 1, 10)).instances()
+			.limit(size)
+			.map(gt -> Phenotype.of(gt, 5, gt.chromosome().gene().doubleValue()))
+			.collect(ISeq.toISeq());
+	}
+
+	private static EvolutionResult<DoubleGene, Double>
+	result(final Optimize optimize) {
+		return EvolutionResult.of(
+			optimize,
+			population(50),
+			23,
+			42,
+			EvolutionDurations.of(
+				Duration.ofMillis(1),
+				Duration.ofMillis(2),
+				Duration.ofMillis(3),
+				Duration.ofMillis(4),
+				Duration.ofMillis(5),
+				Duration.ofNanos(6),
+				Duration.ofSeconds(7, 8),
+				9
+			),
+			10,
+			11,
+			12
+		);
+	}
+
+	@Test
+	public void compactDoubleChromosome() throws IOException {
+		final var genotype = Genotype.of(DoubleChromosome.of(0, 1, 1000), 10);
+
+		final byte[] binary = BinaryIO.binary.toByteArray(genotype);
+		final byte[] object = IO.object.toByteArray(genotype);
+
+		// 8 bytes per allele, plus a small, constant overhead.
+		Assert.assertTrue(binary.length < 10*(1000*8 + 32), "Size: " + binary.length);
+		Assert.assertTrue(binary.length < object.length);
+	}
+
+	@Test
+	public void readTyped() throws IOException {
+		final var population = population(10);
+		final byte[] bytes = BinaryIO.binary.toByteArray(population);
+
+		final ISeq<?> read = BinaryIO.binary
+			.read(ISeq.class, new ByteArrayInputStream(bytes));
+		Assert.assertEquals(read, population);
+	}
+
+	@Test(expectedExceptions = IOException.class)
+	public void readWrongType() throws IOException {
+		final byte[] bytes = BinaryIO.binary.toByteArray(population(10));
+		BinaryIO.binary.read(Genotype.class, new ByteArrayInputStream(bytes));
+	}
+
+	@Test(expectedExceptions = StreamCorruptedException.class)
+	public void readInvalidHeader() throws IOException {
+		final byte[] bytes = IO.object.toByteArray(population(10));
+		BinaryIO.binary.read(new ByteArrayInputStream(bytes));
+	}
+
+	@Test(expectedExceptions = StreamCorruptedException.class)
+	public void readNewerVersion() throws IOException {
+		final byte[] bytes = BinaryIO.binary.toByteArray(population(10));
+		bytes[4] = (byte)(BinaryIO.VERSION + 1);
+		BinaryIO.binary.read(new ByteArrayInputStream(bytes));
+	}
+
+	@Test(expectedExceptions = NotSerializableException.class)
+	public void writeUnsupportedObject() throws IOException {
+		BinaryIO.binary.toByteArray("Not supported");
+	}
+
+	@Test
+	public void packedChromosome() throws IOException {
+		final var genotype = Genotype.of(DoubleChromosome.of(0, 1, 100));
+		final Genotype<?> read = BinaryIO.binary.read(
+			Genotype.class,
+			new ByteArrayInputStream(BinaryIO.binary.toByteArray(genotype))
+		);
+
+		Assert.assertEquals(
+			((DoubleChromosome)read.chromosome()).toArray(),
+			genotype.chromosome().as(DoubleChromosome.class).toArray()
+		);
+	}
+
+}
@@ -0,0 +1,202 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.engine;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import io.jenetics.DoubleChromosome;
+import io.jenetics.DoubleGene;
+import io.jenetics.Genotype;
+import io.jenetics.IntegerChromosome;
+import io.jenetics.IntegerGene;
+import io.jenetics.Phenotype;
+import io.jenetics.util.ISeq;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class CachedEvaluatorTest {
+
+	private static ISeq<Phenotype<IntegerGene, Integer>> population(
+		final int size
+	) {
+		return Genotype.of(IntegerChromosome.of(0, 1_000_000)).instances()
+			.limit(size)
+			.map(gt -> Phenotype.<IntegerGene, Integer>of(gt, 1))
+			.collect(ISeq.toISeq());
+	}
+
+	private static Integer fitness(final Genotype<IntegerGene> gt) {
+		return gt.gene().allele();
+	}
+
+	@Test
+	public void evaluate() {
+		final var count = new AtomicInteger();
+		final Function<Genotype<IntegerGene>, Integer> fitness = gt -> {
+			count.incrementAndGet();
+			return fitness(gt);
+		};
+		final CachedEvaluator<IntegerGene, Integer> evaluator =
+			Evaluators.cached(Evaluators.serial(fitness), 1000);
+
+		final var population = population(100);
+		final var evaluated = evaluator.eval(population);
+
+		Assert.assertEquals(evaluated.length(), population.length());
+		for (int i = 0; i < evaluated.length(); ++i) {
+			final var pt = evaluated.get(i);
+			Assert.assertEquals(pt.genotype(), population.get(i).genotype());
+			Assert.assertEquals(pt.fitness(), fitness(pt.genotype()));
+		}
+		Assert.assertEquals(count.get(), evaluator.missCount());
+		Assert.assertEquals(evaluator.size(), count.get());
+
+		// All genotypes must be found in the cache.
+		final var reevaluated = evaluator.eval(population);
+		Assert.assertEquals(reevaluated, evaluated);
+		Assert.assertEquals(count.get(), evaluator.missCount());
+		Assert.assertEquals(evaluator.hitCount() + evaluator.missCount(), 200);
+		Assert.assertEquals(evaluator.evictionCount(), 0);
+	}
+
+	@Test
+	public void evaluateDuplicates() {
+		final var count = new AtomicInteger();
+		final Function<Genotype<IntegerGene>, Integer> fitness = gt -> {
+			count.incrementAndGet();
+			return fitness(gt);
+		};
+		final CachedEvaluator<IntegerGene, Integer> evaluator =
+			Evaluators.cached(Evaluators.serial(fitness), 1000);
+
+		final var population = population(10);
+		final var evaluated = evaluator.eval(population.append(population));
+
+		Assert.assertEquals(evaluated.length(), 20);
+		Assert.assertTrue(evaluated.forAll(Phenotype::isEvaluated));
+		Assert.assertEquals(count.get(), 10);
+		Assert.assertEquals(evaluator.missCount(), 10);
+		Assert.assertEquals(evaluator.hitCount(), 10);
+	}
+
+	@Test
+	public void evaluateAlreadyEvaluated() {
+		final CachedEvaluator<IntegerGene, Integer> evaluator =
+			Evaluators.cached(Evaluators.serial(CachedEvaluatorTest::fitness), 10);
+
+		final var population = population(10)
+			.map(pt -> pt.withFitness(-1));
+
+		Assert.assertEquals(evaluator.eval(population), population);
+		Assert.assertEquals(evaluator.hitCount(), 0);
+		Assert.assertEquals(evaluator.missCount(), 0);
+		Assert.assertEquals(evaluator.size(), 0);
+	}
+
+	@Test
+	public void eviction() {
+		final CachedEvaluator<IntegerGene, Integer> evaluator =
+			Evaluators.cached(Evaluators.serial(CachedEvaluatorTest::fitness), 10);
+
+		final var population = population(25);
+		evaluator.eval(population);
+
+		Assert.assertEquals(evaluator.size(), 10);
+		Assert.assertEquals(evaluator.maxSize(), 10);
+		Assert.assertEquals(evaluator.evictionCount(), evaluator.missCount() - 10);
+
+		// The least recently used genotypes must have been evicted.
+		final long misses = evaluator.missCount();
+		evaluator.eval(population.subSeq(15));
+		Assert.assertEquals(evaluator.missCount(), misses);
+
+		evaluator.clear();
+		Assert.assertEquals(evaluator.size(), 0);
+	}
+
+	@Test
+	public void keyFunction() {
+		final var count = new AtomicInteger();
+		final Function<Genotype<IntegerGene>, Integer> fitness = gt -> {
+			count.incrementAndGet();
+			return fitness(gt) % 2;
+		};
+		final CachedEvaluator<IntegerGene, Integer> evaluator =
+			Evaluators.cached(
+				Evaluators.serial(fitness),
+				gt -> gt.gene().allele() % 2,
+				100
+			);
+
+		final var evaluated = evaluator.eval(population(100));
+
+		Assert.assertTrue(count.get() <= 2);
+		for (var pt : evaluated) {
+			Assert.assertEquals(pt.fitness().intValue(), fitness(pt.genotype()) % 2);
+		}
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void illegalMaxSize() {
+		Evaluators.cached(Evaluators.serial(CachedEvaluatorTest::fitness), 0);
+	}
+
+	@Test
+	public void engine() {
+		final Function<Genotype<DoubleGene>, Double> fitness = gt -> gt
+			.chromosome().as(DoubleChromosome.class)
+			.doubleStream()
+			.sum();
+
+		final var executor = Executors.newFixedThreadPool(4);
+		try {
+			final CachedEvaluator<DoubleGene, Double> evaluator =
+				Evaluators.cached(Evaluators.serial(fitness), 10_000);
+			final var nullifier = new FitnessNullifier<DoubleGene, Double>();
+
+			final Engine<DoubleGene, Double> engine = new Engine.Builder<>(
+				evaluator, Genotype.of(DoubleChromosome.of(0, 1, 5)))
+				.executor(executor)
+				.interceptor(nullifier)
+				.build();
+
+			final var result = engine.stream()
+				.limit(20)
+				.peek(r -> nullifier.nullifyFitness())
+				.collect(EvolutionResult.toBestEvolutionResult());
+
+			Assert.assertTrue(result.population().forAll(Phenotype::isEvaluated));
+			Assert.assertTrue(evaluator.hitCount() > 0);
+			Assert.assertEquals(
+				result.bestFitness(),
+				fitness.apply(result.bestPhenotype().genotype())
+			);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+}
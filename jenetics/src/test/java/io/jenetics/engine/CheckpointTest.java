@@ -0,0 +1,242 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.engine;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import io.jenetics.DoubleChromosome;
+import io.jenetics.DoubleGene;
+import io.jenetics.Genotype;
+import io.jenetics.stat.DoubleMomentStatistics;
+import io.jenetics.util.RandomRegistry;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class CheckpointTest {
+
+	private Path _file;
+
+	@BeforeMethod
+	public void setup() throws IOException {
+		_file = Files.createTempFile("CheckpointTest-", ".checkpoint");
+		Files.delete(_file);
+	}
+
+	@AfterMethod
+	public void cleanup() throws IOException {
+		Files.deleteIfExists(_file);
+		RandomRegistry.reset();
+	}
+
+	private static Engine<DoubleGene, Double> engine() {
+		return Engine
+			.builder(
+				gt -> gt.chromosome().as(DoubleChromosome.class)
+					.doubleStream().sum(),
+				Genotype.of(DoubleChromosome.of(0, 1, 5))
+			)
+			.populationSize(20)
+			.executor(Runnable::run)
+			.build();
+	}
+
+	@Test
+	public void resumeExactly() throws IOException {
+		final Engine<DoubleGene, Double> engine = engine();
+
+		RandomRegistry.random(new Random(123));
+		final List<EvolutionResult<DoubleGene, Double>> expected = engine.stream()
+			.limit(20)
+			.collect(Collectors.toList());
+
+		RandomRegistry.random(new Random(123));
+		try (var checkpoint = Checkpoint.<DoubleGene, Double>of(_file, 3)) {
+			// Stopped after generation 10, last checkpoint at generation 9.
+			engine.stream(checkpoint).limit(10).forEach(r -> {});
+		}
+
+		RandomRegistry.random(new Random(456));
+		try (var checkpoint = Checkpoint.<DoubleGene, Double>of(_file, 3)) {
+			Assert.assertEquals(checkpoint.result().orElseThrow().generation(), 9);
+
+			final List<EvolutionResult<DoubleGene, Double>> resumed = engine
+				.stream(checkpoint)
+				.limit(11)
+				.collect(Collectors.toList());
+
+			for (int i = 0; i < resumed.size(); ++i) {
+				final var result = resumed.get(i);
+				Assert.assertEquals(result.generation(), i + 10);
+				Assert.assertEquals(
+					result.population(),
+					expected.get(i + 9).population()
+				);
+			}
+		}
+	}
+
+	@Test
+	public void resumeSplittableExactly() throws IOException {
+		final Engine<DoubleGene, Double> engine = engine();
+
+		RandomRegistry.random(new SplittableRandom(123));
+		final List<EvolutionResult<DoubleGene, Double>> expected = engine.stream()
+			.limit(20)
+			.collect(Collectors.toList());
+
+		RandomRegistry.random(new SplittableRandom(123));
+		try (var checkpoint = Checkpoint.<DoubleGene, Double>of(_file, 3)) {
+			engine.stream(checkpoint).limit(10).forEach(r -> {});
+		}
+
+		RandomRegistry.random(new SplittableRandom(456));
+		try (var checkpoint = Checkpoint.<DoubleGene, Double>of(_file, 3)) {
+			final List<EvolutionResult<DoubleGene, Double>> resumed = engine
+				.stream(checkpoint)
+				.limit(11)
+				.collect(Collectors.toList());
+
+			Assert.assertTrue(RandomRegistry.split().isPresent());
+			for (int i = 0; i < resumed.size(); ++i) {
+				Assert.assertEquals(
+					resumed.get(i).population(),
+					expected.get(i + 9).population()
+				);
+			}
+		}
+	}
+
+	@Test
+	public void restoreStatistics() throws IOException {
+		final Engine<DoubleGene, Double> engine = engine();
+
+		try (var checkpoint = Checkpoint.<DoubleGene, Double>of(_file, 1)) {
+			final EvolutionStatistics<Double, DoubleMomentStatistics> statistics =
+				checkpoint.statistics(EvolutionStatistics::ofNumber);
+			engine.stream(checkpoint).limit(7).forEach(r -> {});
+			Assert.assertEquals(statistics.altered().count(), 7);
+		}
+
+		try (var checkpoint = Checkpoint.<DoubleGene, Double>of(_file, 1)) {
+			final EvolutionStatistics<Double, DoubleMomentStatistics> statistics =
+				checkpoint.statistics(EvolutionStatistics::ofNumber);
+			Assert.assertEquals(statistics.altered().count(), 7);
+			Assert.assertEquals(statistics.fitness().count(), 7*20);
+
+			engine.stream(checkpoint).limit(3).forEach(r -> {});
+			Assert.assertEquals(statistics.altered().count(), 10);
+		}
+	}
+
+	@Test
+	public void ignoreIncompleteRecord() throws IOException {
+		final Engine<DoubleGene, Double> engine = engine();
+
+		try (var checkpoint = Checkpoint.<DoubleGene, Double>of(_file, 1)) {
+			engine.stream(checkpoint).limit(5).forEach(r -> {});
+		}
+
+		// Simulates an interrupted write of the last record.
+		final byte[] data = Files.readAllBytes(_file);
+		Files.write(_file, new byte[]{0, 0, 1, 0, 1, 2, 3, 4, 5}, APPEND);
+
+		try (var checkpoint = Checkpoint.<DoubleGene, Double>of(_file, 1)) {
+			Assert.assertEquals(checkpoint.result().orElseThrow().generation(), 5);
+			engine.stream(checkpoint).limit(2).forEach(r -> {});
+		}
+
+		try (var checkpoint = Checkpoint.<DoubleGene, Double>of(_file, 1)) {
+			Assert.assertEquals(checkpoint.result().orElseThrow().generation(), 7);
+		}
+		Assert.assertTrue(Files.size(_file) > data.length);
+	}
+
+	@Test
+	public void compactDeltaRecords() throws IOException {
+		final Engine<DoubleGene, Double> engine = engine();
+		final int generations = 3*Checkpoint.DELTA_RECORDS + 5;
+
+		final EvolutionResult<DoubleGene, Double> last;
+		try (var checkpoint = Checkpoint.<DoubleGene, Double>of(_file, 1)) {
+			last = engine.stream(checkpoint)
+				.limit(generations)
+				.reduce((a, b) -> b)
+				.orElseThrow();
+		}
+
+		try (var checkpoint = Checkpoint.<DoubleGene, Double>of(_file, 1)) {
+			final var result = checkpoint.result().orElseThrow();
+			Assert.assertEquals(result.generation(), generations);
+			Assert.assertEquals(result.population(), last.population());
+			Assert.assertEquals(result.durations(), last.durations());
+		}
+
+		// Only the records, since the last full population, are kept.
+		final long size = Files.size(_file);
+		try (var checkpoint = Checkpoint.<DoubleGene, Double>of(_file, 1)) {
+			engine.stream(checkpoint).limit(Checkpoint.DELTA_RECORDS).forEach(r -> {});
+		}
+		Assert.assertTrue(Files.size(_file) < 2*size, "Size: " + size);
+	}
+
+	@Test
+	public void timeInterval() throws IOException {
+		final Engine<DoubleGene, Double> engine = engine();
+
+		try (var checkpoint = Checkpoint.<DoubleGene, Double>of(_file, Duration.ofDays(1))) {
+			engine.stream(checkpoint).limit(5).forEach(r -> {});
+			Assert.assertFalse(Files.exists(_file));
+		}
+
+		try (var checkpoint = Checkpoint.<DoubleGene, Double>of(_file, Duration.ofNanos(1))) {
+			engine.stream(checkpoint).limit(5).forEach(r -> {});
+			Assert.assertEquals(checkpoint.result().orElseThrow().generation(), 5);
+		}
+	}
+
+	@Test
+	public void noCheckpoint() throws IOException {
+		try (var checkpoint = Checkpoint.<DoubleGene, Double>of(_file, 10)) {
+			Assert.assertTrue(checkpoint.result().isEmpty());
+			Assert.assertEquals(checkpoint.start(), EvolutionStart.empty());
+		}
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void illegalGenerations() {
+		Checkpoint.of(_file, 0);
+	}
+
+}
@@ -19,6 +19,10 @@
  */
 package io.jenetics.engine;
 
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -26,6 +30,7 @@ import io.jenetics.DoubleChromosome;
 import io.jenetics.DoubleGene;
 import io.jenetics.Genotype;
 import io.jenetics.Phenotype;
+import io.jenetics.internal.util.BatchSizing;
 import io.jenetics.util.ISeq;
 
 /**
@@ -51,4 +56,81 @@ public class ConcurrentEvaluatorTest {
 		evaluated.forEach(pt -> Assert.assertEquals(pt.genotype().gene().allele(), pt.fitness()));
 	}
 
+	@Test
+	public void evaluateAdaptive() {
+		final ISeq<Phenotype<DoubleGene, Double>> phenotypes =
+			Genotype.of(DoubleChromosome.of(0, 1)).instances()
+				.limit(1000)
+				.map(gt -> Phenotype.<DoubleGene, Double>of(gt, 1))
+				.collect(ISeq.toISeq());
+
+		final var pool = new ForkJoinPool(4);
+		try {
+			final var evaluator = new ConcurrentEvaluator<DoubleGene, Double>(
+				gt -> gt.gene().doubleValue(),
+				pool,
+				new BatchSizing()
+			);
+			Assert.assertEquals(evaluator.batchSize(), 0);
+
+			for (int i = 0; i < 3; ++i) {
+				final ISeq<Phenotype<DoubleGene, Double>> evaluated =
+					evaluator.eval(phenotypes);
+
+				evaluated.forEach(pt -> Assert.assertEquals(
+					pt.genotype().gene().allele(), pt.fitness()
+				));
+				Assert.assertTrue(evaluator.batchSize() > 0);
+			}
+
+			final var executor = Executors.newFixedThreadPool(2);
+			try {
+				final var other = evaluator.with(executor);
+				other.eval(phenotypes);
+				Assert.assertEquals(other.batchSize(), evaluator.batchSize());
+			} finally {
+				executor.shutdown();
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void adaptiveEngine() {
+		final Function<Genotype<DoubleGene>, Double> fitness = gt ->
+			gt.gene().doubleValue();
+
+		final Engine<DoubleGene, Double> engine = new Engine.Builder<>(
+			Evaluators.adaptive(fitness, ForkJoinPool.commonPool()),
+			Genotype.of(DoubleChromosome.of(0, 1)))
+			.build();
+
+		final EvolutionResult<DoubleGene, Double> result = engine.stream()
+			.limit(5)
+			.collect(EvolutionResult.toBestEvolutionResult());
+
+		Assert.assertTrue(result.durations().evaluationBatchSize() > 0);
+	}
+
+	@Test
+	public void cachedAdaptiveEngine() {
+		final Function<Genotype<DoubleGene>, Double> fitness = gt ->
+			gt.gene().doubleValue();
+
+		final Engine<DoubleGene, Double> engine = new Engine.Builder<>(
+			Evaluators.cached(
+				Evaluators.adaptive(fitness, ForkJoinPool.commonPool()),
+				1_000
+			),
+			Genotype.of(DoubleChromosome.of(0, 1)))
+			.build();
+
+		final EvolutionResult<DoubleGene, Double> result = engine.stream()
+			.limit(5)
+			.collect(EvolutionResult.toBestEvolutionResult());
+
+		Assert.assertTrue(result.durations().evaluationBatchSize() > 0);
+	}
+
 }
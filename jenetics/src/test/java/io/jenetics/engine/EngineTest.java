@@ -28,10 +28,14 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -43,6 +47,7 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import io.jenetics.Alterer;
+import io.jenetics.AltererResult;
 import io.jenetics.BoltzmannSelector;
 import io.jenetics.DoubleChromosome;
 import io.jenetics.DoubleGene;
@@ -51,8 +56,11 @@ import io.jenetics.Genotype;
 import io.jenetics.IntegerChromosome;
 import io.jenetics.IntegerGene;
 import io.jenetics.LongChromosome;
+import io.jenetics.MeanAlterer;
 import io.jenetics.Mutator;
 import io.jenetics.Optimize;
+import io.jenetics.ParallelAlterer;
+import io.jenetics.Phenotype;
 import io.jenetics.RouletteWheelSelector;
 import io.jenetics.Selector;
 import io.jenetics.SwapMutator;
@@ -62,6 +70,7 @@ import io.jenetics.util.DoubleRange;
 import io.jenetics.util.IO;
 import io.jenetics.util.ISeq;
 import io.jenetics.util.IntRange;
+import io.jenetics.util.RandomRegistry;
 
 /**
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
@@ -438,6 +447,126 @@ public class EngineTest {
 		}
 	}
 
+	@Test(dataProvider = "executors", timeOut = 5_000L)
+	public void pipelined(final Executor executor) {
+		final int populationSize = 20;
+		try {
+			final Engine<DoubleGene, Double> engine = Engine
+				.builder(gt -> gt.gene().doubleValue(), DoubleChromosome.of(0, 1))
+				.executor(executor)
+				.populationSize(populationSize)
+				.alterers(ParallelAlterer.of(
+					Alterer.<DoubleGene, Double>of(new Mutator<>(0.2), new MeanAlterer<>()),
+					executor,
+					3
+				))
+				.pipelined(true)
+				.build();
+
+			Assert.assertTrue(engine.pipelined());
+			Assert.assertTrue(engine.toBuilder().pipelined());
+			Assert.assertTrue(engine.toBuilder().copy().pipelined());
+
+			final EvolutionResult<DoubleGene, Double> result = engine.stream()
+				.limit(50)
+				.peek(r -> {
+					Assert.assertEquals(r.population().size(), populationSize);
+					Assert.assertTrue(r.population().forAll(Phenotype::isEvaluated));
+				})
+				.collect(EvolutionResult.toBestEvolutionResult());
+
+			Assert.assertEquals(
+				result.bestFitness().doubleValue(),
+				result.bestPhenotype().genotype().gene().doubleValue()
+			);
+		} finally {
+			if (executor instanceof ExecutorService) {
+				((ExecutorService)executor).shutdown();
+			}
+		}
+	}
+
+	@Test
+	public void pipelinedEvaluationCount() {
+		final AtomicInteger calls = new AtomicInteger();
+		final Evaluator<DoubleGene, Double> evaluator = population -> {
+			calls.incrementAndGet();
+			return population.stream()
+				.map(pt -> pt.isEvaluated()
+					? pt
+					: pt.withFitness(pt.genotype().gene().doubleValue()))
+				.collect(ISeq.toISeq());
+		};
+
+		final Engine<DoubleGene, Double> engine =
+			new Engine.Builder<>(evaluator, Genotype.of(DoubleChromosome.of(0, 1)))
+				.populationSize(20)
+				.alterers(ParallelAlterer.<DoubleGene, Double>of(
+					new Mutator<>(0.2),
+					ForkJoinPool.commonPool(),
+					3
+				))
+				.pipelined(true)
+				.build();
+
+		engine.stream()
+			.limit(10)
+			.collect(EvolutionResult.toBestEvolutionResult());
+
+		// One evaluation of the start population and one evaluation for each
+		// of the four offspring partitions per generation. No survivor is
+		// replaced by the filter.
+		Assert.assertEquals(calls.get(), 1 + 10*4);
+	}
+
+	@Test(timeOut = 10_000L)
+	public void pipelinedEvaluationStartsBeforeLastPartition()
+		throws InterruptedException
+	{
+		final AtomicBoolean altering = new AtomicBoolean(false);
+		final CountDownLatch evaluating = new CountDownLatch(1);
+		final Evaluator<DoubleGene, Double> evaluator = population -> {
+			if (altering.get()) {
+				evaluating.countDown();
+			}
+			return population.stream()
+				.map(pt -> pt.isEvaluated()
+					? pt
+					: pt.withFitness(pt.genotype().gene().doubleValue()))
+				.collect(ISeq.toISeq());
+		};
+
+		// The partitions are altered sequentially; the last of the four
+		// partitions waits until the evaluation has started.
+		final AtomicInteger partitions = new AtomicInteger();
+		final AtomicBoolean overlapped = new AtomicBoolean(false);
+		final Alterer<DoubleGene, Double> alterer = (population, generation) -> {
+			altering.set(true);
+			if (partitions.incrementAndGet() == 4) {
+				try {
+					overlapped.set(evaluating.await(5, TimeUnit.SECONDS));
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return AltererResult.of(population.asISeq());
+		};
+
+		final Engine<DoubleGene, Double> engine =
+			new Engine.Builder<>(evaluator, Genotype.of(DoubleChromosome.of(0, 1)))
+				.populationSize(20)
+				.alterers(ParallelAlterer.of(alterer, Runnable::run, 3))
+				.pipelined(true)
+				.build();
+
+		final EvolutionResult<DoubleGene, Double> result =
+			engine.evolve(EvolutionStart.of(ISeq.empty(), 1));
+
+		Assert.assertEquals(partitions.get(), 4);
+		Assert.assertTrue(overlapped.get());
+		Assert.assertEquals(result.population().size(), 20);
+	}
+
 	@DataProvider(name = "executors")
 	public Object[][] executors() {
 		return new Object[][] {
@@ -521,4 +650,44 @@ public class EngineTest {
 			.collect(EvolutionResult.toBestEvolutionResult());
 	}
 
+	@Test
+	public void splittableRandomReproducibility() {
+		final ExecutorService service = Executors.newFixedThreadPool(3);
+		try {
+			final var expected = splittableRandomEvolution(Runnable::run);
+			Assert.assertEquals(splittableRandomEvolution(service), expected);
+			Assert.assertEquals(
+				splittableRandomEvolution(ForkJoinPool.commonPool()),
+				expected
+			);
+		} finally {
+			service.shutdown();
+		}
+	}
+
+	private static ISeq<Phenotype<DoubleGene, Double>>
+	splittableRandomEvolution(final Executor executor) {
+		// Noisy fitness function, which uses the registry random engine.
+		final Engine<DoubleGene, Double> engine = Engine
+			.builder(
+				gt -> gt.gene().doubleValue() +
+					RandomRegistry.random().nextDouble()*0.01,
+				DoubleChromosome.of(0, 1, 5)
+			)
+			.populationSize(200)
+			.alterers(
+				ParallelAlterer.<DoubleGene, Double>of(new Mutator<>(0.1), executor, 16),
+				new MeanAlterer<>(0.3)
+			)
+			.executor(executor)
+			.build();
+
+		return RandomRegistry.with(new SplittableRandom(123), r ->
+			engine.stream()
+				.limit(20)
+				.collect(EvolutionResult.toBestEvolutionResult())
+				.population()
+		);
+	}
+
 }
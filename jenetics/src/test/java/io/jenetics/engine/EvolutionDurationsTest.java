@@ -21,12 +21,15 @@ package io.jenetics.engine;
 
 import nl.jqno.equalsverifier.EqualsVerifier;
 
+import java.io.IOException;
 import java.time.Duration;
 import java.util.Random;
 
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import io.jenetics.util.Factory;
+import io.jenetics.util.IO;
 import io.jenetics.util.ObjectTester;
 import io.jenetics.util.RandomRegistry;
 
@@ -48,11 +51,39 @@ public class EvolutionDurationsTest extends ObjectTester<EvolutionDurations> {
 				Duration.ofMillis(random.nextInt(1_000_000)),
 				Duration.ofMillis(random.nextInt(1_000_000)),
 				Duration.ofMillis(random.nextInt(1_000_000)),
-				Duration.ofMillis(random.nextInt(1_000_000))
+				Duration.ofMillis(random.nextInt(1_000_000)),
+				random.nextInt(1_000)
 			);
 		};
 	}
 
+	@Test
+	public void serializeBatchSize() throws IOException {
+		final EvolutionDurations unbatched = durations(0);
+		final EvolutionDurations batched = durations(17);
+
+		final byte[] unbatchedBytes = IO.object.toByteArray(unbatched);
+		final byte[] batchedBytes = IO.object.toByteArray(batched);
+
+		// Durations without batch size are written in the original form.
+		Assert.assertTrue(batchedBytes.length > unbatchedBytes.length);
+		Assert.assertEquals(IO.object.fromByteArray(unbatchedBytes), unbatched);
+		Assert.assertEquals(IO.object.fromByteArray(batchedBytes), batched);
+	}
+
+	private static EvolutionDurations durations(final int batchSize) {
+		return EvolutionDurations.of(
+			Duration.ofMillis(1),
+			Duration.ofMillis(2),
+			Duration.ofMillis(3),
+			Duration.ofMillis(4),
+			Duration.ofMillis(5),
+			Duration.ofMillis(6),
+			Duration.ofMillis(7),
+			batchSize
+		);
+	}
+
 	@Test
 	public void equalsVerifier() {
 		EqualsVerifier.forClass(EvolutionDurations.class).verify();
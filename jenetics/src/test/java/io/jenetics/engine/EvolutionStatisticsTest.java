@@ -0,0 +1,116 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.engine;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import io.jenetics.DoubleChromosome;
+import io.jenetics.DoubleGene;
+import io.jenetics.Genotype;
+import io.jenetics.Optimize;
+import io.jenetics.Phenotype;
+import io.jenetics.stat.DoubleMomentStatistics;
+import io.jenetics.stat.LongMomentStatistics;
+import io.jenetics.util.ISeq;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class EvolutionStatisticsTest {
+
+	private static EvolutionResult<DoubleGene, Double> result(final int size) {
+		final Random random = new Random(123);
+		final Genotype<DoubleGene> gt = Genotype.of(DoubleChromosome.of(0, 1));
+
+		final ISeq<Phenotype<DoubleGene, Double>> population =
+			IntStream.range(0, size)
+				.mapToObj(i -> Phenotype.of(
+					gt,
+					random.nextInt(100),
+					random.nextGaussian()
+				))
+				.collect(ISeq.toISeq());
+
+		return EvolutionResult.of(
+			Optimize.MAXIMUM, population,
+			100, 0, EvolutionDurations.ZERO, 0, 0, 0
+		);
+	}
+
+	@Test
+	public void parallelPopulationStatistics() {
+		final var result = result(EvolutionStatistics.PARALLEL_THRESHOLD + 123);
+
+		final var expectedFitness = new DoubleMomentStatistics();
+		final var expectedAge = new LongMomentStatistics();
+		result.population().forEach(pt -> {
+			expectedFitness.accept(pt.fitness());
+			expectedAge.accept(pt.age(result.generation()));
+		});
+
+		final var number = EvolutionStatistics.<Double>ofNumber();
+		number.accept(result);
+		final var comparable = EvolutionStatistics.<Double>ofComparable();
+		comparable.accept(result);
+
+		Assert.assertEquals(number.phenotypeAge().count(), expectedAge.count());
+		Assert.assertEquals(number.phenotypeAge().min(), expectedAge.min());
+		Assert.assertEquals(number.phenotypeAge().max(), expectedAge.max());
+		Assert.assertEquals(number.phenotypeAge().sum(), expectedAge.sum());
+
+		Assert.assertEquals(number.fitness().count(), expectedFitness.count());
+		Assert.assertEquals(number.fitness().min(), expectedFitness.min());
+		Assert.assertEquals(number.fitness().max(), expectedFitness.max());
+		Assert.assertEquals(number.fitness().mean(), expectedFitness.mean(), 0.0000001);
+		Assert.assertEquals(number.fitness().variance(), expectedFitness.variance(), 0.0000001);
+
+		Assert.assertEquals(comparable.fitness().count(), expectedFitness.count());
+		Assert.assertEquals(comparable.fitness().min().doubleValue(), expectedFitness.min());
+		Assert.assertEquals(comparable.fitness().max().doubleValue(), expectedFitness.max());
+	}
+
+	@Test
+	public void fitnessQuantiles() {
+		final var result = result(10_000);
+		final double[] fitness = result.population().stream()
+			.mapToDouble(Phenotype::fitness)
+			.sorted()
+			.toArray();
+
+		final var statistics = EvolutionStatistics.<Double>ofNumber();
+		statistics.accept(result);
+
+		final var quantiles = statistics.fitnessQuantiles();
+		Assert.assertEquals(quantiles.count(), fitness.length);
+		Assert.assertEquals(quantiles.quantile(0.5), fitness[5_000], 0.05);
+		Assert.assertEquals(quantiles.quantile(0.9), fitness[9_000], 0.05);
+		Assert.assertEquals(quantiles.quantile(0.99), fitness[9_900], 0.05);
+
+		Assert.assertEquals(
+			EvolutionStatistics.<Double>ofComparable().fitnessQuantiles().count(),
+			0
+		);
+	}
+
+}
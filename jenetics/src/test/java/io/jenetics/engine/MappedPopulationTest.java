@@ -0,0 +1,187 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.engine;
+
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import io.jenetics.BitChromosome;
+import io.jenetics.BitGene;
+import io.jenetics.DoubleChromosome;
+import io.jenetics.DoubleGene;
+import io.jenetics.Genotype;
+import io.jenetics.IntegerChromosome;
+import io.jenetics.IntegerGene;
+import io.jenetics.Phenotype;
+import io.jenetics.TournamentSelector;
+import io.jenetics.TruncationSelector;
+import io.jenetics.util.DoubleRange;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.IntRange;
+import io.jenetics.util.RandomRegistry;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class MappedPopulationTest {
+
+	@AfterMethod
+	public void cleanup() {
+		RandomRegistry.reset();
+	}
+
+	private static Engine.Builder<DoubleGene, Double> builder() {
+		return Engine
+			.builder(
+				gt -> gt.chromosome().as(DoubleChromosome.class)
+					.doubleStream().sum(),
+				Genotype.of(
+					DoubleChromosome.of(0, 1, IntRange.of(5, 10)),
+					DoubleChromosome.of(-1, 1, 3)
+				)
+			)
+			.populationSize(50)
+			.offspringSelector(new TournamentSelector<>())
+			.survivorsSelector(new TruncationSelector<>())
+			.executor(Runnable::run);
+	}
+
+	@Test
+	public void bufferChromosome() {
+		final DoubleBuffer buffer = DoubleBuffer.wrap(new double[]{0.1, 0.2, 0.3, 0.4});
+		buffer.position(1);
+
+		final DoubleChromosome ch = DoubleChromosome.of(
+			DoubleRange.of(0, 1), IntRange.of(3), buffer
+		);
+		Assert.assertEquals(ch.toArray(), new double[]{0.2, 0.3, 0.4});
+		Assert.assertEquals(
+			ch,
+			DoubleChromosome.of(DoubleRange.of(0, 1), IntRange.of(3), ch.toArray())
+		);
+
+		// Derived chromosomes are created on the heap.
+		final DoubleChromosome copy = ch.map(v -> v);
+		buffer.put(1, 0.9);
+		Assert.assertEquals(ch.gene().doubleValue(), 0.9);
+		Assert.assertEquals(copy.gene().doubleValue(), 0.2);
+	}
+
+	@Test
+	public void mapPopulation() throws IOException {
+		final ISeq<Phenotype<DoubleGene, Double>> population =
+			Genotype.of(DoubleChromosome.of(0, 1, 10), 3).instances()
+				.limit(20)
+				.map(gt -> Phenotype.of(gt, 1, gt.chromosome().gene().doubleValue()))
+				.collect(ISeq.toISeq());
+
+		try (var mapped = MappedPopulation.<DoubleGene, Double>of()) {
+			final EvolutionStart<DoubleGene, Double> start =
+				mapped.before(EvolutionStart.of(population, 1));
+
+			Assert.assertEquals(start.population(), population);
+			Assert.assertEquals(start.generation(), 1);
+			Assert.assertEquals(mapped.size(), population.size());
+			for (int i = 0; i < population.size(); ++i) {
+				Assert.assertEquals(
+					start.population().get(i).fitness(),
+					population.get(i).fitness()
+				);
+			}
+
+			// Already mapped phenotypes are not mapped again.
+			final var again = mapped.before(start);
+			Assert.assertSame(again.population().get(0), start.population().get(0));
+			Assert.assertEquals(mapped.size(), population.size());
+		}
+	}
+
+	@Test
+	public void mapFile() throws IOException {
+		final Path file = Files.createTempFile("MappedPopulationTest-", ".population");
+		try {
+			final var population = ISeq.of(
+				Phenotype.<IntegerGene, Integer>of(
+					Genotype.of(IntegerChromosome.of(0, 100, 1000)), 1
+				)
+			);
+
+			try (var mapped = MappedPopulation.<IntegerGene, Integer>of(file)) {
+				final var start = mapped.before(EvolutionStart.of(population, 1));
+				Assert.assertEquals(start.population(), population);
+				Assert.assertTrue(Files.size(file) >= 1000*Integer.BYTES);
+			}
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void sameEvolution() throws IOException {
+		RandomRegistry.random(new Random(123));
+		final List<ISeq<Phenotype<DoubleGene, Double>>> expected = builder()
+			.build()
+			.stream()
+			.limit(30)
+			.map(EvolutionResult::population)
+			.collect(Collectors.toList());
+
+		try (var mapped = MappedPopulation.<DoubleGene, Double>of()) {
+			RandomRegistry.random(new Random(123));
+			final List<ISeq<Phenotype<DoubleGene, Double>>> populations = builder()
+				.interceptor(mapped)
+				.build()
+				.stream()
+				.limit(30)
+				.map(EvolutionResult::population)
+				.collect(Collectors.toList());
+
+			Assert.assertEquals(populations, expected);
+			Assert.assertTrue(mapped.size() >= 50);
+		}
+	}
+
+	@Test
+	public void unmappedGenotypes() throws IOException {
+		final ISeq<Phenotype<BitGene, Integer>> population =
+			Genotype.of(BitChromosome.of(20)).instances()
+				.limit(10)
+				.map(gt -> Phenotype.<BitGene, Integer>of(gt, 1))
+				.collect(ISeq.toISeq());
+
+		try (var mapped = MappedPopulation.<BitGene, Integer>of()) {
+			final var start = mapped.before(EvolutionStart.of(population, 1));
+			for (int i = 0; i < population.size(); ++i) {
+				Assert.assertSame(start.population().get(i), population.get(i));
+			}
+			Assert.assertEquals(mapped.size(), 0);
+		}
+	}
+
+}
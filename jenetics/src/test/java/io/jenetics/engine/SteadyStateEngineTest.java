@@ -0,0 +1,240 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.engine;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import io.jenetics.DoubleChromosome;
+import io.jenetics.DoubleGene;
+import io.jenetics.Genotype;
+import io.jenetics.Mutator;
+import io.jenetics.Phenotype;
+import io.jenetics.util.ISeq;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class SteadyStateEngineTest {
+
+	private static double fitness(final Genotype<DoubleGene> gt) {
+		return gt.chromosome().as(DoubleChromosome.class)
+			.doubleStream()
+			.sum();
+	}
+
+	private static Engine<DoubleGene, Double> engine() {
+		return Engine
+			.builder(
+				SteadyStateEngineTest::fitness,
+				Genotype.of(DoubleChromosome.of(0, 1, 5)))
+			.populationSize(50)
+			.alterers(new Mutator<>(0.3))
+			.build();
+	}
+
+	@Test
+	public void stream() {
+		final Engine<DoubleGene, Double> engine = engine();
+		final SteadyStateEngine<DoubleGene, Double> steady =
+			SteadyStateEngine.of(engine, SteadyStateEngineTest::fitness);
+
+		final List<EvolutionResult<DoubleGene, Double>> results = steady.stream()
+			.limit(30)
+			.collect(Collectors.toList());
+
+		Assert.assertEquals(results.size(), 30);
+		for (int i = 0; i < results.size(); ++i) {
+			final EvolutionResult<DoubleGene, Double> result = results.get(i);
+			Assert.assertEquals(result.generation(), i + 1);
+			Assert.assertEquals(result.population().size(), 50);
+			Assert.assertTrue(result.population().forAll(Phenotype::isEvaluated));
+			for (Phenotype<DoubleGene, Double> pt : result.population()) {
+				Assert.assertEquals(pt.fitness().doubleValue(), fitness(pt.genotype()));
+			}
+		}
+
+		// The best fitness can't get worse, since the worst individual is
+		// replaced.
+		for (int i = 1; i < results.size(); ++i) {
+			Assert.assertTrue(
+				results.get(i).bestFitness() >= results.get(i - 1).bestFitness()
+			);
+		}
+		Assert.assertTrue(
+			results.get(results.size() - 1).bestFitness() >
+				results.get(0).bestFitness()
+		);
+	}
+
+	@Test
+	public void cadence() {
+		final AtomicInteger count = new AtomicInteger();
+		final Function<Genotype<DoubleGene>, Double> fitness = gt -> {
+			count.incrementAndGet();
+			return fitness(gt);
+		};
+
+		final SteadyStateEngine<DoubleGene, Double> steady =
+			SteadyStateEngine.of(engine(), fitness, 4, 10);
+		Assert.assertEquals(steady.cadence(), 10);
+		Assert.assertEquals(steady.maxInFlight(), 4);
+
+		final EvolutionResult<DoubleGene, Double> result = steady.stream()
+			.limit(1)
+			.collect(EvolutionResult.toBestEvolutionResult());
+
+		Assert.assertEquals(result.population().size(), 50);
+
+		// The stream keeps up to three evaluations running after the step.
+		Assert.assertTrue(count.get() <= 13, "Evaluations: " + count);
+
+		// The start population is evaluated with the engine's evaluator.
+		final EvolutionResult<DoubleGene, Double> next = steady.evolve(result.next());
+		Assert.assertTrue(count.get() <= 23, "Evaluations: " + count);
+		Assert.assertEquals(next.generation(), 2);
+	}
+
+	@Test(timeOut = 10_000)
+	public void continuousDispatch() throws InterruptedException {
+		final AtomicInteger started = new AtomicInteger();
+		final Function<Genotype<DoubleGene>, Double> fitness = gt -> {
+			started.incrementAndGet();
+			try {
+				Thread.sleep(5);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return fitness(gt);
+		};
+
+		final var executor = Executors.newFixedThreadPool(4);
+		try {
+			final Engine<DoubleGene, Double> engine = engine().toBuilder()
+				.alterers(new Mutator<>(1.0))
+				.executor(executor)
+				.build();
+
+			final List<EvolutionResult<DoubleGene, Double>> results =
+				SteadyStateEngine.of(engine, fitness, 4, 1).stream()
+					.limit(2)
+					.collect(Collectors.toList());
+
+			for (EvolutionResult<DoubleGene, Double> result : results) {
+				Assert.assertTrue(result.population().forAll(Phenotype::isEvaluated));
+			}
+
+			// Two steps are finished and the workers are not drained.
+			while (started.get() < 5) {
+				Thread.sleep(1);
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void maxInFlight() {
+		final AtomicInteger running = new AtomicInteger();
+		final AtomicInteger maxRunning = new AtomicInteger();
+		final Function<Genotype<DoubleGene>, Double> fitness = gt -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(1);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			running.decrementAndGet();
+			return fitness(gt);
+		};
+
+		final var executor = Executors.newFixedThreadPool(8);
+		try {
+			final Engine<DoubleGene, Double> engine = engine().toBuilder()
+				.executor(executor)
+				.build();
+
+			SteadyStateEngine.of(engine, fitness, 3, 25).stream()
+				.limit(5)
+				.collect(EvolutionResult.toBestEvolutionResult());
+
+			Assert.assertTrue(maxRunning.get() <= 3, "Max running: " + maxRunning);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void failure() {
+		final Function<Genotype<DoubleGene>, Double> fitness = gt -> {
+			throw new IllegalStateException("Fitness failure.");
+		};
+
+		final EvolutionStart<DoubleGene, Double> start = EvolutionStart.of(
+			engine().stream()
+				.limit(1)
+				.collect(EvolutionResult.toBestEvolutionResult())
+				.population(),
+			1
+		);
+
+		try {
+			SteadyStateEngine.of(engine(), fitness).evolve(start);
+			Assert.fail("CancellationException expected.");
+		} catch (CancellationException e) {
+			Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+	}
+
+	@Test
+	public void evolveEvaluatedPopulation() {
+		final Engine<DoubleGene, Double> engine = engine();
+		final ISeq<Phenotype<DoubleGene, Double>> population = engine.stream()
+			.limit(1)
+			.collect(EvolutionResult.toBestEvolutionResult())
+			.population();
+
+		final EvolutionResult<DoubleGene, Double> result =
+			SteadyStateEngine.of(engine, SteadyStateEngineTest::fitness)
+				.evolve(population, 10);
+
+		Assert.assertEquals(result.generation(), 10);
+		Assert.assertEquals(result.population().size(), population.size());
+		Assert.assertTrue(result.population().forAll(Phenotype::isEvaluated));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void illegalMaxInFlight() {
+		SteadyStateEngine.of(engine(), SteadyStateEngineTest::fitness, 0, 10);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void illegalCadence() {
+		SteadyStateEngine.of(engine(), SteadyStateEngineTest::fitness, 10, 0);
+	}
+
+}
@@ -0,0 +1,221 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.engine;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import io.jenetics.DoubleChromosome;
+import io.jenetics.DoubleGene;
+import io.jenetics.Genotype;
+import io.jenetics.IntegerChromosome;
+import io.jenetics.IntegerGene;
+import io.jenetics.Phenotype;
+import io.jenetics.util.ISeq;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class ThreadPerTaskEvaluatorTest {
+
+	private static ISeq<Phenotype<IntegerGene, Integer>> population(
+		final int size
+	) {
+		return Genotype.of(IntegerChromosome.of(0, 1_000_000)).instances()
+			.limit(size)
+			.map(gt -> Phenotype.<IntegerGene, Integer>of(gt, 1))
+			.collect(ISeq.toISeq());
+	}
+
+	private static Integer fitness(final Genotype<IntegerGene> gt) {
+		return gt.gene().allele();
+	}
+
+	@Test
+	public void evaluate() {
+		final Evaluator<IntegerGene, Integer> evaluator =
+			Evaluators.threadPerTask(ThreadPerTaskEvaluatorTest::fitness, 10);
+
+		final var population = population(100);
+		final var evaluated = evaluator.eval(population);
+
+		Assert.assertEquals(evaluated.length(), population.length());
+		for (int i = 0; i < evaluated.length(); ++i) {
+			final var pt = evaluated.get(i);
+			Assert.assertEquals(pt.genotype(), population.get(i).genotype());
+			Assert.assertEquals(pt.fitness(), fitness(pt.genotype()));
+		}
+	}
+
+	@Test
+	public void evaluatePartially() {
+		final Evaluator<IntegerGene, Integer> evaluator =
+			Evaluators.threadPerTask(ThreadPerTaskEvaluatorTest::fitness, 10);
+
+		final var population = population(10)
+			.map(pt -> pt.withFitness(-1))
+			.append(population(10));
+
+		final var evaluated = evaluator.eval(population);
+		Assert.assertEquals(evaluated.length(), 20);
+		Assert.assertTrue(evaluated.forAll(Phenotype::isEvaluated));
+		Assert.assertEquals(
+			evaluated.stream().filter(pt -> pt.fitness() == -1).count(),
+			10
+		);
+		Assert.assertSame(evaluator.eval(evaluated), evaluated);
+	}
+
+	@Test
+	public void maxConcurrency() {
+		final var running = new AtomicInteger();
+		final var maxRunning = new AtomicInteger();
+		final Function<Genotype<IntegerGene>, Integer> fitness = gt -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(2);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			running.decrementAndGet();
+			return fitness(gt);
+		};
+
+		final var evaluator = Evaluators.threadPerTask(fitness, 5);
+		evaluator.eval(population(100));
+
+		Assert.assertTrue(maxRunning.get() <= 5, "Max running: " + maxRunning);
+		Assert.assertTrue(maxRunning.get() > 1, "Max running: " + maxRunning);
+	}
+
+	@Test
+	public void blockingEvaluation() {
+		// All evaluations must run concurrently for passing the latch.
+		final int size = 200;
+		final var latch = new CountDownLatch(size);
+		final Function<Genotype<IntegerGene>, Integer> fitness = gt -> {
+			latch.countDown();
+			try {
+				latch.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return fitness(gt);
+		};
+
+		final var evaluator = Evaluators.threadPerTask(
+			fitness, size, Duration.ofSeconds(10)
+		);
+		final var evaluated = evaluator.eval(population(size));
+		Assert.assertTrue(evaluated.forAll(Phenotype::isEvaluated));
+	}
+
+	@Test
+	public void failure() {
+		final var started = new AtomicInteger();
+		final Function<Genotype<IntegerGene>, Integer> fitness = gt -> {
+			if (started.incrementAndGet() == 3) {
+				throw new IllegalStateException("Fitness failure.");
+			}
+			return fitness(gt);
+		};
+
+		final var evaluator = Evaluators.threadPerTask(fitness, 1);
+		try {
+			evaluator.eval(population(100));
+			Assert.fail("CancellationException expected.");
+		} catch (CancellationException e) {
+			Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+		Assert.assertTrue(started.get() < 100, "Started: " + started);
+	}
+
+	@Test
+	public void timeout() {
+		final var interrupted = new CountDownLatch(1);
+		final Function<Genotype<IntegerGene>, Integer> fitness = gt -> {
+			try {
+				Thread.sleep(60_000);
+			} catch (InterruptedException e) {
+				interrupted.countDown();
+			}
+			return fitness(gt);
+		};
+
+		final var evaluator = Evaluators.threadPerTask(
+			fitness, 10, Duration.ofMillis(50)
+		);
+		final long start = System.nanoTime();
+		try {
+			evaluator.eval(population(10));
+			Assert.fail("CancellationException expected.");
+		} catch (CancellationException e) {
+			Assert.assertTrue(e.getCause() instanceof TimeoutException);
+		}
+		Assert.assertTrue(
+			Duration.ofNanos(System.nanoTime() - start)
+				.compareTo(Duration.ofSeconds(10)) < 0
+		);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void illegalMaxConcurrency() {
+		Evaluators.threadPerTask(ThreadPerTaskEvaluatorTest::fitness, 0);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void illegalTimeout() {
+		Evaluators.threadPerTask(
+			ThreadPerTaskEvaluatorTest::fitness, 10, Duration.ZERO
+		);
+	}
+
+	@Test
+	public void engine() {
+		final Function<Genotype<DoubleGene>, Double> fitness = gt -> gt
+			.chromosome().as(DoubleChromosome.class)
+			.doubleStream()
+			.sum();
+
+		final Engine<DoubleGene, Double> engine = new Engine.Builder<>(
+			Evaluators.threadPerTask(fitness, 20, Duration.ofSeconds(10)),
+			Genotype.of(DoubleChromosome.of(0, 1, 5)))
+			.build();
+
+		final var result = engine.stream()
+			.limit(10)
+			.collect(EvolutionResult.toBestEvolutionResult());
+
+		Assert.assertTrue(result.population().forAll(Phenotype::isEvaluated));
+		Assert.assertEquals(
+			result.bestFitness(),
+			fitness.apply(result.bestPhenotype().genotype())
+		);
+		Assert.assertEquals(result.durations().evaluationBatchSize(), 1);
+	}
+
+}
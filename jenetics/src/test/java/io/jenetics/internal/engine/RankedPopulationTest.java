@@ -0,0 +1,129 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.internal.engine;
+
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import io.jenetics.Genotype;
+import io.jenetics.IntegerChromosome;
+import io.jenetics.IntegerGene;
+import io.jenetics.Optimize;
+import io.jenetics.Phenotype;
+import io.jenetics.util.IO;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.MSeq;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class RankedPopulationTest {
+
+	private static ISeq<Phenotype<IntegerGene, Integer>>
+	population(final int size, final int fitnessRange, final long seed) {
+		final Random random = new Random(seed);
+		final MSeq<Phenotype<IntegerGene, Integer>> population =
+			MSeq.ofLength(size);
+		for (int i = 0; i < size; ++i) {
+			population.set(i, Phenotype.of(
+				Genotype.of(IntegerChromosome.of(0, 10)),
+				1,
+				random.nextInt(fitnessRange)
+			));
+		}
+		return population.toISeq();
+	}
+
+	@Test(dataProvider = "populations")
+	public void ranking(final int size, final int fitnessRange, final Optimize opt) {
+		final var population = population(size, fitnessRange, size);
+		final var ranked = RankedPopulation.of(population, opt);
+		Assert.assertEquals(ranked, population);
+
+		for (Optimize optimize : Optimize.values()) {
+			// Stable sort of the population.
+			final MSeq<Phenotype<IntegerGene, Integer>> sorted = population.copy();
+			sorted.sort((a, b) ->
+				optimize.<Integer>descending().compare(a.fitness(), b.fitness()));
+
+			final int[] ranking = RankedPopulation.ranking(ranked, optimize);
+			Assert.assertEquals(ranking.length, size);
+			for (int i = 0; i < size; ++i) {
+				Assert.assertSame(ranked.get(ranking[i]), sorted.get(i));
+			}
+			Assert.assertSame(RankedPopulation.ranking(ranked, optimize), ranking);
+		}
+	}
+
+	@Test(dataProvider = "populations")
+	public void bestWorst(final int size, final int fitnessRange, final Optimize opt) {
+		final var population = population(size, fitnessRange, 17*size);
+		final var ranked = (RankedPopulation<IntegerGene, Integer>)
+			RankedPopulation.of(population, opt);
+
+		Assert.assertNull(RankedPopulation.ranked(ranked, opt));
+		Assert.assertSame(
+			ranked.best(),
+			population.stream().max(opt.ascending()).orElseThrow()
+		);
+		Assert.assertSame(
+			ranked.worst(),
+			population.stream().min(opt.ascending()).orElseThrow()
+		);
+		Assert.assertSame(RankedPopulation.ranked(ranked, opt), ranked);
+	}
+
+	@DataProvider
+	public Object[][] populations() {
+		return new Object[][] {
+			{1, 10, Optimize.MAXIMUM},
+			{2, 1, Optimize.MINIMUM},
+			{100, 5, Optimize.MAXIMUM},
+			{100, 5, Optimize.MINIMUM},
+			{1000, 1000, Optimize.MAXIMUM},
+			{1000, 50, Optimize.MINIMUM}
+		};
+	}
+
+	@Test
+	public void sameInstance() {
+		final var population = population(10, 10, 3);
+		final var ranked = RankedPopulation.of(population, Optimize.MAXIMUM);
+		Assert.assertSame(RankedPopulation.of(ranked, Optimize.MAXIMUM), ranked);
+		Assert.assertNotSame(RankedPopulation.of(ranked, Optimize.MINIMUM), ranked);
+		Assert.assertSame(
+			RankedPopulation.of(ISeq.empty(), Optimize.MAXIMUM),
+			ISeq.empty()
+		);
+	}
+
+	@Test
+	public void serialize() throws Exception {
+		final var ranked = RankedPopulation.of(population(10, 10, 5), Optimize.MAXIMUM);
+		final Object object = IO.object.fromByteArray(IO.object.toByteArray(ranked));
+
+		Assert.assertEquals(object, ranked);
+		Assert.assertFalse(object instanceof RankedPopulation);
+	}
+
+}
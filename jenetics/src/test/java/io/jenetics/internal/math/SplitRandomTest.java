@@ -0,0 +1,86 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.internal.math;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import io.jenetics.util.IO;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class SplitRandomTest {
+
+	@Test
+	public void sameSequenceAsSplittableRandom() {
+		final SplitRandom random = new SplitRandom(123);
+		final SplittableRandom expected = new SplittableRandom(123);
+
+		for (int i = 0; i < 1000; ++i) {
+			Assert.assertEquals(random.nextLong(), expected.nextLong());
+			Assert.assertEquals(random.nextInt(), expected.nextInt());
+			Assert.assertEquals(random.nextInt(17), expected.nextInt(17));
+			Assert.assertEquals(random.nextInt(16), expected.nextInt(16));
+			Assert.assertEquals(random.nextDouble(), expected.nextDouble());
+			Assert.assertEquals(random.nextBoolean(), expected.nextBoolean());
+		}
+
+		final SplitRandom split = random.split();
+		final SplittableRandom expectedSplit = expected.split();
+		for (int i = 0; i < 1000; ++i) {
+			Assert.assertEquals(split.nextLong(), expectedSplit.nextLong());
+		}
+	}
+
+	@Test
+	public void copy() {
+		final SplitRandom random = new SplitRandom(456);
+		random.nextLong();
+
+		final SplitRandom copy = random.copy();
+		for (int i = 0; i < 100; ++i) {
+			Assert.assertEquals(copy.nextLong(), random.nextLong());
+		}
+	}
+
+	@Test
+	public void serialize() throws IOException {
+		final SplitRandom random = new SplitRandom(789);
+		for (int i = 0; i < 10; ++i) {
+			random.nextLong();
+		}
+
+		final SplitRandom copy = (SplitRandom)IO.object
+			.fromByteArray(IO.object.toByteArray(random));
+		for (int i = 0; i < 100; ++i) {
+			Assert.assertEquals(copy.nextLong(), random.nextLong());
+		}
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class)
+	public void setSeed() {
+		new SplitRandom(1).setSeed(2);
+	}
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.internal.util;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import io.jenetics.util.ISeq;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class BatchSizingTest {
+
+	private static void spin(final long nanos) {
+		final long start = System.nanoTime();
+		while (System.nanoTime() - start < nanos) {
+			Thread.onSpinWait();
+		}
+	}
+
+	private static ISeq<Runnable> tasks(final int size, final long nanos) {
+		return IntStream.range(0, size)
+			.mapToObj(i -> (Runnable)() -> spin(nanos))
+			.collect(ISeq.toISeq());
+	}
+
+	@Test
+	public void initialBatchSize() {
+		final BatchSizing sizing = new BatchSizing(4, 10_000);
+		Assert.assertEquals(sizing.batchSize(), 0);
+		Assert.assertTrue(Double.isNaN(sizing.meanCost()));
+		Assert.assertEquals(sizing.batchSize(100, Integer.MAX_VALUE), 10);
+		Assert.assertEquals(sizing.batchSize(), 10);
+	}
+
+	@Test
+	public void measure() {
+		final BatchSizing sizing = new BatchSizing(4, 10_000);
+		sizing.run(tasks(10, 1_000_000), 0, 10);
+
+		final double mean = sizing.meanCost();
+		Assert.assertTrue(mean >= 1_000_000, "Mean: " + mean);
+	}
+
+	@Test
+	public void cheapTasks() {
+		final BatchSizing sizing = new BatchSizing(4, 50_000);
+		sizing.accept(1_000, 1_000*100.0, 1_000*100.0*100.0);
+
+		// Big batches amortize the scheduling overhead.
+		final int batchSize = sizing.batchSize(1_000, Integer.MAX_VALUE);
+		Assert.assertTrue(batchSize >= 64, "Batch size: " + batchSize);
+		Assert.assertTrue(batchSize <= 1_000, "Batch size: " + batchSize);
+	}
+
+	@Test
+	public void expensiveTasks() {
+		// Task costs of 10 µs and, for every fourth task, 2 ms.
+		final BatchSizing sizing = new BatchSizing(4, 1_000);
+		sizing.accept(15, 15*10_000.0, 15*10_000.0*10_000.0);
+		sizing.accept(5, 5*2_000_000.0, 5*2_000_000.0*2_000_000.0);
+
+		// Strongly varying task costs lead to one task per batch.
+		Assert.assertEquals(sizing.batchSize(1_000, Integer.MAX_VALUE), 1);
+	}
+
+	@Test
+	public void maxBatchSize() {
+		final BatchSizing sizing = new BatchSizing(4, 1_000_000);
+		sizing.accept(100, 100*100.0, 100*100.0*100.0);
+
+		Assert.assertEquals(sizing.batchSize(10_000, 7), 7);
+	}
+
+	@Test
+	public void smoothing() {
+		final BatchSizing sizing = new BatchSizing(4, 10_000);
+		sizing.accept(10, 10*1_000_000.0, 10*1_000_000.0*1_000_000.0);
+		Assert.assertEquals(sizing.meanCost(), 1_000_000.0);
+
+		sizing.accept(10, 0, 0);
+		Assert.assertEquals(sizing.meanCost(), 500_000.0);
+	}
+
+	@Test
+	public void executeForkJoinPool() {
+		final BatchSizing sizing = new BatchSizing();
+		final var pool = new ForkJoinPool(4);
+		try {
+			execute(pool, sizing);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void executeExecutorService() {
+		final BatchSizing sizing = new BatchSizing();
+		final var executor = Executors.newFixedThreadPool(4);
+		try {
+			execute(executor, sizing);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private static void execute(
+		final Executor executor,
+		final BatchSizing sizing
+	) {
+		for (int generation = 0; generation < 5; ++generation) {
+			final var count = new AtomicInteger();
+			final ISeq<Runnable> tasks = IntStream.range(0, 500)
+				.mapToObj(i -> (Runnable)count::incrementAndGet)
+				.collect(ISeq.toISeq());
+
+			try (var c = Concurrency.with(executor, sizing)) {
+				c.execute(tasks);
+			}
+
+			Assert.assertEquals(count.get(), 500);
+			Assert.assertTrue(sizing.batchSize() > 0);
+		}
+		Assert.assertFalse(Double.isNaN(sizing.meanCost()));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void illegalParallelism() {
+		new BatchSizing(0, 10);
+	}
+
+}
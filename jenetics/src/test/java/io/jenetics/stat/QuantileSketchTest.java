@@ -0,0 +1,237 @@
+/*
+ * Java Genetic Algorithm Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.stat;
+
+import static io.jenetics.stat.QuantileSketch.toQuantileSketch;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import io.jenetics.util.IO;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class QuantileSketchTest {
+
+	private static double exact(final double[] sorted, final double quantile) {
+		return sorted[(int)Math.min(quantile*sorted.length, sorted.length - 1)];
+	}
+
+	@Test(dataProvider = "quantiles")
+	public void quantile(final Double q) {
+		final int N = 1_000_000;
+		final double[] values = new Random(1234).doubles(N).toArray();
+
+		final QuantileSketch sketch = new QuantileSketch();
+		Arrays.stream(values).forEach(sketch);
+		Arrays.sort(values);
+
+		Assert.assertEquals(sketch.count(), N);
+		Assert.assertEquals(sketch.quantile(q), exact(values, q), 0.005);
+	}
+
+	@Test(dataProvider = "quantiles")
+	public void parallelQuantile(final Double q) {
+		final int N = 1_000_000;
+		final double[] values = new Random(1234).doubles(N)
+			.map(v -> v*v*100)
+			.toArray();
+
+		final QuantileSketch sketch = Arrays.stream(values).parallel()
+			.collect(
+				QuantileSketch::new,
+				QuantileSketch::accept,
+				QuantileSketch::combine
+			);
+		Arrays.sort(values);
+
+		Assert.assertEquals(sketch.count(), N);
+		Assert.assertEquals(sketch.quantile(q), exact(values, q), 0.5);
+	}
+
+	@DataProvider(name = "quantiles")
+	public Object[][] getQuantiles() {
+		return new Double[][] {
+			{0.0},
+			{0.001},
+			{0.01},
+			{0.1},
+			{0.25},
+			{0.5},
+			{0.75},
+			{0.9},
+			{0.99},
+			{0.999},
+			{1.0}
+		};
+	}
+
+	@Test
+	public void tailAccuracy() {
+		final int N = 500_000;
+		final double[] values = new Random(4321).doubles(N)
+			.map(v -> -Math.log(1 - v))
+			.toArray();
+
+		final QuantileSketch sketch = new QuantileSketch();
+		Arrays.stream(values).forEach(sketch);
+		Arrays.sort(values);
+
+		for (double q : new double[]{0.9, 0.99, 0.999}) {
+			final double expected = exact(values, q);
+			Assert.assertEquals(sketch.quantile(q), expected, expected*0.01);
+		}
+	}
+
+	@Test
+	public void boundedSize() throws Exception {
+		final QuantileSketch small = new Random(1).doubles(1_000).boxed()
+			.collect(toQuantileSketch(Double::doubleValue));
+		final QuantileSketch big = new Random(1).doubles(1_000_000).boxed()
+			.collect(toQuantileSketch(Double::doubleValue));
+
+		final int smallSize = IO.object.toByteArray(small).length;
+		final int bigSize = IO.object.toByteArray(big).length;
+		Assert.assertTrue(
+			bigSize <= smallSize*2,
+			smallSize + " <-> " + bigSize
+		);
+	}
+
+	@Test
+	public void quantiles() {
+		final QuantileSketch sketch = IntStream.range(0, 10_001)
+			.boxed()
+			.collect(toQuantileSketch(Integer::doubleValue));
+
+		final double[] quantiles = sketch.quantiles(0.0, 0.5, 0.9, 0.99, 1.0);
+		Assert.assertEquals(quantiles[0], 0.0);
+		Assert.assertEquals(quantiles[1], 5_000, 10);
+		Assert.assertEquals(quantiles[2], 9_000, 10);
+		Assert.assertEquals(quantiles[3], 9_900, 5);
+		Assert.assertEquals(quantiles[4], 10_000.0);
+	}
+
+	@Test
+	public void empty() {
+		final QuantileSketch sketch = new QuantileSketch();
+		Assert.assertEquals(sketch.count(), 0);
+		Assert.assertTrue(Double.isNaN(sketch.quantile(0.5)));
+
+		sketch.combine(new QuantileSketch());
+		Assert.assertEquals(sketch.count(), 0);
+
+		sketch.accept(Double.NaN);
+		Assert.assertEquals(sketch.count(), 0);
+	}
+
+	@Test
+	public void singleValue() {
+		final QuantileSketch sketch = new QuantileSketch();
+		sketch.accept(3.5);
+
+		Assert.assertEquals(sketch.quantile(0.0), 3.5);
+		Assert.assertEquals(sketch.quantile(0.3), 3.5);
+		Assert.assertEquals(sketch.quantile(1.0), 3.5);
+	}
+
+	@Test
+	public void combine() {
+		final QuantileSketch a = new QuantileSketch();
+		final QuantileSketch b = new QuantileSketch();
+		IntStream.range(0, 1000).forEach(a::accept);
+		IntStream.range(1000, 2000).forEach(b::accept);
+
+		a.combine(b);
+		Assert.assertEquals(a.count(), 2000);
+		Assert.assertEquals(a.min(), 0.0);
+		Assert.assertEquals(a.max(), 1999.0);
+		Assert.assertEquals(a.quantile(0.5), 1000, 10);
+
+		// The other sketch is not changed.
+		Assert.assertEquals(b.count(), 1000);
+		Assert.assertEquals(b.quantile(0.5), 1500, 10);
+	}
+
+	@Test
+	public void infiniteValues() {
+		final QuantileSketch sketch = new QuantileSketch();
+		IntStream.range(0, 1000).forEach(sketch::accept);
+		IntStream.range(0, 10).forEach(i -> sketch.accept(Double.POSITIVE_INFINITY));
+		IntStream.range(0, 5).forEach(i -> sketch.accept(Double.NEGATIVE_INFINITY));
+
+		Assert.assertEquals(sketch.count(), 1015);
+		Assert.assertEquals(sketch.min(), Double.NEGATIVE_INFINITY);
+		Assert.assertEquals(sketch.max(), Double.POSITIVE_INFINITY);
+		Assert.assertEquals(sketch.quantile(0.001), Double.NEGATIVE_INFINITY);
+		Assert.assertEquals(sketch.quantile(0.5), 502, 10);
+		Assert.assertEquals(sketch.quantile(0.9), 908, 10);
+		Assert.assertEquals(sketch.quantile(0.98), 990, 10);
+		Assert.assertEquals(sketch.quantile(0.999), Double.POSITIVE_INFINITY);
+	}
+
+	@Test
+	public void combineInfiniteValues() {
+		final QuantileSketch a = new QuantileSketch();
+		final QuantileSketch b = new QuantileSketch();
+		IntStream.range(0, 1000).forEach(a::accept);
+		IntStream.range(0, 10).forEach(i -> b.accept(Double.POSITIVE_INFINITY));
+
+		a.combine(b);
+		Assert.assertEquals(a.count(), 1010);
+		Assert.assertEquals(a.quantile(0.99), 999, 1);
+		Assert.assertEquals(a.quantile(0.995), Double.POSITIVE_INFINITY);
+		Assert.assertEquals(b.quantile(0.5), Double.POSITIVE_INFINITY);
+	}
+
+	@Test
+	public void sameState() {
+		final QuantileSketch q1 = new QuantileSketch();
+		final QuantileSketch q2 = new QuantileSketch();
+
+		final Random random = new Random();
+		for (int i = 0; i < 2000; ++i) {
+			final double value = random.nextInt(1_000_000);
+			q1.accept(value);
+			q2.accept(value);
+
+			Assert.assertTrue(q1.sameState(q2));
+			Assert.assertTrue(q2.sameState(q1));
+			Assert.assertTrue(q1.sameState(q1));
+		}
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void illegalQuantile() {
+		new QuantileSketch().quantile(1.1);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void illegalCompression() {
+		new QuantileSketch(5);
+	}
+
+}
@@ -23,9 +23,13 @@ import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static io.jenetics.stat.DoubleMomentStatistics.toDoubleMomentStatistics;
+
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import io.jenetics.stat.DoubleMomentStatistics;
+
 /**
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
  */
@@ -81,4 +85,56 @@ public class AccumulatorTest {
 		Assert.assertEquals(count, 100);
 	}
 
+	@Test
+	public void parallelStripedAccumulate() {
+		final Collector<Integer, ?, Long> counting = Collectors.counting();
+		final var accu = Accumulator.of(counting).striped();
+
+		IntStream.range(0, 10_000).boxed().parallel()
+			.forEach(accu);
+
+		Assert.assertEquals(accu.result().longValue(), 10_000);
+		Assert.assertSame(accu.striped(), accu);
+	}
+
+	@Test
+	public void parallelStripedStatistics() {
+		final Accumulator<Integer, ?, DoubleMomentStatistics> base =
+			Accumulator.of(toDoubleMomentStatistics(Integer::doubleValue));
+		IntStream.range(0, 100).boxed().forEach(base);
+
+		final var accu = base.striped();
+		IntStream.range(100, 100_000).boxed().parallel()
+			.forEach(accu);
+
+		final DoubleMomentStatistics expected = IntStream.range(0, 100_000)
+			.mapToDouble(i -> i)
+			.collect(
+				DoubleMomentStatistics::new,
+				DoubleMomentStatistics::accept,
+				DoubleMomentStatistics::combine
+			);
+		final DoubleMomentStatistics statistics = accu.result();
+
+		Assert.assertEquals(statistics.count(), expected.count());
+		Assert.assertEquals(statistics.min(), expected.min());
+		Assert.assertEquals(statistics.max(), expected.max());
+		Assert.assertEquals(statistics.sum(), expected.sum());
+		Assert.assertEquals(statistics.mean(), expected.mean(), 0.000001);
+		Assert.assertEquals(statistics.variance(), expected.variance(), 0.01);
+
+		// The base accumulator is not changed.
+		Assert.assertEquals(base.result().count(), 100);
+	}
+
+	@Test
+	public void parallelStripedCollect() {
+		final Collector<Integer, ?, Long> counting = Collectors.counting();
+		final var accu = Accumulator.of(counting).striped();
+
+		final long count = IntStream.range(0, 100).parallel().boxed()
+			.collect(accu);
+		Assert.assertEquals(count, 100);
+	}
+
 }
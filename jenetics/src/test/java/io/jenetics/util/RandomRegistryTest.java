@@ -26,12 +26,14 @@ import static io.jenetics.util.RandomRegistry.using;
 
 import java.util.List;
 import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -183,4 +185,43 @@ public class RandomRegistryTest {
 		assertEquals(genotypes1, genotypes2);
 	}
 
+	@Test
+	public void splittableScope() {
+		Assert.assertTrue(RandomRegistry.split().isEmpty());
+
+		final long[] seeds1 = RandomRegistry.with(new SplittableRandom(123), r ->
+			IntStream.range(0, 10)
+				.mapToLong(i -> RandomRegistry.split().orElseThrow().nextLong())
+				.toArray()
+		);
+		final long[] seeds2 = RandomRegistry.with(new SplittableRandom(123), r -> {
+			// Using the thread-local engine doesn't change the split streams.
+			RandomRegistry.random().nextLong();
+			return IntStream.range(0, 10)
+				.mapToLong(i -> RandomRegistry.split().orElseThrow().nextLong())
+				.toArray();
+		});
+
+		assertEquals(seeds1, seeds2);
+		Assert.assertEquals(LongStream.of(seeds1).distinct().count(), 10);
+		Assert.assertTrue(RandomRegistry.split().isEmpty());
+	}
+
+	@Test
+	public void splittableThreadRandom() throws Exception {
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			RandomRegistry.random(new SplittableRandom(123));
+			final Random random = RandomRegistry.random();
+			assertSame(RandomRegistry.random(), random);
+
+			final Future<Random> other = executor.submit(() -> RandomRegistry.random());
+			Assert.assertNotSame(other.get(), random);
+			Assert.assertTrue(RandomRegistry.split().isPresent());
+		} finally {
+			RandomRegistry.reset();
+			executor.shutdown();
+		}
+	}
+
 }